@@ -243,6 +243,9 @@ public class DBOption extends OptionalLocking {
                                                                              false, null);
          pagingmanager = new PagingManagerImpl(pageStoreFactory, addressSettingsRepository, configuration.getManagementAddress());
       } else {
+         // the data tools never replicate, so every lane of the messages journal is read even if replication is
+         // configured (moving the records of a journal with lanes to a replicated broker goes through exp and imp)
+         config.setHAPolicyConfiguration(null);
          storageManager = new JournalStorageManager(config, EmptyCriticalAnalyzer.getInstance(), executorFactory, executorFactory);
          PagingStoreFactory pageStoreFactory = new PagingStoreFactoryNIO(storageManager, config.getPagingLocation(), 1000L, scheduledExecutorService, executorFactory, true, null);
          pagingmanager = new PagingManagerImpl(pageStoreFactory, addressSettingsRepository, configuration.getManagementAddress());
@@ -25,6 +25,7 @@ import org.apache.activemq.artemis.core.config.Configuration;
 import org.apache.activemq.artemis.core.io.IOCriticalErrorListener;
 import org.apache.activemq.artemis.core.io.nio.NIOSequentialFileFactory;
 import org.apache.activemq.artemis.core.journal.impl.JournalImpl;
+import org.apache.activemq.artemis.core.persistence.impl.journal.JournalStorageManager;
 
 @Command(name = "compact", description = "Compacts the journal of a non running server")
 public final class CompactJournal extends LockAbstract {
@@ -34,8 +35,14 @@ public final class CompactJournal extends LockAbstract {
       super.execute(context);
       try {
          Configuration configuration = getFileConfiguration();
-         compactJournal(new File(getJournal()), "activemq-data", "amq", configuration.getJournalMinFiles(), configuration.getJournalFileSize(), null);
-         System.out.println("Compactation succeeded for " + getJournal());
+         File journalDir = new File(getJournal());
+         // every lane of the messages journal is a journal of its own
+         int lanes = JournalStorageManager.getJournalLanes(journalDir, 1);
+         for (int lane = 0; lane < lanes; lane++) {
+            File laneDir = JournalStorageManager.getJournalLaneLocation(journalDir, lane);
+            compactJournal(laneDir, "activemq-data", "amq", configuration.getJournalMinFiles(), configuration.getJournalFileSize(), null);
+            System.out.println("Compactation succeeded for " + laneDir);
+         }
          compactJournal(new File(getBinding()), "activemq-bindings", "bindings", 2, 1048576, null);
          System.out.println("Compactation succeeded for " + getBinding());
 
@@ -46,6 +46,8 @@ public class LinkedListImpl<E> implements LinkedList<E> {
 
    private final Comparator<E> comparator;
 
+   private NodeStore<E> nodeStore;
+
    public LinkedListImpl() {
       this(null);
    }
@@ -72,6 +74,8 @@ public class LinkedListImpl<E> implements LinkedList<E> {
          node.next.prev = node;
       }
 
+      itemAdded(node, e);
+
       size++;
    }
 
@@ -88,10 +92,84 @@ public class LinkedListImpl<E> implements LinkedList<E> {
 
          tail = node;
 
+         itemAdded(node, e);
+
          size++;
       }
    }
 
+   /**
+    * Sets the store used to index the elements by ID, the elements already on the list are indexed straight away.
+    * A {@code null} store disables the index.
+    */
+   public void setNodeStore(NodeStore<E> store) {
+      if (nodeStore != null) {
+         nodeStore.clear();
+      }
+
+      nodeStore = store;
+
+      if (store != null) {
+         Node<E> node = head.next;
+         while (node != null) {
+            store.storeNode(node.val(), node);
+            node = node.next;
+         }
+      }
+   }
+
+   public NodeStore<E> getNodeStore() {
+      return nodeStore;
+   }
+
+   /**
+    * @return the element with the given ID, or {@code null} if it isn't on the list.
+    * @throws IllegalStateException if there isn't a {@link NodeStore} set on this list
+    */
+   public E getWithID(long id) {
+      Node<E> node = lookupNode(id);
+
+      return node == null ? null : node.val();
+   }
+
+   /**
+    * Removes the element with the given ID without walking the list.
+    *
+    * @return the element removed, or {@code null} if it isn't on the list.
+    * @throws IllegalStateException if there isn't a {@link NodeStore} set on this list
+    */
+   public E removeWithID(long id) {
+      Node<E> node = lookupNode(id);
+
+      if (node == null) {
+         return null;
+      }
+
+      removeAfter(node.prev);
+
+      return node.val();
+   }
+
+   private Node<E> lookupNode(long id) {
+      if (nodeStore == null) {
+         throw new IllegalStateException("there is no NodeStore set on this list");
+      }
+
+      return nodeStore.getNode(id);
+   }
+
+   private void itemAdded(Node<E> node, E item) {
+      if (nodeStore != null) {
+         nodeStore.storeNode(item, node);
+      }
+   }
+
+   private void itemRemoved(Node<E> node) {
+      if (nodeStore != null) {
+         nodeStore.removeNode(node.val(), node);
+      }
+   }
+
    public void addSorted(E e) {
       if (comparator == null) {
          throw new NullPointerException("comparator=null");
@@ -143,6 +221,7 @@ public class LinkedListImpl<E> implements LinkedList<E> {
       newNode.prev = node;
       newNode.next = nextNode;
       nextNode.prev = newNode;
+      itemAdded(newNode, e);
       size++;
    }
 
@@ -220,6 +299,8 @@ public class LinkedListImpl<E> implements LinkedList<E> {
          tail = node;
       }
 
+      itemRemoved(toRemove);
+
       size--;
 
       if (toRemove.iterCount != 0) {
@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.utils.collections;
+
+/**
+ * An index from an ID to the {@link LinkedListImpl.Node} holding an element, used by {@link LinkedListImpl} to find
+ * (and remove) elements by ID without walking the list.
+ * <p>
+ * The store is owned by a single list and it is accessed under the same rules as the list: it doesn't need to be
+ * thread safe.
+ * <p>
+ * Several elements on the list can share the same ID: removing one of them must keep the others indexed.
+ */
+public interface NodeStore<E> {
+
+   /**
+    * Called when the element is added to the list.
+    */
+   void storeNode(E element, LinkedListImpl.Node<E> node);
+
+   /**
+    * @return the node holding the element with the given ID or {@code null} if there isn't one.
+    */
+   LinkedListImpl.Node<E> getNode(long id);
+
+   /**
+    * Called when the element is removed from the list.
+    */
+   void removeNode(E element, LinkedListImpl.Node<E> node);
+
+   void clear();
+
+   int size();
+}
@@ -16,6 +16,8 @@
  */
 package org.apache.activemq.artemis.utils.collections;
 
+import java.util.function.Supplier;
+
 /**
  * A type of linked list which maintains items according to a priority
  * and allows adding and removing of elements at both ends, and peeking.<br>
@@ -46,4 +48,25 @@ public interface PriorityLinkedList<T> {
     * It is safe to be called concurrently.
     */
    boolean isEmpty();
+
+   /**
+    * Enables the lookup of elements by ID with a {@link NodeStore} created by the supplier for each priority level,
+    * a {@code null} supplier disables it.
+    */
+   void setNodeStore(Supplier<NodeStore<T>> supplier);
+
+   /**
+    * @return {@code true} if {@link #getWithID(long)} and {@link #removeWithID(long)} can be used.
+    */
+   boolean isIndexed();
+
+   /**
+    * Finds the element with the given ID without walking the list.
+    */
+   T getWithID(long id);
+
+   /**
+    * Removes the element with the given ID without walking the list.
+    */
+   T removeWithID(long id);
 }
@@ -20,6 +20,7 @@ import java.lang.reflect.Array;
 import java.util.Comparator;
 import java.util.NoSuchElementException;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.Supplier;
 
 /**
  * A priority linked list implementation
@@ -40,6 +41,8 @@ public class PriorityLinkedListImpl<T> implements PriorityLinkedList<T> {
 
    private int lastPriority = -1;
 
+   private boolean indexed;
+
    public PriorityLinkedListImpl(final int priorities) {
       this(priorities, null);
    }
@@ -137,6 +140,54 @@ public class PriorityLinkedListImpl<T> implements PriorityLinkedList<T> {
       exclusiveSetSize(0);
    }
 
+   @Override
+   public void setNodeStore(Supplier<NodeStore<T>> supplier) {
+      for (LinkedListImpl<T> list : levels) {
+         list.setNodeStore(supplier == null ? null : supplier.get());
+      }
+
+      indexed = supplier != null;
+   }
+
+   @Override
+   public boolean isIndexed() {
+      return indexed;
+   }
+
+   @Override
+   public T getWithID(long id) {
+      for (int i = levels.length - 1; i >= 0; i--) {
+         T t = levels[i].getWithID(id);
+
+         if (t != null) {
+            return t;
+         }
+      }
+
+      return null;
+   }
+
+   @Override
+   public T removeWithID(long id) {
+      for (int i = levels.length - 1; i >= 0; i--) {
+         T t = levels[i].removeWithID(id);
+
+         if (t != null) {
+            exclusiveIncrementSize(-1);
+
+            if (i == highestPriority) {
+               while (highestPriority >= 0 && levels[highestPriority].size() == 0) {
+                  highestPriority--;
+               }
+            }
+
+            return t;
+         }
+      }
+
+      return null;
+   }
+
    private void exclusiveIncrementSize(int amount) {
       SIZE_UPDATER.lazySet(this, this.size + amount);
    }
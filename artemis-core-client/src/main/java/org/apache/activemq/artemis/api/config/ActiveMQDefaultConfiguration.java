@@ -237,6 +237,9 @@ public final class ActiveMQDefaultConfiguration {
    // true means that ID's are persisted to the journal
    private static boolean DEFAULT_PERSIST_ID_CACHE = true;
 
+   // true means that the duplicate ID caches are lock free, otherwise they are synchronized
+   private static boolean DEFAULT_LOCK_FREE_ID_CACHE = false;
+
    // True means that the delivery count is persisted before delivery. False means that this only happens after a message has been cancelled.
    private static boolean DEFAULT_PERSIST_DELIVERY_COUNT_BEFORE_DELIVERY = false;
 
@@ -255,6 +258,9 @@ public final class ActiveMQDefaultConfiguration {
    // If true the whole page would be read, otherwise just seek and read while getting message
    private static boolean DEFAULT_READ_WHOLE_PAGE = false;
 
+   // If true the page files are memory mapped to be read, otherwise they are read through file buffers
+   private static boolean DEFAULT_READ_MAPPED_PAGE = false;
+
    // the directory to store the journal files in
    private static String DEFAULT_JOURNAL_DIR = "data/journal";
 
@@ -270,6 +276,9 @@ public final class ActiveMQDefaultConfiguration {
    // Whether to log messages about the journal write rate
    private static boolean DEFAULT_JOURNAL_LOG_WRITE_RATE = false;
 
+   // Whether the journal buffer timeout is tuned on the observed sync latency
+   private static boolean DEFAULT_JOURNAL_BUFFER_TIMEOUT_ADAPTIVE = false;
+
    // the size (in bytes) of each journal file
    private static int DEFAULT_JOURNAL_FILE_SIZE = 10485760;
 
@@ -282,6 +291,12 @@ public final class ActiveMQDefaultConfiguration {
    // The time to wait when opening a new journal file before failing
    private static int DEFAULT_JOURNAL_FILE_OPEN_TIMEOUT = 5;
 
+   // The number of independent lanes the message journal is striped on
+   private static int DEFAULT_JOURNAL_LANES = 1;
+
+   // The maximum number of journal files a compacting rewrites, 0 means the whole journal
+   private static int DEFAULT_JOURNAL_COMPACT_MAX_FILES = 0;
+
    // The minimal number of data files before we can start compacting
    private static int DEFAULT_JOURNAL_COMPACT_MIN_FILES = 10;
 
@@ -857,6 +872,13 @@ public final class ActiveMQDefaultConfiguration {
       return DEFAULT_PERSIST_ID_CACHE;
    }
 
+   /**
+    * true means that the duplicate ID caches are lock free, otherwise they are synchronized
+    */
+   public static boolean isDefaultLockFreeIdCache() {
+      return DEFAULT_LOCK_FREE_ID_CACHE;
+   }
+
    /**
     * True means that the delivery count is persisted before delivery. False means that this only happens after a message has been cancelled.
     */
@@ -897,6 +919,13 @@ public final class ActiveMQDefaultConfiguration {
       return DEFAULT_READ_WHOLE_PAGE;
    }
 
+   /**
+    * If true the page files are memory mapped to be read, otherwise they are read through file buffers
+    */
+   public static boolean isDefaultReadMappedPage() {
+      return DEFAULT_READ_MAPPED_PAGE;
+   }
+
    /**
     * the directory to store the journal files in
     */
@@ -932,6 +961,13 @@ public final class ActiveMQDefaultConfiguration {
       return DEFAULT_JOURNAL_LOG_WRITE_RATE;
    }
 
+   /**
+    * Whether the journal buffer timeout is tuned on the observed sync latency
+    */
+   public static boolean isDefaultJournalBufferTimeoutAdaptive() {
+      return DEFAULT_JOURNAL_BUFFER_TIMEOUT_ADAPTIVE;
+   }
+
    /**
     * the size (in bytes) of each journal file
     */
@@ -966,6 +1002,20 @@ public final class ActiveMQDefaultConfiguration {
       return DEFAULT_JOURNAL_FILE_OPEN_TIMEOUT;
    }
 
+   /**
+    * The number of independent lanes the message journal is striped on
+    */
+   public static int getDefaultJournalLanes() {
+      return DEFAULT_JOURNAL_LANES;
+   }
+
+   /**
+    * The maximum number of journal files a compacting rewrites, 0 means the whole journal
+    */
+   public static int getDefaultJournalCompactMaxFiles() {
+      return DEFAULT_JOURNAL_COMPACT_MAX_FILES;
+   }
+
    /**
     * The minimal number of data files before we can start compacting
     */
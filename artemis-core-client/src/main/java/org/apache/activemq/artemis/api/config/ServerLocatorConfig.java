@@ -47,6 +47,8 @@ public class ServerLocatorConfig {
    public int initialMessagePacketSize = ActiveMQClient.DEFAULT_INITIAL_MESSAGE_PACKET_SIZE;
    public boolean cacheLargeMessagesClient = ActiveMQClient.DEFAULT_CACHE_LARGE_MESSAGE_CLIENT;
    public boolean compressLargeMessage = ActiveMQClient.DEFAULT_COMPRESS_LARGE_MESSAGES;
+   public String compressionCodec = ActiveMQClient.DEFAULT_COMPRESSION_CODEC;
+   public int compressionLevel = ActiveMQClient.DEFAULT_COMPRESSION_LEVEL;
    public boolean useTopologyForLoadBalancing = ActiveMQClient.DEFAULT_USE_TOPOLOGY_FOR_LOADBALANCING;
 
    public ServerLocatorConfig() {
@@ -54,6 +56,8 @@ public class ServerLocatorConfig {
 
    public ServerLocatorConfig(final ServerLocatorConfig locator) {
       compressLargeMessage = locator.compressLargeMessage;
+      compressionCodec = locator.compressionCodec;
+      compressionLevel = locator.compressionLevel;
       cacheLargeMessagesClient = locator.cacheLargeMessagesClient;
       clientFailureCheckPeriod = locator.clientFailureCheckPeriod;
       connectionTTL = locator.connectionTTL;
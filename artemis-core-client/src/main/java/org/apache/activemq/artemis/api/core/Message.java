@@ -126,6 +126,11 @@ public interface Message {
     */
    SimpleString HDR_LARGE_COMPRESSED = new SimpleString("_AMQ_LARGE_COMPRESSED");
 
+   /**
+    * The codec used to compress the Large Message, if not deflate.
+    */
+   SimpleString HDR_LARGE_COMPRESSION_CODEC = new SimpleString("_AMQ_LARGE_COMPRESSION_CODEC");
+
    /**
     * The body size of a large message before it was compressed.
     */
@@ -730,6 +735,24 @@ public interface Message {
    /** This should make you convert your message into Core format. */
    ICoreMessage toCore(CoreMessageObjectPools coreMessageObjectPools);
 
+   /**
+    * @return the conversion of this message to {@code protocol} cached by {@link #cacheConversion}, or {@code null}
+    */
+   default Object getCachedConversion(String protocol) {
+      return null;
+   }
+
+   /**
+    * Caches the conversion of this message to {@code protocol}, to be shared by its deliveries to the consumers of
+    * that protocol. The conversion is dropped, and {@code onRelease} (if any) run, once the last reference to this
+    * message is gone.
+    *
+    * @return whether the conversion was cached, it isn't if there is one for {@code protocol} already
+    */
+   default boolean cacheConversion(String protocol, Object conversion, Runnable onRelease) {
+      return false;
+   }
+
    int getMemoryEstimate();
 
    /**
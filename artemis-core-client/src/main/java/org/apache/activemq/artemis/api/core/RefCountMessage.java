@@ -18,6 +18,7 @@
 package org.apache.activemq.artemis.api.core;
 
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 // import org.apache.activemq.artemis.utils.collections.ConcurrentHashSet; -- #ifdef DEBUG
 
@@ -26,6 +27,7 @@ public class RefCountMessage {
    private static final AtomicIntegerFieldUpdater<RefCountMessage> DURABLE_REF_COUNT_UPDATER = AtomicIntegerFieldUpdater.newUpdater(RefCountMessage.class, "durableRefCount");
    private static final AtomicIntegerFieldUpdater<RefCountMessage> REF_COUNT_UPDATER = AtomicIntegerFieldUpdater.newUpdater(RefCountMessage.class, "refCount");
    private static final AtomicIntegerFieldUpdater<RefCountMessage> REF_USAGE_UPDATER = AtomicIntegerFieldUpdater.newUpdater(RefCountMessage.class, "usageCount");
+   private static final AtomicReferenceFieldUpdater<RefCountMessage, Conversion> CONVERSIONS_UPDATER = AtomicReferenceFieldUpdater.newUpdater(RefCountMessage.class, Conversion.class, "conversions");
 
    private volatile int durableRefCount = 0;
 
@@ -35,6 +37,12 @@ public class RefCountMessage {
 
    private volatile boolean fired = false;
 
+   /**
+    * The conversions of this message to other protocols: a message is converted to a few protocols at most, hence
+    * a list is enough.
+    */
+   private volatile Conversion conversions;
+
    public int getRefCount() {
       return REF_COUNT_UPDATER.get(this);
    }
@@ -117,6 +125,42 @@ public class RefCountMessage {
    protected void releaseComplete() {
    }
 
+   public Object getCachedConversion(String protocol) {
+      for (Conversion conversion = conversions; conversion != null; conversion = conversion.next) {
+         if (conversion.protocol.equals(protocol)) {
+            return conversion.value;
+         }
+      }
+      return null;
+   }
+
+   public boolean cacheConversion(String protocol, Object value, Runnable onRelease) {
+      Conversion head;
+      do {
+         head = conversions;
+         for (Conversion conversion = head; conversion != null; conversion = conversion.next) {
+            if (conversion.protocol.equals(protocol)) {
+               return false;
+            }
+         }
+      }
+      while (!CONVERSIONS_UPDATER.compareAndSet(this, head, new Conversion(protocol, value, onRelease, head)));
+
+      // the last reference may have gone while caching it, the ones cached before any reference are kept
+      if (onRelease != null && getRefCount() <= 0) {
+         releaseConversions();
+      }
+      return true;
+   }
+
+   private void releaseConversions() {
+      for (Conversion conversion = CONVERSIONS_UPDATER.getAndSet(this, null); conversion != null; conversion = conversion.next) {
+         if (conversion.onRelease != null) {
+            conversion.onRelease.run();
+         }
+      }
+   }
+
    public int usageUp() {
       if (parentRef != null) {
          return parentRef.usageUp();
@@ -157,6 +201,9 @@ public class RefCountMessage {
          return parentRef.refDown();
       }
       int count = REF_COUNT_UPDATER.decrementAndGet(this);
+      if (count <= 0 && conversions != null) {
+         releaseConversions();
+      }
       onDown();
       return count;
    }
@@ -170,4 +217,21 @@ public class RefCountMessage {
       return count;
    }
 
+   private static final class Conversion {
+
+      final String protocol;
+
+      final Object value;
+
+      final Runnable onRelease;
+
+      final Conversion next;
+
+      Conversion(String protocol, Object value, Runnable onRelease, Conversion next) {
+         this.protocol = protocol;
+         this.value = value;
+         this.onRelease = onRelease;
+         this.next = next;
+      }
+   }
 }
@@ -69,6 +69,10 @@ public final class ActiveMQClient {
 
    public static final boolean DEFAULT_COMPRESS_LARGE_MESSAGES = false;
 
+   public static final String DEFAULT_COMPRESSION_CODEC = "deflate";
+
+   public static final int DEFAULT_COMPRESSION_LEVEL = -1;
+
    public static final int DEFAULT_CONSUMER_WINDOW_SIZE = 1024 * 1024;
 
    public static final int DEFAULT_CONSUMER_MAX_RATE = -1;
@@ -16,6 +16,9 @@
  */
 package org.apache.activemq.artemis.api.core.client;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
 import org.apache.activemq.artemis.api.core.ActiveMQException;
 import org.apache.activemq.artemis.spi.core.remoting.ConsumerContext;
 
@@ -83,6 +86,31 @@ public interface ClientConsumer extends AutoCloseable {
     */
    ClientMessage receiveImmediate() throws ActiveMQException;
 
+   /**
+    * Receives a message from a queue without waiting for it.
+    * <p>
+    * The returned stage completes with the next message once it's received, in the same order as {@link #receive()}
+    * would return them, or with {@code null} if the consumer is closed before. Many asynchronous receives can be
+    * pending together: while there are any, the messages are delivered to them on the thread that would call a
+    * {@link MessageHandler}, so any blocking action depending on them should use the {@code async} variants of
+    * {@link CompletionStage}. The body of a large message is read in memory before completing the stage.
+    * <p>
+    * As {@link #receive()}, it can't be used on a consumer with a MessageHandler set.
+    * <p>
+    * The default implementation blocks on {@link #receive()}, for the implementations predating this method.
+    *
+    * @return a stage completed with the next message
+    */
+   default CompletionStage<ClientMessage> receiveAsync() {
+      final CompletableFuture<ClientMessage> result = new CompletableFuture<>();
+      try {
+         result.complete(receive());
+      } catch (ActiveMQException e) {
+         result.completeExceptionally(e);
+      }
+      return result;
+   }
+
    /**
     * Returns the MessageHandler associated to this consumer.
     * <p>
@@ -16,6 +16,10 @@
  */
 package org.apache.activemq.artemis.api.core.client;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
 import org.apache.activemq.artemis.api.core.ActiveMQException;
 import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.api.core.SimpleString;
@@ -119,6 +123,97 @@ public interface ClientProducer extends AutoCloseable {
     */
    void send(String address, Message message) throws ActiveMQException;
 
+   /**
+    * Sends a message to the address specified in {@link ClientSession#createProducer(String)} or similar methods,
+    * without waiting for the server. <br>
+    * <br>
+    * The returned stage completes once the server has handled the message, as a blocking send would return, or
+    * completes exceptionally with the exception a blocking send would throw. Many asynchronous sends can be in flight
+    * together on the same session; the stages complete on a thread of the connection, so any blocking action
+    * depending on them should use the {@code async} variants of {@link CompletionStage}.
+    * <p>
+    * It can still block while waiting for producer credits, as any other send, and large messages are sent as a
+    * blocking send would.
+    * <p>
+    * The default implementation blocks on {@link #send(Message)}, for the implementations predating this method.
+    *
+    * @param message the message to send
+    * @return a stage completed once the message has been handled by the server
+    */
+   default CompletionStage<Void> sendAsync(Message message) {
+      final CompletableFuture<Void> result = new CompletableFuture<>();
+      try {
+         send(message);
+         result.complete(null);
+      } catch (ActiveMQException e) {
+         result.completeExceptionally(e);
+      }
+      return result;
+   }
+
+   /**
+    * Sends a message to the specified address instead of the ClientProducer's address, without waiting for the
+    * server. <br>
+    * <br>
+    * See {@link #sendAsync(Message)}.
+    *
+    * @param address the address where the message will be sent
+    * @param message the message to send
+    * @return a stage completed once the message has been handled by the server
+    */
+   default CompletionStage<Void> sendAsync(SimpleString address, Message message) {
+      final CompletableFuture<Void> result = new CompletableFuture<>();
+      try {
+         send(address, message);
+         result.complete(null);
+      } catch (ActiveMQException e) {
+         result.completeExceptionally(e);
+      }
+      return result;
+   }
+
+   /**
+    * Sends many messages to the address specified in {@link ClientSession#createProducer(String)} or similar methods,
+    * in a single packet if the server supports it. <br>
+    * <br>
+    * Each message is handled as by {@link #send(Message)}, but the server routes the whole batch in one pass and
+    * confirms it with a single response: this will block until such confirmation if
+    * {@link ServerLocator#setBlockOnDurableSend(boolean)} or {@link ServerLocator#setBlockOnNonDurableSend(boolean)}
+    * are set to <code>true</code> for the type of any of the messages.
+    * <p>
+    * Large messages are still sent on their own, in between the batches of the other messages.
+    * <p>
+    * The server stops at the first message it fails to send: the ones before it are sent and the ones after it aren't.
+    * The exception tells how many of the messages sent along with the failed one, up to the next large message, were
+    * sent.
+    * <p>
+    * The default implementation sends the messages one by one with {@link #send(Message)}, for the implementations
+    * predating this method.
+    *
+    * @param messages the messages to send
+    * @throws ActiveMQException if an exception occurs while sending the messages
+    */
+   default void sendBatch(List<? extends Message> messages) throws ActiveMQException {
+      for (Message message : messages) {
+         send(message);
+      }
+   }
+
+   /**
+    * Sends many messages to the specified address instead of the ClientProducer's address. <br>
+    * <br>
+    * See {@link #sendBatch(List)}.
+    *
+    * @param address  the address where the messages will be sent
+    * @param messages the messages to send
+    * @throws ActiveMQException if an exception occurs while sending the messages
+    */
+   default void sendBatch(SimpleString address, List<? extends Message> messages) throws ActiveMQException {
+      for (Message message : messages) {
+         send(address, message);
+      }
+   }
+
    /**
     * Closes the ClientProducer. If already closed nothing is done.
     *
@@ -20,8 +20,11 @@ import javax.transaction.xa.XAResource;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 import org.apache.activemq.artemis.api.core.ActiveMQException;
+import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.api.core.QueueAttributes;
 import org.apache.activemq.artemis.api.core.QueueConfiguration;
 import org.apache.activemq.artemis.api.core.SimpleString;
@@ -316,6 +319,29 @@ public interface ClientSession extends XAResource, AutoCloseable {
     */
    void createQueue(QueueConfiguration queueConfiguration) throws ActiveMQException;
 
+   /**
+    * Creates a queue as {@link #createQueue(QueueConfiguration)} does, without waiting for the server.
+    * <p>
+    * The asynchronous operations of a session are executed in order, one at a time, on a thread of the session
+    * factory: the returned stage completes on that thread.
+    * <p>
+    * The default implementations of the asynchronous operations block on their synchronous counterparts, for the
+    * implementations predating them.
+    *
+    * @param queueConfiguration the configuration to use when creating the queue
+    * @return a stage completed once the queue has been created
+    */
+   default CompletionStage<Void> createQueueAsync(QueueConfiguration queueConfiguration) {
+      final CompletableFuture<Void> result = new CompletableFuture<>();
+      try {
+         createQueue(queueConfiguration);
+         result.complete(null);
+      } catch (ActiveMQException e) {
+         result.completeExceptionally(e);
+      }
+      return result;
+   }
+
    /**
     * This method is essentially the same as {@link #createQueue(QueueConfiguration)} with a few key exceptions.
     * <p>
@@ -1152,6 +1178,23 @@ public interface ClientSession extends XAResource, AutoCloseable {
     */
    QueueQuery queueQuery(SimpleString queueName) throws ActiveMQException;
 
+   /**
+    * Queries information on a queue as {@link #queueQuery(SimpleString)} does, without waiting for the server.
+    *
+    * @param queueName the name of the queue to query
+    * @return a stage completed with the information on the given queue
+    * @see #createQueueAsync(QueueConfiguration)
+    */
+   default CompletionStage<QueueQuery> queueQueryAsync(SimpleString queueName) {
+      final CompletableFuture<QueueQuery> result = new CompletableFuture<>();
+      try {
+         result.complete(queueQuery(queueName));
+      } catch (ActiveMQException e) {
+         result.completeExceptionally(e);
+      }
+      return result;
+   }
+
    /**
     * Queries information on a binding.
     *
@@ -1192,6 +1235,28 @@ public interface ClientSession extends XAResource, AutoCloseable {
     */
    void commit(boolean block) throws ActiveMQException;
 
+   /**
+    * Commits the current transaction as {@link #commit()} does, without waiting for the server.
+    * <p>
+    * The messages sent and acknowledged before calling it are part of the transaction, including the ones sent with
+    * {@link ClientProducer#sendAsync(Message)} whose stage isn't completed yet. The commit is sent before returning:
+    * the messages sent and acknowledged after calling it are part of the next transaction, and the returned stage
+    * completes on the thread reading the response of the server.
+    *
+    * @return a stage completed once the transaction has been committed
+    * @see #createQueueAsync(QueueConfiguration)
+    */
+   default CompletionStage<Void> commitAsync() {
+      final CompletableFuture<Void> result = new CompletableFuture<>();
+      try {
+         commit();
+         result.complete(null);
+      } catch (ActiveMQException e) {
+         result.completeExceptionally(e);
+      }
+      return result;
+   }
+
    /**
     * Rolls back the current transaction.
     *
@@ -1199,6 +1264,26 @@ public interface ClientSession extends XAResource, AutoCloseable {
     */
    void rollback() throws ActiveMQException;
 
+   /**
+    * Rolls back the current transaction as {@link #rollback()} does, without waiting for the server.
+    * <p>
+    * The rollback is sent before returning, as {@link #commitAsync()} does. It doesn't stop the session to cancel
+    * the messages buffered by its consumers: they are still delivered, before the redelivery of the rolled back ones.
+    *
+    * @return a stage completed once the transaction has been rolled back
+    * @see #createQueueAsync(QueueConfiguration)
+    */
+   default CompletionStage<Void> rollbackAsync() {
+      final CompletableFuture<Void> result = new CompletableFuture<>();
+      try {
+         rollback();
+         result.complete(null);
+      } catch (ActiveMQException e) {
+         result.completeExceptionally(e);
+      }
+      return result;
+   }
+
    /**
     * Rolls back the current transaction.
     *
@@ -797,6 +797,44 @@ public interface ServerLocator extends AutoCloseable {
     */
    ServerLocator setCompressLargeMessage(boolean compressLargeMessages);
 
+   /**
+    * Returns the name of the codec used to compress large messages.
+    * <p>
+    * Default value is {@link ActiveMQClient#DEFAULT_COMPRESSION_CODEC}.
+    *
+    * @return the name of the compression codec
+    */
+   String getCompressionCodec();
+
+   /**
+    * Sets the codec used to compress large messages: {@code deflate}, {@code lz4} (that needs lz4-java on the
+    * classpath), {@code zstd} (that needs zstd-jni on the classpath) or a custom one.
+    * <p>
+    * The consumers need the same codec to decompress the messages. If the codec isn't available the sessions fall
+    * back to {@code deflate}.
+    *
+    * @param compressionCodec the name of the compression codec
+    * @return this ServerLocator
+    */
+   ServerLocator setCompressionCodec(String compressionCodec);
+
+   /**
+    * Returns the level used to compress large messages.
+    * <p>
+    * Default value is {@link ActiveMQClient#DEFAULT_COMPRESSION_LEVEL}.
+    *
+    * @return the compression level
+    */
+   int getCompressionLevel();
+
+   /**
+    * Sets the level used to compress large messages, whose range depends on the codec: -1 uses its default level.
+    *
+    * @param compressionLevel the compression level
+    * @return this ServerLocator
+    */
+   ServerLocator setCompressionLevel(int compressionLevel);
+
    // XXX No javadocs
    ServerLocator addClusterTopologyListener(ClusterTopologyListener listener);
 
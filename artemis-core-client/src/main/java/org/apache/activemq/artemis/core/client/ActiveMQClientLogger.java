@@ -430,6 +430,16 @@ public interface ActiveMQClientLogger extends BasicLogger {
       format = Message.Format.MESSAGE_FORMAT)
    void connectionFactoryParameterIgnored(String parameterName);
 
+   @LogMessage(level = Logger.Level.WARN)
+   @Message(id = 212081, value = "The compression codec {0} is not available, falling back to deflate: please add its library to the classpath",
+           format = Message.Format.MESSAGE_FORMAT)
+   void compressionCodecNotAvailable(String codec);
+
+   @LogMessage(level = Logger.Level.WARN)
+   @Message(id = 212082, value = "The broker does not support the compression codec {0}, falling back to deflate: please add its library to the classpath of the broker",
+           format = Message.Format.MESSAGE_FORMAT)
+   void compressionCodecNotSupported(String codec);
+
    @LogMessage(level = Logger.Level.ERROR)
    @Message(id = 214000, value = "Failed to call onMessage", format = Message.Format.MESSAGE_FORMAT)
    void onMessageError(@Cause Throwable e);
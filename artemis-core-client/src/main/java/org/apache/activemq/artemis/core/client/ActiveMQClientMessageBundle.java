@@ -237,4 +237,11 @@ public interface ActiveMQClientMessageBundle {
 
    @Message(id = 219065, value = "Failed to handle packet.")
    RuntimeException failedToHandlePacket(@Cause Exception e);
+
+   @Message(id = 219066, value = "Cannot set MessageHandler - consumer is in receiveAsync()")
+   ActiveMQIllegalStateException inReceiveAsync();
+
+   @Message(id = 219067, value = "The compression codec {0} of the large message is not available: please add its library to the classpath",
+      format = Message.Format.MESSAGE_FORMAT)
+   ActiveMQLargeMessageException compressionCodecNotAvailable(String codec);
 }
@@ -19,7 +19,13 @@ package org.apache.activemq.artemis.core.client.impl;
 import java.io.File;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
@@ -44,6 +50,7 @@ import org.apache.activemq.artemis.utils.ReusableLatch;
 import org.apache.activemq.artemis.utils.TokenBucketLimiter;
 import org.apache.activemq.artemis.utils.collections.PriorityLinkedList;
 import org.apache.activemq.artemis.utils.collections.PriorityLinkedListImpl;
+import org.apache.activemq.artemis.utils.compression.CompressionCodecs;
 import org.jboss.logging.Logger;
 
 public final class ClientConsumerImpl implements ClientConsumerInternal {
@@ -111,6 +118,12 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
 
    private volatile MessageHandler handler;
 
+   // The receiveAsync() waiting for a message, guarded by this: while there are any, they are completed in order by
+   // asyncReceiveHandler, set as the handler of this consumer
+   private final Queue<CompletableFuture<ClientMessage>> pendingReceives = new ArrayDeque<>();
+
+   private final MessageHandler asyncReceiveHandler = this::completeReceive;
+
    private volatile boolean closing;
 
    private volatile boolean closed;
@@ -411,11 +424,64 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
       return receive(0, true);
    }
 
+   @Override
+   public CompletionStage<ClientMessage> receiveAsync() {
+      final CompletableFuture<ClientMessage> future = new CompletableFuture<>();
+      synchronized (this) {
+         try {
+            checkClosed();
+
+            if (handler == null) {
+               setMessageHandler(asyncReceiveHandler);
+            } else if (handler != asyncReceiveHandler) {
+               throw ActiveMQClientMessageBundle.BUNDLE.messageHandlerSet();
+            }
+
+            pendingReceives.add(future);
+         } catch (Throwable t) {
+            future.completeExceptionally(t);
+         }
+      }
+      return future;
+   }
+
+   /**
+    * It completes the oldest pending {@link #receiveAsync()} with {@code message}: once there are none left, the
+    * messages are kept in the buffer until the next one.
+    */
+   private void completeReceive(final ClientMessage message) {
+      final CompletableFuture<ClientMessage> future;
+      synchronized (this) {
+         future = pendingReceives.poll();
+         if (pendingReceives.isEmpty()) {
+            // no need to wait for onMessage to complete as setMessageHandler does: this is it
+            handler = null;
+         }
+      }
+
+      if (future == null) {
+         // the consumer is closing: the message is released with the buffer
+         return;
+      }
+
+      try {
+         if (message.isLargeMessage()) {
+            // the body is discarded once the handler returns, unless it's been read
+            message.getBodyBuffer();
+         }
+         future.complete(message);
+      } catch (Throwable t) {
+         future.completeExceptionally(t);
+      }
+   }
+
    @Override
    public MessageHandler getMessageHandler() throws ActiveMQException {
       checkClosed();
 
-      return handler;
+      final MessageHandler theHandler = handler;
+
+      return theHandler == asyncReceiveHandler ? null : theHandler;
    }
 
    @Override
@@ -437,6 +503,10 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
          throw ActiveMQClientMessageBundle.BUNDLE.inReceive();
       }
 
+      if (handler == asyncReceiveHandler && theHandler != asyncReceiveHandler) {
+         throw ActiveMQClientMessageBundle.BUNDLE.inReceiveAsync();
+      }
+
       boolean noPreviousHandler = handler == null;
 
       if (handler != theHandler && clientWindowSize == 0) {
@@ -657,7 +727,7 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
       final int bytesToRead = qbuff.writerIndex() - qbuff.readerIndex();
       final byte[] body = new byte[bytesToRead];
       qbuff.readBytes(body);
-      largeMessage.setLargeMessageController(new CompressedLargeMessageControllerImpl(currentLargeMessageController));
+      largeMessage.setLargeMessageController(new CompressedLargeMessageControllerImpl(currentLargeMessageController, CompressionCodecs.nameOf(clMessage)));
       currentLargeMessageController.addPacket(body, body.length, false);
 
       handleRegularMessage(largeMessage);
@@ -686,7 +756,7 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
       currentLargeMessageController = new LargeMessageControllerImpl(this, largeMessageSize, callTimeout, largeMessageCache);
 
       if (clientLargeMessage.isCompressed()) {
-         clientLargeMessage.setLargeMessageController(new CompressedLargeMessageControllerImpl(currentLargeMessageController));
+         clientLargeMessage.setLargeMessageController(new CompressedLargeMessageControllerImpl(currentLargeMessageController, CompressionCodecs.nameOf(clientLargeMessage)));
       } else {
          clientLargeMessage.setLargeMessageController(currentLargeMessageController);
       }
@@ -819,6 +889,19 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
       }
    }
 
+   @Override
+   public ClientMessageInternal takePendingAck() {
+      final ClientMessageInternal message = lastAckedMessage;
+      if (message != null) {
+         if (logger.isTraceEnabled()) {
+            logger.trace(this + "::takePendingAck lastMessage::" + message);
+         }
+         ackBytes = 0;
+         lastAckedMessage = null;
+      }
+      return message;
+   }
+
    /**
     * LargeMessageBuffer will call flowcontrol here, while other handleMessage will also be calling flowControl.
     * So, this operation needs to be atomic.
@@ -1093,6 +1176,8 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
 
          closed = true;
 
+         final List<CompletableFuture<ClientMessage>> unblockedReceives;
+
          synchronized (this) {
             if (receiverThread != null) {
                // Wake up any receive() thread that might be waiting
@@ -1102,6 +1187,15 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
             handler = null;
 
             receiverThread = null;
+
+            unblockedReceives = new ArrayList<>(pendingReceives);
+
+            pendingReceives.clear();
+         }
+
+         // as receive() returns on close
+         for (CompletableFuture<ClientMessage> unblockedReceive : unblockedReceives) {
+            unblockedReceive.complete(null);
          }
 
          flushAcks();
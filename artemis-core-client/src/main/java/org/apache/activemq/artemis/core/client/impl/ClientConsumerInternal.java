@@ -69,6 +69,13 @@ public interface ClientConsumerInternal extends ClientConsumer {
 
    void flushAcks() throws ActiveMQException;
 
+   /**
+    * Like {@link #flushAcks()}, but returns the pending acknowledgement to the caller instead of sending it.
+    *
+    * @return the last acknowledged message that hasn't been sent to the server yet, or {@code null} if there isn't any
+    */
+   ClientMessageInternal takePendingAck();
+
    void stop(boolean waitForOnMessage) throws ActiveMQException;
 
    void start();
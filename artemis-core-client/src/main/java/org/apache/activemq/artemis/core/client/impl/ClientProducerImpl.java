@@ -19,6 +19,10 @@ package org.apache.activemq.artemis.core.client.impl;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.activemq.artemis.api.core.ActiveMQException;
@@ -30,9 +34,10 @@ import org.apache.activemq.artemis.core.client.ActiveMQClientMessageBundle;
 import org.apache.activemq.artemis.core.message.LargeBodyReader;
 import org.apache.activemq.artemis.spi.core.remoting.SessionContext;
 import org.apache.activemq.artemis.utils.ActiveMQBufferInputStream;
-import org.apache.activemq.artemis.utils.DeflaterReader;
 import org.apache.activemq.artemis.utils.TokenBucketLimiter;
 import org.apache.activemq.artemis.utils.UUIDGenerator;
+import org.apache.activemq.artemis.utils.compression.CompressionCodec;
+import org.apache.activemq.artemis.utils.compression.DeflateCodec;
 import org.jboss.logging.Logger;
 
 /**
@@ -140,7 +145,7 @@ public class ClientProducerImpl implements ClientProducerInternal {
          handler = new SendAcknowledgementHandlerWrapper(handler);
       }
 
-      doSend(address1, message, handler);
+      doSend(address1, message, handler, false);
 
       if (handler != null && !session.isConfirmationWindowEnabled()) {
          if (logger.isDebugEnabled()) {
@@ -157,6 +162,53 @@ public class ClientProducerImpl implements ClientProducerInternal {
       send(null, message, handler);
    }
 
+   @Override
+   public CompletionStage<Void> sendAsync(final Message message) {
+      return sendAsync(null, message);
+   }
+
+   @Override
+   public CompletionStage<Void> sendAsync(final SimpleString address1, final Message message) {
+      try {
+         checkClosed();
+
+         return doSend(address1, message, null, true);
+      } catch (Throwable t) {
+         final CompletableFuture<Void> failed = new CompletableFuture<>();
+         failed.completeExceptionally(t);
+         return failed;
+      }
+   }
+
+   @Override
+   public void sendBatch(final List<? extends Message> messages) throws ActiveMQException {
+      sendBatch(null, messages);
+   }
+
+   @Override
+   public void sendBatch(SimpleString address1, final List<? extends Message> messages) throws ActiveMQException {
+      checkClosed();
+
+      if (address1 == null) {
+         address1 = this.address;
+      }
+
+      final List<ICoreMessage> batch = new ArrayList<>(messages.size());
+      for (Message message : messages) {
+         // In case we received message from another protocol, we first need to convert it to core as the ClientProducer only understands core
+         final ICoreMessage msg = message.toCore();
+         if (isLarge(msg)) {
+            // large messages are streamed on their own, after the regular ones sent before them
+            sendRegularMessages(address1, batch);
+            batch.clear();
+            send(address1, msg);
+         } else {
+            batch.add(msg);
+         }
+      }
+      sendRegularMessages(address1, batch);
+   }
+
    @Override
    public synchronized void close() throws ActiveMQException {
       if (closed) {
@@ -212,9 +264,13 @@ public class ClientProducerImpl implements ClientProducerInternal {
       closed = true;
    }
 
-   private void doSend(SimpleString sendingAddress,
-                       final Message msgToSend,
-                       final SendAcknowledgementHandler handler) throws ActiveMQException {
+   /**
+    * @return the stage of the send if {@code async}, {@code null} otherwise
+    */
+   private CompletionStage<Void> doSend(SimpleString sendingAddress,
+                                        final Message msgToSend,
+                                        final SendAcknowledgementHandler handler,
+                                        final boolean async) throws ActiveMQException {
       if (sendingAddress == null) {
          sendingAddress = this.address;
       }
@@ -226,16 +282,7 @@ public class ClientProducerImpl implements ClientProducerInternal {
 
          ClientProducerCredits theCredits;
 
-         boolean isLarge;
-         // a note about the second check on the writerIndexSize,
-         // If it's a server's message, it means this is being done through the bridge or some special consumer on the
-         // server's on which case we can't' convert the message into large at the servers
-         if (sessionContext.supportsLargeMessage() && (getBodyInputStream(msg) != null || msg.isLargeMessage() ||
-            msg.getBodyBuffer().writerIndex() > minLargeMessageSize)) {
-            isLarge = true;
-         } else {
-            isLarge = false;
-         }
+         final boolean isLarge = isLarge(msg);
 
          if (!isLarge) {
             session.setAddress(msg, sendingAddress);
@@ -263,24 +310,106 @@ public class ClientProducerImpl implements ClientProducerInternal {
          session.workDone();
 
          if (isLarge) {
-            largeMessageSend(sendBlocking, msg, theCredits, handler);
+            // the continuations aren't correlated with their responses: it's sent as a blocking send
+            largeMessageSend(sendBlocking || async, msg, theCredits, handler);
+            return async ? CompletableFuture.completedFuture(null) : null;
          } else {
-            sendRegularMessage(sendingAddress, msg, sendBlocking, theCredits, handler);
+            return sendRegularMessage(sendingAddress, msg, sendBlocking, theCredits, handler, async);
+         }
+      } finally {
+         session.endCall();
+      }
+   }
+
+   private boolean isLarge(ICoreMessage msg) {
+      // a note about the second check on the writerIndexSize,
+      // If it's a server's message, it means this is being done through the bridge or some special consumer on the
+      // server's on which case we can't' convert the message into large at the servers
+      return sessionContext.supportsLargeMessage() && (getBodyInputStream(msg) != null || msg.isLargeMessage() ||
+         msg.getBodyBuffer().writerIndex() > minLargeMessageSize);
+   }
+
+   /**
+    * Sends regular messages as {@link #doSend} would do for each one of them, but in a single packet.
+    */
+   private void sendRegularMessages(final SimpleString sendingAddress,
+                                    final List<ICoreMessage> msgs) throws ActiveMQException {
+      if (msgs.isEmpty()) {
+         return;
+      }
+
+      final SendAcknowledgementHandler sessionHandler = sessionContext.getSendAcknowledgementHandler();
+      final List<SendAcknowledgementHandler> handlers;
+      if (sessionHandler != null) {
+         handlers = new ArrayList<>(msgs.size());
+         for (int i = 0; i < msgs.size(); i++) {
+            handlers.add(new SendAcknowledgementHandlerWrapper(sessionHandler));
+         }
+      } else {
+         handlers = null;
+      }
+
+      session.startCall();
+
+      try {
+         // Anonymous
+         final ClientProducerCredits theCredits = session.getCredits(sendingAddress, true);
+
+         boolean sendBlockingConfig = false;
+
+         for (ICoreMessage msg : msgs) {
+            session.setAddress(msg, sendingAddress);
+
+            if (rateLimiter != null) {
+               // Rate flow control
+
+               rateLimiter.limit();
+            }
+
+            if (groupID != null) {
+               msg.putStringProperty(Message.HDR_GROUP_ID, groupID);
+            }
+
+            sendBlockingConfig |= msg.isDurable() ? blockOnDurableSend : blockOnNonDurableSend;
          }
+
+         // if Handler != null, we will send non blocking
+         final boolean sendBlocking = sendBlockingConfig && handlers == null;
+
+         session.workDone();
+
+         if (logger.isTraceEnabled()) {
+            logger.trace("sendRegularMessages::" + msgs.size() + " messages, Blocking=" + sendBlocking);
+         }
+
+         // This will block if credits are not available
+         for (ICoreMessage msg : msgs) {
+            theCredits.acquireCredits(sessionContext.getCreditsOnSendingFull(msg));
+         }
+
+         sessionContext.sendFullMessages(new ArrayList<>(msgs), sendBlocking, handlers, address);
       } finally {
          session.endCall();
       }
+
+      if (handlers != null && !session.isConfirmationWindowEnabled()) {
+         // if there is no confirmation enabled, we will at least call the handler after the sent is done
+         for (int i = 0; i < msgs.size(); i++) {
+            session.scheduleConfirmation(handlers.get(i), msgs.get(i));
+         }
+      }
    }
 
    private InputStream getBodyInputStream(ICoreMessage msgI) {
       return msgI.getBodyInputStream();
    }
 
-   private void sendRegularMessage(final SimpleString sendingAddress,
-                                   final ICoreMessage msgI,
-                                   final boolean sendBlocking,
-                                   final ClientProducerCredits theCredits,
-                                   final SendAcknowledgementHandler handler) throws ActiveMQException {
+   private CompletionStage<Void> sendRegularMessage(final SimpleString sendingAddress,
+                                                    final ICoreMessage msgI,
+                                                    final boolean sendBlocking,
+                                                    final ClientProducerCredits theCredits,
+                                                    final SendAcknowledgementHandler handler,
+                                                    final boolean async) throws ActiveMQException {
       // This will block if credits are not available
 
       // Note, that for a large message, the encode size only includes the properties + headers
@@ -293,7 +422,13 @@ public class ClientProducerImpl implements ClientProducerInternal {
 
       theCredits.acquireCredits(creditSize);
 
+      if (async) {
+         return sessionContext.sendFullMessageAsync(msgI, address);
+      }
+
       sessionContext.sendFullMessage(msgI, sendBlocking, handler, address);
+
+      return null;
    }
 
    private void checkClosed() throws ActiveMQException {
@@ -427,12 +562,16 @@ public class ClientProducerImpl implements ClientProducerInternal {
       // This counter will be passed to the deflater to be updated for every byte read
       AtomicLong messageSize = new AtomicLong();
 
-      DeflaterReader deflaterReader = null;
-
       if (session.isCompressLargeMessages()) {
+         final CompressionCodec codec = session.getCompressionCodec();
          msgI.putBooleanProperty(Message.HDR_LARGE_COMPRESSED, true);
-         deflaterReader = new DeflaterReader(inputStreamParameter, messageSize);
-         input = deflaterReader;
+         if (DeflateCodec.NAME.equals(codec.getName())) {
+            // the consumers assume deflate without it
+            msgI.removeProperty(Message.HDR_LARGE_COMPRESSION_CODEC);
+         } else {
+            msgI.putStringProperty(Message.HDR_LARGE_COMPRESSION_CODEC, SimpleString.toSimpleString(codec.getName()));
+         }
+         input = codec.compress(inputStreamParameter, session.getCompressionLevel(), messageSize);
       }
 
       long totalSize = 0;
@@ -484,10 +623,10 @@ public class ClientProducerImpl implements ClientProducerInternal {
             if (!headerSent && session.isCompressLargeMessages() && buff2.length < minLargeMessageSize) {
                msgI.getBodyBuffer().resetReaderIndex();
                msgI.getBodyBuffer().resetWriterIndex();
-               msgI.putLongProperty(Message.HDR_LARGE_BODY_SIZE, deflaterReader.getTotalSize());
+               msgI.putLongProperty(Message.HDR_LARGE_BODY_SIZE, messageSize.get());
 
                msgI.getBodyBuffer().writeBytes(buff, 0, pos);
-               sendRegularMessage(msgI.getAddressSimpleString(), msgI, sendBlocking, credits, handler);
+               sendRegularMessage(msgI.getAddressSimpleString(), msgI, sendBlocking, credits, handler, false);
                return;
             } else {
                if (!headerSent) {
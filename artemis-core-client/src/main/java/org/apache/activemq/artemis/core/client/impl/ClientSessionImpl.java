@@ -19,12 +19,16 @@ package org.apache.activemq.artemis.core.client.impl;
 import javax.transaction.xa.XAException;
 import javax.transaction.xa.XAResource;
 import javax.transaction.xa.Xid;
+import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -38,12 +42,14 @@ import org.apache.activemq.artemis.api.core.QueueAttributes;
 import org.apache.activemq.artemis.api.core.QueueConfiguration;
 import org.apache.activemq.artemis.api.core.RoutingType;
 import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.api.core.client.ActiveMQClient;
 import org.apache.activemq.artemis.api.core.client.ClientConsumer;
 import org.apache.activemq.artemis.api.core.client.ClientMessage;
 import org.apache.activemq.artemis.api.core.client.ClientProducer;
 import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
 import org.apache.activemq.artemis.api.core.client.FailoverEventListener;
 import org.apache.activemq.artemis.api.core.client.SendAcknowledgementHandler;
+import org.apache.activemq.artemis.api.core.client.ServerLocator;
 import org.apache.activemq.artemis.api.core.client.SessionFailureListener;
 import org.apache.activemq.artemis.core.client.ActiveMQClientLogger;
 import org.apache.activemq.artemis.core.client.ActiveMQClientMessageBundle;
@@ -57,6 +63,9 @@ import org.apache.activemq.artemis.utils.ConfirmationWindowWarning;
 import org.apache.activemq.artemis.utils.TokenBucketLimiterImpl;
 import org.apache.activemq.artemis.utils.UUIDGenerator;
 import org.apache.activemq.artemis.utils.XidCodecSupport;
+import org.apache.activemq.artemis.utils.compression.CompressionCodec;
+import org.apache.activemq.artemis.utils.compression.CompressionCodecs;
+import org.apache.activemq.artemis.utils.compression.DeflateCodec;
 import org.jboss.logging.Logger;
 
 public final class ClientSessionImpl implements ClientSessionInternal, FailureListener {
@@ -118,6 +127,12 @@ public final class ClientSessionImpl implements ClientSessionInternal, FailureLi
 
    private final boolean compressLargeMessages;
 
+   private final CompressionCodec compressionCodec;
+
+   private final int compressionLevel;
+
+   private volatile boolean compressionCodecNotSupportedLogged;
+
    private volatile int initialMessagePacketSize;
 
    private final boolean cacheLargeMessageClient;
@@ -152,6 +167,9 @@ public final class ClientSessionImpl implements ClientSessionInternal, FailureLi
 
    private final Executor closeExecutor;
 
+   // the asynchronous operations whose responses can't be correlated are executed one at a time on it
+   private final Executor asyncExecutor;
+
    private final CoreMessageObjectPools coreMessageObjectPools = new CoreMessageObjectPools();
 
    ClientSessionImpl(final ClientSessionFactoryInternal sessionFactory,
@@ -180,7 +198,8 @@ public final class ClientSessionImpl implements ClientSessionInternal, FailureLi
                      final SessionContext sessionContext,
                      final Executor executor,
                      final Executor flowControlExecutor,
-                     final Executor closeExecutor) throws ActiveMQException {
+                     final Executor closeExecutor,
+                     final Executor asyncExecutor) throws ActiveMQException {
       this.sessionFactory = sessionFactory;
 
       this.name = name;
@@ -225,6 +244,12 @@ public final class ClientSessionImpl implements ClientSessionInternal, FailureLi
 
       this.compressLargeMessages = compressLargeMessages;
 
+      final ServerLocator serverLocator = sessionFactory == null ? null : sessionFactory.getServerLocator();
+
+      this.compressionCodec = compressionCodec(serverLocator == null ? null : serverLocator.getCompressionCodec());
+
+      this.compressionLevel = serverLocator == null ? ActiveMQClient.DEFAULT_COMPRESSION_LEVEL : serverLocator.getCompressionLevel();
+
       this.initialMessagePacketSize = initialMessagePacketSize;
 
       this.groupID = groupID;
@@ -238,6 +263,8 @@ public final class ClientSessionImpl implements ClientSessionInternal, FailureLi
       confirmationWindowWarning = sessionFactory.getConfirmationWindowWarning();
 
       this.closeExecutor = closeExecutor;
+
+      this.asyncExecutor = asyncExecutor;
    }
 
    // ClientSession implementation
@@ -304,6 +331,14 @@ public final class ClientSessionImpl implements ClientSessionInternal, FailureLi
       internalCreateQueue(queueConfiguration);
    }
 
+   @Override
+   public CompletionStage<Void> createQueueAsync(final QueueConfiguration queueConfiguration) {
+      return callAsync(() -> {
+         internalCreateQueue(queueConfiguration);
+         return null;
+      });
+   }
+
    @Override
    public void createSharedQueue(QueueConfiguration queueConfiguration) throws ActiveMQException {
       checkClosed();
@@ -784,6 +819,11 @@ public final class ClientSessionImpl implements ClientSessionInternal, FailureLi
 
    }
 
+   @Override
+   public CompletionStage<QueueQuery> queueQueryAsync(final SimpleString queueName) {
+      return callAsync(() -> queueQuery(queueName));
+   }
+
    @Override
    public AddressQuery addressQuery(final SimpleString address) throws ActiveMQException {
       checkClosed();
@@ -982,6 +1022,54 @@ public final class ClientSessionImpl implements ClientSessionInternal, FailureLi
       workDone = false;
    }
 
+   /**
+    * The commit is written on the caller thread, as {@link #commit(boolean)} does: the sends and acknowledgements
+    * issued after it returns belong to the next transaction.
+    */
+   @Override
+   public CompletionStage<Void> commitAsync() {
+      try {
+         checkClosed();
+
+         if (logger.isTraceEnabled()) {
+            logger.trace("Sending commit asynchronously");
+         }
+
+         // we have failed over since any work was done so we should rollback
+         if (rollbackOnly) {
+            return rollbackOnFailoverAsync();
+         }
+
+         flushAcks();
+
+         // as commit(boolean) does, we rollback instead of committing something we wouldn't know about
+         if (rollbackOnly) {
+            return rollbackOnFailoverAsync();
+         }
+
+         final CompletableFuture<Void> committed = new CompletableFuture<>();
+
+         sessionContext.simpleCommitAsync().whenComplete((v, t) -> {
+            if (t == null) {
+               committed.complete(null);
+            } else if (t instanceof ActiveMQException && (((ActiveMQException) t).getType() == ActiveMQExceptionType.UNBLOCKED || ((ActiveMQException) t).getType() == ActiveMQExceptionType.CONNECTION_TIMEDOUT)) {
+               // The call to commit was unlocked on failover: we don't know what happened to the tx
+               final ActiveMQException outcomeUnknown = ActiveMQClientMessageBundle.BUNDLE.txOutcomeUnknown();
+               outcomeUnknown.initCause(t);
+               committed.completeExceptionally(outcomeUnknown);
+            } else {
+               committed.completeExceptionally(t);
+            }
+         });
+
+         workDone = false;
+
+         return committed;
+      } catch (Throwable t) {
+         return failedStage(t);
+      }
+   }
+
    @Override
    public boolean isRollbackOnly() {
       return rollbackOnly;
@@ -997,6 +1085,64 @@ public final class ClientSessionImpl implements ClientSessionInternal, FailureLi
       rollback(isLastMessageAsDelivered, true);
    }
 
+   /**
+    * Unlike {@link #rollback(boolean)}, it doesn't stop the session to cancel the buffers of its consumers: the
+    * rollback is written on the caller thread right after the pending acknowledgements, the messages in the buffers are
+    * delivered in order and the rolled back ones are redelivered after them.
+    */
+   @Override
+   public CompletionStage<Void> rollbackAsync() {
+      try {
+         checkClosed();
+
+         if (logger.isTraceEnabled()) {
+            logger.trace("Sending rollback asynchronously");
+         }
+
+         flushAcks();
+
+         final CompletionStage<Void> rolledBack = sessionContext.simpleRollbackAsync(false);
+
+         rollbackOnly = false;
+
+         return rolledBack;
+      } catch (Throwable t) {
+         return failedStage(t);
+      }
+   }
+
+   private CompletionStage<Void> rollbackOnFailoverAsync() {
+      return rollbackAsync().thenCompose(v -> failedStage(ActiveMQClientMessageBundle.BUNDLE.txRolledBack()));
+   }
+
+   private static <T> CompletionStage<T> failedStage(final Throwable t) {
+      final CompletableFuture<T> future = new CompletableFuture<>();
+      future.completeExceptionally(t);
+      return future;
+   }
+
+   /**
+    * The responses of these calls aren't correlated with them: they are executed as blocking calls, but on
+    * {@link #asyncExecutor} instead of on the caller thread.
+    */
+   private <T> CompletionStage<T> callAsync(final Callable<T> call) {
+      final CompletableFuture<T> future = new CompletableFuture<>();
+      try {
+         checkClosed();
+
+         asyncExecutor.execute(() -> {
+            try {
+               future.complete(call.call());
+            } catch (Throwable t) {
+               future.completeExceptionally(t);
+            }
+         });
+      } catch (Throwable t) {
+         future.completeExceptionally(t);
+      }
+      return future;
+   }
+
    public void rollback(final boolean isLastMessageAsDelivered, final boolean waitConsumers) throws ActiveMQException {
       if (logger.isTraceEnabled()) {
          logger.trace("calling rollback(isLastMessageAsDelivered=" + isLastMessageAsDelivered + ")");
@@ -1172,6 +1318,33 @@ public final class ClientSessionImpl implements ClientSessionInternal, FailureLi
       return compressLargeMessages;
    }
 
+   @Override
+   public CompressionCodec getCompressionCodec() {
+      if (sessionContext.supportsCompressionCodec(compressionCodec.getName())) {
+         return compressionCodec;
+      }
+      // the broker couldn't hand the messages over to the consumers lacking the codec
+      if (!compressionCodecNotSupportedLogged) {
+         compressionCodecNotSupportedLogged = true;
+         ActiveMQClientLogger.LOGGER.compressionCodecNotSupported(compressionCodec.getName());
+      }
+      return CompressionCodecs.get(DeflateCodec.NAME);
+   }
+
+   @Override
+   public int getCompressionLevel() {
+      return compressionLevel;
+   }
+
+   private static CompressionCodec compressionCodec(String name) {
+      if (name == null || CompressionCodecs.isAvailable(name)) {
+         return CompressionCodecs.get(name);
+      }
+      // the consumers could lack it too: deflate is always there
+      ActiveMQClientLogger.LOGGER.compressionCodecNotAvailable(name);
+      return CompressionCodecs.get(DeflateCodec.NAME);
+   }
+
    /**
     * @return the cacheLargeMessageClient
     */
@@ -1327,6 +1500,9 @@ public final class ClientSessionImpl implements ClientSessionInternal, FailureLi
       }
 
       try {
+         // the consumers would flush their pending acks one by one while closing
+         flushAcks();
+
          closeChildren();
 
          synchronized (producerCreditManager) {
@@ -2133,9 +2309,38 @@ public final class ClientSessionImpl implements ClientSessionInternal, FailureLi
       }
    }
 
+   /**
+    * Sends the pending acknowledgements of all the consumers, in a single packet if the server supports it.
+    */
    private void flushAcks() throws ActiveMQException {
-      for (ClientConsumerInternal consumer : cloneConsumers()) {
-         consumer.flushAcks();
+      final Set<ClientConsumerInternal> consumers = cloneConsumers();
+      final ClientConsumer[] ackConsumers = new ClientConsumer[consumers.size()];
+      final Message[] ackMessages = new Message[consumers.size()];
+      int acks = 0;
+      for (ClientConsumerInternal consumer : consumers) {
+         final ClientMessageInternal message = consumer.takePendingAck();
+         if (message != null) {
+            ackConsumers[acks] = consumer;
+            ackMessages[acks] = message;
+            acks++;
+         }
+      }
+
+      // if we're pre-acknowledging then we don't need to do anything
+      if (acks == 0 || preAcknowledge) {
+         return;
+      }
+
+      checkClosed();
+      if (logger.isDebugEnabled()) {
+         logger.debug("client flushing " + acks + " acks");
+      }
+
+      startCall();
+      try {
+         sessionContext.sendACKs(blockOnAcknowledge, Arrays.copyOf(ackConsumers, acks), Arrays.copyOf(ackMessages, acks));
+      } finally {
+         endCall();
       }
    }
 
@@ -26,6 +26,7 @@ import org.apache.activemq.artemis.spi.core.protocol.RemotingConnection;
 import org.apache.activemq.artemis.spi.core.remoting.ConsumerContext;
 import org.apache.activemq.artemis.spi.core.remoting.ReadyListener;
 import org.apache.activemq.artemis.spi.core.remoting.SessionContext;
+import org.apache.activemq.artemis.utils.compression.CompressionCodec;
 
 public interface ClientSessionInternal extends ClientSession {
 
@@ -41,6 +42,13 @@ public interface ClientSessionInternal extends ClientSession {
 
    boolean isCompressLargeMessages();
 
+   /**
+    * @return the codec used to compress large messages
+    */
+   CompressionCodec getCompressionCodec();
+
+   int getCompressionLevel();
+
    void expire(ClientConsumer consumer, Message message) throws ActiveMQException;
 
    void addConsumer(ClientConsumerInternal consumer);
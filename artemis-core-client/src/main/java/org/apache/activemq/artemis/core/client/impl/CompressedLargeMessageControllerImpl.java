@@ -27,11 +27,12 @@ import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.ActiveMQException;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.client.ActiveMQClientLogger;
+import org.apache.activemq.artemis.core.client.ActiveMQClientMessageBundle;
 import org.apache.activemq.artemis.utils.ActiveMQBufferInputStream;
 import org.apache.activemq.artemis.utils.DataConstants;
-import org.apache.activemq.artemis.utils.InflaterReader;
-import org.apache.activemq.artemis.utils.InflaterWriter;
 import org.apache.activemq.artemis.utils.UTF8Util;
+import org.apache.activemq.artemis.utils.compression.CompressionCodec;
+import org.apache.activemq.artemis.utils.compression.CompressionCodecs;
 
 final class CompressedLargeMessageControllerImpl implements LargeMessageController {
 
@@ -39,8 +40,22 @@ final class CompressedLargeMessageControllerImpl implements LargeMessageControll
 
    private final LargeMessageController bufferDelegate;
 
-   CompressedLargeMessageControllerImpl(final LargeMessageController bufferDelegate) {
+   private final String codecName;
+
+   /**
+    * @param codecName the name of the codec that compressed the body, {@code null} for deflate: it's resolved when
+    *                  the body is read, so a missing codec fails the reading rather than the delivery
+    */
+   CompressedLargeMessageControllerImpl(final LargeMessageController bufferDelegate, final String codecName) {
       this.bufferDelegate = bufferDelegate;
+      this.codecName = codecName;
+   }
+
+   private CompressionCodec codec() throws ActiveMQException {
+      if (codecName != null && !CompressionCodecs.isAvailable(codecName)) {
+         throw ActiveMQClientMessageBundle.BUNDLE.compressionCodecNotAvailable(codecName);
+      }
+      return CompressionCodecs.get(codecName);
    }
 
    /**
@@ -71,7 +86,7 @@ final class CompressedLargeMessageControllerImpl implements LargeMessageControll
 
    @Override
    public void setOutputStream(final OutputStream output) throws ActiveMQException {
-      bufferDelegate.setOutputStream(new InflaterWriter(output));
+      bufferDelegate.setOutputStream(codec().decompress(output));
    }
 
    @Override
@@ -100,7 +115,7 @@ final class CompressedLargeMessageControllerImpl implements LargeMessageControll
          try {
             InputStream input = new ActiveMQBufferInputStream(bufferDelegate);
 
-            dataInput = new DataInputStream(new InflaterReader(input));
+            dataInput = new DataInputStream(codec().decompress(input));
          } catch (Exception e) {
             throw new RuntimeException(e.getMessage(), e);
          }
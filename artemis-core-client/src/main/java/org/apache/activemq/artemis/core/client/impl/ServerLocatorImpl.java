@@ -1252,6 +1252,30 @@ public final class ServerLocatorImpl implements ServerLocatorInternal, Discovery
       return this;
    }
 
+   @Override
+   public String getCompressionCodec() {
+      return config.compressionCodec;
+   }
+
+   @Override
+   public ServerLocatorImpl setCompressionCodec(String compressionCodec) {
+      checkWrite();
+      this.config.compressionCodec = compressionCodec;
+      return this;
+   }
+
+   @Override
+   public int getCompressionLevel() {
+      return config.compressionLevel;
+   }
+
+   @Override
+   public ServerLocatorImpl setCompressionLevel(int compressionLevel) {
+      checkWrite();
+      this.config.compressionLevel = compressionLevel;
+      return this;
+   }
+
    private void checkWrite() {
       synchronized (stateGuard) {
          if (state != null && state != STATE.CLOSED) {
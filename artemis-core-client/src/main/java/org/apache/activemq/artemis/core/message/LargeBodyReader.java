@@ -16,6 +16,7 @@
  */
 package org.apache.activemq.artemis.core.message;
 
+import java.io.File;
 import java.nio.ByteBuffer;
 
 import org.apache.activemq.artemis.api.core.ActiveMQException;
@@ -62,4 +63,14 @@ public interface LargeBodyReader {
     * This method must not be called directly by ActiveMQ Artemis clients.
     */
    long getSize() throws ActiveMQException;
+
+   /**
+    * This method must not be called directly by ActiveMQ Artemis clients.
+    *
+    * It returns the file containing the body as it is (starting at position 0), that can be transferred to the
+    * wire without reading it, or {@code null} if there isn't such file.
+    */
+   default File getFile() {
+      return null;
+   }
 }
@@ -17,12 +17,12 @@
 
 package org.apache.activemq.artemis.core.message.impl;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.util.Objects;
 import java.util.Set;
-import java.util.zip.DataFormatException;
-import java.util.zip.Inflater;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufUtil;
@@ -47,6 +47,7 @@ import org.apache.activemq.artemis.reader.MessageUtil;
 import org.apache.activemq.artemis.utils.DataConstants;
 import org.apache.activemq.artemis.utils.UUID;
 import org.apache.activemq.artemis.utils.collections.TypedProperties;
+import org.apache.activemq.artemis.utils.compression.CompressionCodecs;
 import org.jboss.logging.Logger;
 
 /** Note: you shouldn't change properties using multi-threads. Change your properties before you can send it to multiple
@@ -248,19 +249,25 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
       return buffer;
    }
 
-   private ActiveMQBuffer inflate(ActiveMQBuffer buffer) throws DataFormatException {
+   private ActiveMQBuffer inflate(ActiveMQBuffer buffer) throws IOException {
       final int bytesToRead = buffer.readableBytes();
-      Inflater inflater = new Inflater();
       final byte[] input = new byte[bytesToRead];
       buffer.readBytes(input);
-      inflater.setInput(input);
 
       //get the real size of large message
       long sizeBody = getLongProperty(Message.HDR_LARGE_BODY_SIZE);
 
       byte[] data = new byte[(int) sizeBody];
-      inflater.inflate(data);
-      inflater.end();
+      try (InputStream inflater = CompressionCodecs.of(this).decompress(new ByteArrayInputStream(input))) {
+         int read = 0;
+         while (read < data.length) {
+            final int n = inflater.read(data, read, data.length - read);
+            if (n == -1) {
+               break;
+            }
+            read += n;
+         }
+      }
       ActiveMQBuffer qbuff = ActiveMQBuffers.wrappedBuffer(data);
       qbuff.resetReaderIndex();
       qbuff.resetWriterIndex();
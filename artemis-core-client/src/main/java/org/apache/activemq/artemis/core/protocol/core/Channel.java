@@ -19,6 +19,7 @@ package org.apache.activemq.artemis.core.protocol.core;
 import java.util.concurrent.locks.Lock;
 
 import org.apache.activemq.artemis.api.core.ActiveMQException;
+import org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl;
 
 /**
  * A channel is a way of interleaving data meant for different endpoints over the same {@link org.apache.activemq.artemis.core.protocol.core.CoreRemotingConnection}.
@@ -127,6 +128,21 @@ public interface Channel {
     */
    Packet sendBlocking(Packet packet, int reconnectID, byte expectedPacket) throws ActiveMQException;
 
+   /**
+    * Sends a packet on this channel without waiting for its response: {@code responseHandler} is called with the
+    * response once it's received, or with an exception if the channel fails before.
+    * <p>
+    * The response of the packet must carry its correlation ID, see {@link Packet#isResponseAsync()}. The default
+    * implementation blocks on {@link #sendBlocking(Packet, byte)} expecting a null response.
+    *
+    * @param packet          the packet to send
+    * @param responseHandler the handler of the response of {@code packet}
+    * @throws ActiveMQException if an error occurs during the send
+    */
+   default void sendAsync(Packet packet, ResponseHandler responseHandler) throws ActiveMQException {
+      responseHandler.handleResponse(packet, sendBlocking(packet, PacketImpl.NULL_RESPONSE));
+   }
+
    /**
     * Sets the {@link org.apache.activemq.artemis.core.protocol.core.ChannelHandler} that this channel should
     * forward received packets to.
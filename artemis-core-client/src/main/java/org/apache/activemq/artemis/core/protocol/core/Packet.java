@@ -17,6 +17,7 @@
 package org.apache.activemq.artemis.core.protocol.core;
 
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.spi.core.remoting.Connection;
 
 /**
  * A Packet represents a packet of data transmitted over a connection.
@@ -80,6 +81,19 @@ public interface Packet {
     */
    ActiveMQBuffer encode(CoreRemotingConnection connection);
 
+   /**
+    * Writes the buffer returned by {@link #encode(CoreRemotingConnection)} to the transport connection.
+    * Packets whose content isn't entirely encoded into the buffer (eg a body transferred from a file) override it.
+    *
+    * @param connection the transport connection
+    * @param buffer     the encoded packet
+    * @param flush      whether to flush the buffers onto the wire
+    * @param batched    whether the packet is allowed to batched for better performance
+    */
+   default void write(Connection connection, ActiveMQBuffer buffer, boolean flush, boolean batched) {
+      connection.write(buffer, flush, batched);
+   }
+
    /**
     * decodes the buffer into this packet
     *
@@ -59,6 +59,7 @@ import org.apache.activemq.artemis.spi.core.remoting.Connection;
 import org.apache.activemq.artemis.spi.core.remoting.SessionContext;
 import org.apache.activemq.artemis.spi.core.remoting.TopologyResponseHandler;
 import org.apache.activemq.artemis.utils.VersionLoader;
+import org.apache.activemq.artemis.utils.compression.CompressionCodecs;
 import org.jboss.logging.Logger;
 
 /**
@@ -354,7 +355,7 @@ public class ActiveMQClientProtocolManager implements ClientProtocolManager {
                                            int minLargeMessageSize,
                                            int confirmationWindowSize,
                                            long sessionChannelID) {
-      return new CreateSessionMessage(name, sessionChannelID, clientVersion.getIncrementingVersion(), username, password, minLargeMessageSize, xa, autoCommitSends, autoCommitAcks, preAcknowledge, confirmationWindowSize, null);
+      return new CreateSessionMessage(name, sessionChannelID, clientVersion.getIncrementingVersion(), username, password, minLargeMessageSize, xa, autoCommitSends, autoCommitAcks, preAcknowledge, confirmationWindowSize, null, CompressionCodecs.getAvailableNames());
    }
 
    protected SessionContext newSessionContext(String name,
@@ -362,7 +363,7 @@ public class ActiveMQClientProtocolManager implements ClientProtocolManager {
                                               Channel sessionChannel,
                                               CreateSessionResponseMessage response) {
       // these objects won't be null, otherwise it would keep retrying on the previous loop
-      return new ActiveMQSessionContext(name, connection, sessionChannel, response.getServerVersion(), confirmationWindowSize);
+      return new ActiveMQSessionContext(name, connection, sessionChannel, response.getServerVersion(), confirmationWindowSize, response.getCompressionCodecs());
    }
 
    @Override
@@ -33,11 +33,15 @@ import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SES
 
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
@@ -71,12 +75,15 @@ import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.CreateAddr
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.CreateQueueMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.CreateQueueMessage_V2;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.CreateSessionMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.CreateSessionResponseMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.CreateSharedQueueMessage_V2;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.DisconnectConsumerMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.DisconnectConsumerWithKillMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReattachSessionMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReattachSessionResponseMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.RollbackMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.RollbackMessage_V2;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionAcknowledgeBatchMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionAcknowledgeMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionAddMetaDataMessageV2;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionBindingQueryMessage;
@@ -85,6 +92,7 @@ import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionBin
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionBindingQueryResponseMessage_V3;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionBindingQueryResponseMessage_V4;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionCloseMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionCommitMessage_V2;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionConsumerCloseMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionConsumerFlowCreditMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionCreateConsumerMessage;
@@ -101,6 +109,7 @@ import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionRec
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionReceiveLargeMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionReceiveMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionRequestProducerCreditsMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionSendBatchMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionSendContinuationMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionSendContinuationMessage_V2;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionSendLargeMessage;
@@ -127,6 +136,7 @@ import org.apache.activemq.artemis.spi.core.remoting.Connection;
 import org.apache.activemq.artemis.spi.core.remoting.ReadyListener;
 import org.apache.activemq.artemis.spi.core.remoting.SessionContext;
 import org.apache.activemq.artemis.utils.TokenBucketLimiterImpl;
+import org.apache.activemq.artemis.utils.compression.CompressionCodecs;
 import org.jboss.logging.Logger;
 
 public class ActiveMQSessionContext extends SessionContext {
@@ -135,6 +145,8 @@ public class ActiveMQSessionContext extends SessionContext {
 
    private final Channel sessionChannel;
    private final int serverVersion;
+   // the compression codecs the server can decompress, updated when the session is recreated on another server
+   private volatile Set<String> serverCompressionCodecs;
    private int confirmationWindow;
    private String name;
    private boolean killed;
@@ -162,11 +174,21 @@ public class ActiveMQSessionContext extends SessionContext {
                                  Channel sessionChannel,
                                  int serverVersion,
                                  int confirmationWindow) {
+      this(name, remotingConnection, sessionChannel, serverVersion, confirmationWindow, new String[0]);
+   }
+
+   public ActiveMQSessionContext(String name,
+                                 RemotingConnection remotingConnection,
+                                 Channel sessionChannel,
+                                 int serverVersion,
+                                 int confirmationWindow,
+                                 String[] serverCompressionCodecs) {
       super(remotingConnection);
 
       this.name = name;
       this.sessionChannel = sessionChannel;
       this.serverVersion = serverVersion;
+      this.serverCompressionCodecs = new HashSet<>(Arrays.asList(serverCompressionCodecs));
       this.confirmationWindow = confirmationWindow;
 
       ChannelHandler handler = new ClientSessionPacketHandler();
@@ -219,6 +241,12 @@ public class ActiveMQSessionContext extends SessionContext {
          if (packet.getType() == PacketImpl.SESS_SEND) {
             SessionSendMessage ssm = (SessionSendMessage) packet;
             callSendAck(ssm.getHandler(), ssm.getMessage(), activeMQException);
+         } else if (packet.getType() == PacketImpl.SESS_SEND_BATCH) {
+            SessionSendBatchMessage ssbm = (SessionSendBatchMessage) packet;
+            final List<ICoreMessage> messages = ssbm.getMessages();
+            for (int i = 0, size = messages.size(); i < size; i++) {
+               callSendAck(ssbm.getHandler(i), messages.get(i), activeMQException);
+            }
          } else if (packet.getType() == PacketImpl.SESS_SEND_CONTINUATION) {
             SessionSendContinuationMessage scm = (SessionSendContinuationMessage) packet;
             if (!scm.isContinues()) {
@@ -404,6 +432,11 @@ public class ActiveMQSessionContext extends SessionContext {
       return serverVersion;
    }
 
+   @Override
+   public boolean supportsCompressionCodec(String codec) {
+      return super.supportsCompressionCodec(codec) || serverCompressionCodecs.contains(codec);
+   }
+
    @Override
    public ClientSession.AddressQuery addressQuery(final SimpleString address) throws ActiveMQException {
       if (sessionChannel.supports(PacketImpl.SESS_BINDINGQUERY_RESP_V4, getServerVersion())) {
@@ -460,6 +493,22 @@ public class ActiveMQSessionContext extends SessionContext {
       sessionChannel.sendBlocking(new RollbackMessage(lastMessageAsDelivered), PacketImpl.NULL_RESPONSE);
    }
 
+   @Override
+   public CompletionStage<Void> simpleCommitAsync() throws ActiveMQException {
+      if (!sessionChannel.supports(PacketImpl.SESS_COMMIT_V2, getServerVersion())) {
+         return super.simpleCommitAsync();
+      }
+      return sendAsync(new SessionCommitMessage_V2());
+   }
+
+   @Override
+   public CompletionStage<Void> simpleRollbackAsync(boolean lastMessageAsDelivered) throws ActiveMQException {
+      if (!sessionChannel.supports(PacketImpl.SESS_ROLLBACK_V2, getServerVersion())) {
+         return super.simpleRollbackAsync(lastMessageAsDelivered);
+      }
+      return sendAsync(new RollbackMessage_V2(lastMessageAsDelivered));
+   }
+
    @Override
    public void sessionStart() throws ActiveMQException {
       sessionChannel.send(new PacketImpl(PacketImpl.SESS_START));
@@ -555,6 +604,48 @@ public class ActiveMQSessionContext extends SessionContext {
       }
    }
 
+   @Override
+   public void sendFullMessages(List<ICoreMessage> messages,
+                                boolean sendBlocking,
+                                List<SendAcknowledgementHandler> handlers,
+                                SimpleString defaultAddress) throws ActiveMQException {
+      if (messages.size() == 1 || !sessionChannel.supports(PacketImpl.SESS_SEND_BATCH, getServerVersion())) {
+         super.sendFullMessages(messages, sendBlocking, handlers, defaultAddress);
+         return;
+      }
+      boolean responseRequired = confirmationWindow != -1 || sendBlocking;
+      final SessionSendBatchMessage packet = new SessionSendBatchMessage(messages, responseRequired, handlers);
+      if (sendBlocking) {
+         sessionChannel.sendBlocking(packet, PacketImpl.NULL_RESPONSE);
+      } else {
+         sessionChannel.sendBatched(packet);
+      }
+   }
+
+   @Override
+   public CompletionStage<Void> sendFullMessageAsync(ICoreMessage msgI,
+                                                     SimpleString defaultAddress) throws ActiveMQException {
+      if (sessionChannel.getConnection().isVersionBeforeAsyncResponseChange()) {
+         return super.sendFullMessageAsync(msgI, defaultAddress);
+      }
+      return sendAsync(new SessionSendMessage_V2(msgI, true, null));
+   }
+
+   /**
+    * @return a stage completed once the server has answered {@code packet}, whose response carries its correlation ID
+    */
+   private CompletionStage<Void> sendAsync(Packet packet) throws ActiveMQException {
+      final CompletableFuture<Void> future = new CompletableFuture<>();
+      sessionChannel.sendAsync(packet, (request, response) -> {
+         if (response.getType() == PacketImpl.EXCEPTION) {
+            future.completeExceptionally(((ActiveMQExceptionMessage) response).getException());
+         } else {
+            future.complete(null);
+         }
+      });
+      return future;
+   }
+
    @Override
    public int sendInitialChunkOnLargeMessage(Message msgI) throws ActiveMQException {
       SessionSendLargeMessage initialChunk = new SessionSendLargeMessage(msgI);
@@ -604,6 +695,28 @@ public class ActiveMQSessionContext extends SessionContext {
       }
    }
 
+   @Override
+   public void sendACKs(boolean block, ClientConsumer[] consumers, Message[] messages) throws ActiveMQException {
+      if (consumers.length == 1 || !sessionChannel.supports(PacketImpl.SESS_ACKNOWLEDGE_BATCH, getServerVersion())) {
+         super.sendACKs(block, consumers, messages);
+         return;
+      }
+
+      final long[] consumerIDs = new long[consumers.length];
+      final long[] messageIDs = new long[messages.length];
+      for (int i = 0; i < consumers.length; i++) {
+         consumerIDs[i] = getConsumerID(consumers[i]);
+         messageIDs[i] = messages[i].getMessageID();
+      }
+      final SessionAcknowledgeBatchMessage messagePacket = new SessionAcknowledgeBatchMessage(consumerIDs, messageIDs, block);
+
+      if (block) {
+         sessionChannel.sendBlocking(messagePacket, PacketImpl.NULL_RESPONSE);
+      } else {
+         sessionChannel.sendBatched(messagePacket);
+      }
+   }
+
    @Override
    public void expireMessage(final ClientConsumer consumer, Message message) throws ActiveMQException {
       SessionExpireMessage messagePacket = new SessionExpireMessage(getConsumerID(consumer), message.getMessageID());
@@ -864,7 +977,8 @@ public class ActiveMQSessionContext extends SessionContext {
       boolean retry;
       do {
          try {
-            getCreateChannel().sendBlocking(createRequest, PacketImpl.CREATESESSION_RESP);
+            final CreateSessionResponseMessage response = (CreateSessionResponseMessage) getCreateChannel().sendBlocking(createRequest, PacketImpl.CREATESESSION_RESP);
+            serverCompressionCodecs = new HashSet<>(Arrays.asList(response.getCompressionCodecs()));
             retry = false;
          } catch (ActiveMQException e) {
             // the session was created while its server was starting, retry it:
@@ -893,7 +1007,7 @@ public class ActiveMQSessionContext extends SessionContext {
                                                    boolean autoCommitSends,
                                                    boolean autoCommitAcks,
                                                    boolean preAcknowledge) {
-      return new CreateSessionMessage(name, sessionChannel.getID(), getServerVersion(), username, password, minLargeMessageSize, xa, autoCommitSends, autoCommitAcks, preAcknowledge, confirmationWindow, null);
+      return new CreateSessionMessage(name, sessionChannel.getID(), getServerVersion(), username, password, minLargeMessageSize, xa, autoCommitSends, autoCommitAcks, preAcknowledge, confirmationWindow, null, CompressionCodecs.getAvailableNames());
    }
 
    @Override
@@ -19,6 +19,7 @@ package org.apache.activemq.artemis.core.protocol.core.impl;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Condition;
@@ -102,6 +103,12 @@ public final class ChannelImpl implements Channel {
 
    private final ResponseCache responseAsyncCache;
 
+   /**
+    * It correlates the pipelined blocking calls with their responses: it's {@link #responseAsyncCache} if there is one,
+    * to share its correlation IDs.
+    */
+   private final ResponseCache blockingResponseCache;
+
    private int firstStoredCommandID;
 
    private final AtomicInteger lastConfirmedCommandID = new AtomicInteger(-1);
@@ -150,6 +157,8 @@ public final class ChannelImpl implements Channel {
          responseAsyncCache = null;
       }
 
+      blockingResponseCache = responseAsyncCache != null ? responseAsyncCache : new ResponseCache();
+
       this.interceptors = interceptors;
    }
 
@@ -184,6 +193,13 @@ public final class ChannelImpl implements Channel {
             return version >= 129;
          case PacketImpl.SESS_BINDINGQUERY_RESP_V4:
             return version >= 129;
+         case PacketImpl.SESS_ACKNOWLEDGE_BATCH:
+            return version >= PacketImpl.ACKNOWLEDGE_BATCH_CHANGE_VERSION;
+         case PacketImpl.SESS_SEND_BATCH:
+            return version >= PacketImpl.SEND_BATCH_CHANGE_VERSION;
+         case PacketImpl.SESS_COMMIT_V2:
+         case PacketImpl.SESS_ROLLBACK_V2:
+            return version >= PacketImpl.ASYNC_COMMIT_CHANGE_VERSION;
          default:
             return true;
       }
@@ -220,9 +236,7 @@ public final class ChannelImpl implements Channel {
 
       try {
          ActiveMQException activeMQException = ActiveMQClientMessageBundle.BUNDLE.unblockingACall(cause);
-         if (responseAsyncCache != null) {
-            responseAsyncCache.errorAll(activeMQException);
-         }
+         blockingResponseCache.errorAll(activeMQException);
          response = new ActiveMQExceptionMessage(activeMQException);
 
          sendCondition.signal();
@@ -410,7 +424,7 @@ public final class ChannelImpl implements Channel {
          // The actual send must be outside the lock, or with OIO transport, the write can block if the tcp
          // buffer is full, preventing any incoming buffers being handled and blocking failover
          try {
-            connection.getTransportConnection().write(buffer, flush, batch);
+            packet.write(connection.getTransportConnection(), buffer, flush, batch);
          } catch (Throwable t) {
             //If runtime exception, we must remove from the cache to avoid filling up the cache causing it to be full.
             //The client would get still know about this as the exception bubbles up the call stack instead.
@@ -467,6 +481,10 @@ public final class ChannelImpl implements Channel {
          throw new IllegalStateException("Cannot do a blocking call timeout on a server side connection");
       }
 
+      if (packet.isResponseAsync() && !connection.isVersionBeforeAsyncResponseChange()) {
+         return sendBlockingPipelined(packet, reconnectID, expectedPacket);
+      }
+
       // Synchronized since can't be called concurrently by more than one thread and this can occur
       // E.g. blocking acknowledge() from inside a message handler at some time as other operation on main thread
       synchronized (sendBlockingLock) {
@@ -549,6 +567,140 @@ public final class ChannelImpl implements Channel {
       }
    }
 
+   /**
+    * The response of {@code packet} carries its correlation ID: it doesn't need {@link #sendBlockingLock} and the
+    * {@link #response} field, but it can be in flight together with any other blocking call on this channel.
+    */
+   private Packet sendBlockingPipelined(final Packet packet,
+                                        final int reconnectID,
+                                        final byte expectedPacket) throws ActiveMQException {
+      final PendingResponse pendingResponse = new PendingResponse();
+
+      sendPipelined(packet, reconnectID, pendingResponse);
+
+      final Packet response;
+
+      try {
+         response = pendingResponse.await(connection.getBlockingCallTimeout());
+      } catch (InterruptedException e) {
+         blockingResponseCache.remove(packet.getCorrelationID());
+         throw new ActiveMQInterruptedException(e);
+      }
+
+      if (response == null) {
+         blockingResponseCache.remove(packet.getCorrelationID());
+         ActiveMQException e = ActiveMQClientMessageBundle.BUNDLE.timedOutSendingPacket(connection.getBlockingCallTimeout(), packet.getType());
+         connection.asyncFail(e);
+         throw e;
+      }
+
+      if (response.getType() == PacketImpl.EXCEPTION) {
+         final ActiveMQExceptionMessage mem = (ActiveMQExceptionMessage) response;
+
+         ActiveMQException e = mem.getException();
+
+         e.fillInStackTrace();
+
+         throw e;
+      }
+
+      if (response.getType() != expectedPacket) {
+         ActiveMQClientLogger.LOGGER.packetOutOfOrder(response, new Exception("trace"));
+      }
+
+      return response;
+   }
+
+   @Override
+   public void sendAsync(final Packet packet, final ResponseHandler responseHandler) throws ActiveMQException {
+      String interceptionResult = invokeInterceptors(packet, interceptors, connection);
+
+      if (interceptionResult != null) {
+         if (logger.isTraceEnabled()) {
+            logger.trace("RemotingConnectionID=" + (connection == null ? "NULL" : connection.getID()) + " interceptionResult=" + interceptionResult);
+         }
+         throw ActiveMQClientMessageBundle.BUNDLE.interceptorRejectedPacket(interceptionResult);
+      }
+
+      if (closed) {
+         if (logger.isTraceEnabled()) {
+            logger.trace("RemotingConnectionID=" + (connection == null ? "NULL" : connection.getID()) + " closed.");
+         }
+         throw ActiveMQClientMessageBundle.BUNDLE.connectionDestroyed();
+      }
+
+      if (!packet.isResponseAsync() || connection.isVersionBeforeAsyncResponseChange()) {
+         throw new IllegalStateException("The response of " + packet + " can't be correlated with it");
+      }
+
+      sendPipelined(packet, -1, responseHandler);
+   }
+
+   /**
+    * It writes {@code packet} with a new correlation ID, to be answered on {@code responseHandler}.
+    */
+   private void sendPipelined(final Packet packet,
+                              final int reconnectID,
+                              final ResponseHandler responseHandler) throws ActiveMQException {
+      packet.setChannelID(id);
+
+      packet.setCorrelationID(blockingResponseCache.nextCorrelationID());
+
+      final ActiveMQBuffer buffer = packet.encode(connection);
+
+      lock.lock();
+
+      try {
+         if (failingOver) {
+            waitForFailOver("RemotingConnectionID=" + (connection == null ? "NULL" : connection.getID()) + " timed-out waiting for fail-over condition on blocking send");
+         }
+
+         if (resendCache != null && packet.isRequiresConfirmations()) {
+            addResendPacket(packet);
+         }
+
+         checkReconnectID(reconnectID);
+
+         if (logger.isTraceEnabled()) {
+            logger.trace("RemotingConnectionID=" + (connection == null ? "NULL" : connection.getID()) + " Sending pipelined " + packet);
+         }
+
+         blockingResponseCache.add(packet, responseHandler);
+
+         // The write is under the lock as the blocking one, to keep the same order on the resend cache and on the wire
+         connection.getTransportConnection().write(buffer, false, false);
+      } catch (Throwable t) {
+         blockingResponseCache.remove(packet.getCorrelationID());
+         throw t;
+      } finally {
+         lock.unlock();
+      }
+   }
+
+   /**
+    * The response of a pipelined blocking call.
+    */
+   private static final class PendingResponse implements ResponseHandler {
+
+      private final CountDownLatch latch = new CountDownLatch(1);
+
+      private volatile Packet response;
+
+      @Override
+      public void handleResponse(Packet packet, Packet response) {
+         this.response = response;
+         latch.countDown();
+      }
+
+      /**
+       * @return the response or {@code null} if it isn't received within {@code timeout} milliseconds
+       */
+      Packet await(long timeout) throws InterruptedException {
+         latch.await(timeout, TimeUnit.MILLISECONDS);
+         return response;
+      }
+   }
+
    /**
     * @param packet the packet to intercept
     * @return the name of the interceptor that returned <code>false</code> or <code>null</code> if no interceptors
@@ -731,10 +883,14 @@ public final class ChannelImpl implements Channel {
       }
    }
 
-   public void handleAsyncResponse(Packet packet) {
-      if (responseAsyncCache != null && packet.isResponseAsync()) {
-         responseAsyncCache.handleResponse(packet);
+   /**
+    * @return {@code true} if {@code packet} is the response of a pipelined blocking call, that has been handed to it
+    */
+   public boolean handleAsyncResponse(Packet packet) {
+      if (packet.isResponseAsync()) {
+         return blockingResponseCache.handleResponse(packet);
       }
+      return false;
    }
 
    @Override
@@ -789,7 +945,10 @@ public final class ChannelImpl implements Channel {
          if (packet.isResponse()) {
             confirm(packet);
 
-            handleAsyncResponse(packet);
+            if (handleAsyncResponse(packet)) {
+               return;
+            }
+
             lock.lock();
 
             try {
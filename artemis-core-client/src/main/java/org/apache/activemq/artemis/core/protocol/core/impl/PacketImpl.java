@@ -38,6 +38,12 @@ public class PacketImpl implements Packet {
    public static final int CONSUMER_PRIORITY_CHANGE_VERSION = ARTEMIS_2_7_0_VERSION;
    public static final int FQQN_CHANGE_VERSION = ARTEMIS_2_7_0_VERSION;
 
+   // 2.15.0
+   public static final int ARTEMIS_2_15_0_VERSION = 131;
+   public static final int ACKNOWLEDGE_BATCH_CHANGE_VERSION = ARTEMIS_2_15_0_VERSION;
+   public static final int SEND_BATCH_CHANGE_VERSION = ARTEMIS_2_15_0_VERSION;
+   public static final int ASYNC_COMMIT_CHANGE_VERSION = ARTEMIS_2_15_0_VERSION;
+
 
    public static final SimpleString OLD_QUEUE_PREFIX = new SimpleString("jms.queue.");
    public static final SimpleString OLD_TEMP_QUEUE_PREFIX = new SimpleString("jms.tempqueue.");
@@ -279,6 +285,14 @@ public class PacketImpl implements Packet {
 
    public static final byte FEDERATION_DOWNSTREAM_CONNECT = -16;
 
+   public static final byte SESS_ACKNOWLEDGE_BATCH = -17;
+
+   public static final byte SESS_SEND_BATCH = -18;
+
+   public static final byte SESS_COMMIT_V2 = -19;
+
+   public static final byte SESS_ROLLBACK_V2 = -20;
+
 
    // Static --------------------------------------------------------
 
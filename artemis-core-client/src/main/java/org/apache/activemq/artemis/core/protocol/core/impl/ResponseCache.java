@@ -30,10 +30,15 @@ public class ResponseCache {
    private final AtomicLong sequence = new AtomicLong(0);
 
    private final ConcurrentLongHashMap<Packet> store;
+   /**
+    * The handlers of the packets added with their own, ie the pipelined blocking calls of the channel
+    */
+   private final ConcurrentLongHashMap<ResponseHandler> packetResponseHandlers;
    private ResponseHandler responseHandler;
 
    public ResponseCache() {
       this.store = new ConcurrentLongHashMap<>();
+      this.packetResponseHandlers = new ConcurrentLongHashMap<>();
    }
 
    public long nextCorrelationID() {
@@ -45,16 +50,45 @@ public class ResponseCache {
       return true;
    }
 
+   /**
+    * Same as {@link #add(Packet)}, but the response of {@code packet} is handled by {@code packetResponseHandler}
+    * instead of the response handler of the cache, and only when it's received: the confirmation of the packet isn't
+    * enough.
+    */
+   public void add(Packet packet, ResponseHandler packetResponseHandler) {
+      this.packetResponseHandlers.put(packet.getCorrelationID(), packetResponseHandler);
+      this.store.put(packet.getCorrelationID(), packet);
+   }
+
    public Packet remove(long correlationID) {
-      return store.remove(correlationID);
+      // the packet first: a response finding it finds its handler too
+      Packet packet = store.remove(correlationID);
+      packetResponseHandlers.remove(correlationID);
+      return packet;
    }
 
-   public void handleResponse(Packet response) {
+   /**
+    * @return {@code true} if {@code response} has been handled by the handler of the packet it responds to
+    */
+   public boolean handleResponse(Packet response) {
       long correlationID = response.getCorrelationID();
+      ResponseHandler packetResponseHandler = packetResponseHandlers.get(correlationID);
+      if (packetResponseHandler != null) {
+         if (!response.isResponse()) {
+            return false;
+         }
+         Packet packet = remove(correlationID);
+         if (packet != null) {
+            packetResponseHandler.handleResponse(packet, response);
+            return true;
+         }
+         return false;
+      }
       Packet packet = remove(correlationID);
       if (packet != null) {
          responseHandler.handleResponse(packet, response);
       }
+      return false;
    }
 
    public void errorAll(ActiveMQException exception) {
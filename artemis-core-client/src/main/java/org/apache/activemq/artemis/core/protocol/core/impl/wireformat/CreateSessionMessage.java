@@ -16,11 +16,15 @@
  */
 package org.apache.activemq.artemis.core.protocol.core.impl.wireformat;
 
+import java.util.Arrays;
+
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl;
 
 public class CreateSessionMessage extends PacketImpl {
 
+   static final String[] NO_CODECS = new String[0];
+
    private String name;
 
    private long sessionChannelID;
@@ -45,6 +49,9 @@ public class CreateSessionMessage extends PacketImpl {
 
    private String defaultAddress;
 
+   // the compression codecs, other than deflate, the client can decompress
+   private String[] compressionCodecs = NO_CODECS;
+
    public CreateSessionMessage(final String name,
                                final long sessionChannelID,
                                final int version,
@@ -84,6 +91,23 @@ public class CreateSessionMessage extends PacketImpl {
       this.defaultAddress = defaultAddress;
    }
 
+   public CreateSessionMessage(final String name,
+                               final long sessionChannelID,
+                               final int version,
+                               final String username,
+                               final String password,
+                               final int minLargeMessageSize,
+                               final boolean xa,
+                               final boolean autoCommitSends,
+                               final boolean autoCommitAcks,
+                               final boolean preAcknowledge,
+                               final int windowSize,
+                               final String defaultAddress,
+                               final String[] compressionCodecs) {
+      this(name, sessionChannelID, version, username, password, minLargeMessageSize, xa, autoCommitSends, autoCommitAcks, preAcknowledge, windowSize, defaultAddress);
+      this.compressionCodecs = compressionCodecs;
+   }
+
    public CreateSessionMessage() {
       super(CREATESESSION);
    }
@@ -134,6 +158,10 @@ public class CreateSessionMessage extends PacketImpl {
       return defaultAddress;
    }
 
+   public String[] getCompressionCodecs() {
+      return compressionCodecs;
+   }
+
    @Override
    public void encodeRest(final ActiveMQBuffer buffer) {
       buffer.writeString(name);
@@ -148,6 +176,7 @@ public class CreateSessionMessage extends PacketImpl {
       buffer.writeInt(windowSize);
       buffer.writeBoolean(preAcknowledge);
       buffer.writeNullableString(defaultAddress);
+      encodeCompressionCodecs(buffer, compressionCodecs);
    }
 
    @Override
@@ -164,6 +193,9 @@ public class CreateSessionMessage extends PacketImpl {
       windowSize = buffer.readInt();
       preAcknowledge = buffer.readBoolean();
       defaultAddress = buffer.readNullableString();
+      if (buffer.readableBytes() > 0) {
+         compressionCodecs = decodeCompressionCodecs(buffer);
+      }
    }
 
    @Override
@@ -191,6 +223,7 @@ public class CreateSessionMessage extends PacketImpl {
       result = prime * result + version;
       result = prime * result + windowSize;
       result = prime * result + (xa ? 1231 : 1237);
+      result = prime * result + Arrays.hashCode(compressionCodecs);
       return result;
    }
 
@@ -209,6 +242,7 @@ public class CreateSessionMessage extends PacketImpl {
       buff.append(", version=" + version);
       buff.append(", windowSize=" + windowSize);
       buff.append(", xa=" + xa);
+      buff.append(", compressionCodecs=" + Arrays.toString(compressionCodecs));
       buff.append("]");
       return buff.toString();
    }
@@ -258,6 +292,23 @@ public class CreateSessionMessage extends PacketImpl {
          return false;
       if (xa != other.xa)
          return false;
+      if (!Arrays.equals(compressionCodecs, other.compressionCodecs))
+         return false;
       return true;
    }
+
+   static void encodeCompressionCodecs(final ActiveMQBuffer buffer, final String[] compressionCodecs) {
+      buffer.writeInt(compressionCodecs.length);
+      for (String codec : compressionCodecs) {
+         buffer.writeString(codec);
+      }
+   }
+
+   static String[] decodeCompressionCodecs(final ActiveMQBuffer buffer) {
+      final String[] compressionCodecs = new String[buffer.readInt()];
+      for (int i = 0; i < compressionCodecs.length; i++) {
+         compressionCodecs[i] = buffer.readString();
+      }
+      return compressionCodecs;
+   }
 }
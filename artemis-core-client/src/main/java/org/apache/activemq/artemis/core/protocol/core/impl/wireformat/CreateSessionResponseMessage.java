@@ -16,6 +16,8 @@
  */
 package org.apache.activemq.artemis.core.protocol.core.impl.wireformat;
 
+import java.util.Arrays;
+
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl;
 
@@ -23,12 +25,21 @@ public class CreateSessionResponseMessage extends PacketImpl {
 
    private int serverVersion;
 
+   // the compression codecs, other than deflate, the server can decompress
+   private String[] compressionCodecs = CreateSessionMessage.NO_CODECS;
+
    public CreateSessionResponseMessage(final int serverVersion) {
       super(CREATESESSION_RESP);
 
       this.serverVersion = serverVersion;
    }
 
+   public CreateSessionResponseMessage(final int serverVersion, final String[] compressionCodecs) {
+      this(serverVersion);
+
+      this.compressionCodecs = compressionCodecs;
+   }
+
    public CreateSessionResponseMessage() {
       super(CREATESESSION_RESP);
    }
@@ -42,14 +53,22 @@ public class CreateSessionResponseMessage extends PacketImpl {
       return serverVersion;
    }
 
+   public String[] getCompressionCodecs() {
+      return compressionCodecs;
+   }
+
    @Override
    public void encodeRest(final ActiveMQBuffer buffer) {
       buffer.writeInt(serverVersion);
+      CreateSessionMessage.encodeCompressionCodecs(buffer, compressionCodecs);
    }
 
    @Override
    public void decodeRest(final ActiveMQBuffer buffer) {
       serverVersion = buffer.readInt();
+      if (buffer.readableBytes() > 0) {
+         compressionCodecs = CreateSessionMessage.decodeCompressionCodecs(buffer);
+      }
    }
 
    @Override
@@ -62,6 +81,7 @@ public class CreateSessionResponseMessage extends PacketImpl {
       final int prime = 31;
       int result = super.hashCode();
       result = prime * result + serverVersion;
+      result = prime * result + Arrays.hashCode(compressionCodecs);
       return result;
    }
 
@@ -76,6 +96,8 @@ public class CreateSessionResponseMessage extends PacketImpl {
       CreateSessionResponseMessage other = (CreateSessionResponseMessage) obj;
       if (serverVersion != other.serverVersion)
          return false;
+      if (!Arrays.equals(compressionCodecs, other.compressionCodecs))
+         return false;
       return true;
    }
 
@@ -83,6 +105,7 @@ public class CreateSessionResponseMessage extends PacketImpl {
    public String toString() {
       StringBuffer buff = new StringBuffer(getParentString());
       buff.append(", serverVersion=" + serverVersion);
+      buff.append(", compressionCodecs=" + Arrays.toString(compressionCodecs));
       buff.append("]");
       return buff.toString();
    }
@@ -31,6 +31,12 @@ public class RollbackMessage extends PacketImpl {
       this.considerLastMessageAsDelivered = considerLastMessageAsDelivered;
    }
 
+   protected RollbackMessage(final byte type, final boolean considerLastMessageAsDelivered) {
+      super(type);
+
+      this.considerLastMessageAsDelivered = considerLastMessageAsDelivered;
+   }
+
    private boolean considerLastMessageAsDelivered;
 
    /**
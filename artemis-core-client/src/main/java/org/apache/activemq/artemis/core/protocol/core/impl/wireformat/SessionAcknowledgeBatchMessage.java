@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.protocol.core.impl.wireformat;
+
+import java.util.Arrays;
+
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl;
+import org.apache.activemq.artemis.utils.DataConstants;
+
+/**
+ * The acknowledgements of many consumers of the same session, equivalent to a {@link SessionAcknowledgeMessage}
+ * for each pair of consumer and message IDs.
+ */
+public class SessionAcknowledgeBatchMessage extends PacketImpl {
+
+   private long[] consumerIDs;
+
+   private long[] messageIDs;
+
+   private boolean requiresResponse;
+
+   public SessionAcknowledgeBatchMessage(final long[] consumerIDs, final long[] messageIDs, final boolean requiresResponse) {
+      super(SESS_ACKNOWLEDGE_BATCH);
+
+      assert consumerIDs.length == messageIDs.length;
+
+      this.consumerIDs = consumerIDs;
+
+      this.messageIDs = messageIDs;
+
+      this.requiresResponse = requiresResponse;
+   }
+
+   public SessionAcknowledgeBatchMessage() {
+      super(SESS_ACKNOWLEDGE_BATCH);
+   }
+
+   // Public --------------------------------------------------------
+
+   public int getCount() {
+      return consumerIDs.length;
+   }
+
+   public long getConsumerID(int index) {
+      return consumerIDs[index];
+   }
+
+   public long getMessageID(int index) {
+      return messageIDs[index];
+   }
+
+   @Override
+   public boolean isRequiresResponse() {
+      return requiresResponse;
+   }
+
+   @Override
+   public int expectedEncodeSize() {
+      return PACKET_HEADERS_SIZE + DataConstants.SIZE_INT + consumerIDs.length * 2 * DataConstants.SIZE_LONG + DataConstants.SIZE_BOOLEAN;
+   }
+
+   @Override
+   public void encodeRest(final ActiveMQBuffer buffer) {
+      buffer.writeInt(consumerIDs.length);
+
+      for (int i = 0; i < consumerIDs.length; i++) {
+         buffer.writeLong(consumerIDs[i]);
+         buffer.writeLong(messageIDs[i]);
+      }
+
+      buffer.writeBoolean(requiresResponse);
+   }
+
+   @Override
+   public void decodeRest(final ActiveMQBuffer buffer) {
+      final int count = buffer.readInt();
+
+      consumerIDs = new long[count];
+
+      messageIDs = new long[count];
+
+      for (int i = 0; i < count; i++) {
+         consumerIDs[i] = buffer.readLong();
+         messageIDs[i] = buffer.readLong();
+      }
+
+      requiresResponse = buffer.readBoolean();
+   }
+
+   @Override
+   public int hashCode() {
+      final int prime = 31;
+      int result = super.hashCode();
+      result = prime * result + Arrays.hashCode(consumerIDs);
+      result = prime * result + Arrays.hashCode(messageIDs);
+      result = prime * result + (requiresResponse ? 1231 : 1237);
+      return result;
+   }
+
+   @Override
+   public String toString() {
+      StringBuffer buff = new StringBuffer(getParentString());
+      buff.append(", consumerIDs=" + Arrays.toString(consumerIDs));
+      buff.append(", messageIDs=" + Arrays.toString(messageIDs));
+      buff.append(", requiresResponse=" + requiresResponse);
+      buff.append("]");
+      return buff.toString();
+   }
+
+   @Override
+   public boolean equals(Object obj) {
+      if (this == obj)
+         return true;
+      if (!super.equals(obj))
+         return false;
+      if (!(obj instanceof SessionAcknowledgeBatchMessage))
+         return false;
+      SessionAcknowledgeBatchMessage other = (SessionAcknowledgeBatchMessage) obj;
+      if (!Arrays.equals(consumerIDs, other.consumerIDs))
+         return false;
+      if (!Arrays.equals(messageIDs, other.messageIDs))
+         return false;
+      if (requiresResponse != other.requiresResponse)
+         return false;
+      return true;
+   }
+}
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.protocol.core.impl.wireformat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import io.netty.buffer.ByteBuf;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.api.core.ActiveMQException;
+import org.apache.activemq.artemis.core.message.LargeBodyReader;
+import org.apache.activemq.artemis.core.protocol.core.CoreRemotingConnection;
+import org.apache.activemq.artemis.spi.core.remoting.Connection;
+import org.apache.activemq.artemis.utils.DataConstants;
+
+/**
+ * A {@link SessionReceiveContinuationMessage} whose body is taken from a {@link LargeBodyReader} while it's encoded,
+ * instead of being copied into a heap buffer first: the encoding on the wire is the same.
+ * <p>
+ * If the body is stored into a file and the transport connection {@link Connection#isFileTransferSupported()}, only
+ * the bytes before and after the body are encoded and the body is transferred straight from the file, otherwise
+ * it's read into the transport buffer.
+ * <p>
+ * It must not be retained after it's sent (eg by a resend cache) because the body can't be read again.
+ */
+public class SessionReceiveFileContinuationMessage extends SessionReceiveContinuationMessage {
+
+   private final LargeBodyReader reader;
+
+   private final int length;
+
+   private File file;
+
+   private long position;
+
+   private ActiveMQBuffer trailer;
+
+   public SessionReceiveFileContinuationMessage(final long consumerID,
+                                                final LargeBodyReader reader,
+                                                final int length,
+                                                final boolean continues) {
+      super(consumerID, null, continues, false);
+      this.reader = reader;
+      this.length = length;
+   }
+
+   /**
+    * It reads the body into the heap, if not encoded yet: meant for interceptors.
+    */
+   @Override
+   public byte[] getBody() {
+      if (body == null) {
+         final byte[] bytes = new byte[length];
+         readBody(ByteBuffer.wrap(bytes));
+         body = bytes;
+      }
+      return body;
+   }
+
+   @Override
+   public int expectedEncodeSize() {
+      return SESSION_RECEIVE_CONTINUATION_BASE_SIZE + length;
+   }
+
+   @Override
+   public ActiveMQBuffer encode(final CoreRemotingConnection connection) {
+      final File file = body == null && connection != null ? reader.getFile() : null;
+      if (file == null || !connection.getTransportConnection().isFileTransferSupported()) {
+         return super.encode(connection);
+      }
+      final ActiveMQBuffer header = connection.createTransportBuffer(PACKET_HEADERS_SIZE + DataConstants.SIZE_INT);
+      encodeHeader(header);
+      header.writeInt(length);
+      size = expectedEncodeSize();
+      // The length doesn't include the actual length byte
+      header.setInt(0, size - DataConstants.SIZE_INT);
+
+      trailer = connection.createTransportBuffer(DataConstants.SIZE_BOOLEAN + DataConstants.SIZE_LONG);
+      trailer.writeBoolean(continues);
+      trailer.writeLong(getConsumerID());
+
+      this.file = file;
+      position = reader.position();
+      try {
+         reader.position(position + length);
+      } catch (ActiveMQException e) {
+         header.byteBuf().release();
+         trailer.byteBuf().release();
+         trailer = null;
+         throw new IllegalStateException(e.getMessage(), e);
+      }
+      return header;
+   }
+
+   @Override
+   public void encodeRest(final ActiveMQBuffer buffer) {
+      if (body != null) {
+         super.encodeRest(buffer);
+         return;
+      }
+      buffer.writeInt(length);
+      final ByteBuf bytes = buffer.byteBuf();
+      bytes.ensureWritable(length);
+      final int writerIndex = bytes.writerIndex();
+      if (bytes.nioBufferCount() == 1) {
+         // straight into the transport buffer, usually a pooled direct one
+         readBody(bytes.nioBuffer(writerIndex, length));
+         bytes.writerIndex(writerIndex + length);
+      } else {
+         buffer.writeBytes(getBody());
+      }
+      buffer.writeBoolean(continues);
+      buffer.writeLong(getConsumerID());
+   }
+
+   @Override
+   public void write(final Connection connection, final ActiveMQBuffer buffer, final boolean flush, final boolean batched) {
+      final ActiveMQBuffer trailer = this.trailer;
+      if (trailer == null) {
+         connection.write(buffer, flush, batched);
+         return;
+      }
+      this.trailer = null;
+      final FileChannel fileChannel;
+      try {
+         fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+      } catch (IOException e) {
+         buffer.byteBuf().release();
+         trailer.byteBuf().release();
+         throw new IllegalStateException("Unable to open " + file, e);
+      }
+      connection.transferFile(buffer, fileChannel, position, length, trailer);
+   }
+
+   private void readBody(final ByteBuffer target) {
+      try {
+         int read = 0;
+         while (read < length) {
+            // the reader could flip the buffer it reads into
+            final ByteBuffer remaining = target.duplicate();
+            remaining.position(read);
+            final int bytes = reader.readInto(remaining);
+            if (bytes <= 0) {
+               throw new IllegalStateException("Unexpected end of the body, " + (length - read) + " bytes missing");
+            }
+            read += bytes;
+         }
+      } catch (ActiveMQException e) {
+         throw new IllegalStateException(e.getMessage(), e);
+      }
+   }
+
+   @Override
+   public void release() {
+      final ActiveMQBuffer trailer = this.trailer;
+      if (trailer != null) {
+         this.trailer = null;
+         trailer.byteBuf().release();
+      }
+   }
+}
@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.protocol.core.impl.wireformat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.api.core.ICoreMessage;
+import org.apache.activemq.artemis.api.core.client.SendAcknowledgementHandler;
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.persistence.CoreMessageObjectPools;
+import org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl;
+import org.apache.activemq.artemis.utils.DataConstants;
+
+/**
+ * Many messages sent by the same producer, equivalent to a {@link SessionSendMessage_V2} for each one of them but
+ * routed by the broker in one pass and acknowledged with a single response.
+ */
+public class SessionSendBatchMessage extends PacketImpl {
+
+   private final CoreMessageObjectPools coreMessageObjectPools;
+
+   private List<ICoreMessage> messages;
+
+   /**
+    * The handler of each message: see {@link SessionSendMessage#getHandler()}.
+    * <br>
+    * This field is only used at the client side.
+    */
+   private final transient List<SendAcknowledgementHandler> handlers;
+
+   private boolean requiresResponse;
+
+   private long correlationID;
+
+   public SessionSendBatchMessage(final List<ICoreMessage> messages,
+                                  final boolean requiresResponse,
+                                  final List<SendAcknowledgementHandler> handlers) {
+      super(SESS_SEND_BATCH);
+
+      assert handlers == null || handlers.size() == messages.size();
+
+      this.coreMessageObjectPools = null;
+
+      this.messages = messages;
+
+      this.requiresResponse = requiresResponse;
+
+      this.handlers = handlers;
+   }
+
+   public SessionSendBatchMessage(final CoreMessageObjectPools coreMessageObjectPools) {
+      super(SESS_SEND_BATCH);
+
+      this.coreMessageObjectPools = coreMessageObjectPools;
+
+      this.handlers = null;
+   }
+
+   // Public --------------------------------------------------------
+
+   public List<ICoreMessage> getMessages() {
+      return messages;
+   }
+
+   /**
+    * @return the handler of the message at {@code index}, if any
+    */
+   public SendAcknowledgementHandler getHandler(int index) {
+      return handlers == null ? null : handlers.get(index);
+   }
+
+   @Override
+   public boolean isRequiresResponse() {
+      return requiresResponse;
+   }
+
+   @Override
+   public long getCorrelationID() {
+      return this.correlationID;
+   }
+
+   @Override
+   public void setCorrelationID(long correlationID) {
+      this.correlationID = correlationID;
+   }
+
+   @Override
+   public boolean isResponseAsync() {
+      return true;
+   }
+
+   @Override
+   public int expectedEncodeSize() {
+      int size = PACKET_HEADERS_SIZE + DataConstants.SIZE_INT + DataConstants.SIZE_BOOLEAN + DataConstants.SIZE_LONG;
+      for (ICoreMessage message : messages) {
+         size += DataConstants.SIZE_INT + message.getEncodeSize();
+      }
+      return size;
+   }
+
+   @Override
+   public void encodeRest(final ActiveMQBuffer buffer) {
+      final ByteBuf byteBuf = buffer.byteBuf();
+
+      buffer.writeInt(messages.size());
+
+      for (ICoreMessage message : messages) {
+         buffer.writeInt(message.getEncodeSize());
+         message.sendBuffer(byteBuf, 0);
+      }
+
+      buffer.writeBoolean(requiresResponse);
+
+      buffer.writeLong(correlationID);
+   }
+
+   @Override
+   public void decodeRest(final ActiveMQBuffer buffer) {
+      final ByteBuf byteBuf = buffer.byteBuf();
+
+      final int count = buffer.readInt();
+
+      messages = new ArrayList<>(count);
+
+      for (int i = 0; i < count; i++) {
+         final int size = buffer.readInt();
+         final ByteBuf messageBuffer = Unpooled.buffer(size);
+         byteBuf.readBytes(messageBuffer, size);
+         final CoreMessage message = new CoreMessage(coreMessageObjectPools);
+         message.receiveBuffer(messageBuffer);
+         messages.add(message);
+      }
+
+      requiresResponse = buffer.readBoolean();
+
+      correlationID = buffer.readLong();
+   }
+
+   @Override
+   public int hashCode() {
+      final int prime = 31;
+      int result = super.hashCode();
+      result = prime * result + (messages == null ? 0 : messages.hashCode());
+      result = prime * result + (requiresResponse ? 1231 : 1237);
+      result = prime * result + (int) (correlationID ^ (correlationID >>> 32));
+      return result;
+   }
+
+   @Override
+   public String toString() {
+      StringBuffer buff = new StringBuffer(getParentString());
+      buff.append(", messages=" + (messages == null ? 0 : messages.size()));
+      buff.append(", requiresResponse=" + requiresResponse);
+      buff.append("]");
+      return buff.toString();
+   }
+
+   @Override
+   public boolean equals(Object obj) {
+      if (this == obj)
+         return true;
+      if (!super.equals(obj))
+         return false;
+      if (!(obj instanceof SessionSendBatchMessage))
+         return false;
+      SessionSendBatchMessage other = (SessionSendBatchMessage) obj;
+      if (messages == null ? other.messages != null : !messages.equals(other.messages))
+         return false;
+      if (requiresResponse != other.requiresResponse)
+         return false;
+      if (correlationID != other.correlationID)
+         return false;
+      return true;
+   }
+}
@@ -0,0 +1,254 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.remoting.impl.netty;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufHolder;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.FileRegion;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.FastThreadLocal;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+
+/**
+ * It coalesces the flushes requested on a channel, so that many small writes (eg messages delivered to many consumers
+ * sharing the same connection) end up into a single syscall.
+ * <p>
+ * A flush is propagated as soon as at least {@code flushBytes} are pending, or if the first pending flush has waited
+ * for more than {@code maxDelayNanos}; otherwise it is deferred to the {@link Flusher} of the event loop, shared by
+ * all of its channels: a single task that lets the tasks already queued on the event loop run once (eg writes of
+ * other connections or other sessions of this one) and then flushes every channel with a deferred flush.
+ * <p>
+ * All the state is confined to the event loop of the channel, apart the flush metrics that can be read by any thread.
+ */
+public final class FlushCoalescingHandler extends ChannelDuplexHandler {
+
+   public static final String NAME = "flush-coalescing";
+
+   private static final AtomicLongFieldUpdater<FlushCoalescingHandler> FLUSH_COUNT_UPDATER = AtomicLongFieldUpdater.newUpdater(FlushCoalescingHandler.class, "flushCount");
+
+   private static final AtomicLongFieldUpdater<FlushCoalescingHandler> FLUSHED_BYTES_UPDATER = AtomicLongFieldUpdater.newUpdater(FlushCoalescingHandler.class, "flushedBytes");
+
+   private final int flushBytes;
+
+   private final long maxDelayNanos;
+
+   private static final FastThreadLocal<Flusher> FLUSHER = new FastThreadLocal<Flusher>() {
+      @Override
+      protected Flusher initialValue() {
+         return new Flusher();
+      }
+   };
+
+   private ChannelHandlerContext ctx;
+
+   private long unflushedBytes;
+
+   private boolean flushPending;
+
+   /**
+    * Whether it's in the handlers of its {@link Flusher}.
+    */
+   private boolean flushDeferred;
+
+   private long firstFlushPendingNanos;
+
+   private volatile long flushCount;
+
+   private volatile long flushedBytes;
+
+   public FlushCoalescingHandler(int flushBytes, long maxDelay, TimeUnit unit) {
+      if (flushBytes <= 0) {
+         throw new IllegalArgumentException("flushBytes must be > 0");
+      }
+      if (maxDelay < 0) {
+         throw new IllegalArgumentException("maxDelay must be >= 0");
+      }
+      this.flushBytes = flushBytes;
+      this.maxDelayNanos = unit.toNanos(maxDelay);
+   }
+
+   /**
+    * @return the number of flushes propagated to the channel
+    */
+   public long getFlushCount() {
+      return flushCount;
+   }
+
+   /**
+    * @return the number of bytes written by the propagated flushes
+    */
+   public long getFlushedBytes() {
+      return flushedBytes;
+   }
+
+   @Override
+   public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+      this.ctx = ctx;
+   }
+
+   @Override
+   public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+      unflushedBytes += size(msg);
+      ctx.write(msg, promise);
+   }
+
+   @Override
+   public void flush(ChannelHandlerContext ctx) throws Exception {
+      if (unflushedBytes >= flushBytes) {
+         flushNow(ctx);
+         return;
+      }
+      final long now = System.nanoTime();
+      if (!flushPending) {
+         flushPending = true;
+         firstFlushPendingNanos = now;
+      }
+      if (now - firstFlushPendingNanos >= maxDelayNanos) {
+         flushNow(ctx);
+         return;
+      }
+      if (!flushDeferred) {
+         flushDeferred = true;
+         // handlers are called by the event loop of their channel only
+         FLUSHER.get().defer(this, ctx.executor());
+      }
+   }
+
+   private void onDeferredFlush() {
+      flushDeferred = false;
+      final ChannelHandlerContext ctx = this.ctx;
+      if (ctx != null && !ctx.isRemoved()) {
+         flushIfPending(ctx);
+      }
+   }
+
+   private void flushNow(ChannelHandlerContext ctx) {
+      flushPending = false;
+      // single writer: the event loop
+      FLUSH_COUNT_UPDATER.lazySet(this, flushCount + 1);
+      FLUSHED_BYTES_UPDATER.lazySet(this, flushedBytes + unflushedBytes);
+      unflushedBytes = 0;
+      ctx.flush();
+   }
+
+   private void flushIfPending(ChannelHandlerContext ctx) {
+      if (flushPending) {
+         flushNow(ctx);
+      }
+   }
+
+   @Override
+   public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+      if (!ctx.channel().isWritable()) {
+         // give the channel the chance to become writable again
+         flushIfPending(ctx);
+      }
+      ctx.fireChannelWritabilityChanged();
+   }
+
+   @Override
+   public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
+      flushIfPending(ctx);
+      ctx.fireExceptionCaught(cause);
+   }
+
+   @Override
+   public void disconnect(ChannelHandlerContext ctx, ChannelPromise promise) throws Exception {
+      flushIfPending(ctx);
+      ctx.disconnect(promise);
+   }
+
+   @Override
+   public void close(ChannelHandlerContext ctx, ChannelPromise promise) throws Exception {
+      flushIfPending(ctx);
+      ctx.close(promise);
+   }
+
+   @Override
+   public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+      flushIfPending(ctx);
+      this.ctx = null;
+   }
+
+   /**
+    * The deferred flushes of the channels of an event loop: confined to it.
+    */
+   private static final class Flusher implements Runnable {
+
+      private final ArrayDeque<FlushCoalescingHandler> handlers = new ArrayDeque<>();
+
+      private EventExecutor executor;
+
+      private boolean scheduled;
+
+      private boolean deferred;
+
+      void defer(FlushCoalescingHandler handler, EventExecutor executor) {
+         handlers.add(handler);
+         if (!scheduled) {
+            scheduled = true;
+            this.executor = executor;
+            executor.execute(this);
+         }
+      }
+
+      @Override
+      public void run() {
+         if (!deferred && hasPendingTasks(executor)) {
+            // the writes already queued can still join these flushes, but the ones queued after them can't: they
+            // would keep deferring them as long as the event loop is busy
+            deferred = true;
+            executor.execute(this);
+            return;
+         }
+         scheduled = false;
+         deferred = false;
+         executor = null;
+         // the handlers deferring their flush from now on go in the next pass
+         for (int i = handlers.size(); i > 0; i--) {
+            handlers.poll().onDeferredFlush();
+         }
+      }
+
+      private static boolean hasPendingTasks(EventExecutor executor) {
+         if (executor instanceof SingleThreadEventExecutor) {
+            return ((SingleThreadEventExecutor) executor).pendingTasks() > 0;
+         }
+         return false;
+      }
+   }
+
+   private static long size(Object msg) {
+      if (msg instanceof ByteBuf) {
+         return ((ByteBuf) msg).readableBytes();
+      }
+      if (msg instanceof ByteBufHolder) {
+         return ((ByteBufHolder) msg).content().readableBytes();
+      }
+      if (msg instanceof FileRegion) {
+         return ((FileRegion) msg).count();
+      }
+      return 0;
+   }
+}
@@ -17,9 +17,11 @@
 package org.apache.activemq.artemis.core.remoting.impl.netty;
 
 import java.net.SocketAddress;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.LockSupport;
 
@@ -27,8 +29,15 @@ import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelPipeline;
 import io.netty.channel.ChannelPromise;
+import io.netty.channel.DefaultFileRegion;
 import io.netty.channel.EventLoop;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.kqueue.KQueueSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.http.HttpObjectEncoder;
+import io.netty.handler.ssl.SslHandler;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.ActiveMQInterruptedException;
 import org.apache.activemq.artemis.api.core.TransportConfiguration;
@@ -125,6 +134,29 @@ public class NettyConnection implements Connection {
       return channel;
    }
 
+   /**
+    * @return the {@link FlushCoalescingHandler} of the channel or {@code null} if the adaptive flush isn't enabled
+    */
+   private FlushCoalescingHandler flushCoalescingHandler() {
+      return (FlushCoalescingHandler) channel.pipeline().get(FlushCoalescingHandler.NAME);
+   }
+
+   /**
+    * @return the number of flushes performed on this connection or -1 if the adaptive flush isn't enabled
+    */
+   public final long getFlushCount() {
+      final FlushCoalescingHandler handler = flushCoalescingHandler();
+      return handler == null ? -1 : handler.getFlushCount();
+   }
+
+   /**
+    * @return the number of bytes flushed on this connection or -1 if the adaptive flush isn't enabled
+    */
+   public final long getFlushedBytes() {
+      final FlushCoalescingHandler handler = flushCoalescingHandler();
+      return handler == null ? -1 : handler.getFlushedBytes();
+   }
+
    @Override
    public final void setAutoRead(boolean autoRead) {
       channel.config().setAutoRead(autoRead);
@@ -427,6 +459,49 @@ public class NettyConnection implements Connection {
       }
    }
 
+   @Override
+   public boolean isFileTransferSupported() {
+      final Channel channel = this.channel;
+      if (!(channel instanceof NioSocketChannel || channel instanceof EpollSocketChannel || channel instanceof KQueueSocketChannel)) {
+         return false;
+      }
+      //TLS and HTTP can't cope with file regions, they need the bytes
+      final ChannelPipeline pipeline = channel.pipeline();
+      return pipeline.get(SslHandler.class) == null && pipeline.get(HttpObjectEncoder.class) == null;
+   }
+
+   @Override
+   public void transferFile(ActiveMQBuffer header, FileChannel file, long position, long count, ActiveMQBuffer trailer) {
+      final Channel channel = this.channel;
+      final ByteBuf headerBytes = header.byteBuf();
+      final ByteBuf trailerBytes = trailer.byteBuf();
+      final DefaultFileRegion region = new DefaultFileRegion(file, position, count);
+      final EventLoop eventLoop = channel.eventLoop();
+      if (eventLoop.inEventLoop()) {
+         writeFileRegion(channel, headerBytes, region, trailerBytes);
+      } else {
+         //a single task prevents other writes from getting in between: the order with the previous writes
+         //of this thread is ensured by the order of the event loop tasks
+         try {
+            eventLoop.execute(() -> writeFileRegion(channel, headerBytes, region, trailerBytes));
+         } catch (RejectedExecutionException e) {
+            headerBytes.release();
+            region.release();
+            trailerBytes.release();
+            throw new IllegalStateException("Connection " + getID() + " closed", e);
+         }
+      }
+   }
+
+   private static void writeFileRegion(final Channel channel,
+                                       final ByteBuf header,
+                                       final DefaultFileRegion region,
+                                       final ByteBuf trailer) {
+      channel.write(header, channel.voidPromise());
+      channel.write(region, channel.voidPromise());
+      channel.writeAndFlush(trailer, channel.voidPromise());
+   }
+
    @Override
    public final String getRemoteAddress() {
       SocketAddress address = channel.remoteAddress();
@@ -269,6 +269,12 @@ public class NettyConnector extends AbstractConnector {
 
    private long batchDelay;
 
+   private boolean adaptiveFlush;
+
+   private int adaptiveFlushBytes;
+
+   private long adaptiveFlushMaxDelay;
+
    private ConcurrentMap<Object, Connection> connections = new ConcurrentHashMap<>();
 
    private String servletPath;
@@ -433,6 +439,9 @@ public class NettyConnector extends AbstractConnector {
       this.writeBufferLowWaterMark = ConfigurationHelper.getIntProperty(TransportConstants.WRITE_BUFFER_LOW_WATER_MARK_PROPNAME, TransportConstants.DEFAULT_WRITE_BUFFER_LOW_WATER_MARK, configuration);
       this.writeBufferHighWaterMark = ConfigurationHelper.getIntProperty(TransportConstants.WRITE_BUFFER_HIGH_WATER_MARK_PROPNAME, TransportConstants.DEFAULT_WRITE_BUFFER_HIGH_WATER_MARK, configuration);
       batchDelay = ConfigurationHelper.getLongProperty(TransportConstants.BATCH_DELAY, TransportConstants.DEFAULT_BATCH_DELAY, configuration);
+      adaptiveFlush = ConfigurationHelper.getBooleanProperty(TransportConstants.ADAPTIVE_FLUSH, TransportConstants.DEFAULT_ADAPTIVE_FLUSH, configuration);
+      adaptiveFlushBytes = ConfigurationHelper.getIntProperty(TransportConstants.ADAPTIVE_FLUSH_BYTES, TransportConstants.DEFAULT_ADAPTIVE_FLUSH_BYTES, configuration);
+      adaptiveFlushMaxDelay = ConfigurationHelper.getLongProperty(TransportConstants.ADAPTIVE_FLUSH_MAX_DELAY, TransportConstants.DEFAULT_ADAPTIVE_FLUSH_MAX_DELAY, configuration);
 
       connectTimeoutMillis = ConfigurationHelper.getIntProperty(TransportConstants.NETTY_CONNECT_TIMEOUT, TransportConstants.DEFAULT_NETTY_CONNECT_TIMEOUT, configuration);
       this.closeExecutor = closeExecutor;
@@ -647,6 +656,10 @@ public class NettyConnector extends AbstractConnector {
                pipeline.addLast("ssl", handler);
             }
 
+            if (adaptiveFlush && !httpEnabled) {
+               pipeline.addLast(FlushCoalescingHandler.NAME, new FlushCoalescingHandler(adaptiveFlushBytes, adaptiveFlushMaxDelay, TimeUnit.MICROSECONDS));
+            }
+
             if (httpEnabled) {
                pipeline.addLast(new HttpRequestEncoder());
 
@@ -61,6 +61,12 @@ public class TransportConstants {
 
    public static final String USE_KQUEUE_PROP_NAME = "useKQueue";
 
+   public static final String SHARDS_PROP_NAME = "shards";
+
+   public static final String SHARD_AFFINITY_PROP_NAME = "shardAffinity";
+
+   public static final String SHARD_THREADS_PROP_NAME = "shardThreads";
+
    @Deprecated
    /**
     * @deprecated Use USE_GLOBAL_WORKER_POOL_PROP_NAME
@@ -163,6 +169,12 @@ public class TransportConstants {
 
    public static final String DIRECT_DELIVER = "directDeliver";
 
+   public static final String ADAPTIVE_FLUSH = "adaptiveFlush";
+
+   public static final String ADAPTIVE_FLUSH_BYTES = "adaptiveFlushBytes";
+
+   public static final String ADAPTIVE_FLUSH_MAX_DELAY = "adaptiveFlushMaxDelay";
+
    public static final String CLUSTER_CONNECTION = "clusterConnection";
 
    public static final String STOMP_CONSUMERS_CREDIT = "stompConsumerCredits";
@@ -195,6 +207,12 @@ public class TransportConstants {
 
    public static final boolean DEFAULT_USE_KQUEUE = true;
 
+   public static final int DEFAULT_SHARDS = 1;
+
+   public static final boolean DEFAULT_SHARD_AFFINITY = false;
+
+   public static final int DEFAULT_SHARD_THREADS = 4;
+
    public static final boolean DEFAULT_USE_INVM = false;
 
    public static final boolean DEFAULT_USE_SERVLET = false;
@@ -275,6 +293,13 @@ public class TransportConstants {
 
    public static final boolean DEFAULT_DIRECT_DELIVER = true;
 
+   public static final boolean DEFAULT_ADAPTIVE_FLUSH = false;
+
+   public static final int DEFAULT_ADAPTIVE_FLUSH_BYTES = 32 * 1024;
+
+   // in microseconds
+   public static final long DEFAULT_ADAPTIVE_FLUSH_MAX_DELAY = 100;
+
    public static final Set<String> ALLOWABLE_CONNECTOR_KEYS;
 
    public static final Set<String> ALLOWABLE_ACCEPTOR_KEYS;
@@ -366,6 +391,9 @@ public class TransportConstants {
       allowableAcceptorKeys.add(TransportConstants.USE_NIO_PROP_NAME);
       allowableAcceptorKeys.add(TransportConstants.USE_EPOLL_PROP_NAME);
       allowableAcceptorKeys.add(TransportConstants.USE_KQUEUE_PROP_NAME);
+      allowableAcceptorKeys.add(TransportConstants.SHARDS_PROP_NAME);
+      allowableAcceptorKeys.add(TransportConstants.SHARD_AFFINITY_PROP_NAME);
+      allowableAcceptorKeys.add(TransportConstants.SHARD_THREADS_PROP_NAME);
       allowableAcceptorKeys.add(TransportConstants.USE_INVM_PROP_NAME);
       //noinspection deprecation
       allowableAcceptorKeys.add(TransportConstants.PROTOCOL_PROP_NAME);
@@ -394,6 +422,9 @@ public class TransportConstants {
       allowableAcceptorKeys.add(TransportConstants.REMOTING_THREADS_PROPNAME);
       allowableAcceptorKeys.add(TransportConstants.BATCH_DELAY);
       allowableAcceptorKeys.add(TransportConstants.DIRECT_DELIVER);
+      allowableAcceptorKeys.add(TransportConstants.ADAPTIVE_FLUSH);
+      allowableAcceptorKeys.add(TransportConstants.ADAPTIVE_FLUSH_BYTES);
+      allowableAcceptorKeys.add(TransportConstants.ADAPTIVE_FLUSH_MAX_DELAY);
       allowableAcceptorKeys.add(TransportConstants.CLUSTER_CONNECTION);
       allowableAcceptorKeys.add(TransportConstants.STOMP_CONSUMERS_CREDIT);
       allowableAcceptorKeys.add(TransportConstants.STOMP_MIN_LARGE_MESSAGE_SIZE_DEPRECATED);
@@ -459,6 +490,9 @@ public class TransportConstants {
       allowableConnectorKeys.add(TransportConstants.NIO_REMOTING_THREADS_PROPNAME);
       allowableConnectorKeys.add(TransportConstants.REMOTING_THREADS_PROPNAME);
       allowableConnectorKeys.add(TransportConstants.BATCH_DELAY);
+      allowableConnectorKeys.add(TransportConstants.ADAPTIVE_FLUSH);
+      allowableConnectorKeys.add(TransportConstants.ADAPTIVE_FLUSH_BYTES);
+      allowableConnectorKeys.add(TransportConstants.ADAPTIVE_FLUSH_MAX_DELAY);
       allowableConnectorKeys.add(TransportConstants.PROXY_ENABLED_PROP_NAME);
       allowableConnectorKeys.add(TransportConstants.PROXY_HOST_PROP_NAME);
       allowableConnectorKeys.add(TransportConstants.PROXY_PORT_PROP_NAME);
@@ -16,6 +16,7 @@
  */
 package org.apache.activemq.artemis.spi.core.remoting;
 
+import java.nio.channels.FileChannel;
 import java.util.concurrent.TimeUnit;
 
 import io.netty.channel.ChannelFutureListener;
@@ -23,6 +24,7 @@ import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.TransportConfiguration;
 import org.apache.activemq.artemis.core.security.ActiveMQPrincipal;
 import org.apache.activemq.artemis.spi.core.protocol.RemotingConnection;
+import org.apache.activemq.artemis.utils.ExecutorFactory;
 
 /**
  * The connection used by a channel to write data to.
@@ -63,6 +65,16 @@ public interface Connection {
 
    void fireReady(boolean ready);
 
+   /**
+    * Returns the factory of the executors to use for this connection and its sessions, eg the ones of the acceptor
+    * shard that owns the connection.
+    *
+    * @return the executor factory or {@code null} to use the default ones
+    */
+   default ExecutorFactory getExecutorFactory() {
+      return null;
+   }
+
    /**
     * This will disable reading from the channel.
     * This is basically the same as blocking the reading.
@@ -110,6 +122,32 @@ public interface Connection {
     */
    void write(ActiveMQBuffer buffer);
 
+   /**
+    * Returns {@code true} if {@link #transferFile} can send the content of a file without copying it into user space
+    * (eg using {@code sendfile}): it isn't possible if the bytes are transformed before hitting the wire (eg by TLS).
+    *
+    * @return whether {@link #transferFile} is supported
+    */
+   default boolean isFileTransferSupported() {
+      return false;
+   }
+
+   /**
+    * writes {@code header}, {@code count} bytes of {@code file} starting from {@code position} and {@code trailer} to
+    * the connection, with no other write in between, and request to flush them into the wire.
+    * The connection takes ownership of {@code file} and closes it once transferred.
+    *
+    * @param header   the buffer to write before the file content
+    * @param file     the file to transfer
+    * @param position the position of the file to start the transfer from
+    * @param count    the number of bytes of the file to transfer
+    * @param trailer  the buffer to write after the file content
+    * @throws UnsupportedOperationException if {@link #isFileTransferSupported()} is {@code false}
+    */
+   default void transferFile(ActiveMQBuffer header, FileChannel file, long position, long count, ActiveMQBuffer trailer) {
+      throw new UnsupportedOperationException();
+   }
+
    /**
     * This should close the internal channel without calling any listeners.
     * This is to avoid a situation where the broker is busy writing on an internal thread.
@@ -20,7 +20,10 @@ import javax.transaction.xa.XAException;
 import javax.transaction.xa.Xid;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Executor;
 
 import org.apache.activemq.artemis.api.core.ActiveMQException;
@@ -42,6 +45,7 @@ import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionQue
 import org.apache.activemq.artemis.spi.core.protocol.RemotingConnection;
 import org.apache.activemq.artemis.utils.IDGenerator;
 import org.apache.activemq.artemis.utils.SimpleIDGenerator;
+import org.apache.activemq.artemis.utils.compression.DeflateCodec;
 
 public abstract class SessionContext {
 
@@ -88,6 +92,14 @@ public abstract class SessionContext {
 
    public abstract boolean supportsLargeMessage();
 
+   /**
+    * @return whether the server can decompress the large messages compressed with {@code codec}, to deliver them to
+    * the consumers that can't: deflate is always supported
+    */
+   public boolean supportsCompressionCodec(String codec) {
+      return DeflateCodec.NAME.equals(codec);
+   }
+
    protected void handleReceiveLargeMessage(ConsumerContext consumerID,
                                             ClientLargeMessageInternal clientLargeMessage,
                                             long largeMessageSize) throws Exception {
@@ -139,6 +151,31 @@ public abstract class SessionContext {
                                         SendAcknowledgementHandler handler,
                                         SimpleString defaultAddress) throws ActiveMQException;
 
+   /**
+    * It sends {@code messages} as {@link #sendFullMessage} would do for each one of them, with the handler at the same
+    * index of {@code handlers} (if not {@code null}), in a single packet if the server supports it.
+    */
+   public void sendFullMessages(List<ICoreMessage> messages,
+                                boolean sendBlocking,
+                                List<SendAcknowledgementHandler> handlers,
+                                SimpleString defaultAddress) throws ActiveMQException {
+      for (int i = 0, size = messages.size(); i < size; i++) {
+         sendFullMessage(messages.get(i), sendBlocking, handlers == null ? null : handlers.get(i), defaultAddress);
+      }
+   }
+
+   /**
+    * It sends {@code msgI} as a blocking {@link #sendFullMessage} would, but the returned stage completes once the
+    * server has handled it, instead of waiting for it.
+    * <p>
+    * This implementation is blocking: it's there for the contexts that can't correlate the response with the message.
+    */
+   public CompletionStage<Void> sendFullMessageAsync(ICoreMessage msgI,
+                                                     SimpleString defaultAddress) throws ActiveMQException {
+      sendFullMessage(msgI, true, null, defaultAddress);
+      return CompletableFuture.completedFuture(null);
+   }
+
    /**
     * it should return the number of credits (or bytes) used to send this packet
     *
@@ -288,6 +325,28 @@ public abstract class SessionContext {
     */
    public abstract void simpleRollback(boolean lastMessageAsDelivered) throws ActiveMQException;
 
+   /**
+    * It commits as a blocking {@link #simpleCommit()} would, but the returned stage completes once the server has
+    * handled the commit, instead of waiting for it: the commit is sent before returning.
+    * <p>
+    * This implementation is blocking: it's there for the contexts that can't correlate the response with the commit.
+    */
+   public CompletionStage<Void> simpleCommitAsync() throws ActiveMQException {
+      simpleCommit();
+      return CompletableFuture.completedFuture(null);
+   }
+
+   /**
+    * It rolls back as {@link #simpleRollback(boolean)} does, but the returned stage completes once the server has
+    * handled the rollback, instead of waiting for it: the rollback is sent before returning.
+    * <p>
+    * This implementation is blocking: it's there for the contexts that can't correlate the response with the rollback.
+    */
+   public CompletionStage<Void> simpleRollbackAsync(boolean lastMessageAsDelivered) throws ActiveMQException {
+      simpleRollback(lastMessageAsDelivered);
+      return CompletableFuture.completedFuture(null);
+   }
+
    public abstract void sessionStart() throws ActiveMQException;
 
    public abstract void sessionStop() throws ActiveMQException;
@@ -297,6 +356,15 @@ public abstract class SessionContext {
                                 ClientConsumer consumer,
                                 Message message) throws ActiveMQException;
 
+   /**
+    * Acknowledges {@code messages[i]} for {@code consumers[i]}, in a single packet if the server supports it.
+    */
+   public void sendACKs(boolean block, ClientConsumer[] consumers, Message[] messages) throws ActiveMQException {
+      for (int i = 0; i < consumers.length; i++) {
+         sendACK(false, block, consumers[i], messages[i]);
+      }
+   }
+
    public abstract void expireMessage(ClientConsumer consumer, Message message) throws ActiveMQException;
 
    public abstract void sessionClose() throws ActiveMQException;
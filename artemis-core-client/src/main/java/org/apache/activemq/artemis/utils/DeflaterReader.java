@@ -28,7 +28,7 @@ import java.util.zip.Deflater;
  */
 public class DeflaterReader extends InputStream {
 
-   private final Deflater deflater = new Deflater();
+   private final Deflater deflater;
    private boolean isFinished = false;
    private boolean compressDone = false;
 
@@ -37,8 +37,16 @@ public class DeflaterReader extends InputStream {
    private final AtomicLong bytesRead;
 
    public DeflaterReader(final InputStream inData, final AtomicLong bytesRead) {
+      this(inData, bytesRead, Deflater.DEFAULT_COMPRESSION);
+   }
+
+   /**
+    * @param level the compression level (0-9) or {@link Deflater#DEFAULT_COMPRESSION}
+    */
+   public DeflaterReader(final InputStream inData, final AtomicLong bytesRead, final int level) {
       input = inData;
       this.bytesRead = bytesRead;
+      this.deflater = new Deflater(level);
    }
 
    @Override
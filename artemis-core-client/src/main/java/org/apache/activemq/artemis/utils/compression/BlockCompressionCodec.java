@@ -0,0 +1,329 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.utils.compression;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.activemq.artemis.utils.DataConstants;
+
+/**
+ * Base class of the codecs that compress independent blocks of bytes.
+ * <p>
+ * The compressed stream is a sequence of frames, each one made by the uncompressed and the compressed length of the
+ * block (as ints) followed by the compressed block. A block that can't be compressed is stored as it is, with the
+ * same value for both lengths.
+ */
+public abstract class BlockCompressionCodec implements CompressionCodec {
+
+   static final int BLOCK_SIZE = 64 * 1024;
+
+   private static final int FRAME_HEADER_SIZE = 2 * DataConstants.SIZE_INT;
+
+   /**
+    * @return the maximum size of {@code length} bytes once compressed
+    */
+   protected abstract int maxCompressedLength(int length);
+
+   /**
+    * Compresses {@code srcLength} bytes of {@code src} into {@code dst} from {@code dstOffset}, that has room for at
+    * least {@link #maxCompressedLength(int)} bytes.
+    *
+    * @return the compressed length
+    */
+   protected abstract int compress(byte[] src, int srcLength, byte[] dst, int dstOffset, int level) throws IOException;
+
+   /**
+    * Decompresses {@code srcLength} bytes of {@code src} into the first {@code dstLength} bytes of {@code dst}.
+    */
+   protected abstract void decompress(byte[] src, int srcLength, byte[] dst, int dstLength) throws IOException;
+
+   @Override
+   public InputStream compress(InputStream input, int level, AtomicLong bytesRead) {
+      return new CompressingReader(input, level, bytesRead);
+   }
+
+   @Override
+   public InputStream decompress(InputStream input) {
+      return new DecompressingReader(input);
+   }
+
+   @Override
+   public OutputStream decompress(OutputStream output) {
+      return new DecompressingWriter(output);
+   }
+
+   private static int readFully(InputStream input, byte[] buffer, int length) throws IOException {
+      int read = 0;
+      while (read < length) {
+         final int n = input.read(buffer, read, length - read);
+         if (n == -1) {
+            break;
+         }
+         read += n;
+      }
+      return read;
+   }
+
+   private static void writeInt(byte[] buffer, int offset, int value) {
+      buffer[offset] = (byte) (value >>> 24);
+      buffer[offset + 1] = (byte) (value >>> 16);
+      buffer[offset + 2] = (byte) (value >>> 8);
+      buffer[offset + 3] = (byte) value;
+   }
+
+   private static int readInt(byte[] buffer, int offset) {
+      return (buffer[offset] & 0xFF) << 24 | (buffer[offset + 1] & 0xFF) << 16 | (buffer[offset + 2] & 0xFF) << 8 | (buffer[offset + 3] & 0xFF);
+   }
+
+   private static void checkFrame(int rawLength, int compressedLength) throws IOException {
+      if (rawLength <= 0 || rawLength > BLOCK_SIZE || compressedLength <= 0 || compressedLength > rawLength) {
+         throw new IOException("Invalid compressed frame: rawLength=" + rawLength + ", compressedLength=" + compressedLength);
+      }
+   }
+
+   private void decompressFrame(byte[] compressed, int compressedLength, byte[] raw, int rawLength) throws IOException {
+      if (compressedLength == rawLength) {
+         System.arraycopy(compressed, 0, raw, 0, rawLength);
+      } else {
+         decompress(compressed, compressedLength, raw, rawLength);
+      }
+   }
+
+   /**
+    * Not for concurrent use.
+    */
+   private final class CompressingReader extends InputStream {
+
+      private final InputStream input;
+
+      private final int level;
+
+      private final AtomicLong bytesRead;
+
+      private final byte[] raw = new byte[BLOCK_SIZE];
+
+      private final byte[] frame = new byte[FRAME_HEADER_SIZE + Math.max(maxCompressedLength(BLOCK_SIZE), BLOCK_SIZE)];
+
+      private int frameLength;
+
+      private int framePosition;
+
+      private boolean endOfInput;
+
+      CompressingReader(InputStream input, int level, AtomicLong bytesRead) {
+         this.input = input;
+         this.level = level;
+         this.bytesRead = bytesRead;
+      }
+
+      @Override
+      public int read() throws IOException {
+         final byte[] buffer = new byte[1];
+         return read(buffer, 0, 1) == -1 ? -1 : buffer[0] & 0xFF;
+      }
+
+      @Override
+      public int read(byte[] buffer, int offset, int length) throws IOException {
+         if (length == 0) {
+            return 0;
+         }
+         while (framePosition == frameLength) {
+            if (endOfInput) {
+               return -1;
+            }
+            nextFrame();
+         }
+         final int n = Math.min(length, frameLength - framePosition);
+         System.arraycopy(frame, framePosition, buffer, offset, n);
+         framePosition += n;
+         return n;
+      }
+
+      private void nextFrame() throws IOException {
+         framePosition = 0;
+         frameLength = 0;
+         final int rawLength = readFully(input, raw, BLOCK_SIZE);
+         if (rawLength < BLOCK_SIZE) {
+            endOfInput = true;
+         }
+         if (rawLength == 0) {
+            return;
+         }
+         if (bytesRead != null) {
+            bytesRead.addAndGet(rawLength);
+         }
+         int compressedLength = compress(raw, rawLength, frame, FRAME_HEADER_SIZE, level);
+         if (compressedLength >= rawLength) {
+            System.arraycopy(raw, 0, frame, FRAME_HEADER_SIZE, rawLength);
+            compressedLength = rawLength;
+         }
+         writeInt(frame, 0, rawLength);
+         writeInt(frame, DataConstants.SIZE_INT, compressedLength);
+         frameLength = FRAME_HEADER_SIZE + compressedLength;
+      }
+
+      @Override
+      public void close() throws IOException {
+         input.close();
+      }
+   }
+
+   /**
+    * Not for concurrent use.
+    */
+   private final class DecompressingReader extends InputStream {
+
+      private final InputStream input;
+
+      private final byte[] header = new byte[FRAME_HEADER_SIZE];
+
+      private final byte[] compressed = new byte[BLOCK_SIZE];
+
+      private final byte[] raw = new byte[BLOCK_SIZE];
+
+      private int rawLength;
+
+      private int rawPosition;
+
+      private boolean endOfInput;
+
+      DecompressingReader(InputStream input) {
+         this.input = input;
+      }
+
+      @Override
+      public int read() throws IOException {
+         final byte[] buffer = new byte[1];
+         return read(buffer, 0, 1) == -1 ? -1 : buffer[0] & 0xFF;
+      }
+
+      @Override
+      public int read(byte[] buffer, int offset, int length) throws IOException {
+         if (length == 0) {
+            return 0;
+         }
+         while (rawPosition == rawLength) {
+            if (endOfInput || !nextFrame()) {
+               return -1;
+            }
+         }
+         final int n = Math.min(length, rawLength - rawPosition);
+         System.arraycopy(raw, rawPosition, buffer, offset, n);
+         rawPosition += n;
+         return n;
+      }
+
+      private boolean nextFrame() throws IOException {
+         final int headerLength = readFully(input, header, FRAME_HEADER_SIZE);
+         if (headerLength == 0) {
+            endOfInput = true;
+            return false;
+         }
+         if (headerLength < FRAME_HEADER_SIZE) {
+            throw new EOFException("Truncated compressed frame");
+         }
+         final int frameRawLength = readInt(header, 0);
+         final int compressedLength = readInt(header, DataConstants.SIZE_INT);
+         checkFrame(frameRawLength, compressedLength);
+         if (readFully(input, compressed, compressedLength) < compressedLength) {
+            throw new EOFException("Truncated compressed frame");
+         }
+         decompressFrame(compressed, compressedLength, raw, frameRawLength);
+         rawLength = frameRawLength;
+         rawPosition = 0;
+         return true;
+      }
+
+      @Override
+      public void close() throws IOException {
+         input.close();
+      }
+   }
+
+   /**
+    * Not for concurrent use.
+    */
+   private final class DecompressingWriter extends OutputStream {
+
+      private final OutputStream output;
+
+      private final byte[] header = new byte[FRAME_HEADER_SIZE];
+
+      private final byte[] compressed = new byte[BLOCK_SIZE];
+
+      private final byte[] raw = new byte[BLOCK_SIZE];
+
+      private int headerLength;
+
+      private int compressedLength = -1;
+
+      private int rawLength;
+
+      private int compressedPosition;
+
+      DecompressingWriter(OutputStream output) {
+         this.output = output;
+      }
+
+      @Override
+      public void write(int b) throws IOException {
+         write(new byte[]{(byte) b}, 0, 1);
+      }
+
+      @Override
+      public void write(byte[] buffer, int offset, int length) throws IOException {
+         while (length > 0) {
+            final int n;
+            if (compressedLength == -1) {
+               n = Math.min(length, FRAME_HEADER_SIZE - headerLength);
+               System.arraycopy(buffer, offset, header, headerLength, n);
+               headerLength += n;
+               if (headerLength == FRAME_HEADER_SIZE) {
+                  rawLength = readInt(header, 0);
+                  compressedLength = readInt(header, DataConstants.SIZE_INT);
+                  checkFrame(rawLength, compressedLength);
+                  compressedPosition = 0;
+               }
+            } else {
+               n = Math.min(length, compressedLength - compressedPosition);
+               System.arraycopy(buffer, offset, compressed, compressedPosition, n);
+               compressedPosition += n;
+               if (compressedPosition == compressedLength) {
+                  decompressFrame(compressed, compressedLength, raw, rawLength);
+                  output.write(raw, 0, rawLength);
+                  headerLength = 0;
+                  compressedLength = -1;
+               }
+            }
+            offset += n;
+            length -= n;
+         }
+      }
+
+      @Override
+      public void close() throws IOException {
+         if (headerLength > 0) {
+            throw new EOFException("Truncated compressed frame");
+         }
+         output.close();
+      }
+   }
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.utils.compression;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A codec used to compress the bodies of large messages.
+ * <p>
+ * The codecs are looked up by name with {@link CompressionCodecs#get(String)}: other than the built-in ones,
+ * implementations can be plugged in as a {@link java.util.ServiceLoader} service.
+ */
+public interface CompressionCodec {
+
+   /**
+    * Value of the compression level to use the default one of the codec.
+    */
+   int DEFAULT_LEVEL = -1;
+
+   /**
+    * @return the name of the codec, carried by the messages it compressed
+    */
+   String getName();
+
+   /**
+    * @return {@code true} if the codec can be used, eg if the library it depends on is on the classpath
+    */
+   boolean isAvailable();
+
+   /**
+    * Returns a stream of the compressed content of {@code input}.
+    *
+    * @param input     the stream to compress
+    * @param level     the compression level, whose meaning depends on the codec, or {@link #DEFAULT_LEVEL}
+    * @param bytesRead updated with the number of bytes read from {@code input}, ie the uncompressed size
+    */
+   InputStream compress(InputStream input, int level, AtomicLong bytesRead);
+
+   /**
+    * Returns a stream of the decompressed content of {@code input}.
+    */
+   InputStream decompress(InputStream input);
+
+   /**
+    * Returns a stream that writes into {@code output} the decompressed content of what is written into it:
+    * it must be closed to complete the decompression.
+    */
+   OutputStream decompress(OutputStream output);
+}
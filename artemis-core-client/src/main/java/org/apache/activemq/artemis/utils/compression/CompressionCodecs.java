@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.utils.compression;
+
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.SimpleString;
+
+/**
+ * The registry of the {@link CompressionCodec}s: the built-in ones (deflate, lz4 and zstd) and the ones provided as
+ * {@link ServiceLoader} services.
+ */
+public final class CompressionCodecs {
+
+   private static final Map<String, CompressionCodec> CODECS = new ConcurrentHashMap<>();
+
+   static {
+      register(DeflateCodec.INSTANCE);
+      register(Lz4Codec.INSTANCE);
+      register(ZstdCodec.INSTANCE);
+      for (CompressionCodec codec : ServiceLoader.load(CompressionCodec.class, CompressionCodecs.class.getClassLoader())) {
+         register(codec);
+      }
+   }
+
+   private CompressionCodecs() {
+   }
+
+   public static void register(CompressionCodec codec) {
+      CODECS.put(codec.getName(), codec);
+   }
+
+   /**
+    * @return the codec registered with {@code name}, or the deflate one if {@code name} is {@code null}
+    * @throws IllegalArgumentException if there isn't such codec or it's not available
+    */
+   public static CompressionCodec get(String name) {
+      if (name == null) {
+         return DeflateCodec.INSTANCE;
+      }
+      final CompressionCodec codec = CODECS.get(name);
+      if (codec == null) {
+         throw new IllegalArgumentException("Unknown compression codec " + name + ", available: " + CODECS.keySet());
+      }
+      if (!codec.isAvailable()) {
+         throw new IllegalArgumentException("The compression codec " + name + " is not available");
+      }
+      return codec;
+   }
+
+   /**
+    * @return whether the codec registered with {@code name} exists and is available
+    */
+   public static boolean isAvailable(String name) {
+      final CompressionCodec codec = name == null ? null : CODECS.get(name);
+      return codec != null && codec.isAvailable();
+   }
+
+   /**
+    * @return the names of the available codecs other than deflate, which is always there
+    */
+   public static String[] getAvailableNames() {
+      return CODECS.values().stream()
+         .filter(codec -> codec != DeflateCodec.INSTANCE && codec.isAvailable())
+         .map(CompressionCodec::getName)
+         .toArray(String[]::new);
+   }
+
+   /**
+    * @return the codec that compressed {@code message}, carried by {@link Message#HDR_LARGE_COMPRESSION_CODEC}
+    * (the deflate one if missing)
+    */
+   public static CompressionCodec of(Message message) {
+      return get(nameOf(message));
+   }
+
+   /**
+    * @return the name of the codec that compressed {@code message}, {@code null} for deflate
+    */
+   public static String nameOf(Message message) {
+      final SimpleString name = message.getSimpleStringProperty(Message.HDR_LARGE_COMPRESSION_CODEC);
+      return name == null ? null : name.toString();
+   }
+}
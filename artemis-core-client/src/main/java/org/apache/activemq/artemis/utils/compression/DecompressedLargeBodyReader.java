@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.utils.compression;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import org.apache.activemq.artemis.api.core.ActiveMQException;
+import org.apache.activemq.artemis.api.core.ActiveMQInternalErrorException;
+import org.apache.activemq.artemis.core.message.LargeBodyReader;
+
+/**
+ * A {@link LargeBodyReader} of the decompressed body of a compressed large message, used to deliver it to the
+ * consumers that can't decompress it.
+ */
+public final class DecompressedLargeBodyReader implements LargeBodyReader {
+
+   private final LargeBodyReader reader;
+
+   private final CompressionCodec codec;
+
+   private final long size;
+
+   private InputStream input;
+
+   private long position;
+
+   /**
+    * @param reader the reader of the compressed body
+    * @param codec  the codec that compressed the body
+    * @param size   the size of the decompressed body
+    */
+   public DecompressedLargeBodyReader(LargeBodyReader reader, CompressionCodec codec, long size) {
+      this.reader = reader;
+      this.codec = codec;
+      this.size = size;
+   }
+
+   @Override
+   public void open() throws ActiveMQException {
+      reader.open();
+      rewind();
+   }
+
+   private void rewind() throws ActiveMQException {
+      reader.position(0);
+      input = codec.decompress(new ReaderInputStream());
+      position = 0;
+   }
+
+   @Override
+   public void position(long position) throws ActiveMQException {
+      if (position < this.position) {
+         rewind();
+      }
+      try {
+         while (this.position < position) {
+            final long skipped = input.skip(position - this.position);
+            if (skipped <= 0) {
+               break;
+            }
+            this.position += skipped;
+         }
+      } catch (IOException e) {
+         throw new ActiveMQInternalErrorException(e.getMessage(), e);
+      }
+   }
+
+   @Override
+   public long position() {
+      return position;
+   }
+
+   @Override
+   public void close() throws ActiveMQException {
+      input = null;
+      reader.close();
+   }
+
+   @Override
+   public int readInto(ByteBuffer bufferRead) throws ActiveMQException {
+      final byte[] bytes = new byte[bufferRead.remaining()];
+      int read = 0;
+      try {
+         while (read < bytes.length) {
+            final int n = input.read(bytes, read, bytes.length - read);
+            if (n == -1) {
+               break;
+            }
+            read += n;
+         }
+      } catch (IOException e) {
+         throw new ActiveMQInternalErrorException(e.getMessage(), e);
+      }
+      bufferRead.put(bytes, 0, read);
+      position += read;
+      return read;
+   }
+
+   @Override
+   public long getSize() {
+      return size;
+   }
+
+   /**
+    * The compressed body, as read by {@link #reader}.
+    */
+   private final class ReaderInputStream extends InputStream {
+
+      @Override
+      public int read() throws IOException {
+         final byte[] single = new byte[1];
+         return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+      }
+
+      @Override
+      public int read(byte[] bytes, int offset, int length) throws IOException {
+         if (length == 0) {
+            return 0;
+         }
+         try {
+            final int read = reader.readInto(ByteBuffer.wrap(bytes, offset, length));
+            return read <= 0 ? -1 : read;
+         } catch (ActiveMQException e) {
+            throw new IOException(e.getMessage(), e);
+         }
+      }
+   }
+}
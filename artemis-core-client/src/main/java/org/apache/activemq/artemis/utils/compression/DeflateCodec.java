@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.utils.compression;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+
+import org.apache.activemq.artemis.utils.DeflaterReader;
+import org.apache.activemq.artemis.utils.InflaterReader;
+import org.apache.activemq.artemis.utils.InflaterWriter;
+
+/**
+ * The {@code java.util.zip} codec, used by the clients that don't know about the other ones: levels from 0 to 9.
+ */
+public final class DeflateCodec implements CompressionCodec {
+
+   public static final String NAME = "deflate";
+
+   static final DeflateCodec INSTANCE = new DeflateCodec();
+
+   private DeflateCodec() {
+   }
+
+   @Override
+   public String getName() {
+      return NAME;
+   }
+
+   @Override
+   public boolean isAvailable() {
+      return true;
+   }
+
+   @Override
+   public InputStream compress(InputStream input, int level, AtomicLong bytesRead) {
+      return new DeflaterReader(input, bytesRead, level == DEFAULT_LEVEL ? Deflater.DEFAULT_COMPRESSION : level);
+   }
+
+   @Override
+   public InputStream decompress(InputStream input) {
+      return new InflaterReader(input);
+   }
+
+   @Override
+   public OutputStream decompress(OutputStream output) {
+      return new InflaterWriter(output);
+   }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.utils.compression;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+
+/**
+ * The LZ4 codec: the default level uses the fast compressor, levels from 1 to 17 the high compression one.
+ * <p>
+ * It needs lz4-java on the classpath, that is an optional dependency of Artemis: it's only touched through
+ * {@link Lz4}, once known to be there.
+ */
+public final class Lz4Codec extends BlockCompressionCodec {
+
+   public static final String NAME = "lz4";
+
+   static final Lz4Codec INSTANCE = new Lz4Codec();
+
+   private final boolean available;
+
+   private Lz4Codec() {
+      boolean available;
+      try {
+         available = Lz4.FACTORY != null;
+      } catch (LinkageError e) {
+         available = false;
+      }
+      this.available = available;
+   }
+
+   @Override
+   public String getName() {
+      return NAME;
+   }
+
+   @Override
+   public boolean isAvailable() {
+      return available;
+   }
+
+   private void checkAvailable() {
+      if (!available) {
+         throw new IllegalStateException("The " + NAME + " codec needs lz4-java on the classpath");
+      }
+   }
+
+   @Override
+   protected int maxCompressedLength(int length) {
+      checkAvailable();
+      return Lz4.FAST_COMPRESSOR.maxCompressedLength(length);
+   }
+
+   @Override
+   protected int compress(byte[] src, int srcLength, byte[] dst, int dstOffset, int level) throws IOException {
+      return Lz4.compress(src, srcLength, dst, dstOffset, level);
+   }
+
+   @Override
+   protected void decompress(byte[] src, int srcLength, byte[] dst, int dstLength) throws IOException {
+      final int decompressed = Lz4.decompress(src, srcLength, dst, dstLength);
+      if (decompressed != dstLength) {
+         throw new IOException("Decompressed " + decompressed + " bytes instead of " + dstLength);
+      }
+   }
+
+   /**
+    * Initialized on first use only, failing with a {@link LinkageError} without lz4-java: {@link Lz4Codec} can't
+    * refer to any lz4-java type, not even in a catch clause, or it would fail to load too.
+    */
+   private static final class Lz4 {
+
+      static final LZ4Factory FACTORY = LZ4Factory.fastestInstance();
+
+      static final LZ4Compressor FAST_COMPRESSOR = FACTORY.fastCompressor();
+
+      private static final LZ4SafeDecompressor DECOMPRESSOR = FACTORY.safeDecompressor();
+
+      private static final ConcurrentMap<Integer, LZ4Compressor> HIGH_COMPRESSORS = new ConcurrentHashMap<>();
+
+      private static LZ4Compressor compressor(int level) {
+         if (level <= 0) {
+            return FAST_COMPRESSOR;
+         }
+         return HIGH_COMPRESSORS.computeIfAbsent(level, FACTORY::highCompressor);
+      }
+
+      static int compress(byte[] src, int srcLength, byte[] dst, int dstOffset, int level) throws IOException {
+         try {
+            return compressor(level).compress(src, 0, srcLength, dst, dstOffset, dst.length - dstOffset);
+         } catch (LZ4Exception e) {
+            throw new IOException(e);
+         }
+      }
+
+      static int decompress(byte[] src, int srcLength, byte[] dst, int dstLength) throws IOException {
+         try {
+            return DECOMPRESSOR.decompress(src, 0, srcLength, dst, 0, dstLength);
+         } catch (LZ4Exception e) {
+            throw new IOException(e);
+         }
+      }
+   }
+}
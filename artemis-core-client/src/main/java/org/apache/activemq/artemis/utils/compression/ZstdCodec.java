@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.utils.compression;
+
+import java.io.IOException;
+
+import com.github.luben.zstd.Zstd;
+
+/**
+ * The Zstandard codec: levels from 1 to 22, 3 by default.
+ * <p>
+ * It needs zstd-jni on the classpath, that is an optional dependency of Artemis: {@link Zstd} is only touched once
+ * known to be there, with its native library loaded.
+ */
+public final class ZstdCodec extends BlockCompressionCodec {
+
+   public static final String NAME = "zstd";
+
+   static final ZstdCodec INSTANCE = new ZstdCodec();
+
+   private static final int DEFAULT_ZSTD_LEVEL = 3;
+
+   private final boolean available;
+
+   private ZstdCodec() {
+      boolean available;
+      try {
+         // loads the native library too
+         Zstd.compressBound(BLOCK_SIZE);
+         available = true;
+      } catch (LinkageError e) {
+         available = false;
+      }
+      this.available = available;
+   }
+
+   @Override
+   public String getName() {
+      return NAME;
+   }
+
+   @Override
+   public boolean isAvailable() {
+      return available;
+   }
+
+   @Override
+   protected int maxCompressedLength(int length) {
+      if (!available) {
+         throw new IllegalStateException("The " + NAME + " codec needs zstd-jni on the classpath");
+      }
+      return (int) Zstd.compressBound(length);
+   }
+
+   @Override
+   protected int compress(byte[] src, int srcLength, byte[] dst, int dstOffset, int level) throws IOException {
+      final int zstdLevel = level == DEFAULT_LEVEL ? DEFAULT_ZSTD_LEVEL : level;
+      return (int) check(Zstd.compressByteArray(dst, dstOffset, dst.length - dstOffset, src, 0, srcLength, zstdLevel));
+   }
+
+   @Override
+   protected void decompress(byte[] src, int srcLength, byte[] dst, int dstLength) throws IOException {
+      final long decompressed = check(Zstd.decompressByteArray(dst, 0, dstLength, src, 0, srcLength));
+      if (decompressed != dstLength) {
+         throw new IOException("Decompressed " + decompressed + " bytes instead of " + dstLength);
+      }
+   }
+
+   private static long check(long result) throws IOException {
+      if (Zstd.isError(result)) {
+         throw new IOException("zstd error: " + Zstd.getErrorName(result));
+      }
+      return result;
+   }
+}
@@ -17,8 +17,12 @@
 package org.apache.activemq.artemis.core.protocol.core.impl;
 
 import javax.security.auth.Subject;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import io.netty.buffer.Unpooled;
@@ -44,14 +48,19 @@ import org.junit.Before;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class ChannelImplTest {
 
    ChannelImpl channel;
 
+   CoreRR connection;
+
    @Before
    public void setUp() {
-      channel = new ChannelImpl(new CoreRR(), 1, 4000, null);
+      connection = new CoreRR();
+      channel = new ChannelImpl(connection, 1, 4000, null);
    }
 
    @Test
@@ -106,6 +115,99 @@ public class ChannelImplTest {
       assertEquals(0, channel.getCache().size());
    }
 
+   @Test
+   public void testPipelinedBlockingCalls() throws Exception {
+      final int calls = 10;
+      connection.blockingCallTimeout = 30_000;
+      setResponseHandlerAsPerActiveMQSessionContext((packet, response) -> {
+      });
+
+      final List<RequestPacket> requests = new ArrayList<>();
+      final ExecutorService executor = Executors.newFixedThreadPool(calls);
+      try {
+         final List<Future<Packet>> responses = new ArrayList<>();
+         for (int i = 0; i < calls; i++) {
+            final RequestPacket requestPacket = new RequestPacket((byte) 1);
+            requests.add(requestPacket);
+            responses.add(executor.submit(() -> channel.sendBlocking(requestPacket, (byte) 1)));
+         }
+
+         // all the calls are in flight at the same time
+         final long deadline = System.currentTimeMillis() + 30_000;
+         while (channel.getCache().size() < calls) {
+            assertTrue(System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+         }
+
+         // and each one gets its own response, whatever the order they come in
+         for (int i = calls - 1; i >= 0; i--) {
+            final ResponsePacket responsePacket = new ResponsePacket((byte) 1);
+            responsePacket.setCorrelationID(requests.get(i).getCorrelationID());
+            channel.handlePacket(responsePacket);
+            assertEquals(responsePacket, responses.get(i).get(30, TimeUnit.SECONDS));
+         }
+         assertEquals(0, channel.getCache().size());
+      } finally {
+         executor.shutdownNow();
+      }
+   }
+
+   @Test
+   public void testPipelinedBlockingCallsAreNotConfirmedByPacketsConfirmed() throws Exception {
+      connection.blockingCallTimeout = 30_000;
+      setResponseHandlerAsPerActiveMQSessionContext((packet, response) -> {
+      });
+
+      final RequestPacket requestPacket = new RequestPacket((byte) 1);
+      final ExecutorService executor = Executors.newSingleThreadExecutor();
+      try {
+         final Future<Packet> response = executor.submit(() -> channel.sendBlocking(requestPacket, (byte) 1));
+         final long deadline = System.currentTimeMillis() + 30_000;
+         while (channel.getCache().size() < 1) {
+            assertTrue(System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+         }
+
+         channel.handlePacket(new PacketsConfirmedMessage((byte) 2));
+         assertEquals(1, channel.getCache().size());
+         assertFalse(response.isDone());
+
+         final ResponsePacket responsePacket = new ResponsePacket((byte) 1);
+         responsePacket.setCorrelationID(requestPacket.getCorrelationID());
+         channel.handlePacket(responsePacket);
+         assertEquals(responsePacket, response.get(30, TimeUnit.SECONDS));
+      } finally {
+         executor.shutdownNow();
+      }
+   }
+
+   @Test
+   public void testSendAsync() throws Exception {
+      setResponseHandlerAsPerActiveMQSessionContext((packet, response) -> {
+      });
+
+      final Packet[] responses = new Packet[3];
+      final RequestPacket[] requests = new RequestPacket[responses.length];
+      for (int i = 0; i < requests.length; i++) {
+         final int call = i;
+         requests[i] = new RequestPacket((byte) 1);
+         channel.sendAsync(requests[i], (packet, response) -> responses[call] = response);
+      }
+      assertEquals(requests.length, channel.getCache().size());
+
+      final ResponsePacket responsePacket = new ResponsePacket((byte) 1);
+      responsePacket.setCorrelationID(requests[1].getCorrelationID());
+      channel.handlePacket(responsePacket);
+      assertEquals(responsePacket, responses[1]);
+      assertEquals(null, responses[0]);
+
+      // the ones still in flight are failed with the channel
+      channel.returnBlocking(new ActiveMQException("failed"));
+      assertEquals(PacketImpl.EXCEPTION, responses[0].getType());
+      assertEquals(PacketImpl.EXCEPTION, responses[2].getType());
+      assertEquals(0, channel.getCache().size());
+   }
+
    class RequestPacket extends PacketImpl {
 
       private long id;
@@ -176,6 +278,8 @@ public class ChannelImplTest {
 
    class CoreRR implements CoreRemotingConnection {
 
+      long blockingCallTimeout;
+
       @Override
       public int getChannelVersion() {
          return 0;
@@ -218,7 +322,7 @@ public class ChannelImplTest {
 
       @Override
       public long getBlockingCallTimeout() {
-         return 0;
+         return blockingCallTimeout;
       }
 
       @Override
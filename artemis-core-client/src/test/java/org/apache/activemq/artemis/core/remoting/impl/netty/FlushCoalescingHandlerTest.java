@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.remoting.impl.netty;
+
+import java.util.HashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.local.LocalServerChannel;
+import io.netty.util.ReferenceCountUtil;
+import org.apache.activemq.artemis.core.buffers.impl.ChannelBufferWrapper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class FlushCoalescingHandlerTest {
+
+   private static final int MESSAGE_SIZE = 100;
+
+   private static final long NO_DELAY = 0;
+
+   private static final long LONG_DELAY = TimeUnit.SECONDS.toMicros(60);
+
+   private EventLoopGroup eventLoopGroup;
+
+   private Channel serverChannel;
+
+   @Before
+   public void setUp() throws Exception {
+      eventLoopGroup = new DefaultEventLoopGroup(1);
+      serverChannel = new ServerBootstrap().group(eventLoopGroup).channel(LocalServerChannel.class).childHandler(new ChannelInboundHandlerAdapter() {
+         @Override
+         public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            ReferenceCountUtil.release(msg);
+         }
+      }).bind(new LocalAddress(FlushCoalescingHandlerTest.class.getName())).sync().channel();
+   }
+
+   @After
+   public void tearDown() throws Exception {
+      serverChannel.close().sync();
+      eventLoopGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).sync();
+   }
+
+   private Channel connect(FlushCoalescingHandler handler) throws Exception {
+      return new Bootstrap().group(eventLoopGroup).channel(LocalChannel.class).handler(new ChannelInboundHandlerAdapter() {
+         @Override
+         public void handlerAdded(ChannelHandlerContext ctx) {
+            ctx.pipeline().replace(this, FlushCoalescingHandler.NAME, handler);
+         }
+      }).connect(serverChannel.localAddress()).sync().channel();
+   }
+
+   private static ByteBuf message() {
+      return Unpooled.wrappedBuffer(new byte[MESSAGE_SIZE]);
+   }
+
+   private static void waitFor(long expected, LongSupplier actual) throws InterruptedException {
+      final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+      while (actual.getAsLong() != expected && System.nanoTime() - deadline < 0) {
+         TimeUnit.MILLISECONDS.sleep(1);
+      }
+      assertEquals(expected, actual.getAsLong());
+   }
+
+   private static <T> T onEventLoop(Channel channel, Callable<T> task) throws Exception {
+      return channel.eventLoop().submit(task).get(10, TimeUnit.SECONDS);
+   }
+
+   @Test
+   public void testFlushesAreCoalesced() throws Exception {
+      final FlushCoalescingHandler handler = new FlushCoalescingHandler(1024 * 1024, LONG_DELAY, TimeUnit.MICROSECONDS);
+      final Channel channel = connect(handler);
+      // the flushes requested while the event loop is busy are deferred
+      assertEquals(0L, (long) onEventLoop(channel, () -> {
+         for (int i = 0; i < 10; i++) {
+            channel.writeAndFlush(message());
+         }
+         return handler.getFlushCount();
+      }));
+      waitFor(1, handler::getFlushCount);
+      assertEquals(10 * MESSAGE_SIZE, handler.getFlushedBytes());
+      channel.close().sync();
+   }
+
+   @Test
+   public void testFlushesOfBusyEventLoopInSinglePass() throws Exception {
+      final FlushCoalescingHandler handler = new FlushCoalescingHandler(1024 * 1024, LONG_DELAY, TimeUnit.MICROSECONDS);
+      final FlushCoalescingHandler otherHandler = new FlushCoalescingHandler(1024 * 1024, LONG_DELAY, TimeUnit.MICROSECONDS);
+      final Channel channel = connect(handler);
+      final Channel otherChannel = connect(otherHandler);
+      assertSame(channel.eventLoop(), otherChannel.eventLoop());
+
+      // a task that keeps the event loop busy, running again until the channels are flushed
+      final CompletableFuture<Integer> passes = new CompletableFuture<>();
+      final Runnable busyTask = new Runnable() {
+         int pass;
+
+         @Override
+         public void run() {
+            pass++;
+            if (handler.getFlushCount() + otherHandler.getFlushCount() > 0) {
+               // -1 unless both flushed together
+               passes.complete(handler.getFlushCount() == 1 && otherHandler.getFlushCount() == 1 ? pass : -1);
+            } else if (pass < 1000) {
+               channel.eventLoop().execute(this);
+            } else {
+               passes.complete(pass);
+            }
+         }
+      };
+      onEventLoop(channel, () -> {
+         channel.writeAndFlush(message());
+         otherChannel.writeAndFlush(message());
+         channel.eventLoop().execute(busyTask);
+         return null;
+      });
+      // the flushes are deferred once behind the busy task instead of as long as the event loop is busy
+      assertEquals(2, (int) passes.get(10, TimeUnit.SECONDS));
+      assertEquals(MESSAGE_SIZE, handler.getFlushedBytes());
+      assertEquals(MESSAGE_SIZE, otherHandler.getFlushedBytes());
+      channel.close().sync();
+      otherChannel.close().sync();
+   }
+
+   @Test
+   public void testFlushOnBytesThreshold() throws Exception {
+      final FlushCoalescingHandler handler = new FlushCoalescingHandler(MESSAGE_SIZE * 2, LONG_DELAY, TimeUnit.MICROSECONDS);
+      final Channel channel = connect(handler);
+      assertEquals(1L, (long) onEventLoop(channel, () -> {
+         channel.writeAndFlush(message());
+         channel.writeAndFlush(message());
+         return handler.getFlushCount();
+      }));
+      // nothing left to flush
+      onEventLoop(channel, () -> null);
+      assertEquals(1, handler.getFlushCount());
+      assertEquals(2 * MESSAGE_SIZE, handler.getFlushedBytes());
+      channel.close().sync();
+   }
+
+   @Test
+   public void testFlushWithoutDelay() throws Exception {
+      final FlushCoalescingHandler handler = new FlushCoalescingHandler(1024 * 1024, NO_DELAY, TimeUnit.MICROSECONDS);
+      final Channel channel = connect(handler);
+      assertEquals(3L, (long) onEventLoop(channel, () -> {
+         for (int i = 0; i < 3; i++) {
+            channel.writeAndFlush(message());
+         }
+         return handler.getFlushCount();
+      }));
+      channel.close().sync();
+   }
+
+   @Test
+   public void testFlushOnClose() throws Exception {
+      final FlushCoalescingHandler handler = new FlushCoalescingHandler(1024 * 1024, LONG_DELAY, TimeUnit.MICROSECONDS);
+      final Channel channel = connect(handler);
+      assertEquals(1L, (long) onEventLoop(channel, () -> {
+         channel.writeAndFlush(message());
+         channel.close();
+         return handler.getFlushCount();
+      }));
+      assertEquals(MESSAGE_SIZE, handler.getFlushedBytes());
+   }
+
+   @Test
+   public void testConnectionFlushMetrics() throws Exception {
+      final EmbeddedChannel plainChannel = new EmbeddedChannel();
+      final NettyConnection plainConnection = new NettyConnection(new HashMap<>(), plainChannel, null, false, false);
+      assertEquals(-1, plainConnection.getFlushCount());
+      assertEquals(-1, plainConnection.getFlushedBytes());
+      plainChannel.finishAndReleaseAll();
+
+      final FlushCoalescingHandler handler = new FlushCoalescingHandler(1024 * 1024, LONG_DELAY, TimeUnit.MICROSECONDS);
+      final Channel channel = connect(handler);
+      final NettyConnection connection = new NettyConnection(new HashMap<>(), channel, null, false, false);
+      for (int i = 0; i < 10; i++) {
+         connection.write(new ChannelBufferWrapper(message()), false, false);
+      }
+      waitFor(10 * MESSAGE_SIZE, connection::getFlushedBytes);
+      assertTrue(connection.getFlushCount() >= 1 && connection.getFlushCount() <= 10);
+      channel.close().sync();
+   }
+}
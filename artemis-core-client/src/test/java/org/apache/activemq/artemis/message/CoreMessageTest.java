@@ -18,6 +18,7 @@
 package org.apache.activemq.artemis.message;
 
 import java.util.LinkedList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
@@ -89,6 +90,31 @@ public class CoreMessageTest {
       Assert.assertEquals(bodyBufferSize, readonlyBodyBufferReadableBytes);
    }
 
+   @Test
+   public void testCachedConversions() {
+      final CoreMessage decodedMessage = decodeMessage();
+      final int memoryEstimate = decodedMessage.getMemoryEstimate();
+      final Object conversion = new Object();
+      final AtomicInteger released = new AtomicInteger();
+
+      decodedMessage.refUp();
+      decodedMessage.refUp();
+      Assert.assertNull(decodedMessage.getCachedConversion("OPENWIRE"));
+      Assert.assertTrue(decodedMessage.cacheConversion("OPENWIRE", conversion, released::incrementAndGet));
+      Assert.assertFalse(decodedMessage.cacheConversion("OPENWIRE", new Object(), released::incrementAndGet));
+      Assert.assertTrue(decodedMessage.cacheConversion("AMQP", new Object(), released::incrementAndGet));
+
+      Assert.assertSame(conversion, decodedMessage.getCachedConversion("OPENWIRE"));
+      Assert.assertEquals(memoryEstimate, decodedMessage.getMemoryEstimate());
+      Assert.assertNull(decodedMessage.copy().getCachedConversion("OPENWIRE"));
+
+      decodedMessage.refDown();
+      Assert.assertEquals(0, released.get());
+      decodedMessage.refDown();
+      Assert.assertEquals(2, released.get());
+      Assert.assertNull(decodedMessage.getCachedConversion("OPENWIRE"));
+   }
+
    /** The message is received, then sent to the other side untouched */
    @Test
    public void sendThroughPackets() {
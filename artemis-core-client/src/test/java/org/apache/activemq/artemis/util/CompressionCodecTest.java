@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.apache.activemq.artemis.utils.compression.BlockCompressionCodec;
+import org.apache.activemq.artemis.utils.compression.CompressionCodec;
+import org.apache.activemq.artemis.utils.compression.CompressionCodecs;
+import org.apache.activemq.artemis.utils.compression.DeflateCodec;
+import org.apache.activemq.artemis.utils.compression.Lz4Codec;
+import org.apache.activemq.artemis.utils.compression.ZstdCodec;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CompressionCodecTest extends Assert {
+
+   private static final int[] SIZES = {0, 1, 1000, 64 * 1024, 64 * 1024 + 1, 300 * 1024};
+
+   /**
+    * A block codec backed by {@link Deflater}, to exercise the framing without the optional libraries.
+    */
+   private static final class BlockDeflateCodec extends BlockCompressionCodec {
+
+      @Override
+      public String getName() {
+         return "block-deflate";
+      }
+
+      @Override
+      public boolean isAvailable() {
+         return true;
+      }
+
+      @Override
+      protected int maxCompressedLength(int length) {
+         return length + length / 1000 + 64;
+      }
+
+      @Override
+      protected int compress(byte[] src, int srcLength, byte[] dst, int dstOffset, int level) {
+         final Deflater deflater = new Deflater(level == DEFAULT_LEVEL ? Deflater.DEFAULT_COMPRESSION : level);
+         try {
+            deflater.setInput(src, 0, srcLength);
+            deflater.finish();
+            return deflater.deflate(dst, dstOffset, dst.length - dstOffset);
+         } finally {
+            deflater.end();
+         }
+      }
+
+      @Override
+      protected void decompress(byte[] src, int srcLength, byte[] dst, int dstLength) throws IOException {
+         final Inflater inflater = new Inflater();
+         try {
+            inflater.setInput(src, 0, srcLength);
+            if (inflater.inflate(dst, 0, dstLength) != dstLength) {
+               throw new IOException("Truncated block");
+            }
+         } catch (DataFormatException e) {
+            throw new IOException(e);
+         } finally {
+            inflater.end();
+         }
+      }
+   }
+
+   @Test
+   public void testDefaultCodec() {
+      assertSame(CompressionCodecs.get(null), CompressionCodecs.get(DeflateCodec.NAME));
+      assertTrue(CompressionCodecs.isAvailable(DeflateCodec.NAME));
+      assertFalse(CompressionCodecs.isAvailable("unknown"));
+      try {
+         CompressionCodecs.get("unknown");
+         fail("unknown codecs must be rejected");
+      } catch (IllegalArgumentException expected) {
+      }
+   }
+
+   @Test
+   public void testDeflate() throws Exception {
+      final CompressionCodec codec = CompressionCodecs.get(DeflateCodec.NAME);
+      testRoundTrip(codec, CompressionCodec.DEFAULT_LEVEL);
+      testRoundTrip(codec, Deflater.BEST_SPEED);
+      testRoundTrip(codec, Deflater.BEST_COMPRESSION);
+   }
+
+   @Test
+   public void testBlockCodec() throws Exception {
+      final CompressionCodec codec = new BlockDeflateCodec();
+      testRoundTrip(codec, CompressionCodec.DEFAULT_LEVEL);
+      testRoundTrip(codec, Deflater.BEST_SPEED);
+   }
+
+   @Test
+   public void testBlockCodecTruncated() throws Exception {
+      final byte[] compressed = compress(new BlockDeflateCodec(), compressibleData(1000), CompressionCodec.DEFAULT_LEVEL, new AtomicLong());
+      final byte[] truncated = new byte[compressed.length - 1];
+      System.arraycopy(compressed, 0, truncated, 0, truncated.length);
+      try (InputStream input = new BlockDeflateCodec().decompress(new ByteArrayInputStream(truncated))) {
+         readFully(input);
+         fail("a truncated frame must be detected");
+      } catch (IOException expected) {
+      }
+   }
+
+   @Test
+   public void testLz4() throws Exception {
+      assertTrue(CompressionCodecs.isAvailable(Lz4Codec.NAME));
+      final CompressionCodec codec = CompressionCodecs.get(Lz4Codec.NAME);
+      testRoundTrip(codec, CompressionCodec.DEFAULT_LEVEL);
+      testRoundTrip(codec, 9);
+   }
+
+   @Test
+   public void testZstd() throws Exception {
+      assertTrue(CompressionCodecs.isAvailable(ZstdCodec.NAME));
+      final CompressionCodec codec = CompressionCodecs.get(ZstdCodec.NAME);
+      testRoundTrip(codec, CompressionCodec.DEFAULT_LEVEL);
+      testRoundTrip(codec, 19);
+   }
+
+   private static void testRoundTrip(CompressionCodec codec, int level) throws Exception {
+      for (int size : SIZES) {
+         testRoundTrip(codec, level, compressibleData(size));
+         testRoundTrip(codec, level, randomData(size));
+      }
+   }
+
+   private static void testRoundTrip(CompressionCodec codec, int level, byte[] data) throws Exception {
+      final AtomicLong bytesRead = new AtomicLong();
+      final byte[] compressed = compress(codec, data, level, bytesRead);
+      assertEquals(data.length, bytesRead.get());
+
+      try (InputStream input = codec.decompress(new ByteArrayInputStream(compressed))) {
+         assertArrayEquals(data, readFully(input));
+      }
+
+      final ByteArrayOutputStream decompressed = new ByteArrayOutputStream();
+      try (OutputStream output = codec.decompress(decompressed)) {
+         // odd sized writes, to split the frames at random points
+         for (int i = 0; i < compressed.length; i += 777) {
+            output.write(compressed, i, Math.min(777, compressed.length - i));
+         }
+      }
+      assertArrayEquals(data, decompressed.toByteArray());
+   }
+
+   private static byte[] compress(CompressionCodec codec, byte[] data, int level, AtomicLong bytesRead) throws IOException {
+      try (InputStream input = codec.compress(new ByteArrayInputStream(data), level, bytesRead)) {
+         return readFully(input);
+      }
+   }
+
+   private static byte[] readFully(InputStream input) throws IOException {
+      final ByteArrayOutputStream output = new ByteArrayOutputStream();
+      final byte[] buffer = new byte[1000];
+      int n;
+      while ((n = input.read(buffer)) != -1) {
+         output.write(buffer, 0, n);
+      }
+      return output.toByteArray();
+   }
+
+   private static byte[] compressibleData(int size) {
+      final byte[] data = new byte[size];
+      for (int i = 0; i < size; i++) {
+         data[i] = (byte) ('a' + i % 7);
+      }
+      return data;
+   }
+
+   private static byte[] randomData(int size) {
+      final byte[] data = new byte[size];
+      new Random(size).nextBytes(data);
+      return data;
+   }
+}
@@ -853,6 +853,22 @@ public class ActiveMQConnectionFactory extends JNDIStorable implements Connectio
       serverLocator.setCompressLargeMessage(avoidLargeMessages);
    }
 
+   public String getCompressionCodec() {
+      return serverLocator.getCompressionCodec();
+   }
+
+   public void setCompressionCodec(String compressionCodec) {
+      serverLocator.setCompressionCodec(compressionCodec);
+   }
+
+   public int getCompressionLevel() {
+      return serverLocator.getCompressionLevel();
+   }
+
+   public void setCompressionLevel(int compressionLevel) {
+      serverLocator.setCompressionLevel(compressionLevel);
+   }
+
    @Override
    public void close() {
       ServerLocator locator0 = serverLocator;
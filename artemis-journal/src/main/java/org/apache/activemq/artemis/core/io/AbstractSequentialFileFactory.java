@@ -105,6 +105,11 @@ public abstract class AbstractSequentialFileFactory implements SequentialFileFac
       return criticalAnalyzer;
    }
 
+   @Override
+   public TimedBuffer getTimedBuffer() {
+      return timedBuffer;
+   }
+
    @Override
    public long getBufferSize() {
       return bufferSize;
@@ -20,6 +20,7 @@ import java.io.File;
 import java.nio.ByteBuffer;
 import java.util.List;
 
+import org.apache.activemq.artemis.core.io.buffer.TimedBuffer;
 import org.apache.activemq.artemis.utils.critical.CriticalAnalyzer;
 
 /**
@@ -31,6 +32,13 @@ public interface SequentialFileFactory {
       return null;
    }
 
+   /**
+    * @return the {@link TimedBuffer} shared by the files of this factory or {@code null} if they aren't buffered
+    */
+   default TimedBuffer getTimedBuffer() {
+      return null;
+   }
+
    SequentialFile createSequentialFile(String fileName);
 
    int getMaxIO();
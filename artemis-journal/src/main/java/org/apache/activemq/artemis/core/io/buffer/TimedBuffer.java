@@ -23,6 +23,7 @@ import java.util.Timer;
 import java.util.TimerTask;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.locks.LockSupport;
 
 import io.netty.buffer.Unpooled;
@@ -55,6 +56,15 @@ public final class TimedBuffer extends CriticalComponentImpl {
    // The number of tries on sleep before switching to spin
    private static final int MAX_CHECKS_ON_SLEEP = 20;
 
+   /**
+    * The number of buckets of the batch size histogram: bucket {@code i} counts the flushes of up to {@code 2^i}
+    * records (and more than {@code 2^(i-1)}), while the last one counts any bigger flush.
+    */
+   public static final int BATCH_SIZE_BUCKETS = 12;
+
+   // An adaptive timeout can grow up to this factor of the configured one
+   private static final int MAX_ADAPTIVE_TIMEOUT_FACTOR = 10;
+
    // Attributes ----------------------------------------------------
 
    private TimedBufferObserver bufferObserver;
@@ -76,6 +86,13 @@ public final class TimedBuffer extends CriticalComponentImpl {
 
    private final int timeout;
 
+   // the timeout in use, it differs from timeout only if it is adaptive
+   private volatile int currentTimeout;
+
+   private volatile AdaptiveTimeout adaptiveTimeout;
+
+   private final AtomicLongArray batchSizes = new AtomicLongArray(BATCH_SIZE_BUCKETS);
+
    // used to measure sync requests. When a sync is requested, it shouldn't take more than timeout to happen
    private volatile boolean pendingSync = false;
 
@@ -132,6 +149,65 @@ public final class TimedBuffer extends CriticalComponentImpl {
       callbacks = new ArrayList<>();
 
       this.timeout = timeout;
+
+      this.currentTimeout = timeout;
+   }
+
+   /**
+    * When adaptive, the timeout is continuously tuned on the sync latency observed on the flushes and on the rate
+    * of the sync requests: it follows the latency while more than one request is expected to arrive on it and it
+    * shrinks when there are fewer (down to no wait at all), given that waiting longer would just delay the syncs
+    * without batching them. It never gets bigger than {@value #MAX_ADAPTIVE_TIMEOUT_FACTOR} times the configured
+    * timeout, that is also its initial value.
+    */
+   public void setAdaptiveTimeout(final boolean adaptive) {
+      synchronized (this) {
+         if (adaptive) {
+            if (adaptiveTimeout == null) {
+               adaptiveTimeout = new AdaptiveTimeout(timeout, Math.min((long) timeout * MAX_ADAPTIVE_TIMEOUT_FACTOR, Integer.MAX_VALUE));
+            }
+         } else {
+            adaptiveTimeout = null;
+            currentTimeout = timeout;
+         }
+      }
+   }
+
+   public boolean isAdaptiveTimeout() {
+      return adaptiveTimeout != null;
+   }
+
+   /**
+    * @return the timeout currently in use, in nanoseconds
+    */
+   public int getTimeout() {
+      return currentTimeout;
+   }
+
+   /**
+    * @return the number of flushes counted by the given bucket of the batch size histogram and by the ones before it,
+    * i.e. the number of flushes of at most {@link #getBatchSizeBound(int)} records, as a Prometheus histogram does
+    * @see #BATCH_SIZE_BUCKETS
+    */
+   public long getBatchCount(final int bucket) {
+      long count = 0;
+      for (int i = 0; i <= bucket; i++) {
+         count += batchSizes.get(i);
+      }
+      return count;
+   }
+
+   /**
+    * @return the biggest batch size counted by the given bucket of the batch size histogram, or
+    * {@link Integer#MAX_VALUE} for the last one
+    */
+   public static int getBatchSizeBound(final int bucket) {
+      return bucket == BATCH_SIZE_BUCKETS - 1 ? Integer.MAX_VALUE : 1 << bucket;
+   }
+
+   private static int batchSizeBucket(final int batchSize) {
+      final int bucket = batchSize <= 1 ? 0 : Integer.SIZE - Integer.numberOfLeadingZeros(batchSize - 1);
+      return Math.min(bucket, BATCH_SIZE_BUCKETS - 1);
    }
 
    public void start() {
@@ -300,6 +376,11 @@ public final class TimedBuffer extends CriticalComponentImpl {
             if (sync) {
                pendingSync = true;
 
+               final AdaptiveTimeout adaptiveTimeout = this.adaptiveTimeout;
+               if (adaptiveTimeout != null) {
+                  adaptiveTimeout.syncRequested(System.nanoTime());
+               }
+
                startSpin();
             }
          }
@@ -325,6 +406,11 @@ public final class TimedBuffer extends CriticalComponentImpl {
             if (sync) {
                pendingSync = true;
 
+               final AdaptiveTimeout adaptiveTimeout = this.adaptiveTimeout;
+               if (adaptiveTimeout != null) {
+                  adaptiveTimeout.syncRequested(System.nanoTime());
+               }
+
                startSpin();
             }
          }
@@ -358,6 +444,13 @@ public final class TimedBuffer extends CriticalComponentImpl {
                   bytesFlushed.addAndGet(pos);
                }
 
+               batchSizes.incrementAndGet(batchSizeBucket(callbacks.size()));
+
+               final AdaptiveTimeout adaptiveTimeout = this.adaptiveTimeout;
+               if (adaptiveTimeout != null && pendingSync) {
+                  callbacks.add(adaptiveTimeout.new SyncLatency(System.nanoTime()));
+               }
+
                bufferObserver.flushBuffer(buffer.byteBuf(), pendingSync, callbacks);
 
                stopSpin();
@@ -432,6 +525,66 @@ public final class TimedBuffer extends CriticalComponentImpl {
       }
    }
 
+   /**
+    * Keeps the moving averages (with the same 1/8 weight TCP uses for its RTT estimate) of the sync latency and of
+    * the interval between the sync requests, and the timeout computed out of them.
+    */
+   private final class AdaptiveTimeout {
+
+      private final long maxTimeout;
+
+      private long syncLatency;
+
+      private long syncInterval;
+
+      private long lastSyncRequest;
+
+      private AdaptiveTimeout(final long initialTimeout, final long maxTimeout) {
+         this.maxTimeout = maxTimeout;
+         this.syncLatency = initialTimeout;
+      }
+
+      synchronized void syncRequested(final long now) {
+         if (lastSyncRequest != 0) {
+            final long interval = now - lastSyncRequest;
+            syncInterval = syncInterval == 0 ? interval : syncInterval + ((interval - syncInterval) >> 3);
+         }
+         lastSyncRequest = now;
+      }
+
+      synchronized void synced(final long latency) {
+         syncLatency += (latency - syncLatency) >> 3;
+         long newTimeout = syncLatency;
+         if (syncInterval > syncLatency) {
+            // less than one sync request is expected to arrive while waiting
+            newTimeout = (long) (syncLatency * ((double) syncLatency / syncInterval));
+         }
+         newTimeout = Math.max(0, Math.min(newTimeout, maxTimeout));
+         if (adaptiveTimeout == this) {
+            currentTimeout = (int) newTimeout;
+         }
+      }
+
+      final class SyncLatency implements IOCallback {
+
+         private final long flushTime;
+
+         SyncLatency(final long flushTime) {
+            this.flushTime = flushTime;
+         }
+
+         @Override
+         public void done() {
+            synced(System.nanoTime() - flushTime);
+         }
+
+         @Override
+         public void onError(final int errorCode, final String errorMessage) {
+            // a failed flush doesn't tell anything about the sync latency
+         }
+      }
+   }
+
    private class CheckTimer implements Runnable {
 
       private volatile boolean closed = false;
@@ -462,12 +615,12 @@ public final class TimedBuffer extends CriticalComponentImpl {
                      //          We only need to wait 80% more..
                      //          timeFromTheLastFlush would be the difference
                      //          And if the device took more than that time, there's no need to wait at all.
-                     final long timeToSleep = timeout - timeFromTheLastFlush;
+                     final long timeToSleep = currentTimeout - timeFromTheLastFlush;
                      if (timeToSleep > 0) {
                         useSleep = sleepIfPossible(timeToSleep);
                      }
                   }
-               } else if (bufferObserver != null && System.nanoTime() - lastFlushTime > timeout) {
+               } else if (bufferObserver != null && System.nanoTime() - lastFlushTime > currentTimeout) {
                   lastFlushTime = System.nanoTime();
                   // if not using flush we will spin and do the time checks manually
                   flush();
@@ -25,4 +25,11 @@ public interface LoaderCallback extends TransactionFailureCallback {
    void deleteRecord(long id);
 
    void updateRecord(RecordInfo info);
+
+   /**
+    * To be used to inform about the commit records read, even those of transactions whose other records were already
+    * reclaimed.
+    */
+   default void committedTransaction(long transactionID) {
+   }
 }
@@ -19,6 +19,7 @@ package org.apache.activemq.artemis.core.journal.impl;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.activemq.artemis.core.io.SequentialFileFactory;
 import org.apache.activemq.artemis.core.journal.EncoderPersister;
@@ -59,6 +60,11 @@ public class JournalCompactor extends AbstractJournalUpdateTask implements Journ
     */
    private final LinkedList<CompactCommand> pendingCommands = new LinkedList<>();
 
+   /**
+    * The files being compacted by an incremental compacting, {@code null} when compacting the whole journal
+    */
+   private final Set<JournalFile> compactedFiles;
+
    public List<JournalFile> getNewDataFiles() {
       return newDataFiles;
    }
@@ -77,6 +83,34 @@ public class JournalCompactor extends AbstractJournalUpdateTask implements Journ
                            final ConcurrentLongHashSet recordsSnapshot,
                            final long firstFileID) {
       super(fileFactory, journal, filesRepository, recordsSnapshot, firstFileID);
+      this.compactedFiles = null;
+   }
+
+   /**
+    * Creates a compactor for an incremental compacting: only {@code compactedFiles} are rewritten and the live records
+    * are the records on the journal added on them.
+    */
+   public JournalCompactor(final SequentialFileFactory fileFactory,
+                           final JournalImpl journal,
+                           final JournalFilesRepository filesRepository,
+                           final Set<JournalFile> compactedFiles,
+                           final long firstFileID) {
+      super(fileFactory, journal, filesRepository, null, firstFileID);
+      this.compactedFiles = compactedFiles;
+   }
+
+   public Set<JournalFile> getCompactedFiles() {
+      return compactedFiles;
+   }
+
+   @Override
+   public boolean containsRecord(final long id) {
+      if (compactedFiles == null) {
+         return super.containsRecord(id);
+      }
+      // deletes are replayed after compacting, hence the records added on the compacted files can't go away meanwhile
+      final JournalRecord record = journal.getRecords().get(id);
+      return record != null && compactedFiles.contains(record.getAddFile());
    }
 
    /**
@@ -38,6 +38,20 @@ public interface JournalFile {
 
    int getLiveSize();
 
+   /**
+    * Records that a transaction holding records on {@code file} was committed or rolled back on this file.
+    */
+   default void addTransactionFile(JournalFile file) {
+   }
+
+   /**
+    * The ID of the oldest file holding records of a transaction completed on this file, or {@link Long#MAX_VALUE} if
+    * there is none: an incremental compaction can't rewrite that file without rewriting this one too.
+    */
+   default long getOldestTransactionFileID() {
+      return Long.MAX_VALUE;
+   }
+
    /**
     * The total number of deletes this file has
     */
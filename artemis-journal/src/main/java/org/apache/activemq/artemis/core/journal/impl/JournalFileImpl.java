@@ -46,6 +46,8 @@ public class JournalFileImpl implements JournalFile {
 
    private final int version;
 
+   private volatile long oldestTransactionFileID = Long.MAX_VALUE;
+
    private final ConcurrentMap<JournalFile, AtomicInteger> negCounts = new ConcurrentHashMap<>();
 
    private static final Logger logger = Logger.getLogger(JournalFileImpl.class);
@@ -117,6 +119,19 @@ public class JournalFileImpl implements JournalFile {
       }
    }
 
+   @Override
+   public void addTransactionFile(final JournalFile file) {
+      // updated while holding the journal append lock or while loading
+      if (file.getFileID() < oldestTransactionFileID) {
+         oldestTransactionFileID = file.getFileID();
+      }
+   }
+
+   @Override
+   public long getOldestTransactionFileID() {
+      return oldestTransactionFileID;
+   }
+
    @Override
    public int getNegCount(final JournalFile file) {
       AtomicInteger count = negCounts.get(file);
@@ -21,12 +21,15 @@ import java.nio.ByteBuffer;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
 import java.util.concurrent.RejectedExecutionException;
@@ -40,6 +43,7 @@ import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongConsumer;
 import java.util.function.Predicate;
 
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
@@ -215,6 +219,12 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
    private volatile int compactCount = 0;
 
+   private volatile int compactMaxFiles = 0;
+
+   private volatile long lastCompactPause = 0;
+
+   private final AtomicLong totalCompactPause = new AtomicLong();
+
    public float getCompactPercentage() {
       return compactPercentage;
    }
@@ -223,6 +233,37 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
       return compactMinFiles;
    }
 
+   /**
+    * The maximum number of files a compacting rewrites: when greater than 0 the journal is compacted incrementally,
+    * the oldest files first, falling back to compacting the whole journal only when they can't be compacted on their
+    * own. 0 compacts the whole journal every time.
+    */
+   public int getCompactMaxFiles() {
+      return compactMaxFiles;
+   }
+
+   public JournalImpl setCompactMaxFiles(final int compactMaxFiles) {
+      if (compactMaxFiles < 0) {
+         throw new IllegalArgumentException("compactMaxFiles must be >= 0");
+      }
+      this.compactMaxFiles = compactMaxFiles;
+      return this;
+   }
+
+   /**
+    * @return the time in nanoseconds the last compacting held the journal locked, ie blocked appends
+    */
+   public long getLastCompactPause() {
+      return lastCompactPause;
+   }
+
+   /**
+    * @return the time in nanoseconds the journal has been held locked by compacting since it was created
+    */
+   public long getTotalCompactPause() {
+      return totalCompactPause.get();
+   }
+
    public JournalFilesRepository getFilesRepository() {
       return filesRepository;
    }
@@ -1538,10 +1579,22 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
     * @see JournalImpl#load(LoaderCallback)
     */
    @Override
-   public synchronized JournalLoadInformation load(final SparseArrayLinkedList<RecordInfo> committedRecords,
-                                                   final List<PreparedTransactionInfo> preparedTransactions,
-                                                   final TransactionFailureCallback failureCallback,
-                                                   final boolean fixBadTX) throws Exception {
+   public JournalLoadInformation load(final SparseArrayLinkedList<RecordInfo> committedRecords,
+                                      final List<PreparedTransactionInfo> preparedTransactions,
+                                      final TransactionFailureCallback failureCallback,
+                                      final boolean fixBadTX) throws Exception {
+      return load(committedRecords, preparedTransactions, failureCallback, fixBadTX, null);
+   }
+
+   /**
+    * @param committedTransactions if not {@code null}, told about every commit record read
+    * @see LoaderCallback#committedTransaction(long)
+    */
+   synchronized JournalLoadInformation load(final SparseArrayLinkedList<RecordInfo> committedRecords,
+                                            final List<PreparedTransactionInfo> preparedTransactions,
+                                            final TransactionFailureCallback failureCallback,
+                                            final boolean fixBadTX,
+                                            final LongConsumer committedTransactions) throws Exception {
       final LongHashSet recordsToDelete = new LongHashSet(1024);
       final Predicate<RecordInfo> toDeleteFilter = recordInfo -> recordsToDelete.contains(recordInfo.id);
 
@@ -1600,6 +1653,13 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
                failureCallback.failedTransaction(transactionID, records, recordsToDelete);
             }
          }
+
+         @Override
+         public void committedTransaction(final long transactionID) {
+            if (committedTransactions != null) {
+               committedTransactions.accept(transactionID);
+            }
+         }
       }, fixBadTX, null);
 
       if (!recordsToDelete.isEmpty()) {
@@ -1669,6 +1729,8 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
          boolean previousReclaimValue = isAutoReclaim();
 
+         long pause = 0;
+
          try {
             if (logger.isDebugEnabled()) {
                logger.debug("Starting compacting operation on journal " + this);
@@ -1679,6 +1741,7 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
             // We need to guarantee that the journal is frozen for this short time
             // We don't freeze the journal as we compact, only for the short time where we replace records
             journalLock.writeLock().lock();
+            long lockTime = System.nanoTime();
             try {
                if (state != JournalState.LOADED) {
                   return;
@@ -1688,32 +1751,43 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
                setAutoReclaim(false);
 
-               // We need to move to the next file, as we need a clear start for negatives and positives counts
-               moveNextFile(false);
+               final List<JournalFile> compactedFiles = compactMaxFiles > 0 ? selectIncrementalCompactFiles() : null;
 
-               // Take the snapshots and replace the structures
+               if (compactedFiles != null) {
+                  // Incremental compacting: only the oldest files are rewritten, the records and transactions living
+                  // on the other files (the current one included) are left as they are
+                  dataFilesToProcess.addAll(compactedFiles);
 
-               dataFilesToProcess.addAll(filesRepository.getDataFiles());
+                  compactor = new JournalCompactor(fileFactory, this, filesRepository, new HashSet<>(compactedFiles), compactedFiles.get(0).getFileID());
+               } else {
+                  // We need to move to the next file, as we need a clear start for negatives and positives counts
+                  moveNextFile(false);
 
-               filesRepository.clearDataFiles();
+                  // Take the snapshots and replace the structures
 
-               if (dataFilesToProcess.size() == 0) {
-                  logger.trace("Finishing compacting, nothing to process");
-                  return;
-               }
+                  dataFilesToProcess.addAll(filesRepository.getDataFiles());
 
-               compactor = new JournalCompactor(fileFactory, this, filesRepository, records.keysLongHashSet(), dataFilesToProcess.get(0).getFileID());
+                  filesRepository.clearDataFiles();
 
-               transactions.forEach((id, pendingTransaction) -> {
-                  compactor.addPendingTransaction(id, pendingTransaction.getPositiveArray());
-                  pendingTransaction.setCompacting();
-               });
+                  if (dataFilesToProcess.size() == 0) {
+                     logger.trace("Finishing compacting, nothing to process");
+                     return;
+                  }
+
+                  compactor = new JournalCompactor(fileFactory, this, filesRepository, records.keysLongHashSet(), dataFilesToProcess.get(0).getFileID());
 
-               // We will calculate the new records during compacting, what will take the position the records will take
-               // after compacting
-               records.clear();
+                  transactions.forEach((id, pendingTransaction) -> {
+                     compactor.addPendingTransaction(id, pendingTransaction.getPositiveArray());
+                     pendingTransaction.setCompacting();
+                  });
+
+                  // We will calculate the new records during compacting, what will take the position the records will take
+                  // after compacting
+                  records.clear();
+               }
             } finally {
                journalLock.writeLock().unlock();
+               pause += System.nanoTime() - lockTime;
             }
 
             Collections.sort(dataFilesToProcess, JOURNAL_FILE_COMPARATOR);
@@ -1752,9 +1826,18 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
             JournalCompactor localCompactor = compactor;
 
+            final Set<JournalFile> compactedFiles = localCompactor.getCompactedFiles();
+
+            if (compactedFiles != null && !canReplaceCompactedFiles(localCompactor)) {
+               // the compacted files are taking more file IDs than the original ones: keep the original ones
+               abortIncrementalCompact(localCompactor);
+               return;
+            }
+
             SequentialFile controlFile = createControlFile(dataFilesToProcess, compactor.getNewDataFiles(), null);
 
             journalLock.writeLock().lock();
+            lockTime = System.nanoTime();
             try {
                // Need to clear the compactor here, or the replay commands will send commands back (infinite loop)
                compactor = null;
@@ -1763,10 +1846,25 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
                newDatafiles = localCompactor.getNewDataFiles();
 
-               // Restore newRecords created during compacting
-               localCompactor.getNewRecords().forEach((id, newRecord) -> {
-                  records.put(id, newRecord);
-               });
+               if (compactedFiles == null) {
+                  // Restore newRecords created during compacting
+                  localCompactor.getNewRecords().forEach((id, newRecord) -> {
+                     records.put(id, newRecord);
+                  });
+               } else {
+                  // Replace the records living on the compacted files, keeping their updates on the other files
+                  localCompactor.getNewRecords().forEach((id, newRecord) -> {
+                     JournalRecord record = records.get(id);
+                     if (record != null) {
+                        newRecord.takeUpdates(record, compactedFiles);
+                        records.put(id, newRecord);
+                     }
+                  });
+
+                  for (JournalFile file : dataFilesToProcess) {
+                     filesRepository.removeDataFile(file);
+                  }
+               }
 
                // Restore compacted dataFiles
                for (int i = newDatafiles.size() - 1; i >= 0; i--) {
@@ -1804,8 +1902,11 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
                });
             } finally {
                journalLock.writeLock().unlock();
+               pause += System.nanoTime() - lockTime;
             }
 
+            recordCompactPause(pause);
+
             // At this point the journal is unlocked. We keep renaming files while the journal is already operational
             renameFiles(dataFilesToProcess, newDatafiles);
             deleteControlFile(controlFile);
@@ -1843,6 +1944,93 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
    }
 
+   /**
+    * Picks the oldest data files an incremental compacting can rewrite on their own: at most {@link #compactMaxFiles},
+    * with none of them holding records of a pending transaction or of a transaction completed on a newer file.
+    *
+    * @return the files, oldest first, or {@code null} if the whole journal needs to be compacted instead
+    */
+   private List<JournalFile> selectIncrementalCompactFiles() {
+      final JournalFile[] dataFiles = filesRepository.getDataFilesArray();
+      Arrays.sort(dataFiles, JOURNAL_FILE_COMPARATOR);
+
+      int files = Math.min(compactMaxFiles, dataFiles.length);
+
+      long oldestReferencedFileID = currentFile.getOldestTransactionFileID();
+      for (JournalTransaction transaction : transactions.values()) {
+         oldestReferencedFileID = Math.min(oldestReferencedFileID, transaction.getOldestFileID());
+      }
+      for (int i = files; i < dataFiles.length; i++) {
+         oldestReferencedFileID = Math.min(oldestReferencedFileID, dataFiles[i].getOldestTransactionFileID());
+      }
+      while (files > 0 && oldestReferencedFileID <= dataFiles[files - 1].getFileID()) {
+         files--;
+         oldestReferencedFileID = Math.min(oldestReferencedFileID, dataFiles[files].getOldestTransactionFileID());
+      }
+
+      long liveSize = 0;
+      for (int i = 0; i < files; i++) {
+         liveSize += dataFiles[i].getLiveSize();
+      }
+
+      // not worth it if the oldest files are still mostly alive, the whole journal will be compacted
+      if (files == 0 || liveSize >= (long) (files * (long) fileSize * compactPercentage)) {
+         if (logger.isDebugEnabled()) {
+            logger.debug("Can't compact incrementally " + this + ", compacting all the files");
+         }
+         return null;
+      }
+
+      return Arrays.asList(dataFiles).subList(0, files);
+   }
+
+   /**
+    * The files written by an incremental compacting take the IDs of the compacted files: they can't use the IDs of
+    * the files that weren't compacted.
+    */
+   private boolean canReplaceCompactedFiles(final JournalCompactor compactor) {
+      final List<JournalFile> newDataFiles = compactor.getNewDataFiles();
+      if (newDataFiles.isEmpty()) {
+         return true;
+      }
+      long nextFileID = currentFile.getFileID();
+      for (JournalFile file : filesRepository.getDataFiles()) {
+         if (!compactor.getCompactedFiles().contains(file)) {
+            nextFileID = Math.min(nextFileID, file.getFileID());
+         }
+      }
+      return newDataFiles.get(newDataFiles.size() - 1).getFileID() < nextFileID;
+   }
+
+   private void abortIncrementalCompact(final JournalCompactor localCompactor) throws Exception {
+      if (logger.isDebugEnabled()) {
+         logger.debug("Aborting the incremental compacting of " + this + ", the compacted files don't fit");
+      }
+      long pause = 0;
+      journalLock.writeLock().lock();
+      final long lockTime = System.nanoTime();
+      try {
+         compactor = null;
+         // the deletes and updates that happened meanwhile still need to be accounted on the original records
+         localCompactor.replayPendingCommands();
+      } finally {
+         journalLock.writeLock().unlock();
+         pause += System.nanoTime() - lockTime;
+      }
+      recordCompactPause(pause);
+      for (JournalFile file : localCompactor.getNewDataFiles()) {
+         file.getFile().delete();
+      }
+   }
+
+   private void recordCompactPause(final long pause) {
+      lastCompactPause = pause;
+      totalCompactPause.addAndGet(pause);
+      if (logger.isDebugEnabled()) {
+         logger.debug("Compacting held " + this + " locked for " + TimeUnit.NANOSECONDS.toMicros(pause) + " microseconds");
+      }
+   }
+
    /**
     * <p>Load data accordingly to the record layouts</p>
     * <p>Basic record layout:</p>
@@ -2074,6 +2262,8 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
             @Override
             public void onReadCommitRecord(final long transactionID, final int numberOfRecords) throws Exception {
+               loadManager.committedTransaction(transactionID);
+
                TransactionHolder tx = loadTransactions.remove(transactionID);
 
                // The commit could be alone on its own journal-file and the
@@ -16,6 +16,8 @@
  */
 package org.apache.activemq.artemis.core.journal.impl;
 
+import java.util.Set;
+
 /**
  * This holds the relationship a record has with other files in regard to reference counting.
  * Note: This class used to be called PosFiles
@@ -44,6 +46,30 @@ public class JournalRecord {
       addFile.addSize(size);
    }
 
+   JournalFile getAddFile() {
+      return addFile;
+   }
+
+   /**
+    * Used by the incremental compacting when this record replaces {@code record}: it takes over the updates
+    * {@code record} has on the files that weren't compacted, that are already accounted on them.
+    */
+   void takeUpdates(final JournalRecord record, final Set<JournalFile> compactedFiles) {
+      checkNotDeleted();
+      final ObjIntIntArrayList<JournalFile> updates = record.fileUpdates;
+      if (updates == null || updates == DELETED) {
+         return;
+      }
+      updates.forEach((updFile, bytes, posCount, files) -> {
+         if (!files.contains(updFile)) {
+            if (fileUpdates == null) {
+               fileUpdates = new ObjIntIntArrayList<>(INITIAL_FILES_CAPACITY);
+            }
+            fileUpdates.add(updFile, bytes, posCount);
+         }
+      }, compactedFiles);
+   }
+
    void addUpdateFile(final JournalFile updateFile, final int bytes) {
       checkNotDeleted();
       if (bytes == 0) {
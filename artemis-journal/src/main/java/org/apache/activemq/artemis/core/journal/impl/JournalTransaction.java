@@ -95,6 +95,19 @@ public class JournalTransaction {
       }
    }
 
+   /**
+    * @return the lowest ID of the files holding records of this transaction, or {@link Long#MAX_VALUE} if there is none
+    */
+   public long getOldestFileID() {
+      long oldest = Long.MAX_VALUE;
+      if (pendingFiles != null) {
+         for (JournalFile file : pendingFiles) {
+            oldest = Math.min(oldest, file.getFileID());
+         }
+      }
+      return oldest;
+   }
+
    public void setCompacting() {
       compacting = true;
 
@@ -284,6 +297,7 @@ public class JournalTransaction {
 
          for (JournalFile jf : pendingFiles) {
             file.incNegCount(jf);
+            file.addTransactionFile(jf);
          }
       }
    }
@@ -335,6 +349,7 @@ public class JournalTransaction {
 
          for (JournalFile jf : pendingFiles) {
             file.incNegCount(jf);
+            file.addTransactionFile(jf);
          }
       }
    }
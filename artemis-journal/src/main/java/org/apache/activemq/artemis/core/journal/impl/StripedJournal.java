@@ -0,0 +1,787 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.journal.impl;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+
+import org.apache.activemq.artemis.api.core.ActiveMQExceptionType;
+import org.apache.activemq.artemis.core.io.SequentialFileFactory;
+import org.apache.activemq.artemis.core.journal.EncodingSupport;
+import org.apache.activemq.artemis.core.journal.IOCompletion;
+import org.apache.activemq.artemis.core.journal.JournalLoadInformation;
+import org.apache.activemq.artemis.core.journal.LoaderCallback;
+import org.apache.activemq.artemis.core.journal.PreparedTransactionInfo;
+import org.apache.activemq.artemis.core.journal.RecordInfo;
+import org.apache.activemq.artemis.core.journal.TransactionFailureCallback;
+import org.apache.activemq.artemis.core.journal.impl.dataformat.ByteArrayEncoding;
+import org.apache.activemq.artemis.core.persistence.Persister;
+import org.apache.activemq.artemis.utils.collections.ConcurrentLongHashMap;
+import org.apache.activemq.artemis.utils.collections.LongHashSet;
+import org.apache.activemq.artemis.utils.collections.SparseArrayLinkedList;
+import org.jboss.logging.Logger;
+
+/**
+ * A journal striping its records over independent {@link JournalImpl} lanes, each one with its own files, buffer and
+ * append executor, so appends landing on different lanes are not serialized on a single thread.
+ * <p>
+ * Records are placed by record ID: every operation on a record goes to the lane holding it, keeping the order of the
+ * operations on a single record. A transaction is written on the lanes of the records it touches and, when it spans
+ * more than one lane, it is committed in two phases: it is prepared on all of them and committed on any only once all
+ * of the prepare records are synced, without blocking the caller meanwhile. On load a
+ * transaction still prepared on every lane is rolled back, while one already committed on some lane is completed on
+ * the others.
+ * <p>
+ * Loading merges the lanes one after the other (there is no order between records of different IDs living on
+ * different lanes), while compacting and reclaiming happen on each lane on its own.
+ * Replication isn't supported: it synchronizes the files of a single {@link JournalImpl}.
+ */
+public final class StripedJournal extends JournalBase {
+
+   private static final Logger logger = Logger.getLogger(StripedJournal.class);
+
+   public static final int MAX_LANES = Long.SIZE;
+
+   // "STRIPED\0", it starts the prepare records written by a two phase commit, followed by the mask of the lanes
+   private static final long TWO_PHASE_PREPARE = 0x5354524950454400L;
+
+   private static final int TWO_PHASE_PREPARE_SIZE = 2 * Long.BYTES;
+
+   private final JournalImpl[] lanes;
+
+   private final ConcurrentLongHashMap<StripedTransaction> transactions = new ConcurrentLongHashMap<>();
+
+   // records loaded from a lane other than the one given by their ID (e.g. after changing the number of lanes)
+   private final ConcurrentLongHashMap<Integer> relocatedRecords = new ConcurrentLongHashMap<>();
+
+   public StripedJournal(final JournalImpl... lanes) {
+      super(checkLanes(lanes).getFileFactory().isSupportsCallbacks(), lanes[0].getFileSize());
+      this.lanes = lanes;
+   }
+
+   private static JournalImpl checkLanes(final JournalImpl[] lanes) {
+      if (lanes.length == 0 || lanes.length > MAX_LANES) {
+         throw new IllegalArgumentException("The number of lanes must be between 1 and " + MAX_LANES + ", it was " + lanes.length);
+      }
+      return lanes[0];
+   }
+
+   public int getLanes() {
+      return lanes.length;
+   }
+
+   public JournalImpl getLane(final int lane) {
+      return lanes[lane];
+   }
+
+   /**
+    * @return the lane holding the record with {@code id}
+    */
+   public int laneOf(final long id) {
+      if (!relocatedRecords.isEmpty()) {
+         final Integer lane = relocatedRecords.get(id);
+         if (lane != null) {
+            return lane;
+         }
+      }
+      return hashLane(id);
+   }
+
+   private int hashLane(final long id) {
+      return (int) Long.remainderUnsigned(id, lanes.length);
+   }
+
+   // Non transactional operations
+
+   @Override
+   public void appendAddRecord(final long id,
+                               final byte recordType,
+                               final Persister persister,
+                               final Object record,
+                               final boolean sync,
+                               final IOCompletion completionCallback) throws Exception {
+      lanes[laneOf(id)].appendAddRecord(id, recordType, persister, record, sync, completionCallback);
+   }
+
+   @Override
+   public void appendUpdateRecord(final long id,
+                                  final byte recordType,
+                                  final Persister persister,
+                                  final Object record,
+                                  final boolean sync,
+                                  final IOCompletion callback) throws Exception {
+      lanes[laneOf(id)].appendUpdateRecord(id, recordType, persister, record, sync, callback);
+   }
+
+   @Override
+   public boolean tryAppendUpdateRecord(final long id,
+                                        final byte recordType,
+                                        final Persister persister,
+                                        final Object record,
+                                        final boolean sync,
+                                        final IOCompletion callback) throws Exception {
+      return lanes[laneOf(id)].tryAppendUpdateRecord(id, recordType, persister, record, sync, callback);
+   }
+
+   @Override
+   public void appendDeleteRecord(final long id, final boolean sync, final IOCompletion completionCallback) throws Exception {
+      lanes[laneOf(id)].appendDeleteRecord(id, sync, completionCallback);
+      recordDeleted(id);
+   }
+
+   @Override
+   public boolean tryAppendDeleteRecord(final long id, final boolean sync, final IOCompletion completionCallback) throws Exception {
+      final boolean deleted = lanes[laneOf(id)].tryAppendDeleteRecord(id, sync, completionCallback);
+      if (deleted) {
+         recordDeleted(id);
+      }
+      return deleted;
+   }
+
+   private void recordDeleted(final long id) {
+      if (!relocatedRecords.isEmpty()) {
+         relocatedRecords.remove(id);
+      }
+   }
+
+   // Transactional operations
+
+   @Override
+   public void appendAddRecordTransactional(final long txID,
+                                            final long id,
+                                            final byte recordType,
+                                            final Persister persister,
+                                            final Object record) throws Exception {
+      final int lane = laneOf(id);
+      enlist(txID, lane);
+      lanes[lane].appendAddRecordTransactional(txID, id, recordType, persister, record);
+   }
+
+   @Override
+   public void appendUpdateRecordTransactional(final long txID,
+                                               final long id,
+                                               final byte recordType,
+                                               final Persister persister,
+                                               final Object record) throws Exception {
+      final int lane = laneOf(id);
+      enlist(txID, lane);
+      lanes[lane].appendUpdateRecordTransactional(txID, id, recordType, persister, record);
+   }
+
+   @Override
+   public void appendDeleteRecordTransactional(final long txID, final long id, final EncodingSupport record) throws Exception {
+      final int lane = laneOf(id);
+      enlist(txID, lane);
+      lanes[lane].appendDeleteRecordTransactional(txID, id, record);
+   }
+
+   @Override
+   public void appendPrepareRecord(final long txID,
+                                   final EncodingSupport transactionData,
+                                   final boolean sync,
+                                   final IOCompletion callback) throws Exception {
+      final StripedTransaction tx = enlist(txID, -1);
+      final long participants = tx.prepare(laneOf(txID));
+
+      if (Long.bitCount(participants) == 1) {
+         lanes[Long.numberOfTrailingZeros(participants)].appendPrepareRecord(txID, transactionData, sync, callback);
+         return;
+      }
+
+      lineUpContext(callback);
+      final IOCompletion lanesCallback = callback == null ? null : new LanesCompletion(callback, Long.bitCount(participants));
+      for (long mask = participants; mask != 0; mask &= mask - 1) {
+         lanes[Long.numberOfTrailingZeros(mask)].appendPrepareRecord(txID, transactionData, sync, lanesCallback);
+      }
+   }
+
+   @Override
+   public void appendCommitRecord(final long txID,
+                                  final boolean sync,
+                                  final IOCompletion callback,
+                                  final boolean lineUpContext) throws Exception {
+      final StripedTransaction tx = transactions.get(txID);
+      final long participants = tx == null ? 0 : tx.getLanes();
+
+      if (Long.bitCount(participants) <= 1) {
+         transactions.remove(txID);
+         final int lane = participants == 0 ? laneOf(txID) : Long.numberOfTrailingZeros(participants);
+         lanes[lane].appendCommitRecord(txID, sync, callback, lineUpContext);
+         return;
+      }
+
+      if (lineUpContext) {
+         lineUpContext(callback);
+      }
+
+      transactions.remove(txID);
+
+      final int count = Long.bitCount(participants);
+      final IOCompletion lanesCallback = new LanesCompletion(callback, count);
+
+      if (tx.isPrepared()) {
+         appendCommitRecords(txID, participants, sync, lanesCallback);
+         return;
+      }
+
+      // nothing can be committed before the transaction is on disk on every lane (see resolvePrepared): the commit
+      // records are appended once the prepare records are synced, whatever the commit asks for, without blocking the
+      // caller; a commit record reaching the disk of a lane before the prepare record of another one would otherwise
+      // commit only part of the transaction on a crash
+      if (logger.isTraceEnabled()) {
+         logger.trace("two phase commit of txID=" + txID + " on lanes " + Long.toBinaryString(participants));
+      }
+      final IOCompletion prepared = new LanesCompletion(new IOCompletion() {
+         @Override
+         public void storeLineUp() {
+         }
+
+         @Override
+         public void done() {
+            try {
+               appendCommitRecords(txID, participants, sync, lanesCallback);
+            } catch (Throwable e) {
+               logger.warn("Failed to commit txID=" + txID + " after preparing it on lanes " + Long.toBinaryString(participants), e);
+               lanesCallback.onError(ActiveMQExceptionType.IO_ERROR.getCode(), e.getMessage());
+            }
+         }
+
+         @Override
+         public void onError(final int errorCode, final String errorMessage) {
+            if (callback != null) {
+               callback.onError(errorCode, errorMessage);
+            }
+         }
+      }, count);
+      final EncodingSupport prepareData = new ByteArrayEncoding(twoPhasePrepareData(participants));
+      for (long mask = participants; mask != 0; mask &= mask - 1) {
+         lanes[Long.numberOfTrailingZeros(mask)].appendPrepareRecord(txID, prepareData, true, prepared);
+      }
+   }
+
+   private void appendCommitRecords(final long txID,
+                                    final long participants,
+                                    final boolean sync,
+                                    final IOCompletion lanesCallback) throws Exception {
+      for (long mask = participants; mask != 0; mask &= mask - 1) {
+         lanes[Long.numberOfTrailingZeros(mask)].appendCommitRecord(txID, sync, lanesCallback, false);
+      }
+   }
+
+   @Override
+   public void appendRollbackRecord(final long txID, final boolean sync, final IOCompletion callback) throws Exception {
+      final StripedTransaction tx = transactions.remove(txID);
+      final long participants = tx == null ? 0 : tx.getLanes();
+
+      if (Long.bitCount(participants) <= 1) {
+         final int lane = participants == 0 ? laneOf(txID) : Long.numberOfTrailingZeros(participants);
+         lanes[lane].appendRollbackRecord(txID, sync, callback);
+         return;
+      }
+
+      lineUpContext(callback);
+      final IOCompletion lanesCallback = callback == null ? null : new LanesCompletion(callback, Long.bitCount(participants));
+      for (long mask = participants; mask != 0; mask &= mask - 1) {
+         lanes[Long.numberOfTrailingZeros(mask)].appendRollbackRecord(txID, sync, lanesCallback);
+      }
+   }
+
+   /**
+    * @param lane the lane written by the transaction, or {@code -1} if it isn't writing any record.
+    */
+   private StripedTransaction enlist(final long txID, final int lane) {
+      final StripedTransaction tx = transactions.computeIfAbsent(txID, id -> new StripedTransaction());
+      if (lane >= 0) {
+         tx.addLane(lane);
+      }
+      return tx;
+   }
+
+   private static byte[] twoPhasePrepareData(final long participants) {
+      return ByteBuffer.allocate(TWO_PHASE_PREPARE_SIZE).putLong(TWO_PHASE_PREPARE).putLong(participants).array();
+   }
+
+   /**
+    * @return the lanes of a transaction prepared by a two phase commit or {@code 0} if it was prepared by the user.
+    */
+   public static long twoPhaseParticipants(final byte[] prepareData) {
+      if (prepareData == null || prepareData.length != TWO_PHASE_PREPARE_SIZE) {
+         return 0;
+      }
+      final ByteBuffer buffer = ByteBuffer.wrap(prepareData);
+      if (buffer.getLong() != TWO_PHASE_PREPARE) {
+         return 0;
+      }
+      return buffer.getLong();
+   }
+
+   @Override
+   public void lineUpContext(final IOCompletion callback) {
+      if (callback != null) {
+         callback.storeLineUp();
+      }
+   }
+
+   // Load
+
+   @Override
+   public JournalLoadInformation load(final LoaderCallback loadManager) throws Exception {
+      return loadLanes((lane, prepared, committed) -> lanes[lane].load(new LoaderCallback() {
+         @Override
+         public void addPreparedTransaction(PreparedTransactionInfo preparedTransaction) {
+            prepared.add(preparedTransaction);
+         }
+
+         @Override
+         public void committedTransaction(long transactionID) {
+            committed.accept(transactionID);
+         }
+
+         @Override
+         public void addRecord(RecordInfo info) {
+            recordLoaded(info.id, lane);
+            loadManager.addRecord(info);
+         }
+
+         @Override
+         public void deleteRecord(long id) {
+            loadManager.deleteRecord(id);
+         }
+
+         @Override
+         public void updateRecord(RecordInfo info) {
+            recordLoaded(info.id, lane);
+            loadManager.updateRecord(info);
+         }
+
+         @Override
+         public void failedTransaction(long transactionID, List<RecordInfo> records, List<RecordInfo> recordsToDelete) {
+            loadManager.failedTransaction(transactionID, records, recordsToDelete);
+         }
+      }), new LoadedRecords() {
+         @Override
+         public void add(RecordInfo record) {
+            if (record.isUpdate) {
+               loadManager.updateRecord(record);
+            } else {
+               loadManager.addRecord(record);
+            }
+         }
+
+         @Override
+         public void delete(LongHashSet ids) {
+            for (long id : ids) {
+               loadManager.deleteRecord(id);
+            }
+         }
+
+         @Override
+         public void addPrepared(PreparedTransactionInfo preparedTransaction) {
+            loadManager.addPreparedTransaction(preparedTransaction);
+         }
+      });
+   }
+
+   @Override
+   public JournalLoadInformation load(final List<RecordInfo> committedRecords,
+                                      final List<PreparedTransactionInfo> preparedTransactions,
+                                      final TransactionFailureCallback transactionFailure,
+                                      final boolean fixBadTx) throws Exception {
+      final SparseArrayLinkedList<RecordInfo> records = new SparseArrayLinkedList<>();
+      final JournalLoadInformation info = load(records, preparedTransactions, transactionFailure, fixBadTx);
+      records.clear(committedRecords::add);
+      return info;
+   }
+
+   @Override
+   public JournalLoadInformation load(final SparseArrayLinkedList<RecordInfo> committedRecords,
+                                      final List<PreparedTransactionInfo> preparedTransactions,
+                                      final TransactionFailureCallback transactionFailure,
+                                      final boolean fixBadTx) throws Exception {
+      return loadLanes((lane, prepared, committed) -> {
+         final SparseArrayLinkedList<RecordInfo> laneRecords = new SparseArrayLinkedList<>();
+         final JournalLoadInformation info = lanes[lane].load(laneRecords, prepared, transactionFailure, fixBadTx, committed);
+         laneRecords.clear(record -> {
+            recordLoaded(record.id, lane);
+            committedRecords.add(record);
+         });
+         return info;
+      }, new LoadedRecords() {
+         @Override
+         public void add(RecordInfo record) {
+            committedRecords.add(record);
+         }
+
+         @Override
+         public void delete(LongHashSet ids) {
+            committedRecords.remove(record -> ids.contains(record.id));
+         }
+
+         @Override
+         public void addPrepared(PreparedTransactionInfo preparedTransaction) {
+            preparedTransactions.add(preparedTransaction);
+         }
+      });
+   }
+
+   @Override
+   public JournalLoadInformation loadInternalOnly() throws Exception {
+      final JournalLoadInformation info = new JournalLoadInformation();
+      for (JournalImpl lane : lanes) {
+         merge(info, lane.loadInternalOnly());
+      }
+      return info;
+   }
+
+   @Override
+   public JournalLoadInformation loadSyncOnly(final JournalState state) throws Exception {
+      final JournalLoadInformation info = new JournalLoadInformation();
+      for (JournalImpl lane : lanes) {
+         merge(info, lane.loadSyncOnly(state));
+      }
+      return info;
+   }
+
+   private JournalLoadInformation loadLanes(final LaneLoader laneLoader, final LoadedRecords loaded) throws Exception {
+      transactions.clear();
+      relocatedRecords.clear();
+
+      final JournalLoadInformation info = new JournalLoadInformation();
+      final Map<Long, PreparedTransactionInfo[]> prepared = new LinkedHashMap<>();
+      final LongHashSet committed = new LongHashSet();
+
+      for (int lane = 0; lane < lanes.length; lane++) {
+         final List<PreparedTransactionInfo> lanePrepared = new ArrayList<>();
+         merge(info, laneLoader.load(lane, lanePrepared, committed::add));
+         for (PreparedTransactionInfo preparedTransaction : lanePrepared) {
+            prepared.computeIfAbsent(preparedTransaction.getId(), id -> new PreparedTransactionInfo[lanes.length])[lane] = preparedTransaction;
+         }
+      }
+
+      for (Map.Entry<Long, PreparedTransactionInfo[]> entry : prepared.entrySet()) {
+         resolvePrepared(entry.getKey(), entry.getValue(), committed.contains(entry.getKey()), loaded);
+      }
+
+      return info;
+   }
+
+   /**
+    * @param committed whether any lane has a commit record for the transaction
+    */
+   private void resolvePrepared(final long txID,
+                                final PreparedTransactionInfo[] preparedOnLanes,
+                                final boolean committed,
+                                final LoadedRecords loaded) throws Exception {
+      long preparedLanes = 0;
+      PreparedTransactionInfo first = null;
+      for (int lane = 0; lane < preparedOnLanes.length; lane++) {
+         final PreparedTransactionInfo preparedTransaction = preparedOnLanes[lane];
+         if (preparedTransaction != null) {
+            preparedLanes |= 1L << lane;
+            if (first == null) {
+               first = preparedTransaction;
+            }
+            for (RecordInfo record : preparedTransaction.getRecords()) {
+               recordLoaded(record.id, lane);
+            }
+         }
+      }
+
+      final long participants = twoPhaseParticipants(first.getExtraData());
+
+      if (participants == 0) {
+         // prepared by the user (ie XA): it's left to be committed or rolled back on the lanes it was prepared on
+         for (long mask = preparedLanes; mask != 0; mask &= mask - 1) {
+            enlist(txID, Long.numberOfTrailingZeros(mask));
+         }
+         enlist(txID, -1).prepare(-1);
+
+         if (Long.bitCount(preparedLanes) == 1) {
+            loaded.addPrepared(first);
+         } else {
+            final PreparedTransactionInfo merged = new PreparedTransactionInfo(txID, first.getExtraData());
+            for (PreparedTransactionInfo preparedTransaction : preparedOnLanes) {
+               if (preparedTransaction != null) {
+                  merged.getRecords().addAll(preparedTransaction.getRecords());
+                  merged.getRecordsToDelete().addAll(preparedTransaction.getRecordsToDelete());
+               }
+            }
+            loaded.addPrepared(merged);
+         }
+      } else if (!committed) {
+         // stopped before any lane got the commit record, maybe before the prepare record reached every lane or while
+         // rolling it back: it never happened
+         logger.debug("Rolling back txID=" + txID + ", prepared on lanes " + Long.toBinaryString(preparedLanes) + " of " + Long.toBinaryString(participants) + " but committed on none");
+         for (long mask = preparedLanes; mask != 0; mask &= mask - 1) {
+            lanes[Long.numberOfTrailingZeros(mask)].appendRollbackRecord(txID, false);
+         }
+      } else {
+         // stopped after some lane got the commit record, which is only written once every lane is prepared: it must
+         // happen on the others too
+         logger.debug("Completing the commit of txID=" + txID + ", committed on some of the lanes only");
+         final LongHashSet deletes = new LongHashSet();
+         for (PreparedTransactionInfo preparedTransaction : preparedOnLanes) {
+            if (preparedTransaction != null) {
+               preparedTransaction.getRecords().forEach(loaded::add);
+               preparedTransaction.getRecordsToDelete().forEach(record -> deletes.add(record.id));
+            }
+         }
+         if (!deletes.isEmpty()) {
+            loaded.delete(deletes);
+         }
+         for (long mask = preparedLanes; mask != 0; mask &= mask - 1) {
+            lanes[Long.numberOfTrailingZeros(mask)].appendCommitRecord(txID, false);
+         }
+      }
+   }
+
+   private void recordLoaded(final long id, final int lane) {
+      if (hashLane(id) != lane) {
+         relocatedRecords.put(id, lane);
+      }
+   }
+
+   private static void merge(final JournalLoadInformation info, final JournalLoadInformation laneInfo) {
+      info.setNumberOfRecords(info.getNumberOfRecords() + laneInfo.getNumberOfRecords());
+      info.setMaxID(Math.max(info.getMaxID(), laneInfo.getMaxID()));
+   }
+
+   // Lifecycle and management
+
+   @Override
+   public synchronized void start() throws Exception {
+      for (JournalImpl lane : lanes) {
+         lane.getFileFactory().createDirs();
+         lane.start();
+      }
+   }
+
+   @Override
+   public synchronized void stop() throws Exception {
+      for (int i = lanes.length - 1; i >= 0; i--) {
+         lanes[i].stop();
+      }
+   }
+
+   @Override
+   public boolean isStarted() {
+      return lanes[0].isStarted();
+   }
+
+   @Override
+   public int getAlignment() throws Exception {
+      return lanes[0].getAlignment();
+   }
+
+   @Override
+   public int getNumberOfRecords() {
+      int records = 0;
+      for (JournalImpl lane : lanes) {
+         records += lane.getNumberOfRecords();
+      }
+      return records;
+   }
+
+   @Override
+   public int getUserVersion() {
+      return lanes[0].getUserVersion();
+   }
+
+   @Override
+   public void runDirectJournalBlast() throws Exception {
+      for (JournalImpl lane : lanes) {
+         lane.runDirectJournalBlast();
+      }
+   }
+
+   @Override
+   public Map<Long, JournalFile> createFilesForBackupSync(final long[] fileIds) throws Exception {
+      throw new UnsupportedOperationException("a striped journal can't be replicated");
+   }
+
+   @Override
+   public void synchronizationLock() {
+      for (JournalImpl lane : lanes) {
+         lane.synchronizationLock();
+      }
+   }
+
+   @Override
+   public void synchronizationUnlock() {
+      for (int i = lanes.length - 1; i >= 0; i--) {
+         lanes[i].synchronizationUnlock();
+      }
+   }
+
+   @Override
+   public void forceMoveNextFile() throws Exception {
+      for (JournalImpl lane : lanes) {
+         lane.forceMoveNextFile();
+      }
+   }
+
+   @Override
+   public JournalFile[] getDataFiles() {
+      final List<JournalFile> files = new ArrayList<>();
+      for (JournalImpl lane : lanes) {
+         for (JournalFile file : lane.getDataFiles()) {
+            files.add(file);
+         }
+      }
+      return files.toArray(new JournalFile[files.size()]);
+   }
+
+   @Override
+   public SequentialFileFactory getFileFactory() {
+      return lanes[0].getFileFactory();
+   }
+
+   @Override
+   public void scheduleCompactAndBlock(final int timeout) throws Exception {
+      for (JournalImpl lane : lanes) {
+         lane.scheduleCompactAndBlock(timeout);
+      }
+   }
+
+   @Override
+   public void replicationSyncPreserveOldFiles() {
+      throw new UnsupportedOperationException("a striped journal can't be replicated");
+   }
+
+   @Override
+   public void replicationSyncFinished() {
+      throw new UnsupportedOperationException("a striped journal can't be replicated");
+   }
+
+   @Override
+   public void flush() throws Exception {
+      for (JournalImpl lane : lanes) {
+         lane.flush();
+      }
+   }
+
+   @Override
+   public long getMaxRecordSize() {
+      return lanes[0].getMaxRecordSize();
+   }
+
+   @Override
+   void scheduleReclaim() {
+      for (JournalImpl lane : lanes) {
+         lane.scheduleReclaim();
+      }
+   }
+
+   @Override
+   public String toString() {
+      return "StripedJournal(lanes=" + lanes.length + ")";
+   }
+
+   @FunctionalInterface
+   private interface LaneLoader {
+
+      JournalLoadInformation load(int lane,
+                                  List<PreparedTransactionInfo> preparedTransactions,
+                                  LongConsumer committedTransactions) throws Exception;
+   }
+
+   /**
+    * Where the records of the transactions resolved at the end of the load go.
+    */
+   private interface LoadedRecords {
+
+      void add(RecordInfo record);
+
+      void delete(LongHashSet ids);
+
+      void addPrepared(PreparedTransactionInfo preparedTransaction);
+   }
+
+   private static final class StripedTransaction {
+
+      private long lanes;
+
+      private boolean prepared;
+
+      synchronized void addLane(final int lane) {
+         lanes |= 1L << lane;
+      }
+
+      synchronized long getLanes() {
+         return lanes;
+      }
+
+      synchronized boolean isPrepared() {
+         return prepared;
+      }
+
+      /**
+       * @param defaultLane the lane used by a transaction without records
+       * @return the lanes the transaction has to be prepared on
+       */
+      synchronized long prepare(final int defaultLane) {
+         if (lanes == 0 && defaultLane >= 0) {
+            lanes = 1L << defaultLane;
+         }
+         prepared = true;
+         return lanes;
+      }
+   }
+
+   /**
+    * Completes the callback of an operation written on several lanes once all of them are done.
+    */
+   private static final class LanesCompletion implements IOCompletion {
+
+      private final IOCompletion delegate;
+
+      private final AtomicInteger pending;
+
+      private final AtomicBoolean failed = new AtomicBoolean();
+
+      LanesCompletion(final IOCompletion delegate, final int lanes) {
+         this.delegate = delegate;
+         this.pending = new AtomicInteger(lanes);
+      }
+
+      @Override
+      public void storeLineUp() {
+         // the striped journal lines up the delegate once for all of the lanes
+      }
+
+      @Override
+      public void done() {
+         if (pending.decrementAndGet() == 0 && !failed.get() && delegate != null) {
+            delegate.done();
+         }
+      }
+
+      @Override
+      public void onError(final int errorCode, final String errorMessage) {
+         if (failed.compareAndSet(false, true) && delegate != null) {
+            delegate.onError(errorCode, errorMessage);
+         }
+         done();
+      }
+   }
+}
@@ -19,6 +19,8 @@ package org.apache.activemq.artemis.core.protocol.mqtt;
 
 import org.jboss.logging.BasicLogger;
 import org.jboss.logging.Logger;
+import org.jboss.logging.annotations.LogMessage;
+import org.jboss.logging.annotations.Message;
 import org.jboss.logging.annotations.MessageLogger;
 
 /**
@@ -40,4 +42,12 @@ import org.jboss.logging.annotations.MessageLogger;
 public interface MQTTLogger extends BasicLogger {
 
    MQTTLogger LOGGER = Logger.getMessageLogger(MQTTLogger.class, MQTTLogger.class.getPackage().getName());
+
+   @LogMessage(level = Logger.Level.WARN)
+   @Message(id = 832000, value = "The retained message {0} of {1} has been replaced but it could not be deleted from {2}", format = Message.Format.MESSAGE_FORMAT)
+   void retainedMessageNotDeleted(long messageID, String address, String queue);
+
+   @LogMessage(level = Logger.Level.WARN)
+   @Message(id = 832001, value = "{0} has paged retained messages, which are neither delivered to new subscriptions nor replaced: the address-full-policy of {0} must not be PAGE", format = Message.Format.MESSAGE_FORMAT)
+   void retainedMessagesPaged(String queue);
 }
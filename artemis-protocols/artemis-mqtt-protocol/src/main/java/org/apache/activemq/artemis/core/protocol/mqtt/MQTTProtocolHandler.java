@@ -254,6 +254,13 @@ public class MQTTProtocolHandler extends ChannelInboundHandlerAdapter {
       sendToClient(publish);
    }
 
+   /**
+    * @return {@code false} if the outbound buffer of the connection is over its high water mark
+    */
+   boolean isWritable() {
+      return ctx != null && ctx.channel().isWritable();
+   }
+
    private void sendToClient(MqttMessage message) {
       if (this.protocolManager.invokeOutgoing(message, connection) != null) {
          return;
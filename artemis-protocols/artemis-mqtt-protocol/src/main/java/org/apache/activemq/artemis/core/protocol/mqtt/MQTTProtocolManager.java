@@ -21,6 +21,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
@@ -62,14 +63,25 @@ public class MQTTProtocolManager extends AbstractProtocolManager<MqttMessage, MQ
    private final Map<String, MQTTConnection> connectedClients;
    private final Map<String, MQTTSessionState> sessionStates;
 
+   private final MQTTRetainMessageStore retainMessageStore;
+
+   private final AtomicLong droppedMessages;
+
+   // QoS 0 subscriptions of clean sessions are bound to their address without a queue
+   private boolean mqttLightweightSubscriptions = false;
+
    MQTTProtocolManager(ActiveMQServer server,
                        Map<String, MQTTConnection> connectedClients,
                        Map<String, MQTTSessionState> sessionStates,
+                       MQTTRetainMessageStore retainMessageStore,
+                       AtomicLong droppedMessages,
                        List<BaseInterceptor> incomingInterceptors,
                        List<BaseInterceptor> outgoingInterceptors) {
       this.server = server;
       this.connectedClients = connectedClients;
       this.sessionStates = sessionStates;
+      this.retainMessageStore = retainMessageStore;
+      this.droppedMessages = droppedMessages;
       this.updateInterceptors(incomingInterceptors, outgoingInterceptors);
       server.getManagementService().addNotificationListener(this);
    }
@@ -254,6 +266,30 @@ public class MQTTProtocolManager extends AbstractProtocolManager<MqttMessage, MQ
       return new HashMap<>(sessionStates);
    }
 
+   public MQTTRetainMessageStore getRetainMessageStore() {
+      return retainMessageStore;
+   }
+
+   /**
+    * @return the number of messages dropped by the lightweight subscriptions of the broker
+    */
+   public long getDroppedMessageCount() {
+      return droppedMessages.get();
+   }
+
+   long incrementDroppedMessages() {
+      return droppedMessages.incrementAndGet();
+   }
+
+   public boolean isMqttLightweightSubscriptions() {
+      return mqttLightweightSubscriptions;
+   }
+
+   public MQTTProtocolManager setMqttLightweightSubscriptions(boolean mqttLightweightSubscriptions) {
+      this.mqttLightweightSubscriptions = mqttLightweightSubscriptions;
+      return this;
+   }
+
    /** For DEBUG only */
    public Map<String, MQTTConnection> getConnectedClients() {
       return connectedClients;
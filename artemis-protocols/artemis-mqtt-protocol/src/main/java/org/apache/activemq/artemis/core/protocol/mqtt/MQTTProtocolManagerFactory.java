@@ -20,9 +20,11 @@ package org.apache.activemq.artemis.core.protocol.mqtt;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.activemq.artemis.api.core.BaseInterceptor;
 import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.metrics.MetricsManager;
 import org.apache.activemq.artemis.spi.core.protocol.AbstractProtocolManagerFactory;
 import org.apache.activemq.artemis.spi.core.protocol.ProtocolManager;
 import org.apache.activemq.artemis.spi.core.protocol.ProtocolManagerFactory;
@@ -34,6 +36,8 @@ public class MQTTProtocolManagerFactory extends AbstractProtocolManagerFactory<M
 
    public static final String MQTT_PROTOCOL_NAME = "MQTT";
 
+   public static final String DROPPED_MESSAGES_METRIC = "mqtt.dropped.messages";
+
    private static final String MODULE_NAME = "artemis-mqtt-protocol";
 
    private static final String[] SUPPORTED_PROTOCOLS = {MQTT_PROTOCOL_NAME};
@@ -41,13 +45,38 @@ public class MQTTProtocolManagerFactory extends AbstractProtocolManagerFactory<M
    private final Map<String, MQTTConnection> connectedClients  = new ConcurrentHashMap<>();
    private final Map<String, MQTTSessionState> sessionStates = new ConcurrentHashMap<>();
 
+   private MQTTRetainMessageStore retainMessageStore;
+
+   // messages dropped by the lightweight subscriptions of all the acceptors
+   private AtomicLong droppedMessages;
+
    @Override
    public ProtocolManager createProtocolManager(ActiveMQServer server,
                                                 final Map<String, Object> parameters,
                                                 List<BaseInterceptor> incomingInterceptors,
                                                 List<BaseInterceptor> outgoingInterceptors) throws Exception {
       stripPasswordParameters(parameters);
-      return BeanSupport.setData(new MQTTProtocolManager(server, connectedClients, sessionStates, incomingInterceptors, outgoingInterceptors), parameters);
+      return BeanSupport.setData(new MQTTProtocolManager(server, connectedClients, sessionStates, getRetainMessageStore(server), getDroppedMessages(server), incomingInterceptors, outgoingInterceptors), parameters);
+   }
+
+   // shared by the protocol managers of all the acceptors
+   private synchronized MQTTRetainMessageStore getRetainMessageStore(ActiveMQServer server) {
+      if (retainMessageStore == null) {
+         retainMessageStore = new MQTTRetainMessageStore(server);
+      }
+      return retainMessageStore;
+   }
+
+   private synchronized AtomicLong getDroppedMessages(ActiveMQServer server) {
+      if (droppedMessages == null) {
+         final AtomicLong droppedMessages = new AtomicLong();
+         final MetricsManager metricsManager = server.getMetricsManager();
+         if (metricsManager != null) {
+            metricsManager.addBrokerGauge(builder -> builder.register(DROPPED_MESSAGES_METRIC, droppedMessages, metrics -> Double.valueOf(droppedMessages.get()), "number of messages dropped by the lightweight MQTT subscriptions whose connection couldn't keep up"));
+         }
+         this.droppedMessages = droppedMessages;
+      }
+      return droppedMessages;
    }
 
    @Override
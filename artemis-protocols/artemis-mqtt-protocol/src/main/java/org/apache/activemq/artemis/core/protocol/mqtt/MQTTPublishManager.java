@@ -25,7 +25,6 @@ import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.ActiveMQIllegalStateException;
 import org.apache.activemq.artemis.api.core.ICoreMessage;
 import org.apache.activemq.artemis.api.core.Message;
-import org.apache.activemq.artemis.api.core.Pair;
 import org.apache.activemq.artemis.api.core.QueueConfiguration;
 import org.apache.activemq.artemis.api.core.RoutingType;
 import org.apache.activemq.artemis.api.core.SimpleString;
@@ -34,6 +33,7 @@ import org.apache.activemq.artemis.core.server.Queue;
 import org.apache.activemq.artemis.core.server.ServerConsumer;
 import org.apache.activemq.artemis.core.server.impl.ServerSessionImpl;
 import org.apache.activemq.artemis.core.transaction.Transaction;
+import org.apache.activemq.artemis.core.transaction.TransactionOperationAbstract;
 import org.jboss.logging.Logger;
 
 import static org.apache.activemq.artemis.core.protocol.mqtt.MQTTUtil.MQTT_MESSAGE_RETAIN_KEY;
@@ -59,6 +59,12 @@ public class MQTTPublishManager {
 
    private MQTTSessionState.OutboundStore outboundStore;
 
+   private final MQTTSessionState.OutboundStore.Acknowledger pubAckAcknowledger = this::acknowledgePubAck;
+
+   private final MQTTSessionState.OutboundStore.Acknowledger pubRecAcknowledger = this::acknowledgePubRec;
+
+   private final MQTTSessionState.OutboundStore.Acknowledger pubCompAcknowledger = this::acknowledgePubComp;
+
    public MQTTPublishManager(MQTTSession session) {
       this.session = session;
    }
@@ -205,13 +211,7 @@ public class MQTTPublishManager {
 
    void handlePubRec(int messageId) throws Exception {
       try {
-         Pair<Long, Long> ref = outboundStore.publishReceived(messageId);
-         if (ref != null) {
-            Message m = MQTTUtil.createPubRelMessage(session, getManagementAddress(), messageId);
-            //send the management message via the internal server session to bypass security.
-            session.getInternalServerSession().send(m, true);
-            session.getServerSession().individualAcknowledge(ref.getB(), ref.getA());
-         } else {
+         if (!outboundStore.publishReceived(messageId, pubRecAcknowledger)) {
             session.getProtocolHandler().sendPubRel(messageId);
          }
       } catch (ActiveMQIllegalStateException e) {
@@ -219,12 +219,20 @@ public class MQTTPublishManager {
       }
    }
 
+   private void acknowledgePubRec(int packetId, long messageId, long consumerId) throws Exception {
+      Message m = MQTTUtil.createPubRelMessage(session, getManagementAddress(), packetId);
+      //send the management message via the internal server session to bypass security.
+      session.getInternalServerSession().send(m, true);
+      session.getServerSession().individualAcknowledge(consumerId, messageId);
+   }
+
    void handlePubComp(int messageId) throws Exception {
-      Pair<Long, Long> ref = session.getState().getOutboundStore().publishComplete(messageId);
-      if (ref != null) {
-         //ack the message via the internal server session to bypass security.
-         session.getInternalServerSession().individualAcknowledge(managementConsumer.getID(), ref.getA());
-      }
+      outboundStore.publishComplete(messageId, pubCompAcknowledger);
+   }
+
+   private void acknowledgePubComp(int packetId, long messageId, long consumerId) throws Exception {
+      //ack the message via the internal server session to bypass security.
+      session.getInternalServerSession().individualAcknowledge(managementConsumer.getID(), messageId);
    }
 
    private void createMessageAck(final int messageId, final int qos, final boolean internal) {
@@ -251,24 +259,64 @@ public class MQTTPublishManager {
       // We don't check to see if a PubRel existed for this message.  We assume it did and so send PubComp.
       state.getPubRec().remove(messageId);
       session.getProtocolHandler().sendPubComp(messageId);
-      state.removeMessageRef(messageId);
    }
 
    void handlePubAck(int messageId) throws Exception {
       try {
-         Pair<Long, Long> ref = outboundStore.publishAckd(messageId);
-         if (ref != null) {
-            session.getServerSession().individualAcknowledge(ref.getB(), ref.getA());
-         }
+         outboundStore.publishAckd(messageId, pubAckAcknowledger);
       } catch (ActiveMQIllegalStateException e) {
          log.warn("MQTT Client(" + session.getSessionState().getClientId() + ") attempted to Ack already Ack'd message");
       }
    }
 
+   private void acknowledgePubAck(int packetId, long messageId, long consumerId) throws Exception {
+      session.getServerSession().individualAcknowledge(consumerId, messageId);
+   }
+
+   /**
+    * Publishes {@code message} with QoS 0 to a subscription without a queue, once {@code tx} is committed or right
+    * away if it's {@code null}. The payload is read right away, as the message may be gone by the time {@code tx} is
+    * committed (e.g. a large message routed to no queue), but it's dropped if the subscription can't
+    * {@link MQTTSubscriberBinding#canPublish publish} it by then.
+    */
+   void sendMessage(ICoreMessage message, Transaction tx, MQTTSubscriberBinding binding) {
+      final int messageId = (int) message.getMessageID();
+      final String address = getTopic(message);
+      final boolean isRetain = message.getBooleanProperty(MQTT_MESSAGE_RETAIN_KEY);
+      final ByteBuf payload = createPayload(message);
+
+      if (tx == null) {
+         session.getProtocolHandler().send(messageId, address, 0, isRetain, payload, 0);
+      } else {
+         tx.addOperation(new TransactionOperationAbstract() {
+            @Override
+            public void afterCommit(Transaction tx) {
+               if (binding.canPublish(messageId)) {
+                  session.getProtocolHandler().send(messageId, address, 0, isRetain, payload, 0);
+               } else {
+                  payload.release();
+               }
+            }
+
+            @Override
+            public void afterRollback(Transaction tx) {
+               payload.release();
+            }
+         });
+      }
+   }
+
    private void sendServerMessage(int messageId, ICoreMessage message, int deliveryCount, int qos) {
-      String address = MQTTUtil.convertCoreAddressFilterToMQTT(message.getAddress() == null ? "" : message.getAddress(), session.getWildcardConfiguration());
+      String address = getTopic(message);
       boolean isRetain = message.getBooleanProperty(MQTT_MESSAGE_RETAIN_KEY);
+      session.getProtocolHandler().send(messageId, address, qos, isRetain, createPayload(message), deliveryCount);
+   }
+
+   private String getTopic(ICoreMessage message) {
+      return MQTTUtil.convertCoreAddressFilterToMQTT(message.getAddress() == null ? "" : message.getAddress(), session.getWildcardConfiguration());
+   }
 
+   private static ByteBuf createPayload(ICoreMessage message) {
       ByteBuf payload;
       switch (message.getType()) {
          case Message.TEXT_TYPE:
@@ -284,7 +332,7 @@ public class MQTTPublishManager {
             payload.writeBytes(bodyBuffer.byteBuf());
             break;
       }
-      session.getProtocolHandler().send(messageId, address, qos, isRetain, payload, deliveryCount);
+      return payload;
    }
 
    private int decideQoS(Message message, ServerConsumer consumer) {
@@ -18,18 +18,19 @@
 package org.apache.activemq.artemis.core.protocol.mqtt;
 
 import org.apache.activemq.artemis.api.core.Message;
-import org.apache.activemq.artemis.api.core.QueueConfiguration;
 import org.apache.activemq.artemis.api.core.SimpleString;
-import org.apache.activemq.artemis.core.server.BindingQueryResult;
-import org.apache.activemq.artemis.core.server.MessageReference;
 import org.apache.activemq.artemis.core.server.Queue;
 import org.apache.activemq.artemis.core.server.RoutingContext;
 import org.apache.activemq.artemis.core.server.impl.RoutingContextImpl;
 import org.apache.activemq.artemis.core.transaction.Transaction;
-import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
 
 public class MQTTRetainMessageManager {
 
+   /**
+    * The retained messages sent to a new subscription are committed in transactions of at most this many messages.
+    */
+   static final int RETAINED_MESSAGES_BATCH_SIZE = Integer.getInteger("org.apache.activemq.artemis.core.protocol.mqtt.retainedMessagesBatchSize", 1000);
+
    private MQTTSession session;
 
    public MQTTRetainMessageManager(MQTTSession session) {
@@ -39,58 +40,39 @@ public class MQTTRetainMessageManager {
    /**
     * FIXME
     * Retained messages should be handled in the core API.  There is currently no support for retained messages
-    * at the time of writing.  Instead we handle retained messages here.  This method will create a new queue for
-    * every address that is used to store retained messages.  THere should only ever be one message in the retained
-    * message queue.  When a new subscription is created the queue should be browsed and the message copied onto
-    * the subscription queue for the consumer.  When a new retained message is received the message will be sent to
-    * the retained queue and the previous retain message consumed to remove it from the queue.
+    * at the time of writing.  Instead we handle retained messages here.  The retained messages of all the addresses
+    * are kept by the {@link MQTTRetainMessageStore} of the broker, which keeps at most one message per address.
+    * When a new subscription is created the messages of the store matching its address are copied onto the
+    * subscription queue for the consumer.  When a new retained message is received it replaces the previous one of
+    * its address in the store.
     */
    void handleRetainedMessage(Message message, String address, boolean reset, Transaction tx) throws Exception {
-      SimpleString retainAddress = new SimpleString(MQTTUtil.convertMQTTAddressFilterToCoreRetain(address, session.getWildcardConfiguration()));
-
-      Queue queue = session.getServer().locateQueue(retainAddress);
-      if (queue == null) {
-         queue = session.getServer().createQueue(new QueueConfiguration(retainAddress));
-      }
-
-      queue.deleteAllReferences();
-
-      if (!reset) {
-         sendToQueue(message.copy(session.getServer().getStorageManager().generateID()), queue, tx);
-      }
+      SimpleString retainAddress = new SimpleString(MQTTUtil.convertMQTTAddressFilterToCore(address, session.getWildcardConfiguration()));
 
+      session.getProtocolManager().getRetainMessageStore().retain(retainAddress, reset ? null : message, tx);
    }
 
    // SEND to Queue.
    void addRetainedMessagesToQueue(Queue queue, String address) throws Exception {
-      // The address filter that matches all retained message queues.
-      String retainAddress = MQTTUtil.convertMQTTAddressFilterToCoreRetain(address, session.getWildcardConfiguration());
-      BindingQueryResult bindingQueryResult = session.getServerSession().executeBindingQuery(new SimpleString(retainAddress));
+      SimpleString retainAddress = new SimpleString(MQTTUtil.convertMQTTAddressFilterToCore(address, session.getWildcardConfiguration()));
 
-      // Iterate over all matching retain queues and add the queue
-      Transaction tx = session.getServerSession().newTransaction();
+      // The matching retained messages are streamed to the queue: its paging store and the flow control of its
+      // consumer take it from there, however many they are.
+      RetainedMessagesBatch batch = new RetainedMessagesBatch(queue);
       try {
-         for (SimpleString retainedQueueName : bindingQueryResult.getQueueNames()) {
-            Queue retainedQueue = session.getServer().locateQueue(retainedQueueName);
-            try (LinkedListIterator<MessageReference> i = retainedQueue.iterator()) {
-               if (i.hasNext()) {
-                  MessageReference ref = i.next();
-                  while (i.hasNext()) {
-                     ref = i.next();
-                     if (i.hasNext()) {
-                        i.remove();
-                     }
-                  }
-                  Message message = ref.getMessage().copy(session.getServer().getStorageManager().generateID());
-                  sendToQueue(message, queue, tx);
-               }
-            }
-         }
+         session.getProtocolManager().getRetainMessageStore().forEachMatch(retainAddress, batch::add);
       } catch (Exception t) {
-         tx.rollback();
+         batch.rollback();
          throw t;
       }
-      tx.commit();
+      batch.commit();
+   }
+
+   // SEND to a subscription without a queue: the retained messages are published right away, at most once.
+   void addRetainedMessagesToSubscriber(MQTTSubscriberBinding binding, String address) throws Exception {
+      SimpleString retainAddress = new SimpleString(MQTTUtil.convertMQTTAddressFilterToCore(address, session.getWildcardConfiguration()));
+
+      session.getProtocolManager().getRetainMessageStore().forEachMatch(retainAddress, retained -> binding.publish(retained, null));
    }
 
    private void sendToQueue(Message message, Queue queue, Transaction tx) throws Exception {
@@ -98,4 +80,43 @@ public class MQTTRetainMessageManager {
       queue.route(message, context);
       session.getServer().getPostOffice().processRoute(message, context, false);
    }
+
+   private final class RetainedMessagesBatch {
+
+      private final Queue queue;
+
+      private Transaction tx;
+
+      private int size;
+
+      RetainedMessagesBatch(Queue queue) {
+         this.queue = queue;
+      }
+
+      void add(Message retained) throws Exception {
+         if (tx == null) {
+            tx = session.getServerSession().newTransaction();
+         }
+         sendToQueue(retained.copy(session.getServer().getStorageManager().generateID()), queue, tx);
+         if (++size == RETAINED_MESSAGES_BATCH_SIZE) {
+            commit();
+         }
+      }
+
+      void commit() throws Exception {
+         if (tx != null) {
+            tx.commit();
+            tx = null;
+            size = 0;
+         }
+      }
+
+      void rollback() throws Exception {
+         if (tx != null) {
+            tx.rollback();
+            tx = null;
+            size = 0;
+         }
+      }
+   }
 }
@@ -0,0 +1,356 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.protocol.mqtt;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.config.WildcardConfiguration;
+import org.apache.activemq.artemis.core.paging.PagingStore;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.core.server.Queue;
+import org.apache.activemq.artemis.core.server.RoutingContext;
+import org.apache.activemq.artemis.core.server.impl.RoutingContextImpl;
+import org.apache.activemq.artemis.core.settings.impl.AddressFullMessagePolicy;
+import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
+import org.apache.activemq.artemis.core.transaction.Transaction;
+import org.apache.activemq.artemis.core.transaction.TransactionOperationAbstract;
+import org.apache.activemq.artemis.core.transaction.impl.TransactionImpl;
+import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
+import org.jboss.logging.Logger;
+
+/**
+ * The retained messages of all the MQTT topics of a broker.
+ * <p>
+ * The retained messages are persisted in a single queue, {@link MQTTUtil#MQTT_RETAIN_QUEUE}, and indexed in memory by
+ * a trie of the words of their (core) addresses, so the retained messages matching a subscription are found in time
+ * proportional to the number of matching topics rather than to the number of topics with a retained message. The index
+ * is built from the queue the first time it's used after the broker starts. The queue must not page, since only the
+ * messages in memory can be indexed and deleted: unless configured otherwise, its address blocks instead, and these
+ * settings are added back after a configuration reload has removed them. The retained messages thus stay on the heap
+ * as long as they are retained, bounded only by the max size of the address.
+ * <p>
+ * Updates are serialized on the store while lookups don't lock it.
+ */
+public class MQTTRetainMessageStore {
+
+   private static final Logger logger = Logger.getLogger(MQTTRetainMessageStore.class);
+
+   @FunctionalInterface
+   public interface RetainedMessageVisitor {
+
+      void visit(Message message) throws Exception;
+   }
+
+   private final ActiveMQServer server;
+
+   private final WildcardConfiguration wildcardConfiguration;
+
+   private final Pattern delimiter;
+
+   private volatile Queue queue;
+
+   private volatile Node root = new Node(null, null);
+
+   private boolean listeningSettings;
+
+   public MQTTRetainMessageStore(ActiveMQServer server) {
+      this.server = server;
+      this.wildcardConfiguration = server.getConfiguration().getWildcardConfiguration();
+      this.delimiter = Pattern.compile(Pattern.quote(String.valueOf(wildcardConfiguration.getDelimiter())));
+   }
+
+   /**
+    * Replaces the retained message of {@code address} by a copy of {@code message} once {@code tx} is committed: a
+    * {@code null} message clears it.
+    */
+   public void retain(SimpleString address, Message message, Transaction tx) throws Exception {
+      retain(getQueue(true), address, message, tx);
+   }
+
+   private void retain(Queue queue, SimpleString address, Message message, Transaction tx) throws Exception {
+      final Message retained;
+
+      if (message != null) {
+         retained = message.copy(server.getStorageManager().generateID());
+         RoutingContext context = new RoutingContextImpl(tx);
+         queue.route(retained, context);
+         server.getPostOffice().processRoute(retained, context, false);
+      } else {
+         retained = null;
+      }
+
+      tx.addOperation(new TransactionOperationAbstract() {
+         @Override
+         public void afterCommit(Transaction tx) {
+            Message previous = put(address, retained);
+            if (previous != null) {
+               delete(queue, previous);
+            }
+         }
+      });
+   }
+
+   /**
+    * Visits the retained messages whose address matches {@code filter}, without copying them.
+    */
+   public void forEachMatch(SimpleString filter, RetainedMessageVisitor visitor) throws Exception {
+      if (getQueue(false) != null) {
+         match(root, words(filter), 0, visitor);
+      }
+   }
+
+   private Queue getQueue(boolean create) throws Exception {
+      Queue queue = this.queue;
+      if (queue != null && server.locateQueue(MQTTUtil.MQTT_RETAIN_QUEUE) == queue) {
+         return queue;
+      }
+      return loadQueue(create);
+   }
+
+   /**
+    * Locates the retained messages queue and, if it isn't the one already indexed (i.e. the broker has been
+    * restarted), indexes its messages. The queue is only created when {@code create} is set or there are retain queues
+    * of previous versions to migrate, so looking up the retained messages doesn't add a binding to the broker.
+    */
+   private synchronized Queue loadQueue(boolean create) throws Exception {
+      addAddressSettings();
+      if (!listeningSettings) {
+         server.getAddressSettingsRepository().registerListener(this::onAddressSettingsChange);
+         listeningSettings = true;
+      }
+
+      Queue located = server.locateQueue(MQTTUtil.MQTT_RETAIN_QUEUE);
+      if (located == null) {
+         if (!create && getRetainQueueNames().isEmpty()) {
+            queue = null;
+            root = new Node(null, null);
+            return null;
+         }
+         located = server.createQueue(new QueueConfiguration(MQTTUtil.MQTT_RETAIN_QUEUE));
+      }
+      if (located == queue) {
+         return located;
+      }
+
+      root = new Node(null, null);
+
+      final PagingStore pagingStore = located.getPagingStore();
+      if (pagingStore != null && (pagingStore.isPaging() || pagingStore.getNumberOfPages() > 0)) {
+         MQTTLogger.LOGGER.retainedMessagesPaged(located.getName().toString());
+      }
+
+      List<Message> replaced = new ArrayList<>();
+      try (LinkedListIterator<MessageReference> iterator = located.iterator()) {
+         while (iterator.hasNext()) {
+            Message message = iterator.next().getMessage();
+            Message previous = put(message.getAddressSimpleString(), message);
+            if (previous != null) {
+               replaced.add(previous);
+            }
+         }
+      }
+      for (Message message : replaced) {
+         delete(located, message);
+      }
+
+      migrateRetainQueues(located);
+
+      queue = located;
+      return located;
+   }
+
+   private synchronized void addAddressSettings() {
+      if (!server.getAddressSettingsRepository().containsExactMatch(MQTTUtil.MQTT_RETAIN_QUEUE.toString())) {
+         // retained messages are replaced by message ID, which only finds the ones in memory
+         server.getAddressSettingsRepository().addMatch(MQTTUtil.MQTT_RETAIN_QUEUE.toString(), new AddressSettings().setEnableMessageIdIndex(true).setAddressFullMessagePolicy(AddressFullMessagePolicy.BLOCK));
+      }
+   }
+
+   /**
+    * A configuration reload replaces all the address settings, the ones added by {@link #addAddressSettings()} too.
+    */
+   private void onAddressSettingsChange() {
+      if (!server.getAddressSettingsRepository().containsExactMatch(MQTTUtil.MQTT_RETAIN_QUEUE.toString())) {
+         // the listeners are called holding the read lock of the repository, which addMatch can't upgrade
+         server.getExecutorFactory().getExecutor().execute(this::addAddressSettings);
+      }
+   }
+
+   /**
+    * Moves the retained messages kept in a queue per topic, by previous versions, to {@code queue}.
+    */
+   private void migrateRetainQueues(Queue queue) throws Exception {
+      for (SimpleString retainQueueName : getRetainQueueNames()) {
+         Queue retainQueue = server.locateQueue(retainQueueName);
+         if (retainQueue == null) {
+            continue;
+         }
+
+         Message last = null;
+         try (LinkedListIterator<MessageReference> iterator = retainQueue.iterator()) {
+            while (iterator.hasNext()) {
+               last = iterator.next().getMessage();
+            }
+         }
+
+         if (last != null) {
+            Transaction tx = new TransactionImpl(server.getStorageManager());
+            retain(queue, last.getAddressSimpleString(), last, tx);
+            tx.commit();
+         }
+
+         server.destroyQueue(retainQueueName, null, false, false, true);
+      }
+   }
+
+   private List<SimpleString> getRetainQueueNames() throws Exception {
+      SimpleString filter = SimpleString.toSimpleString(MQTTUtil.convertMQTTAddressFilterToCoreRetain("#", wildcardConfiguration));
+      return server.bindingQuery(filter).getQueueNames();
+   }
+
+   private synchronized Message put(SimpleString address, Message message) {
+      final String[] words = words(address);
+      Node node = root;
+
+      for (int i = 0; node != null && i < words.length; i++) {
+         node = message != null ? node.addChild(words[i]) : node.getChild(words[i]);
+      }
+      if (node == null) {
+         return null;
+      }
+
+      Message previous = node.message;
+      node.message = message;
+      if (message == null) {
+         node.prune();
+      }
+      return previous;
+   }
+
+   private void delete(Queue queue, Message message) {
+      try {
+         if (!queue.deleteReference(message.getMessageID())) {
+            MQTTLogger.LOGGER.retainedMessageNotDeleted(message.getMessageID(), message.getAddress(), queue.getName().toString());
+         }
+      } catch (Exception e) {
+         logger.warn(e.getMessage(), e);
+      }
+   }
+
+   private void match(Node node, String[] words, int index, RetainedMessageVisitor visitor) throws Exception {
+      if (index == words.length) {
+         node.visit(visitor);
+         return;
+      }
+
+      final String word = words[index];
+
+      if (isWildcard(word, wildcardConfiguration.getAnyWords())) {
+         if (index == words.length - 1) {
+            node.visitAll(visitor);
+         } else {
+            match(node, words, index + 1, visitor);
+            for (Node child : node.getChildren()) {
+               match(child, words, index, visitor);
+            }
+         }
+      } else if (isWildcard(word, wildcardConfiguration.getSingleWord())) {
+         for (Node child : node.getChildren()) {
+            match(child, words, index + 1, visitor);
+         }
+      } else {
+         Node child = node.getChild(word);
+         if (child != null) {
+            match(child, words, index + 1, visitor);
+         }
+      }
+   }
+
+   private static boolean isWildcard(String word, char wildcard) {
+      return word.length() == 1 && word.charAt(0) == wildcard;
+   }
+
+   private String[] words(SimpleString address) {
+      return delimiter.split(address.toString(), -1);
+   }
+
+   private static final class Node {
+
+      private final Node parent;
+
+      private final String word;
+
+      private volatile Map<String, Node> children;
+
+      private volatile Message message;
+
+      Node(Node parent, String word) {
+         this.parent = parent;
+         this.word = word;
+      }
+
+      Node getChild(String word) {
+         final Map<String, Node> children = this.children;
+         return children == null ? null : children.get(word);
+      }
+
+      Iterable<Node> getChildren() {
+         final Map<String, Node> children = this.children;
+         return children == null ? Collections.emptyList() : children.values();
+      }
+
+      // only called while holding the store lock
+      Node addChild(String word) {
+         if (children == null) {
+            children = new ConcurrentHashMap<>(4);
+         }
+         return children.computeIfAbsent(word, w -> new Node(this, w));
+      }
+
+      // only called while holding the store lock
+      void prune() {
+         Node node = this;
+         while (node.parent != null && node.message == null && (node.children == null || node.children.isEmpty())) {
+            node.parent.children.remove(node.word);
+            node = node.parent;
+         }
+      }
+
+      void visit(RetainedMessageVisitor visitor) throws Exception {
+         final Message message = this.message;
+         if (message != null) {
+            visitor.visit(message);
+         }
+      }
+
+      void visitAll(RetainedMessageVisitor visitor) throws Exception {
+         visit(visitor);
+         for (Node child : getChildren()) {
+            child.visitAll(visitor);
+         }
+      }
+   }
+}
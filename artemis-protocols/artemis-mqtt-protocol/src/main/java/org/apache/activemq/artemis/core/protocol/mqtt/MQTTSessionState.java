@@ -18,17 +18,11 @@
 package org.apache.activemq.artemis.core.protocol.mqtt;
 
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import io.netty.handler.codec.mqtt.MqttTopicSubscription;
-import org.apache.activemq.artemis.api.core.Pair;
-import org.apache.activemq.artemis.core.config.WildcardConfiguration;
+import org.apache.activemq.artemis.utils.collections.ConcurrentLongHashSet;
 
 public class MQTTSessionState {
 
@@ -38,12 +32,8 @@ public class MQTTSessionState {
 
    private final ConcurrentMap<String, MqttTopicSubscription> subscriptions = new ConcurrentHashMap<>();
 
-   // Used to store Packet ID of Publish QoS1 and QoS2 message.  See spec: 4.3.3 QoS 2: Exactly once delivery.  Method B.
-   private final Map<Integer, MQTTMessageInfo> messageRefStore = new ConcurrentHashMap<>();
-
-   private final ConcurrentMap<String, Map<Long, Integer>> addressMessageMap = new ConcurrentHashMap<>();
-
-   private final Set<Integer> pubRec = new HashSet<>();
+   // Used to store Packet ID of Publish QoS2 message.  See spec: 4.3.3 QoS 2: Exactly once delivery.  Method B.
+   private final ConcurrentLongHashSet pubRec = new ConcurrentLongHashSet(16, 1);
 
    private boolean attached = false;
 
@@ -55,8 +45,6 @@ public class MQTTSessionState {
 
    public synchronized void clear() {
       subscriptions.clear();
-      messageRefStore.clear();
-      addressMessageMap.clear();
       pubRec.clear();
       outboundStore.clear();
    }
@@ -65,7 +53,7 @@ public class MQTTSessionState {
       return outboundStore;
    }
 
-   Set<Integer> getPubRec() {
+   ConcurrentLongHashSet getPubRec() {
       return pubRec;
    }
 
@@ -81,31 +69,18 @@ public class MQTTSessionState {
       return subscriptions.values();
    }
 
-   boolean addSubscription(MqttTopicSubscription subscription, WildcardConfiguration wildcardConfiguration) {
-      // synchronized to prevent race with removeSubscription
-      synchronized (subscriptions) {
-         addressMessageMap.putIfAbsent(MQTTUtil.convertMQTTAddressFilterToCore(subscription.topicName(), wildcardConfiguration), new ConcurrentHashMap<Long, Integer>());
-
-         MqttTopicSubscription existingSubscription = subscriptions.get(subscription.topicName());
-         if (existingSubscription != null) {
-            if (subscription.qualityOfService().value() > existingSubscription.qualityOfService().value()) {
-               subscriptions.put(subscription.topicName(), subscription);
-               return true;
-            }
-         } else {
-            subscriptions.put(subscription.topicName(), subscription);
-            return true;
-         }
-      }
-      return false;
+   /**
+    * Adds {@code subscription}, or replaces the subscription to the same topic if it has a lower QoS.
+    *
+    * @return {@code true} if {@code subscription} was added
+    */
+   boolean addSubscription(MqttTopicSubscription subscription) {
+      return subscriptions.merge(subscription.topicName(), subscription, (existing, added) ->
+         added.qualityOfService().value() > existing.qualityOfService().value() ? added : existing) == subscription;
    }
 
    void removeSubscription(String address) {
-      // synchronized to prevent race with addSubscription
-      synchronized (subscriptions) {
-         subscriptions.remove(address);
-         addressMessageMap.remove(address);
-      }
+      subscriptions.remove(address);
    }
 
    MqttTopicSubscription getSubscription(String address) {
@@ -120,80 +95,243 @@ public class MQTTSessionState {
       this.clientId = clientId;
    }
 
-   void removeMessageRef(Integer mqttId) {
-      MQTTMessageInfo info = messageRefStore.remove(mqttId);
-      if (info != null) {
-         Map<Long, Integer> addressMap = addressMessageMap.get(info.getAddress());
-         if (addressMap != null) {
-            addressMap.remove(info.getServerMessageId());
-         }
+   /**
+    * The packet IDs of the QoS 1 and 2 messages sent to the client and not acknowledged yet, with the IDs of the server
+    * message and consumer they were sent for (PubRel packets are tracked with a consumer ID of 0).
+    * <p>
+    * The entries are kept in open addressing tables of primitives, allocated on the first QoS 1 or 2 message and grown
+    * as needed, so tracking a message doesn't allocate. Packet IDs are taken in sequence, wrapping around at 65535 and
+    * skipping those still in flight. Each session has a store of its own, so its lock is only shared by the deliveries
+    * and the acknowledgements of a single client, and it's only held for a few probes.
+    */
+   public static final class OutboundStore {
+
+      /**
+       * Handles an acknowledged packet, outside of the lock of the store.
+       */
+      @FunctionalInterface
+      interface Acknowledger {
+
+         void acknowledge(int packetId, long messageId, long consumerId) throws Exception;
       }
-   }
 
-   public class OutboundStore {
+      private static final int MAX_PACKET_ID = 0xFFFF;
 
-      private HashMap<Pair<Long, Long>, Integer> artemisToMqttMessageMap = new HashMap<>();
-
-      private HashMap<Integer, Pair<Long, Long>> mqttToServerIds = new HashMap<>();
+      private static final int INITIAL_CAPACITY = 8;
 
       private final Object dataStoreLock = new Object();
 
-      private final AtomicInteger ids = new AtomicInteger(0);
+      // the entries, by packet ID: 0 marks a free slot
+      private int[] packetIds;
 
-      private Pair<Long, Long> generateKey(long messageId, long consumerID) {
-         return new Pair<>(messageId, consumerID);
-      }
+      private long[] messageIds;
+
+      private long[] consumerIds;
+
+      // the packet IDs of the entries, by server message and consumer ID: 0 marks a free slot
+      private int[] index;
+
+      private int size;
+
+      // the last packet ID generated
+      private int sequence;
 
       public int generateMqttId(long messageId, long consumerId) {
          synchronized (dataStoreLock) {
-            Integer id = artemisToMqttMessageMap.get(generateKey(messageId, consumerId));
-            if (id == null) {
-               ids.compareAndSet(Short.MAX_VALUE, 1);
-               id = ids.addAndGet(1);
+            int packetId = findPacketId(messageId, consumerId);
+            if (packetId != 0) {
+               return packetId;
+            }
+            for (int i = 0; i < MAX_PACKET_ID; i++) {
+               sequence = sequence == MAX_PACKET_ID ? 1 : sequence + 1;
+               if (slotOf(sequence) < 0) {
+                  break;
+               }
             }
-            return id;
+            return sequence;
          }
       }
 
       public void publish(int mqtt, long messageId, long consumerId) {
          synchronized (dataStoreLock) {
-            Pair<Long, Long> key = generateKey(messageId, consumerId);
-            artemisToMqttMessageMap.put(key, mqtt);
-            mqttToServerIds.put(mqtt, key);
+            put(mqtt, messageId, consumerId);
          }
       }
 
-      public Pair<Long, Long> publishAckd(int mqtt) {
+      /**
+       * Removes the entry of {@code mqtt} and hands it to {@code acknowledger}.
+       *
+       * @return {@code false} if there was no entry for {@code mqtt}
+       */
+      public boolean publishAckd(int mqtt, Acknowledger acknowledger) throws Exception {
+         final long messageId;
+         final long consumerId;
          synchronized (dataStoreLock) {
-            Pair p = mqttToServerIds.remove(mqtt);
-            if (p != null) {
-               mqttToServerIds.remove(p.getA());
-               artemisToMqttMessageMap.remove(p);
+            int slot = slotOf(mqtt);
+            if (slot < 0) {
+               return false;
             }
-            return p;
+            messageId = messageIds[slot];
+            consumerId = consumerIds[slot];
+            remove(slot);
          }
+         acknowledger.acknowledge(mqtt, messageId, consumerId);
+         return true;
       }
 
-      public Pair<Long, Long> publishReceived(int mqtt) {
-         return publishAckd(mqtt);
+      public boolean publishReceived(int mqtt, Acknowledger acknowledger) throws Exception {
+         return publishAckd(mqtt, acknowledger);
       }
 
       public void publishReleasedSent(int mqttId, long serverMessageId) {
          synchronized (dataStoreLock) {
-            mqttToServerIds.put(mqttId, new Pair<>(serverMessageId, 0L));
+            put(mqttId, serverMessageId, 0L);
          }
       }
 
-      public Pair<Long, Long> publishComplete(int mqtt) {
-         return publishAckd(mqtt);
+      public boolean publishComplete(int mqtt, Acknowledger acknowledger) throws Exception {
+         return publishAckd(mqtt, acknowledger);
       }
 
       public void clear() {
          synchronized (dataStoreLock) {
-            artemisToMqttMessageMap.clear();
-            mqttToServerIds.clear();
-            ids.set(0);
+            packetIds = null;
+            messageIds = null;
+            consumerIds = null;
+            index = null;
+            size = 0;
+            sequence = 0;
+         }
+      }
+
+      private int slotOf(int packetId) {
+         if (packetIds == null) {
+            return -1;
+         }
+         final int mask = packetIds.length - 1;
+         for (int slot = hash(packetId) & mask; ; slot = (slot + 1) & mask) {
+            final int current = packetIds[slot];
+            if (current == packetId) {
+               return slot;
+            } else if (current == 0) {
+               return -1;
+            }
+         }
+      }
+
+      private int findPacketId(long messageId, long consumerId) {
+         if (index == null) {
+            return 0;
+         }
+         final int mask = index.length - 1;
+         for (int i = hash(messageId, consumerId) & mask; ; i = (i + 1) & mask) {
+            final int packetId = index[i];
+            if (packetId == 0) {
+               return 0;
+            }
+            final int slot = slotOf(packetId);
+            if (messageIds[slot] == messageId && consumerIds[slot] == consumerId) {
+               return packetId;
+            }
+         }
+      }
+
+      private void put(int packetId, long messageId, long consumerId) {
+         final int existing = slotOf(packetId);
+         if (existing >= 0) {
+            remove(existing);
+         }
+         if (packetIds == null) {
+            allocate(INITIAL_CAPACITY);
+         } else if ((size + 1) * 2 > packetIds.length) {
+            grow();
+         }
+         insert(packetId, messageId, consumerId);
+      }
+
+      private void insert(int packetId, long messageId, long consumerId) {
+         final int mask = packetIds.length - 1;
+         int slot = hash(packetId) & mask;
+         while (packetIds[slot] != 0) {
+            slot = (slot + 1) & mask;
+         }
+         packetIds[slot] = packetId;
+         messageIds[slot] = messageId;
+         consumerIds[slot] = consumerId;
+
+         int i = hash(messageId, consumerId) & mask;
+         while (index[i] != 0) {
+            i = (i + 1) & mask;
+         }
+         index[i] = packetId;
+
+         size++;
+      }
+
+      private void allocate(int capacity) {
+         packetIds = new int[capacity];
+         messageIds = new long[capacity];
+         consumerIds = new long[capacity];
+         index = new int[capacity];
+      }
+
+      private void grow() {
+         final int[] oldPacketIds = packetIds;
+         final long[] oldMessageIds = messageIds;
+         final long[] oldConsumerIds = consumerIds;
+         allocate(oldPacketIds.length * 2);
+         size = 0;
+         for (int slot = 0; slot < oldPacketIds.length; slot++) {
+            if (oldPacketIds[slot] != 0) {
+               insert(oldPacketIds[slot], oldMessageIds[slot], oldConsumerIds[slot]);
+            }
+         }
+      }
+
+      /**
+       * Removes the entry at {@code slot} from both tables, shifting back the entries that follow it in their probe
+       * sequences (the index first, as finding the home of its entries needs them to be in the table).
+       */
+      private void remove(int slot) {
+         final int mask = packetIds.length - 1;
+
+         int hole = hash(messageIds[slot], consumerIds[slot]) & mask;
+         while (index[hole] != packetIds[slot]) {
+            hole = (hole + 1) & mask;
+         }
+         for (int i = (hole + 1) & mask; index[i] != 0; i = (i + 1) & mask) {
+            final int entry = slotOf(index[i]);
+            final int home = hash(messageIds[entry], consumerIds[entry]) & mask;
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+               index[hole] = index[i];
+               hole = i;
+            }
          }
+         index[hole] = 0;
+
+         hole = slot;
+         for (int i = (hole + 1) & mask; packetIds[i] != 0; i = (i + 1) & mask) {
+            final int home = hash(packetIds[i]) & mask;
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+               packetIds[hole] = packetIds[i];
+               messageIds[hole] = messageIds[i];
+               consumerIds[hole] = consumerIds[i];
+               hole = i;
+            }
+         }
+         packetIds[hole] = 0;
+
+         size--;
+      }
+
+      private static int hash(int value) {
+         final int h = value * 0x9E3779B9;
+         return h ^ (h >>> 16);
+      }
+
+      private static int hash(long messageId, long consumerId) {
+         final long h = (messageId * 31 + consumerId) * 0x9E3779B97F4A7C15L;
+         return (int) (h ^ (h >>> 32));
       }
    }
 }
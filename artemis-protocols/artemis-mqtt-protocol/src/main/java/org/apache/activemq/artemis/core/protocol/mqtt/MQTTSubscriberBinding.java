@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.protocol.mqtt;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.filter.Filter;
+import org.apache.activemq.artemis.core.postoffice.Binding;
+import org.apache.activemq.artemis.core.postoffice.BindingType;
+import org.apache.activemq.artemis.core.server.Bindable;
+import org.apache.activemq.artemis.core.server.RoutingContext;
+import org.apache.activemq.artemis.core.server.impl.MessageConversionCache;
+import org.apache.activemq.artemis.core.transaction.Transaction;
+import org.jboss.logging.Logger;
+
+/**
+ * A QoS 0 subscription of a clean session, bound to its address without a queue: the messages routed to it are
+ * published straight to the MQTT connection of the subscriber, once their transaction (if any) is committed.
+ * <p>
+ * Messages routed, or committed, while the connection isn't writable (i.e. its outbound buffer is over the write
+ * buffer high water mark of the acceptor) are dropped, as QoS 0 allows.
+ */
+public class MQTTSubscriberBinding implements Binding, Bindable {
+
+   private static final Logger logger = Logger.getLogger(MQTTSubscriberBinding.class);
+
+   private final MQTTSession session;
+
+   private final long id;
+
+   private final SimpleString address;
+
+   private final SimpleString uniqueName;
+
+   private final Filter filter;
+
+   private final AtomicLong droppedMessages = new AtomicLong();
+
+   public MQTTSubscriberBinding(MQTTSession session, long id, SimpleString address, Filter filter) {
+      this.session = session;
+      this.id = id;
+      this.address = address;
+      this.uniqueName = new SimpleString(MQTTUtil.MQTT_SUBSCRIBER_PREFIX + session.getSessionState().getClientId() + "." + address);
+      this.filter = filter;
+   }
+
+   @Override
+   public long getID() {
+      return id;
+   }
+
+   @Override
+   public Filter getFilter() {
+      return filter;
+   }
+
+   @Override
+   public SimpleString getAddress() {
+      return address;
+   }
+
+   @Override
+   public Bindable getBindable() {
+      return this;
+   }
+
+   @Override
+   public SimpleString getRoutingName() {
+      return uniqueName;
+   }
+
+   @Override
+   public SimpleString getUniqueName() {
+      return uniqueName;
+   }
+
+   @Override
+   public SimpleString getClusterName() {
+      return uniqueName;
+   }
+
+   @Override
+   public boolean isExclusive() {
+      return false;
+   }
+
+   @Override
+   public boolean isHighAcceptPriority(final Message message) {
+      return true;
+   }
+
+   @Override
+   public void route(final Message message, final RoutingContext context) throws Exception {
+      // no queue is added: the message has to count as routed, not be sent to the dead letter address
+      context.setReusable(false).setRouted(true);
+      publish(message, context.getTransaction());
+   }
+
+   /**
+    * Publishes {@code message} to the subscriber once {@code tx} is committed, or right away if it's {@code null},
+    * unless the connection isn't writable.
+    */
+   void publish(final Message message, final Transaction tx) {
+      if (canPublish(message.getMessageID())) {
+         session.getMqttPublishManager().sendMessage(MessageConversionCache.toCore(message), tx, this);
+      }
+   }
+
+   /**
+    * @return whether the message can be written to the connection of the subscriber, it's counted as dropped if not
+    */
+   boolean canPublish(final long messageID) {
+      if (!session.getStopped() && session.getProtocolHandler().isWritable()) {
+         return true;
+      }
+
+      long dropped = droppedMessages.incrementAndGet();
+      session.getProtocolManager().incrementDroppedMessages();
+      if (logger.isTraceEnabled()) {
+         logger.trace("MQTT Client(" + session.getSessionState().getClientId() + ") dropped message " + messageID + " on " + address + ", " + dropped + " dropped so far");
+      }
+      return false;
+   }
+
+   @Override
+   public void routeWithAck(Message message, RoutingContext context) throws Exception {
+      route(message, context);
+   }
+
+   /**
+    * @return the number of messages dropped because the connection of the subscriber wasn't writable
+    */
+   public long getDroppedMessageCount() {
+      return droppedMessages.get();
+   }
+
+   @Override
+   public int getDistance() {
+      return 0;
+   }
+
+   @Override
+   public BindingType getType() {
+      return BindingType.SUBSCRIBER;
+   }
+
+   @Override
+   public void unproposed(SimpleString groupID) {
+   }
+
+   @Override
+   public String toString() {
+      return "MQTTSubscriberBinding [id=" + id +
+         ", address=" +
+         address +
+         ", filter=" +
+         filter +
+         ", uniqueName=" +
+         uniqueName +
+         "]";
+   }
+
+   @Override
+   public String toManagementString() {
+      return this.getClass().getSimpleName() + " [id=" + id + "]";
+   }
+
+   @Override
+   public boolean isConnected() {
+      return true;
+   }
+
+   @Override
+   public void close() throws Exception {
+   }
+}
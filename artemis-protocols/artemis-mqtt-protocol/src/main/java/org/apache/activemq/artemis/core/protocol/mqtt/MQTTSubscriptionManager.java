@@ -29,6 +29,9 @@ import org.apache.activemq.artemis.api.core.FilterConstants;
 import org.apache.activemq.artemis.api.core.QueueConfiguration;
 import org.apache.activemq.artemis.api.core.RoutingType;
 import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.filter.impl.FilterImpl;
+import org.apache.activemq.artemis.core.security.CheckType;
+import org.apache.activemq.artemis.core.security.SecurityStore;
 import org.apache.activemq.artemis.core.server.ActiveMQMessageBundle;
 import org.apache.activemq.artemis.core.server.BindingQueryResult;
 import org.apache.activemq.artemis.core.server.Consumer;
@@ -47,6 +50,9 @@ public class MQTTSubscriptionManager {
 
    private final ConcurrentMap<String, ServerConsumer> consumers;
 
+   // The QoS 0 subscriptions without a queue, by topic
+   private final ConcurrentMap<String, MQTTSubscriberBinding> subscriberBindings;
+
    // We filter out Artemis management messages and notifications
    private final SimpleString managementFilter;
 
@@ -55,6 +61,7 @@ public class MQTTSubscriptionManager {
 
       consumers = new ConcurrentHashMap<>();
       consumerQoSLevels = new ConcurrentHashMap<>();
+      subscriberBindings = new ConcurrentHashMap<>();
 
       // Create filter string to ignore management messages
       StringBuilder builder = new StringBuilder();
@@ -85,6 +92,9 @@ public class MQTTSubscriptionManager {
          consumer.getQueue().removeConsumer(consumer);
          consumer.close(false);
       }
+      for (String topic : subscriberBindings.keySet()) {
+         removeSubscriberBinding(topic);
+      }
    }
 
    /**
@@ -98,27 +108,71 @@ public class MQTTSubscriptionManager {
       // The queue does not exist so we need to create it.
       if (q == null) {
          SimpleString sAddress = SimpleString.toSimpleString(address);
-
-         // Check we can auto create queues.
          BindingQueryResult bindingQueryResult = session.getServerSession().executeBindingQuery(sAddress);
-         if (!bindingQueryResult.isAutoCreateQueues()) {
-            throw ActiveMQMessageBundle.BUNDLE.noSuchQueue(sAddress);
-         }
-
-         // Check that the address exists, if not we try to auto create it.
-         AddressInfo addressInfo = session.getServerSession().getAddress(sAddress);
-         if (addressInfo == null) {
-            if (!bindingQueryResult.isAutoCreateAddresses()) {
-               throw ActiveMQMessageBundle.BUNDLE.addressDoesNotExist(SimpleString.toSimpleString(address));
-            }
-            addressInfo = session.getServerSession().createAddress(SimpleString.toSimpleString(address),
-                                                                   RoutingType.MULTICAST, true);
-         }
+         AddressInfo addressInfo = findOrCreateAddress(sAddress, bindingQueryResult);
          return findOrCreateQueue(bindingQueryResult, addressInfo, queue, qos);
       }
       return q;
    }
 
+   private AddressInfo findOrCreateAddress(SimpleString address, BindingQueryResult bindingQueryResult) throws Exception {
+      // Check we can auto create queues.
+      if (!bindingQueryResult.isAutoCreateQueues()) {
+         throw ActiveMQMessageBundle.BUNDLE.noSuchQueue(address);
+      }
+
+      // Check that the address exists, if not we try to auto create it.
+      AddressInfo addressInfo = session.getServerSession().getAddress(address);
+      if (addressInfo == null) {
+         if (!bindingQueryResult.isAutoCreateAddresses()) {
+            throw ActiveMQMessageBundle.BUNDLE.addressDoesNotExist(address);
+         }
+         addressInfo = session.getServerSession().createAddress(address, RoutingType.MULTICAST, true);
+      }
+      return addressInfo;
+   }
+
+   /**
+    * A QoS 0 subscription of a clean session doesn't need a queue, if the acceptor allows it: it can't outlive the
+    * connection nor be acknowledged.
+    */
+   private boolean isLightweight(String topic, int qos) {
+      return qos == 0 && session.isClean() && session.getProtocolManager().isMqttLightweightSubscriptions() && !CompositeAddress.isFullyQualified(topic);
+   }
+
+   /**
+    * Binds a subscription without a queue to a multicast address, checking the subscriber could create a non
+    * durable subscription queue and consume from it.
+    *
+    * @return the binding or {@code null} if the address isn't multicast
+    */
+   private MQTTSubscriberBinding createSubscriberBinding(String topic, String address) throws Exception {
+      SimpleString sAddress = SimpleString.toSimpleString(address);
+      BindingQueryResult bindingQueryResult = session.getServerSession().executeBindingQuery(sAddress);
+      AddressInfo addressInfo = findOrCreateAddress(sAddress, bindingQueryResult);
+      if (!addressInfo.getRoutingTypes().contains(RoutingType.MULTICAST)) {
+         return null;
+      }
+
+      long id = session.getServer().getStorageManager().generateID();
+      MQTTSubscriberBinding binding = new MQTTSubscriberBinding(session, id, addressInfo.getName(), FilterImpl.createFilter(managementFilter));
+
+      SecurityStore securityStore = session.getServer().getSecurityStore();
+      securityStore.check(binding.getAddress(), binding.getUniqueName(), CheckType.CREATE_NON_DURABLE_QUEUE, session.getServerSession());
+      securityStore.check(binding.getAddress(), binding.getUniqueName(), CheckType.CONSUME, session.getServerSession());
+
+      session.getServer().getPostOffice().addBinding(binding);
+      subscriberBindings.put(topic, binding);
+      return binding;
+   }
+
+   private void removeSubscriberBinding(String topic) throws Exception {
+      MQTTSubscriberBinding binding = subscriberBindings.remove(topic);
+      if (binding != null) {
+         session.getServer().getPostOffice().removeBinding(binding.getUniqueName(), null, true);
+      }
+   }
+
    private Queue findOrCreateQueue(BindingQueryResult bindingQueryResult, AddressInfo addressInfo, SimpleString queue, int qos) throws Exception {
 
       if (addressInfo.getRoutingTypes().contains(RoutingType.MULTICAST)) {
@@ -171,11 +225,24 @@ public class MQTTSubscriptionManager {
 
       String coreAddress = MQTTUtil.convertMQTTAddressFilterToCore(topicName, session.getWildcardConfiguration());
 
-      session.getSessionState().addSubscription(subscription, session.getWildcardConfiguration());
+      session.getSessionState().addSubscription(subscription);
+
+      MQTTSubscriberBinding binding = subscriberBindings.get(topicName);
+      if (binding == null && s == null && isLightweight(subscription.topicName(), qos)) {
+         binding = createSubscriberBinding(topicName, coreAddress);
+      }
+      if (binding != null) {
+         if (qos == 0) {
+            session.getRetainMessageManager().addRetainedMessagesToSubscriber(binding, topicName);
+            return;
+         }
+         // the subscription needs a queue from now on
+         removeSubscriberBinding(topicName);
+      }
 
       Queue q = createQueueForSubscription(coreAddress, qos);
 
-      if (s == null) {
+      if (s == null || binding != null) {
          createConsumerForSubscriptionQueue(q, topicName, qos);
       } else {
          consumerQoSLevels.put(consumers.get(topicName).getID(), qos);
@@ -192,6 +259,12 @@ public class MQTTSubscriptionManager {
    }
 
    private void removeSubscription(String address) throws Exception {
+      if (subscriberBindings.containsKey(address)) {
+         session.getSessionState().removeSubscription(address);
+         removeSubscriberBinding(address);
+         return;
+      }
+
       String internalAddress = MQTTUtil.convertMQTTAddressFilterToCore(address, session.getWildcardConfiguration());
       SimpleString internalQueueName = getQueueNameForTopic(internalAddress);
       session.getSessionState().removeSubscription(address);
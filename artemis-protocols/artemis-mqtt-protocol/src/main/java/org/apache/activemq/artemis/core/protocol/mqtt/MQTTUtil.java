@@ -64,6 +64,8 @@ public class MQTTUtil {
 
    public static final String MQTT_RETAIN_ADDRESS_PREFIX = "$sys.mqtt.retain.";
 
+   public static final SimpleString MQTT_RETAIN_QUEUE = SimpleString.toSimpleString("$sys.mqtt.retained");
+
    public static final SimpleString MQTT_QOS_LEVEL_KEY = SimpleString.toSimpleString("mqtt.qos.level");
 
    public static final SimpleString MQTT_MESSAGE_ID_KEY = SimpleString.toSimpleString("mqtt.message.id");
@@ -74,6 +76,8 @@ public class MQTTUtil {
 
    public static final String MANAGEMENT_QUEUE_PREFIX = "$sys.mqtt.queue.qos2.";
 
+   public static final String MQTT_SUBSCRIBER_PREFIX = "$sys.mqtt.subscriber.";
+
    public static final int DEFAULT_KEEP_ALIVE_FREQUENCY = 5000;
 
    public static String convertMQTTAddressFilterToCore(String filter, WildcardConfiguration wildcardConfiguration) {
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.protocol.mqtt;
+
+import java.util.Collections;
+import java.util.HashMap;
+
+import io.micrometer.core.instrument.Gauge;
+import org.apache.activemq.artemis.core.config.MetricsConfiguration;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.ActiveMQServers;
+import org.apache.activemq.artemis.core.server.metrics.plugins.SimpleMetricsPlugin;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+public class MQTTProtocolManagerFactoryTest {
+
+   private ActiveMQServer server;
+
+   @Before
+   public void setUp() throws Exception {
+      server = ActiveMQServers.newActiveMQServer(new ConfigurationImpl().setPersistenceEnabled(false).setSecurityEnabled(false).setMetricsConfiguration(new MetricsConfiguration().setPlugin(new SimpleMetricsPlugin().init(null))), false);
+      server.start();
+   }
+
+   @After
+   public void tearDown() throws Exception {
+      server.stop();
+   }
+
+   @Test
+   public void testDroppedMessagesMetricSharedByAcceptors() throws Exception {
+      MQTTProtocolManagerFactory factory = new MQTTProtocolManagerFactory();
+      MQTTProtocolManager first = (MQTTProtocolManager) factory.createProtocolManager(server, new HashMap<>(), Collections.emptyList(), Collections.emptyList());
+      MQTTProtocolManager second = (MQTTProtocolManager) factory.createProtocolManager(server, new HashMap<>(), Collections.emptyList(), Collections.emptyList());
+
+      first.incrementDroppedMessages();
+      second.incrementDroppedMessages();
+
+      Gauge gauge = server.getMetricsManager().getMeterRegistry().find("artemis." + MQTTProtocolManagerFactory.DROPPED_MESSAGES_METRIC).gauge();
+      assertNotNull(gauge);
+      assertEquals(2.0, gauge.value(), 0);
+      assertEquals(2, first.getDroppedMessageCount());
+   }
+}
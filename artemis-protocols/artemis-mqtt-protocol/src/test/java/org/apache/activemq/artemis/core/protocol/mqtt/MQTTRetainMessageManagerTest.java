@@ -253,13 +253,15 @@ public class MQTTRetainMessageManagerTest {
 
    private void logRetainedMessagesQueue() {
       final WildcardConfiguration wildcardConfiguration = new WildcardConfiguration();
-      final String retainAddress = MQTTUtil.convertMQTTAddressFilterToCoreRetain(topic, wildcardConfiguration);
-      final Queue queue = jmsServer.getDestinationQueue(retainAddress);
+      final String retainAddress = MQTTUtil.convertMQTTAddressFilterToCore(topic, wildcardConfiguration);
+      final Queue queue = jmsServer.getDestinationQueue(MQTTUtil.MQTT_RETAIN_QUEUE.toString());
       final LinkedListIterator<MessageReference> browserIterator = queue.browserIterator();
       browserIterator.forEachRemaining(messageReference -> {
          final Message message = messageReference.getMessage();
-         final String body = message.getBuffer().toString(StandardCharsets.UTF_8);
-         log.infof("[MQTT][%s][%s][%s]", retainAddress, message, body);
+         if (retainAddress.equals(message.getAddress())) {
+            final String body = message.getBuffer().toString(StandardCharsets.UTF_8);
+            log.infof("[MQTT][%s][%s][%s]", retainAddress, message, body);
+         }
       });
    }
 }
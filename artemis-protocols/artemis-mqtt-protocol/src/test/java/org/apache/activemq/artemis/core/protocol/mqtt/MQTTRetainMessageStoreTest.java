@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.protocol.mqtt;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.ActiveMQServers;
+import org.apache.activemq.artemis.core.server.Queue;
+import org.apache.activemq.artemis.core.settings.impl.AddressFullMessagePolicy;
+import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
+import org.apache.activemq.artemis.core.transaction.Transaction;
+import org.apache.activemq.artemis.core.transaction.impl.TransactionImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MQTTRetainMessageStoreTest {
+
+   private static final SimpleString TOPIC = SimpleString.toSimpleString("a.b");
+
+   private ActiveMQServer server;
+
+   private MQTTRetainMessageStore store;
+
+   @Before
+   public void setUp() throws Exception {
+      server = ActiveMQServers.newActiveMQServer(new ConfigurationImpl().setPersistenceEnabled(false).setSecurityEnabled(false), false);
+      server.start();
+      store = new MQTTRetainMessageStore(server);
+   }
+
+   @After
+   public void tearDown() throws Exception {
+      server.stop();
+   }
+
+   @Test
+   public void testRetainedQueueDoesNotPage() throws Exception {
+      retain(createMessage());
+
+      assertEquals(AddressFullMessagePolicy.BLOCK, server.getAddressSettingsRepository().getMatch(MQTTUtil.MQTT_RETAIN_QUEUE.toString()).getAddressFullMessagePolicy());
+   }
+
+   @Test
+   public void testRetainReplacesPreviousMessage() throws Exception {
+      retain(createMessage());
+      Message last = createMessage();
+      retain(last);
+
+      List<Message> matches = new ArrayList<>();
+      store.forEachMatch(TOPIC, matches::add);
+      assertEquals(1, matches.size());
+      assertSame(last.getObjectProperty("id"), matches.get(0).getObjectProperty("id"));
+      Queue queue = server.locateQueue(MQTTUtil.MQTT_RETAIN_QUEUE);
+      assertEquals(1, queue.getMessagesAcknowledged());
+   }
+
+   @Test
+   public void testLookupDoesNotCreateRetainedQueue() throws Exception {
+      List<Message> matches = new ArrayList<>();
+      store.forEachMatch(TOPIC, matches::add);
+
+      assertTrue(matches.isEmpty());
+      assertNull(server.locateQueue(MQTTUtil.MQTT_RETAIN_QUEUE));
+
+      Message retained = createMessage();
+      retain(retained);
+      store.forEachMatch(TOPIC, matches::add);
+      assertEquals(1, matches.size());
+      assertSame(retained.getObjectProperty("id"), matches.get(0).getObjectProperty("id"));
+   }
+
+   @Test
+   public void testSettingsAddedBackAfterReload() throws Exception {
+      retain(createMessage());
+
+      // what a configuration reload without any address settings does
+      server.getAddressSettingsRepository().swap(Collections.emptySet());
+
+      long timeout = System.currentTimeMillis() + 5000;
+      while (!server.getAddressSettingsRepository().containsExactMatch(MQTTUtil.MQTT_RETAIN_QUEUE.toString()) && System.currentTimeMillis() < timeout) {
+         Thread.sleep(10);
+      }
+      AddressSettings settings = server.getAddressSettingsRepository().getMatch(MQTTUtil.MQTT_RETAIN_QUEUE.toString());
+      assertTrue(settings.isEnableMessageIdIndex());
+      assertEquals(AddressFullMessagePolicy.BLOCK, settings.getAddressFullMessagePolicy());
+
+      retain(createMessage());
+      Queue queue = server.locateQueue(MQTTUtil.MQTT_RETAIN_QUEUE);
+      assertEquals(1, queue.getMessagesAcknowledged());
+   }
+
+   private Message createMessage() {
+      CoreMessage message = new CoreMessage(server.getStorageManager().generateID(), 50);
+      message.setAddress(TOPIC);
+      message.putLongProperty("id", message.getMessageID());
+      return message;
+   }
+
+   private void retain(Message message) throws Exception {
+      Transaction tx = new TransactionImpl(server.getStorageManager());
+      store.retain(TOPIC, message, tx);
+      tx.commit();
+   }
+}
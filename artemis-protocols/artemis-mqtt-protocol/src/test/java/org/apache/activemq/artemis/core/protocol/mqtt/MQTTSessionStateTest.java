@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.protocol.mqtt;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import io.netty.handler.codec.mqtt.MqttQoS;
+import io.netty.handler.codec.mqtt.MqttTopicSubscription;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MQTTSessionStateTest {
+
+   @Test
+   public void testPacketIdReusedForRedelivery() throws Exception {
+      MQTTSessionState.OutboundStore store = new MQTTSessionState("client").getOutboundStore();
+
+      int packetId = store.generateMqttId(10, 1);
+      store.publish(packetId, 10, 1);
+
+      assertEquals(packetId, store.generateMqttId(10, 1));
+      assertNotEquals(packetId, store.generateMqttId(10, 2));
+
+      long[] acked = new long[2];
+      assertTrue(store.publishAckd(packetId, (id, messageId, consumerId) -> {
+         acked[0] = messageId;
+         acked[1] = consumerId;
+      }));
+      assertEquals(10, acked[0]);
+      assertEquals(1, acked[1]);
+      assertFalse(store.publishAckd(packetId, (id, messageId, consumerId) -> {
+         throw new IllegalStateException();
+      }));
+   }
+
+   @Test
+   public void testPacketIdsSkipInFlightOnesWhenWrapping() throws Exception {
+      MQTTSessionState.OutboundStore store = new MQTTSessionState("client").getOutboundStore();
+
+      store.publish(store.generateMqttId(1, 1), 1, 1);
+      store.publish(store.generateMqttId(2, 1), 2, 1);
+      for (long messageId = 3; messageId <= 0xFFFF; messageId++) {
+         int packetId = store.generateMqttId(messageId, 1);
+         store.publish(packetId, messageId, 1);
+         store.publishAckd(packetId, (id, m, c) -> { });
+      }
+
+      assertEquals(3, store.generateMqttId(0x10000, 1));
+   }
+
+   @Test
+   public void testRandomOperations() throws Exception {
+      MQTTSessionState.OutboundStore store = new MQTTSessionState("client").getOutboundStore();
+      Map<Integer, long[]> expected = new HashMap<>();
+      Random random = new Random(1);
+
+      for (int i = 0; i < 100_000; i++) {
+         long messageId = random.nextInt(500);
+         long consumerId = random.nextInt(3) + 1;
+         if (random.nextBoolean()) {
+            int packetId = store.generateMqttId(messageId, consumerId);
+            store.publish(packetId, messageId, consumerId);
+            expected.put(packetId, new long[]{messageId, consumerId});
+         } else {
+            int packetId = store.generateMqttId(messageId, consumerId);
+            long[] entry = expected.remove(packetId);
+            long[] acked = new long[2];
+            assertEquals(entry != null, store.publishAckd(packetId, (id, m, c) -> {
+               acked[0] = m;
+               acked[1] = c;
+            }));
+            if (entry != null) {
+               assertEquals(entry[0], acked[0]);
+               assertEquals(entry[1], acked[1]);
+            }
+         }
+      }
+
+      for (Map.Entry<Integer, long[]> entry : expected.entrySet()) {
+         assertEquals((int) entry.getKey(), store.generateMqttId(entry.getValue()[0], entry.getValue()[1]));
+      }
+   }
+
+   @Test
+   public void testSubscriptionKeepsHighestQoS() {
+      MQTTSessionState state = new MQTTSessionState("client");
+
+      assertTrue(state.addSubscription(new MqttTopicSubscription("a/b", MqttQoS.AT_LEAST_ONCE)));
+      assertFalse(state.addSubscription(new MqttTopicSubscription("a/b", MqttQoS.AT_MOST_ONCE)));
+      assertEquals(MqttQoS.AT_LEAST_ONCE, state.getSubscription("a/b").qualityOfService());
+      assertTrue(state.addSubscription(new MqttTopicSubscription("a/b", MqttQoS.EXACTLY_ONCE)));
+      assertEquals(MqttQoS.EXACTLY_ONCE, state.getSubscription("a/b").qualityOfService());
+
+      state.removeSubscription("a/b");
+      assertEquals(0, state.getSubscriptions().size());
+   }
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.protocol.mqtt;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.postoffice.RoutingStatus;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.ActiveMQServers;
+import org.apache.activemq.artemis.core.server.Queue;
+import org.apache.activemq.artemis.core.server.impl.AddressInfo;
+import org.apache.activemq.artemis.core.server.impl.RoutingContextImpl;
+import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
+import org.apache.activemq.artemis.core.transaction.Transaction;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class MQTTSubscriberBindingTest {
+
+   private static final SimpleString ADDRESS = SimpleString.toSimpleString("foo.bar");
+
+   private static final SimpleString DLA = SimpleString.toSimpleString("DLA");
+
+   private ActiveMQServer server;
+
+   @Before
+   public void setUp() throws Exception {
+      server = ActiveMQServers.newActiveMQServer(new ConfigurationImpl().setPersistenceEnabled(false).setSecurityEnabled(false), false);
+      server.start();
+   }
+
+   @After
+   public void tearDown() throws Exception {
+      server.stop();
+   }
+
+   @Test
+   public void testRoutedMessageIsNotDeadLettered() throws Exception {
+      server.getAddressSettingsRepository().addMatch(ADDRESS.toString(), new AddressSettings().setSendToDLAOnNoRoute(true).setDeadLetterAddress(DLA));
+      server.createQueue(new QueueConfiguration(DLA).setRoutingType(RoutingType.MULTICAST));
+      server.addAddressInfo(new AddressInfo(ADDRESS).addRoutingType(RoutingType.MULTICAST));
+
+      final List<Message> published = new ArrayList<>();
+      server.getPostOffice().addBinding(new MQTTSubscriberBinding(createSession(), server.getStorageManager().generateID(), ADDRESS, null) {
+         @Override
+         void publish(Message message, Transaction tx) {
+            published.add(message);
+         }
+      });
+
+      assertEquals(RoutingStatus.OK, server.getPostOffice().route(createMessage(), false));
+      // and in a batch
+      RoutingStatus[] results = server.getPostOffice().route(Collections.singletonList(createMessage()), new RoutingContextImpl(null), false);
+      assertEquals(RoutingStatus.OK, results[0]);
+
+      assertEquals(2, published.size());
+      Queue dla = server.locateQueue(DLA);
+      assertEquals(0, dla.getMessagesAdded());
+      AddressInfo addressInfo = server.getAddressInfo(ADDRESS);
+      assertEquals(2, addressInfo.getRoutedMessageCount());
+      assertEquals(0, addressInfo.getUnRoutedMessageCount());
+   }
+
+   private Message createMessage() {
+      CoreMessage message = new CoreMessage(server.getStorageManager().generateID(), 50);
+      message.setAddress(ADDRESS);
+      message.putLongProperty("id", message.getMessageID());
+      return message;
+   }
+
+   private MQTTSession createSession() throws Exception {
+      MQTTProtocolManager protocolManager = (MQTTProtocolManager) new MQTTProtocolManagerFactory().createProtocolManager(server, new HashMap<>(), Collections.emptyList(), Collections.emptyList());
+      MQTTSessionState state = new MQTTSessionState("subscriber");
+      return new MQTTSession(new MQTTProtocolHandler(server, protocolManager), new MQTTConnection(null), protocolManager, server.getConfiguration().getWildcardConfiguration()) {
+         @Override
+         MQTTSessionState getSessionState() {
+            return state;
+         }
+      };
+   }
+}
@@ -41,12 +41,14 @@ import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.ActiveMQPropertyConversionException;
 import org.apache.activemq.artemis.api.core.ICoreMessage;
 import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.api.core.client.ActiveMQClient;
 import org.apache.activemq.artemis.api.core.management.ManagementHelper;
 import org.apache.activemq.artemis.core.message.impl.CoreMessage;
 import org.apache.activemq.artemis.core.persistence.CoreMessageObjectPools;
 import org.apache.activemq.artemis.core.protocol.openwire.amq.AMQConsumer;
 import org.apache.activemq.artemis.core.protocol.openwire.util.OpenWireUtil;
 import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.core.server.impl.MessageConversionCache;
 import org.apache.activemq.artemis.reader.MessageUtil;
 import org.apache.activemq.artemis.utils.DataConstants;
 import org.apache.activemq.artemis.utils.UUIDGenerator;
@@ -531,39 +533,40 @@ public final class OpenWireMessageConverter {
       final byte coreType = coreMessage.getType();
       final Boolean compressProp = (Boolean) coreMessage.getObjectProperty(AMQ_MSG_COMPRESSED);
       final boolean isCompressed = compressProp == null ? false : compressProp.booleanValue();
-      final byte[] bytes;
-      final ActiveMQBuffer buffer = coreMessage.getDataBuffer();
-      buffer.resetReaderIndex();
 
       switch (coreType) {
          case org.apache.activemq.artemis.api.core.Message.BYTES_TYPE:
             amqMsg = new EagerActiveMQBytesMessage(0);
-            bytes = toAMQMessageBytesType(buffer, isCompressed);
             break;
          case org.apache.activemq.artemis.api.core.Message.MAP_TYPE:
             amqMsg = new ActiveMQMapMessage();
-            bytes = toAMQMessageMapType(buffer, isCompressed);
             break;
          case org.apache.activemq.artemis.api.core.Message.OBJECT_TYPE:
             amqMsg = new ActiveMQObjectMessage();
-            bytes = toAMQMessageObjectType(buffer, isCompressed);
             break;
          case org.apache.activemq.artemis.api.core.Message.STREAM_TYPE:
             amqMsg = new ActiveMQStreamMessage();
-            bytes = toAMQMessageStreamType(buffer, isCompressed);
             break;
          case org.apache.activemq.artemis.api.core.Message.TEXT_TYPE:
             amqMsg = new ActiveMQTextMessage();
-            bytes = toAMQMessageTextType(buffer, isCompressed);
             break;
          case org.apache.activemq.artemis.api.core.Message.DEFAULT_TYPE:
             amqMsg = new ActiveMQMessage();
-            bytes = toAMQMessageDefaultType(buffer, isCompressed);
             break;
          default:
             throw new IllegalStateException("Unknown message type: " + coreMessage.getType());
       }
 
+      // the body is the same for every OpenWire consumer of a message: it's converted once
+      final boolean shareBody = isSharedConversion(reference, coreMessage);
+      byte[] bytes = shareBody ? (byte[]) MessageConversionCache.get(reference, OpenWireProtocolManagerFactory.OPENWIRE_PROTOCOL_NAME) : null;
+      if (bytes == null) {
+         bytes = toAMQMessageBody(coreMessage, isCompressed);
+         if (shareBody && bytes != null) {
+            MessageConversionCache.put(reference, OpenWireProtocolManagerFactory.OPENWIRE_PROTOCOL_NAME, bytes, bytes.length);
+         }
+      }
+
       final String type = coreMessage.getStringProperty(JMS_TYPE_PROPERTY);
       if (type != null) {
          amqMsg.setJMSType(type);
@@ -704,6 +707,35 @@ public final class OpenWireMessageConverter {
       return amqMsg;
    }
 
+   /**
+    * @return whether {@code coreMessage} is the message of {@code reference} or its conversion shared by the core
+    * consumers, i.e. whether its own conversions can be shared as well
+    */
+   private static boolean isSharedConversion(MessageReference reference, ICoreMessage coreMessage) {
+      final org.apache.activemq.artemis.api.core.Message message = reference.getMessage();
+      return message == coreMessage || message.getCachedConversion(ActiveMQClient.DEFAULT_CORE_PROTOCOL) == coreMessage;
+   }
+
+   private static byte[] toAMQMessageBody(final ICoreMessage coreMessage, final boolean isCompressed) throws IOException {
+      final ActiveMQBuffer buffer = coreMessage.getDataBuffer();
+      buffer.resetReaderIndex();
+
+      switch (coreMessage.getType()) {
+         case org.apache.activemq.artemis.api.core.Message.BYTES_TYPE:
+            return toAMQMessageBytesType(buffer, isCompressed);
+         case org.apache.activemq.artemis.api.core.Message.MAP_TYPE:
+            return toAMQMessageMapType(buffer, isCompressed);
+         case org.apache.activemq.artemis.api.core.Message.OBJECT_TYPE:
+            return toAMQMessageObjectType(buffer, isCompressed);
+         case org.apache.activemq.artemis.api.core.Message.STREAM_TYPE:
+            return toAMQMessageStreamType(buffer, isCompressed);
+         case org.apache.activemq.artemis.api.core.Message.TEXT_TYPE:
+            return toAMQMessageTextType(buffer, isCompressed);
+         default:
+            return toAMQMessageDefaultType(buffer, isCompressed);
+      }
+   }
+
    private static byte[] toAMQMessageTextType(final ActiveMQBuffer buffer,
                                               final boolean isCompressed) throws IOException {
       byte[] bytes = null;
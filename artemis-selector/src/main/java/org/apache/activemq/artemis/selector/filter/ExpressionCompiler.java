@@ -0,0 +1,345 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.selector.filter;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+
+/**
+ * It turns the expression trees built by the selector parser into equivalent trees that are cheaper to evaluate:
+ * <ul>
+ * <li>sub-expressions without properties are folded into constants</li>
+ * <li>{@code AND} and {@code OR} with a constant operand are short-circuited</li>
+ * <li>comparisons between a property and a constant are specialised on the type of the constant, reading the
+ * property with {@link Filterable#getRawProperty(SimpleString)} and comparing numbers and strings without boxing nor
+ * conversions if the property has the expected type</li>
+ * </ul>
+ * Anything else, eg {@code LIKE}, {@code IN} or {@code XPATH}, is kept as it is.
+ */
+public final class ExpressionCompiler {
+
+   private ExpressionCompiler() {
+   }
+
+   /**
+    * @return an expression that evaluates as {@code expression} does
+    */
+   public static BooleanExpression compile(BooleanExpression expression) {
+      final Expression compiled = compileExpression(expression);
+      return compiled instanceof BooleanExpression ? (BooleanExpression) compiled : expression;
+   }
+
+   /**
+    * @return {@code false} if {@code expression} can't be evaluated concurrently, ie it contains an {@code XPATH}
+    */
+   public static boolean isThreadSafe(Expression expression) {
+      if (expression instanceof XPathExpression) {
+         return false;
+      }
+      if (expression instanceof BinaryExpression) {
+         final BinaryExpression binary = (BinaryExpression) expression;
+         return isThreadSafe(binary.getLeft()) && isThreadSafe(binary.getRight());
+      }
+      if (expression instanceof UnaryExpression) {
+         return isThreadSafe(((UnaryExpression) expression).getRight());
+      }
+      return true;
+   }
+
+   private static Expression compileExpression(Expression expression) {
+      if (expression instanceof LogicExpression) {
+         return compileLogic((LogicExpression) expression);
+      }
+      if (expression instanceof ComparisonExpression) {
+         return compileComparison((ComparisonExpression) expression);
+      }
+      if (expression instanceof BinaryExpression) {
+         final BinaryExpression binary = (BinaryExpression) expression;
+         if (compileExpression(binary.getLeft()) instanceof ConstantExpression && compileExpression(binary.getRight()) instanceof ConstantExpression) {
+            return fold(expression);
+         }
+         return expression;
+      }
+      if (expression instanceof UnaryExpression) {
+         final UnaryExpression unary = (UnaryExpression) expression;
+         final Expression right = compileExpression(unary.getRight());
+         if (right instanceof ConstantExpression) {
+            return fold(expression);
+         }
+         if ("NOT".equals(unary.getExpressionSymbol()) && right instanceof BooleanExpression) {
+            return new Not((BooleanExpression) right);
+         }
+         return expression;
+      }
+      return expression;
+   }
+
+   private static Expression compileLogic(LogicExpression logic) {
+      final Expression left = compileExpression(logic.getLeft());
+      final Expression right = compileExpression(logic.getRight());
+      if (!(left instanceof BooleanExpression) || !(right instanceof BooleanExpression)) {
+         return logic;
+      }
+      switch (logic.getExpressionSymbol()) {
+         case "AND":
+            if (left instanceof ConstantExpression) {
+               final Object value = ((ConstantExpression) left).getValue();
+               // NULL AND x is NULL, FALSE AND x is FALSE, TRUE AND x is x
+               return value == Boolean.TRUE ? right : left;
+            }
+            return new And((BooleanExpression) left, (BooleanExpression) right);
+         case "OR":
+            if (left instanceof ConstantExpression) {
+               // TRUE OR x is TRUE, NULL OR x and FALSE OR x are x
+               return ((ConstantExpression) left).getValue() == Boolean.TRUE ? left : right;
+            }
+            return new Or((BooleanExpression) left, (BooleanExpression) right);
+         default:
+            return logic;
+      }
+   }
+
+   private static Expression compileComparison(ComparisonExpression comparison) {
+      final Expression left = compileExpression(comparison.getLeft());
+      final Expression right = compileExpression(comparison.getRight());
+      if (left instanceof ConstantExpression && right instanceof ConstantExpression) {
+         return fold(comparison);
+      }
+      if (left instanceof PropertyExpression && right instanceof ConstantExpression) {
+         return new PropertyComparison(comparison, (PropertyExpression) left, ((ConstantExpression) right).getValue(), false);
+      }
+      if (left instanceof ConstantExpression && right instanceof PropertyExpression) {
+         return new PropertyComparison(comparison, (PropertyExpression) right, ((ConstantExpression) left).getValue(), true);
+      }
+      return comparison;
+   }
+
+   /**
+    * {@code expression} doesn't depend on any property: it is evaluated once and for all.
+    */
+   private static Expression fold(Expression expression) {
+      final Object value;
+      try {
+         value = expression.evaluate(null);
+      } catch (Exception e) {
+         // let it fail on evaluation, as it would have
+         return expression;
+      }
+      if (expression instanceof BooleanExpression) {
+         if (value == null) {
+            return ConstantExpression.NULL;
+         }
+         if (value == Boolean.TRUE) {
+            return ConstantExpression.TRUE;
+         }
+         if (value == Boolean.FALSE) {
+            return ConstantExpression.FALSE;
+         }
+         return expression;
+      }
+      return new ConstantExpression(value);
+   }
+
+   private static boolean isIntegral(Object value) {
+      return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+   }
+
+   private abstract static class CompiledBooleanExpression implements BooleanExpression {
+
+      @Override
+      public boolean matches(Filterable message) throws FilterException {
+         return evaluate(message) == Boolean.TRUE;
+      }
+   }
+
+   private static final class And extends CompiledBooleanExpression {
+
+      private final BooleanExpression left;
+      private final BooleanExpression right;
+
+      And(BooleanExpression left, BooleanExpression right) {
+         this.left = left;
+         this.right = right;
+      }
+
+      @Override
+      public Object evaluate(Filterable message) throws FilterException {
+         final Boolean lv = (Boolean) left.evaluate(message);
+         if (lv == null) {
+            return null;
+         }
+         if (!lv) {
+            return Boolean.FALSE;
+         }
+         return right.evaluate(message);
+      }
+
+      @Override
+      public boolean matches(Filterable message) throws FilterException {
+         return left.matches(message) && right.matches(message);
+      }
+
+      @Override
+      public String toString() {
+         return "(" + left + " AND " + right + ")";
+      }
+   }
+
+   private static final class Or extends CompiledBooleanExpression {
+
+      private final BooleanExpression left;
+      private final BooleanExpression right;
+
+      Or(BooleanExpression left, BooleanExpression right) {
+         this.left = left;
+         this.right = right;
+      }
+
+      @Override
+      public Object evaluate(Filterable message) throws FilterException {
+         final Boolean lv = (Boolean) left.evaluate(message);
+         if (lv != null && lv) {
+            return Boolean.TRUE;
+         }
+         return right.evaluate(message);
+      }
+
+      @Override
+      public boolean matches(Filterable message) throws FilterException {
+         return left.matches(message) || right.matches(message);
+      }
+
+      @Override
+      public String toString() {
+         return "(" + left + " OR " + right + ")";
+      }
+   }
+
+   private static final class Not extends CompiledBooleanExpression {
+
+      private final BooleanExpression right;
+
+      Not(BooleanExpression right) {
+         this.right = right;
+      }
+
+      @Override
+      public Object evaluate(Filterable message) throws FilterException {
+         final Boolean rv = (Boolean) right.evaluate(message);
+         if (rv == null) {
+            return null;
+         }
+         return rv ? Boolean.FALSE : Boolean.TRUE;
+      }
+
+      @Override
+      public boolean matches(Filterable message) throws FilterException {
+         return Boolean.FALSE.equals(right.evaluate(message));
+      }
+
+      @Override
+      public String toString() {
+         return "(NOT " + right + ")";
+      }
+   }
+
+   /**
+    * A comparison between a property and a constant. The types the parser can produce for the constant are compared
+    * directly with properties of the same or of a wider type, any other one is compared as the original comparison
+    * would do.
+    */
+   private static final class PropertyComparison extends CompiledBooleanExpression {
+
+      private final ComparisonExpression original;
+      private final SimpleString name;
+      private final Object constant;
+      private final SimpleString stringConstant;
+      private final boolean constantOnLeft;
+      private final boolean equal;
+
+      PropertyComparison(ComparisonExpression original, PropertyExpression property, Object constant, boolean constantOnLeft) {
+         this.original = original;
+         this.name = SimpleString.toSimpleString(property.getName());
+         this.constant = constant;
+         this.stringConstant = constant instanceof String ? SimpleString.toSimpleString((String) constant) : null;
+         this.constantOnLeft = constantOnLeft;
+         this.equal = "=".equals(original.getExpressionSymbol());
+      }
+
+      @Override
+      public Object evaluate(Filterable message) throws FilterException {
+         final Object value = message.getRawProperty(name);
+         if (constant == null) {
+            // IS NULL
+            return value == null ? Boolean.TRUE : Boolean.FALSE;
+         }
+         if (value == null) {
+            return equal ? Boolean.FALSE : null;
+         }
+         if (constantOnLeft && (value instanceof Byte || value instanceof Short)) {
+            // the original comparison doesn't widen the right operand to these
+            return compare(value);
+         }
+         int result;
+         if (isIntegral(constant)) {
+            if (isIntegral(value)) {
+               result = Long.compare(((Number) value).longValue(), ((Number) constant).longValue());
+            } else if (value instanceof Double) {
+               result = Double.compare((Double) value, ((Number) constant).doubleValue());
+            } else {
+               return compare(value);
+            }
+         } else if (constant instanceof Double) {
+            if (isIntegral(value) || value instanceof Double || value instanceof Float) {
+               result = Double.compare(((Number) value).doubleValue(), (Double) constant);
+            } else {
+               return compare(value);
+            }
+         } else if (stringConstant != null && equal && value instanceof SimpleString) {
+            return stringConstant.equals(value) ? Boolean.TRUE : Boolean.FALSE;
+         } else if (constant instanceof Boolean && equal && value instanceof Boolean) {
+            return constant.equals(value) ? Boolean.TRUE : Boolean.FALSE;
+         } else {
+            return compare(value);
+         }
+         if (constantOnLeft) {
+            result = -result;
+         }
+         return original.asBoolean(result) ? Boolean.TRUE : Boolean.FALSE;
+      }
+
+      private Object compare(Object value) {
+         final Object propertyValue = value instanceof SimpleString ? value.toString() : value;
+         final Object lv = constantOnLeft ? constant : propertyValue;
+         final Object rv = constantOnLeft ? propertyValue : constant;
+         if (equal) {
+            if (lv.equals(rv)) {
+               return Boolean.TRUE;
+            }
+            if (lv instanceof Comparable && rv instanceof Comparable) {
+               return original.compare((Comparable) lv, (Comparable) rv);
+            }
+            return Boolean.FALSE;
+         }
+         return original.compare((Comparable) lv, (Comparable) rv);
+      }
+
+      @Override
+      public String toString() {
+         return original.toString();
+      }
+   }
+}
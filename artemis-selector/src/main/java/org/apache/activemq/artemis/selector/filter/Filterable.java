@@ -45,6 +45,18 @@ public interface Filterable {
     */
    Object getProperty(SimpleString name);
 
+   /**
+    * Extracts the named message property as it's stored, eg without turning a {@link SimpleString} into a
+    * {@link String}: it's used by the expressions compiled by {@link ExpressionCompiler}, that know how to deal with
+    * it.
+    *
+    * @param name
+    * @return
+    */
+   default Object getRawProperty(SimpleString name) {
+      return getProperty(name);
+   }
+
    /**
     * Used by the NoLocal filter.
     *
@@ -20,6 +20,7 @@ import java.util.HashMap;
 
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.selector.filter.BooleanExpression;
+import org.apache.activemq.artemis.selector.filter.ExpressionCompiler;
 import org.apache.activemq.artemis.selector.filter.FilterException;
 import org.apache.activemq.artemis.selector.filter.Filterable;
 import org.apache.activemq.artemis.selector.impl.SelectorParser;
@@ -109,6 +110,15 @@ public class SelectorTest {
          return properties.get(stringName);
       }
 
+      @Override
+      public Object getRawProperty(SimpleString name) {
+         Object value = getProperty(name);
+         if (value instanceof String) {
+            return SimpleString.toSimpleString((String) value);
+         }
+         return value;
+      }
+
       public Object getDestination() {
          return destination;
       }
@@ -429,6 +439,42 @@ public class SelectorTest {
       assertSelector(message, "4E-10 < 5E-10", true);
    }
 
+   @Test
+   public void testCompiledSelectors() throws Exception {
+      MockMessage message = createMessage();
+
+      // constants on the left of the comparison
+      assertSelector(message, "100 < intProp", true);
+      assertSelector(message, "124 <= longProp", false);
+      assertSelector(message, "123.0 = longProp", true);
+      assertSelector(message, "byteProp = 123.0", true);
+      assertSelector(message, "123 = shortProp", false);
+      assertSelector(message, "'James' = name", true);
+      assertSelector(message, "'James' <> name", false);
+
+      // folded constants
+      assertSelector(message, "intProp = 100 + 23", true);
+      assertSelector(message, "2 * 3 > 5", true);
+      assertSelector(message, "2 * 3 > 5 AND intProp < 100", false);
+      assertSelector(message, "1 = 2 OR doubleProp = 123", true);
+      assertSelector(message, "NOT (1 = 2) AND name = 'James'", true);
+
+      // three valued logic with missing properties
+      assertSelector(message, "NOT (unknown > 1)", false);
+      assertSelector(message, "NOT (unknown > 1 AND intProp = 123)", false);
+      assertSelector(message, "NOT (unknown > 1 OR intProp = 124)", true);
+      assertSelector(message, "unknown > 1 OR intProp = 123", true);
+      assertSelector(message, "NOT (unknown = 'x')", true);
+      assertSelector(message, "NOT (1 > unknown)", false);
+
+      // the widest type wins
+      assertSelector(message, "floatProp = 123", true);
+      assertSelector(message, "longProp = 123.0", true);
+      assertSelector(message, "doubleProp > 122", true);
+      assertSelector(message, "trueProp = TRUE", true);
+      assertSelector(message, "falseProp = TRUE", false);
+   }
+
    @Test
    public void testStringQuoteParsing() throws Exception {
       MockMessage message = createMessage();
@@ -522,6 +568,8 @@ public class SelectorTest {
       Assert.assertTrue("Created a valid selector", selector != null);
       boolean value = selector.matches(message);
       Assert.assertEquals("Selector for: " + text, expected, value);
+      boolean compiledValue = ExpressionCompiler.compile(selector).matches(message);
+      Assert.assertEquals("Compiled selector for: " + text, expected, compiledValue);
    }
 
    protected MockMessage createMessage(String subject) {
@@ -571,6 +571,17 @@ public interface Configuration {
     */
    Configuration setPersistIDCache(boolean persist);
 
+   /**
+    * Returns whether the duplicate ID caches are lock free. <br>
+    * Default value is {@link org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration#DEFAULT_LOCK_FREE_ID_CACHE}.
+    */
+   boolean isLockFreeIDCache();
+
+   /**
+    * Sets whether the duplicate ID caches are lock free.
+    */
+   Configuration setLockFreeIDCache(boolean lockFree);
+
    // Journal related attributes ------------------------------------------------------------
 
    /**
@@ -614,6 +625,18 @@ public interface Configuration {
     */
    Configuration setReadWholePage(boolean read);
 
+   /**
+    * Returns whether the page files are memory mapped to read their messages, instead of copying them
+    * into file buffers. <br>
+    * Default value is {@link org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration#DEFAULT_READ_MAPPED_PAGE}.
+    */
+   boolean isReadMappedPage();
+
+   /**
+    * Sets whether the page files are memory mapped to read their messages.
+    */
+   Configuration setReadMappedPage(boolean read);
+
    /**
     * Returns the file system directory used to store journal log. <br>
     * Default value is {@link org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration#DEFAULT_JOURNAL_DIR}.
@@ -724,11 +747,36 @@ public interface Configuration {
    */
    Configuration setJournalFileOpenTimeout(int journalFileOpenTimeout);
 
+   /**
+    * Returns the number of independent lanes, each one with its own files and append thread, the message journal
+    * is striped on. <br>
+    * Default value is {@link org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration#DEFAULT_JOURNAL_LANES}.
+    */
+   int getJournalLanes();
+
+   /**
+    * Sets the number of lanes the message journal is striped on.
+    */
+   Configuration setJournalLanes(int journalLanes);
+
    /**
     * Sets the percentage of live data before compacting the journal.
     */
    Configuration setJournalCompactPercentage(int percentage);
 
+   /**
+    * Returns the maximum number of files compacting the message journal rewrites at once: when greater than 0 the
+    * oldest files are compacted incrementally and the journal is locked only while they are swapped, 0 compacts the
+    * whole journal. <br>
+    * Default value is {@link org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration#DEFAULT_JOURNAL_COMPACT_MAX_FILES}.
+    */
+   int getJournalCompactMaxFiles();
+
+   /**
+    * Sets the maximum number of files compacting the message journal rewrites at once.
+    */
+   Configuration setJournalCompactMaxFiles(int maxFiles);
+
    /**
     * Returns the number of journal files to pre-create. <br>
     * Default value is {@link org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration#DEFAULT_JOURNAL_MIN_FILES}.
@@ -811,6 +859,19 @@ public interface Configuration {
     */
    Configuration setJournalBufferTimeout_NIO(int journalBufferTimeout);
 
+   /**
+    * Returns whether the timeout used to flush the journal buffers is continuously tuned on the sync latency and on
+    * the rate of the sync requests, starting from the configured one.
+    * <br>
+    * Default value is {@link org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration#DEFAULT_JOURNAL_BUFFER_TIMEOUT_ADAPTIVE}.
+    */
+   boolean isJournalBufferTimeoutAdaptive();
+
+   /**
+    * Sets whether the timeout used to flush the journal buffers is adaptive.
+    */
+   Configuration setJournalBufferTimeoutAdaptive(boolean adaptive);
+
    /**
     * Returns the buffer size (in bytes) for NIO.
     * <br>
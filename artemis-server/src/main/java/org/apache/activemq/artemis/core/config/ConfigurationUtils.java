@@ -137,6 +137,31 @@ public final class ConfigurationUtils {
    public static void validateConfiguration(Configuration configuration) {
       // Warn if connection-ttl-override/connection-ttl == check-period
       compareTTLWithCheckPeriod(configuration);
+
+      // Replication can only send a journal made of a single lane
+      if (configuration.getJournalLanes() > 1 && isReplicated(configuration.getHAPolicyConfiguration())) {
+         throw ActiveMQMessageBundle.BUNDLE.journalLanesNotSupportedWithReplication(configuration.getJournalLanes());
+      }
+   }
+
+   /**
+    * @return {@code true} if the server is a replicated live or a replica, on its own or colocated
+    */
+   public static boolean isReplicated(HAPolicyConfiguration conf) {
+      if (conf == null) {
+         return false;
+      }
+      switch (conf.getType()) {
+         case REPLICATED:
+         case REPLICA:
+            return true;
+         case COLOCATED:
+            // a colocated server without a live configuration defaults to replication, see getHAPolicy
+            HAPolicyConfiguration liveConf = ((ColocatedPolicyConfiguration) conf).getLiveConfig();
+            return liveConf == null || isReplicated(liveConf);
+         default:
+            return false;
+      }
    }
 
    public static List<TransportConfiguration> parseAcceptorURI(String name, String uri) {
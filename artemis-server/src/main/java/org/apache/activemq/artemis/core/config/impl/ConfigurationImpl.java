@@ -148,6 +148,8 @@ public class ConfigurationImpl implements Configuration, Serializable {
 
    private boolean persistIDCache = ActiveMQDefaultConfiguration.isDefaultPersistIdCache();
 
+   private boolean lockFreeIDCache = ActiveMQDefaultConfiguration.isDefaultLockFreeIdCache();
+
    private List<String> incomingInterceptorClassNames = new ArrayList<>();
 
    private List<String> outgoingInterceptorClassNames = new ArrayList<>();
@@ -184,6 +186,8 @@ public class ConfigurationImpl implements Configuration, Serializable {
 
    private boolean readWholePage = ActiveMQDefaultConfiguration.isDefaultReadWholePage();
 
+   private boolean readMappedPage = ActiveMQDefaultConfiguration.isDefaultReadMappedPage();
+
    protected String largeMessagesDirectory = ActiveMQDefaultConfiguration.getDefaultLargeMessagesDir();
 
    protected String bindingsDirectory = ActiveMQDefaultConfiguration.getDefaultBindingsDirectory();
@@ -208,6 +212,10 @@ public class ConfigurationImpl implements Configuration, Serializable {
 
    protected int journalFileOpenTimeout = ActiveMQDefaultConfiguration.getDefaultJournalFileOpenTimeout();
 
+   protected int journalLanes = ActiveMQDefaultConfiguration.getDefaultJournalLanes();
+
+   protected int journalCompactMaxFiles = ActiveMQDefaultConfiguration.getDefaultJournalCompactMaxFiles();
+
    protected int journalFileSize = ActiveMQDefaultConfiguration.getDefaultJournalFileSize();
 
    protected int journalPoolFiles = ActiveMQDefaultConfiguration.getDefaultJournalPoolFiles();
@@ -228,6 +236,8 @@ public class ConfigurationImpl implements Configuration, Serializable {
 
    protected int journalBufferTimeout_NIO = ActiveMQDefaultConfiguration.getDefaultJournalBufferTimeoutNio();
 
+   protected boolean journalBufferTimeoutAdaptive = ActiveMQDefaultConfiguration.isDefaultJournalBufferTimeoutAdaptive();
+
    protected int journalBufferSize_NIO = ActiveMQDefaultConfiguration.getDefaultJournalBufferSizeNio();
 
    protected boolean logJournalWriteRate = ActiveMQDefaultConfiguration.isDefaultJournalLogWriteRate();
@@ -824,6 +834,17 @@ public class ConfigurationImpl implements Configuration, Serializable {
       return this;
    }
 
+   @Override
+   public boolean isLockFreeIDCache() {
+      return lockFreeIDCache;
+   }
+
+   @Override
+   public ConfigurationImpl setLockFreeIDCache(final boolean lockFree) {
+      lockFreeIDCache = lockFree;
+      return this;
+   }
+
    @Override
    public File getBindingsLocation() {
       return subFolder(getBindingsDirectory());
@@ -862,6 +883,17 @@ public class ConfigurationImpl implements Configuration, Serializable {
       return this;
    }
 
+   @Override
+   public boolean isReadMappedPage() {
+      return readMappedPage;
+   }
+
+   @Override
+   public ConfigurationImpl setReadMappedPage(boolean read) {
+      readMappedPage = read;
+      return this;
+   }
+
    @Override
    public File getJournalLocation() {
       return subFolder(getJournalDirectory());
@@ -1286,12 +1318,34 @@ public class ConfigurationImpl implements Configuration, Serializable {
       return this;
    }
 
+   @Override
+   public int getJournalLanes() {
+      return journalLanes;
+   }
+
+   @Override
+   public Configuration setJournalLanes(int journalLanes) {
+      this.journalLanes = journalLanes;
+      return this;
+   }
+
    @Override
    public ConfigurationImpl setJournalCompactPercentage(final int percentage) {
       journalCompactPercentage = percentage;
       return this;
    }
 
+   @Override
+   public int getJournalCompactMaxFiles() {
+      return journalCompactMaxFiles;
+   }
+
+   @Override
+   public ConfigurationImpl setJournalCompactMaxFiles(final int maxFiles) {
+      journalCompactMaxFiles = maxFiles;
+      return this;
+   }
+
    @Override
    public long getServerDumpInterval() {
       return serverDumpInterval;
@@ -1391,6 +1445,17 @@ public class ConfigurationImpl implements Configuration, Serializable {
       return this;
    }
 
+   @Override
+   public boolean isJournalBufferTimeoutAdaptive() {
+      return journalBufferTimeoutAdaptive;
+   }
+
+   @Override
+   public ConfigurationImpl setJournalBufferTimeoutAdaptive(final boolean adaptive) {
+      journalBufferTimeoutAdaptive = adaptive;
+      return this;
+   }
+
    @Override
    public int getJournalBufferSize_NIO() {
       return journalBufferSize_NIO;
@@ -1936,6 +2001,7 @@ public class ConfigurationImpl implements Configuration, Serializable {
       result = prime * result + ((pagingDirectory == null) ? 0 : pagingDirectory.hashCode());
       result = prime * result + (persistDeliveryCountBeforeDelivery ? 1231 : 1237);
       result = prime * result + (persistIDCache ? 1231 : 1237);
+      result = prime * result + (lockFreeIDCache ? 1231 : 1237);
       result = prime * result + (persistenceEnabled ? 1231 : 1237);
 //      result = prime * result + ((queueConfigurations == null) ? 0 : queueConfigurations.hashCode());
       result = prime * result + scheduledThreadPoolMaxSize;
@@ -2149,6 +2215,8 @@ public class ConfigurationImpl implements Configuration, Serializable {
          return false;
       if (persistIDCache != other.persistIDCache)
          return false;
+      if (lockFreeIDCache != other.lockFreeIDCache)
+         return false;
       if (persistenceEnabled != other.persistenceEnabled)
          return false;
 //      if (queueConfigurations == null) {
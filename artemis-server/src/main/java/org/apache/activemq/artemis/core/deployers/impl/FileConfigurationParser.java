@@ -202,6 +202,8 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
    private static final String PAGE_MAX_CACHE_SIZE_NODE_NAME = "page-max-cache-size";
 
+   private static final String PAGE_MAX_CACHE_BYTES_NODE_NAME = "page-max-cache-bytes";
+
    private static final String MESSAGE_COUNTER_HISTORY_DAY_LIMIT_NODE_NAME = "message-counter-history-day-limit";
 
    private static final String LVQ_NODE_NAME = "last-value-queue";
@@ -296,6 +298,8 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
    private static final String ENABLE_METRICS = "enable-metrics";
 
+   private static final String ENABLE_MESSAGE_ID_INDEX = "enable-message-id-index";
+
 
    // Attributes ----------------------------------------------------
 
@@ -388,6 +392,8 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
       config.setPersistIDCache(getBoolean(e, "persist-id-cache", config.isPersistIDCache()));
 
+      config.setLockFreeIDCache(getBoolean(e, "lock-free-id-cache", config.isLockFreeIDCache()));
+
       config.setManagementAddress(new SimpleString(getString(e, "management-address", config.getManagementAddress().toString(), Validators.NOT_NULL_OR_EMPTY)));
 
       config.setManagementNotificationAddress(new SimpleString(getString(e, "management-notification-address", config.getManagementNotificationAddress().toString(), Validators.NOT_NULL_OR_EMPTY)));
@@ -600,6 +606,8 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
       config.setReadWholePage(getBoolean(e, "read-whole-page", config.isReadWholePage()));
 
+      config.setReadMappedPage(getBoolean(e, "read-mapped-page", config.isReadMappedPage()));
+
       config.setPagingDirectory(getString(e, "paging-directory", config.getPagingDirectory(), Validators.NOT_NULL_OR_EMPTY));
 
       config.setCreateJournalDir(getBoolean(e, "create-journal-dir", config.isCreateJournalDir()));
@@ -633,6 +641,8 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
       int journalBufferTimeout = getInteger(e, "journal-buffer-timeout", config.getJournalType() == JournalType.ASYNCIO ? ArtemisConstants.DEFAULT_JOURNAL_BUFFER_TIMEOUT_AIO : ArtemisConstants.DEFAULT_JOURNAL_BUFFER_TIMEOUT_NIO, Validators.GE_ZERO);
 
+      config.setJournalBufferTimeoutAdaptive(getBoolean(e, "journal-buffer-timeout-adaptive", config.isJournalBufferTimeoutAdaptive()));
+
       int journalBufferSize = getTextBytesAsIntBytes(e, "journal-buffer-size", config.getJournalType() == JournalType.ASYNCIO ? ArtemisConstants.DEFAULT_JOURNAL_BUFFER_SIZE_AIO : ArtemisConstants.DEFAULT_JOURNAL_BUFFER_SIZE_NIO, Validators.POSITIVE_INT);
 
       int journalMaxIO = getInteger(e, "journal-max-io", config.getJournalType() == JournalType.ASYNCIO ? ActiveMQDefaultConfiguration.getDefaultJournalMaxIoAio() : ActiveMQDefaultConfiguration.getDefaultJournalMaxIoNio(), Validators.GT_ZERO);
@@ -651,6 +661,8 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
       config.setJournalFileOpenTimeout(getInteger(e, "journal-file-open-timeout", ActiveMQDefaultConfiguration.getDefaultJournalFileOpenTimeout(), Validators.GT_ZERO));
 
+      config.setJournalLanes(getInteger(e, "journal-lanes", config.getJournalLanes(), Validators.GT_ZERO));
+
       config.setJournalMinFiles(getInteger(e, "journal-min-files", config.getJournalMinFiles(), Validators.GT_ZERO));
 
       config.setJournalPoolFiles(getInteger(e, "journal-pool-files", config.getJournalPoolFiles(), Validators.MINUS_ONE_OR_GT_ZERO));
@@ -659,6 +671,8 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
       config.setJournalCompactPercentage(getInteger(e, "journal-compact-percentage", config.getJournalCompactPercentage(), Validators.PERCENTAGE));
 
+      config.setJournalCompactMaxFiles(getInteger(e, "journal-compact-max-files", config.getJournalCompactMaxFiles(), Validators.GE_ZERO));
+
       config.setLogJournalWriteRate(getBoolean(e, "log-journal-write-rate", ActiveMQDefaultConfiguration.isDefaultJournalLogWriteRate()));
 
       if (e.hasAttribute("wild-card-routing-enabled")) {
@@ -1134,6 +1148,10 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
             addressSettings.setPageSizeBytes((int) pageSizeLong);
          } else if (PAGE_MAX_CACHE_SIZE_NODE_NAME.equalsIgnoreCase(name)) {
             addressSettings.setPageCacheMaxSize(XMLUtil.parseInt(child));
+         } else if (PAGE_MAX_CACHE_BYTES_NODE_NAME.equalsIgnoreCase(name)) {
+            long pageMaxCacheBytes = ByteUtil.convertTextBytes(getTrimmedTextContent(child));
+            Validators.MINUS_ONE_OR_GE_ZERO.validate(PAGE_MAX_CACHE_BYTES_NODE_NAME, pageMaxCacheBytes);
+            addressSettings.setPageCacheMaxBytes(pageMaxCacheBytes);
          } else if (MESSAGE_COUNTER_HISTORY_DAY_LIMIT_NODE_NAME.equalsIgnoreCase(name)) {
             addressSettings.setMessageCounterHistoryDayLimit(XMLUtil.parseInt(child));
          } else if (ADDRESS_FULL_MESSAGE_POLICY_NODE_NAME.equalsIgnoreCase(name)) {
@@ -1260,6 +1278,8 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
             addressSettings.setExpiryQueueSuffix(new SimpleString(getTrimmedTextContent(child)));
          } else if (ENABLE_METRICS.equalsIgnoreCase(name)) {
             addressSettings.setEnableMetrics(XMLUtil.parseBoolean(child));
+         } else if (ENABLE_MESSAGE_ID_INDEX.equalsIgnoreCase(name)) {
+            addressSettings.setEnableMessageIdIndex(XMLUtil.parseBoolean(child));
          }
       }
       return setting;
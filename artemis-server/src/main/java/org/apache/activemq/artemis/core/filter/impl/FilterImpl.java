@@ -26,6 +26,7 @@ import org.apache.activemq.artemis.core.server.ActiveMQMessageBundle;
 import org.apache.activemq.artemis.core.server.ActiveMQServerLogger;
 import org.apache.activemq.artemis.core.server.federation.address.FederatedAddress;
 import org.apache.activemq.artemis.selector.filter.BooleanExpression;
+import org.apache.activemq.artemis.selector.filter.ExpressionCompiler;
 import org.apache.activemq.artemis.selector.filter.FilterException;
 import org.apache.activemq.artemis.selector.filter.Filterable;
 import org.apache.activemq.artemis.selector.impl.SelectorParser;
@@ -59,6 +60,8 @@ public class FilterImpl implements Filter {
 
    private final BooleanExpression booleanExpression;
 
+   private final boolean threadSafe;
+
    // Static ---------------------------------------------------------
 
    /**
@@ -95,7 +98,8 @@ public class FilterImpl implements Filter {
 
    private FilterImpl(final SimpleString str, final BooleanExpression expression) {
       sfilterString = str;
-      this.booleanExpression = expression;
+      this.booleanExpression = ExpressionCompiler.compile(expression);
+      this.threadSafe = ExpressionCompiler.isThreadSafe(expression);
    }
 
    // Filter implementation ---------------------------------------------------------------------
@@ -117,7 +121,16 @@ public class FilterImpl implements Filter {
 
 
    @Override
-   public synchronized boolean match(final Filterable filterable) {
+   public boolean match(final Filterable filterable) {
+      if (threadSafe) {
+         return doMatch(filterable);
+      }
+      synchronized (this) {
+         return doMatch(filterable);
+      }
+   }
+
+   private boolean doMatch(final Filterable filterable) {
       try {
          return booleanExpression.matches(filterable);
       } catch (Exception e) {
@@ -230,6 +243,17 @@ public class FilterImpl implements Filter {
 
       @Override
       public Object getProperty(SimpleString id) {
+         Object result = getRawProperty(id);
+         if (result != null) {
+            if (result.getClass() == SimpleString.class) {
+               result = result.toString();
+            }
+         }
+         return result;
+      }
+
+      @Override
+      public Object getRawProperty(SimpleString id) {
          Object result = null;
          if (id.startsWith(FilterConstants.ACTIVEMQ_PREFIX)) {
             result = getHeaderFieldValue(message, id);
@@ -241,11 +265,6 @@ public class FilterImpl implements Filter {
          if (result == null) {
             result = message.getObjectPropertyForFilter(id);
          }
-         if (result != null) {
-            if (result.getClass() == SimpleString.class) {
-               result = result.toString();
-            }
-         }
          return result;
       }
 
@@ -24,6 +24,7 @@ import java.util.TreeSet;
 
 import org.apache.activemq.artemis.api.core.client.ClientSession;
 import org.apache.activemq.artemis.core.management.impl.view.predicate.ConnectionFilterPredicate;
+import org.apache.activemq.artemis.core.remoting.impl.netty.NettyConnection;
 import org.apache.activemq.artemis.core.server.ActiveMQServer;
 import org.apache.activemq.artemis.core.server.ServerSession;
 import org.apache.activemq.artemis.spi.core.protocol.RemotingConnection;
@@ -70,7 +71,34 @@ public class ConnectionView extends ActiveMQAbstractView<RemotingConnection> {
          .add("protocol", toString(connection.getProtocolName()))
          .add("clientID", toString(connection.getClientID() != null ? connection.getClientID() : jmsSessionClientID))
          .add("localAddress", toString(connection.getTransportLocalAddress()))
-         .add("sessionCount", sessions.size());
+         .add("sessionCount", sessions.size())
+         .add("flushCount", getFlushCount(connection))
+         .add("bytesPerFlush", getBytesPerFlush(connection));
+   }
+
+   /**
+    * @return the flushes performed on the connection or -1 if they are not tracked, see {@link NettyConnection#getFlushCount()}
+    */
+   private static long getFlushCount(RemotingConnection connection) {
+      if (connection.getTransportConnection() instanceof NettyConnection) {
+         return ((NettyConnection) connection.getTransportConnection()).getFlushCount();
+      }
+      return -1;
+   }
+
+   /**
+    * @return the average bytes written by each flush performed on the connection or -1 if they are not tracked
+    */
+   private static long getBytesPerFlush(RemotingConnection connection) {
+      if (connection.getTransportConnection() instanceof NettyConnection) {
+         final NettyConnection nettyConnection = (NettyConnection) connection.getTransportConnection();
+         final long flushCount = nettyConnection.getFlushCount();
+         if (flushCount < 0) {
+            return -1;
+         }
+         return flushCount == 0 ? 0 : nettyConnection.getFlushedBytes() / flushCount;
+      }
+      return -1;
    }
 
    @Override
@@ -100,6 +128,10 @@ public class ConnectionView extends ActiveMQAbstractView<RemotingConnection> {
             return connection.getTransportLocalAddress();
          case "sessionCount":
             return server.getSessions(connection.getID().toString()).size();
+         case "flushCount":
+            return getFlushCount(connection);
+         case "bytesPerFlush":
+            return getBytesPerFlush(connection);
          default:
             throw new IllegalArgumentException("Unsupported field, " + fieldName);
       }
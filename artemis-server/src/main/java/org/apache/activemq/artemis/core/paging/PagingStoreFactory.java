@@ -61,6 +61,13 @@ public interface PagingStoreFactory {
       return null;
    }
 
+   /**
+    * Whether the pages of the stores are read through a memory mapping of their files.
+    */
+   default boolean isReadMappedPage() {
+      return false;
+   }
+
 
 
 }
@@ -17,9 +17,8 @@
 package org.apache.activemq.artemis.core.paging.cursor;
 
 import org.apache.activemq.artemis.core.paging.PagedMessage;
-import org.apache.activemq.artemis.utils.SoftValueLongObjectHashMap;
 
-public interface PageCache extends SoftValueLongObjectHashMap.ValueCache {
+public interface PageCache {
 
    long getPageId();
 
@@ -32,9 +31,13 @@ public interface PageCache extends SoftValueLongObjectHashMap.ValueCache {
    /**
     * @return whether this cache is still being updated
     */
-   @Override
    boolean isLive();
 
+   /**
+    * @return an estimate of the memory used by the cached messages
+    */
+   long getMemoryEstimate();
+
    /**
     * @param pagePosition page position
     * @return
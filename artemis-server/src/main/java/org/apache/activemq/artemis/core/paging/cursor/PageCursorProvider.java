@@ -69,6 +69,31 @@ public interface PageCursorProvider {
 
    void setCacheMaxSize(int size);
 
+   /**
+    * @param bytes the max memory used by the cached pages, {@code -1} if it's not bounded
+    */
+   void setCacheMaxBytes(long bytes);
+
+   /**
+    * @return an estimate of the memory used by the cached pages
+    */
+   long getCacheMemoryEstimate();
+
+   /**
+    * @return how many times a page has been found in the cache
+    */
+   long getCacheHits();
+
+   /**
+    * @return how many times a page hasn't been found in the cache
+    */
+   long getCacheMisses();
+
+   /**
+    * @return how many pages have been evicted from the cache because of its bounds
+    */
+   long getCacheEvictions();
+
    /**
     * @param pageCursorImpl
     */
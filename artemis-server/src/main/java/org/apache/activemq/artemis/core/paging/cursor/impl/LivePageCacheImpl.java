@@ -16,6 +16,8 @@
  */
 package org.apache.activemq.artemis.core.paging.cursor.impl;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.apache.activemq.artemis.core.paging.PagedMessage;
 import org.apache.activemq.artemis.core.paging.cursor.LivePageCache;
 import org.apache.activemq.artemis.core.paging.cursor.PagePosition;
@@ -37,6 +39,8 @@ public final class LivePageCacheImpl implements LivePageCache {
 
    private volatile boolean isLive = true;
 
+   private final AtomicLong memoryEstimate = new AtomicLong(0);
+
    public LivePageCacheImpl(final long pageId) {
       this.pageId = pageId;
       this.messages = new ConcurrentAppendOnlyChunkedList<>(CHUNK_SIZE);
@@ -74,6 +78,13 @@ public final class LivePageCacheImpl implements LivePageCache {
    public void addLiveMessage(PagedMessage message) {
       message.getMessage().usageUp();
       messages.add(message);
+      //lighter than addAndGet when single writer
+      memoryEstimate.lazySet(memoryEstimate.get() + PageCacheImpl.getMemoryEstimate(message));
+   }
+
+   @Override
+   public long getMemoryEstimate() {
+      return memoryEstimate.get();
    }
 
    @Override
@@ -33,6 +33,8 @@ class PageCacheImpl implements PageCache {
 
    private final long pageId;
 
+   private long memoryEstimate;
+
    // Static --------------------------------------------------------
 
    // Constructors --------------------------------------------------
@@ -60,6 +62,7 @@ class PageCacheImpl implements PageCache {
    @Override
    public void setMessages(final PagedMessage[] messages) {
       this.messages = messages;
+      this.memoryEstimate = PageCacheImpl.getMemoryEstimate(messages);
    }
 
    @Override
@@ -76,6 +79,23 @@ class PageCacheImpl implements PageCache {
       return false;
    }
 
+   @Override
+   public long getMemoryEstimate() {
+      return memoryEstimate;
+   }
+
+   static long getMemoryEstimate(PagedMessage message) {
+      return message.getMessage().getMemoryEstimate();
+   }
+
+   private static long getMemoryEstimate(PagedMessage[] messages) {
+      long memoryEstimate = 0;
+      for (PagedMessage message : messages) {
+         memoryEstimate += getMemoryEstimate(message);
+      }
+      return memoryEstimate;
+   }
+
    @Override
    public String toString() {
       return "PageCacheImpl::page=" + pageId + " numberOfMessages = " + messages.length;
@@ -0,0 +1,331 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.paging.cursor.impl;
+
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import io.netty.util.collection.LongObjectHashMap;
+import org.apache.activemq.artemis.core.paging.cursor.PageCache;
+import org.jboss.logging.Logger;
+
+/**
+ * The page caches of a {@link PageCursorProviderImpl}, bounded by number of pages and by the estimated memory used
+ * by their messages: once a bound is exceeded the least recently used caches are evicted.
+ * <p>
+ * A cache bigger than the whole memory bound is not admitted at all, because it would just evict every other cache.
+ * Live caches are still being written: they are never evicted and their memory is accounted only once they are
+ * closed.
+ * <p>
+ * Without a memory bound the caches that aren't live are softly referenced, as the GC is then the only thing that
+ * bounds their memory: the ones it has collected are dropped as if they had been evicted.
+ * <p>
+ * This is not thread safe: the cursor provider guards it with its own lock.
+ */
+final class PageCacheLRU {
+
+   private static final Logger logger = Logger.getLogger(PageCacheLRU.class);
+
+   private static final class Entry {
+
+      final long pageId;
+
+      PageCache cache;
+
+      SoftReference<PageCache> softCache;
+
+      long memoryEstimate;
+
+      Entry prev;
+
+      Entry next;
+
+      Entry(PageCache cache) {
+         this.pageId = cache.getPageId();
+         this.cache = cache;
+      }
+
+      /**
+       * @return {@code null} if the GC has collected it
+       */
+      PageCache cache() {
+         final PageCache cache = this.cache;
+         if (cache != null) {
+            return cache;
+         }
+         return softCache == null ? null : softCache.get();
+      }
+
+      void setSoft(boolean soft) {
+         if (soft && cache != null) {
+            softCache = new SoftReference<>(cache);
+            cache = null;
+         } else if (!soft && cache == null) {
+            cache = softCache.get();
+            softCache = null;
+         }
+      }
+   }
+
+   private final LongObjectHashMap<Entry> entries = new LongObjectHashMap<>();
+
+   private final List<Entry> liveEntries = new ArrayList<>();
+
+   /**
+    * The least recently used entry
+    */
+   private Entry head;
+
+   /**
+    * The most recently used entry
+    */
+   private Entry tail;
+
+   private int maxElements;
+
+   private long maxBytes;
+
+   private long memoryEstimate;
+
+   private long hits;
+
+   private long misses;
+
+   private long evictions;
+
+   PageCacheLRU(int maxElements, long maxBytes) {
+      this.maxElements = maxElements;
+      this.maxBytes = maxBytes;
+   }
+
+   /**
+    * @param maxElements the max number of caches, unbounded if {@code <= 0}
+    */
+   void setMaxElements(int maxElements) {
+      this.maxElements = maxElements;
+      checkCacheSize();
+   }
+
+   /**
+    * @param maxBytes the max memory used by the cached messages, unbounded if {@code < 0}
+    */
+   void setMaxBytes(long maxBytes) {
+      final boolean soft = maxBytes < 0;
+      if (soft != this.maxBytes < 0) {
+         for (Entry entry = head; entry != null; entry = entry.next) {
+            // the live ones are made soft once they're closed
+            if (!liveEntries.contains(entry)) {
+               // a collected cache stays null and it's dropped by the first lookup
+               entry.setSoft(soft);
+            }
+         }
+      }
+      this.maxBytes = maxBytes;
+      checkCacheSize();
+   }
+
+   /**
+    * It returns the cache of {@code pageId}, if any, and marks it as the most recently used one.
+    */
+   PageCache get(long pageId) {
+      final Entry entry = entries.get(pageId);
+      final PageCache cache = entry == null ? null : collectedOrCache(entry);
+      if (cache == null) {
+         misses++;
+         return null;
+      }
+      hits++;
+      unlink(entry);
+      linkLast(entry);
+      return cache;
+   }
+
+   /**
+    * Same as {@link #get(long)}, but it neither counts as an access nor it changes the eviction order.
+    */
+   PageCache peek(long pageId) {
+      final Entry entry = entries.get(pageId);
+      return entry == null ? null : collectedOrCache(entry);
+   }
+
+   /**
+    * @return {@code false} if {@code cache} isn't admitted because of its size
+    */
+   boolean put(PageCache cache) {
+      final Entry entry = new Entry(cache);
+      if (!cache.isLive()) {
+         entry.memoryEstimate = cache.getMemoryEstimate();
+         if (maxBytes >= 0 && entry.memoryEstimate > maxBytes) {
+            if (logger.isDebugEnabled()) {
+               logger.debugf("Not caching pageNr=%d: %d bytes are more than the max of %d", cache.getPageId(), entry.memoryEstimate, maxBytes);
+            }
+            remove(cache.getPageId());
+            return false;
+         }
+      } else {
+         liveEntries.add(entry);
+      }
+      if (maxBytes < 0 && !cache.isLive()) {
+         entry.setSoft(true);
+      }
+      final Entry oldEntry = entries.put(cache.getPageId(), entry);
+      if (oldEntry != null) {
+         removeEntry(oldEntry);
+      }
+      memoryEstimate += entry.memoryEstimate;
+      linkLast(entry);
+      checkCacheSize();
+      return true;
+   }
+
+   PageCache remove(long pageId) {
+      final Entry entry = entries.remove(pageId);
+      if (entry == null) {
+         return null;
+      }
+      removeEntry(entry);
+      return entry.cache();
+   }
+
+   void clear() {
+      entries.clear();
+      liveEntries.clear();
+      head = null;
+      tail = null;
+      memoryEstimate = 0;
+   }
+
+   int size() {
+      return entries.size();
+   }
+
+   Collection<PageCache> values() {
+      final List<PageCache> values = new ArrayList<>(entries.size());
+      for (Entry entry = head; entry != null; entry = entry.next) {
+         final PageCache cache = entry.cache();
+         if (cache != null) {
+            values.add(cache);
+         }
+      }
+      return values;
+   }
+
+   long getMemoryEstimate() {
+      return memoryEstimate;
+   }
+
+   long getHits() {
+      return hits;
+   }
+
+   long getMisses() {
+      return misses;
+   }
+
+   long getEvictions() {
+      return evictions;
+   }
+
+   private void checkCacheSize() {
+      if (!liveEntries.isEmpty()) {
+         liveEntries.removeIf(entry -> {
+            if (entry.cache.isLive()) {
+               return false;
+            }
+            // it's been closed: it won't grow anymore
+            if (entries.get(entry.pageId) == entry) {
+               entry.memoryEstimate = entry.cache.getMemoryEstimate();
+               memoryEstimate += entry.memoryEstimate;
+               if (maxBytes < 0) {
+                  entry.setSoft(true);
+               }
+            }
+            return true;
+         });
+      }
+      Entry entry = head;
+      while (entry != null && isOverSized()) {
+         final Entry next = entry.next;
+         if (!isLive(entry)) {
+            if (logger.isTraceEnabled()) {
+               logger.tracef("Evicting pageNr=%d of %d bytes", entry.pageId, entry.memoryEstimate);
+            }
+            entries.remove(entry.pageId);
+            removeEntry(entry);
+            evictions++;
+         }
+         entry = next;
+      }
+   }
+
+   private boolean isLive(Entry entry) {
+      return entry.cache != null && entry.cache.isLive();
+   }
+
+   /**
+    * @return the cache of {@code entry} or, if the GC has collected it, {@code null} after evicting it
+    */
+   private PageCache collectedOrCache(Entry entry) {
+      final PageCache cache = entry.cache();
+      if (cache == null) {
+         entries.remove(entry.pageId);
+         removeEntry(entry);
+         evictions++;
+      }
+      return cache;
+   }
+
+   private boolean isOverSized() {
+      return (maxElements > 0 && entries.size() > maxElements) || (maxBytes >= 0 && memoryEstimate > maxBytes);
+   }
+
+   private void removeEntry(Entry entry) {
+      unlink(entry);
+      memoryEstimate -= entry.memoryEstimate;
+      if (!liveEntries.isEmpty()) {
+         liveEntries.remove(entry);
+      }
+   }
+
+   private void linkLast(Entry entry) {
+      entry.prev = tail;
+      entry.next = null;
+      if (tail == null) {
+         head = entry;
+      } else {
+         tail.next = entry;
+      }
+      tail = entry;
+   }
+
+   private void unlink(Entry entry) {
+      if (entry.prev == null) {
+         head = entry.next;
+      } else {
+         entry.prev.next = entry.next;
+      }
+      if (entry.next == null) {
+         tail = entry.prev;
+      } else {
+         entry.next.prev = entry.prev;
+      }
+      entry.prev = null;
+      entry.next = null;
+   }
+}
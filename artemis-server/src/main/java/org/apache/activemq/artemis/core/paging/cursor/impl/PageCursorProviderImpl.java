@@ -38,9 +38,9 @@ import org.apache.activemq.artemis.core.paging.cursor.PagedReferenceImpl;
 import org.apache.activemq.artemis.core.paging.impl.Page;
 import org.apache.activemq.artemis.core.persistence.StorageManager;
 import org.apache.activemq.artemis.core.server.ActiveMQServerLogger;
+import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
 import org.apache.activemq.artemis.core.transaction.Transaction;
 import org.apache.activemq.artemis.core.transaction.impl.TransactionImpl;
-import org.apache.activemq.artemis.utils.SoftValueLongObjectHashMap;
 import org.apache.activemq.artemis.utils.actors.ArtemisExecutor;
 import org.apache.activemq.artemis.utils.collections.ConcurrentLongHashMap;
 import org.jboss.logging.Logger;
@@ -72,7 +72,7 @@ public class PageCursorProviderImpl implements PageCursorProvider {
    // This is the same executor used at the PageStoreImpl. One Executor per pageStore
    private final ArtemisExecutor executor;
 
-   private final SoftValueLongObjectHashMap<PageCache> softCache;
+   private final PageCacheLRU pageCaches;
 
    private LongObjectHashMap<Integer> numberOfMessages = null;
 
@@ -104,10 +104,19 @@ public class PageCursorProviderImpl implements PageCursorProvider {
                                  final ArtemisExecutor executor,
                                  final int maxCacheSize,
                                  final boolean readWholePage) {
+      this(pagingStore, storageManager, executor, maxCacheSize, AddressSettings.DEFAULT_PAGE_MAX_CACHE_BYTES, readWholePage);
+   }
+
+   public PageCursorProviderImpl(final PagingStore pagingStore,
+                                 final StorageManager storageManager,
+                                 final ArtemisExecutor executor,
+                                 final int maxCacheSize,
+                                 final long maxCacheBytes,
+                                 final boolean readWholePage) {
       this.pagingStore = pagingStore;
       this.storageManager = storageManager;
       this.executor = executor;
-      this.softCache = new SoftValueLongObjectHashMap<>(maxCacheSize);
+      this.pageCaches = new PageCacheLRU(maxCacheSize, maxCacheBytes);
       if (!readWholePage) {
          this.numberOfMessages = new LongObjectHashMap<>();
       }
@@ -165,8 +174,8 @@ public class PageCursorProviderImpl implements PageCursorProvider {
          CompletableFuture<PageCache> inProgressReadPage;
          PageCache cache;
          Page page = null;
-         synchronized (softCache) {
-            cache = softCache.get(pageId);
+         synchronized (pageCaches) {
+            cache = pageCaches.get(pageId);
             if (cache != null) {
                return cache;
             }
@@ -174,9 +183,9 @@ public class PageCursorProviderImpl implements PageCursorProvider {
                return null;
             }
             Page currentPage = pagingStore.getCurrentPage();
-            // Live page cache might be cleared by gc, we need to retrieve it otherwise partially written page cache is being returned
+            // Live page cache might have been evicted, we need to retrieve it otherwise partially written page cache is being returned
             if (currentPage != null && currentPage.getPageId() == pageId && (cache = currentPage.getLiveCache()) != null) {
-               softCache.put(cache.getPageId(), cache);
+               pageCaches.put(cache);
                return cache;
             }
             inProgressReadPage = inProgressReadPages.get(pageId);
@@ -241,7 +250,7 @@ public class PageCursorProviderImpl implements PageCursorProvider {
          cache.setMessages(pgdMessages.toArray(new PagedMessage[num]));
       } catch (Throwable t) {
          inProgressReadPage.completeExceptionally(t);
-         synchronized (softCache) {
+         synchronized (pageCaches) {
             inProgressReadPages.remove(pageId);
          }
          throw t;
@@ -257,9 +266,9 @@ public class PageCursorProviderImpl implements PageCursorProvider {
          }
       }
       inProgressReadPage.complete(cache);
-      synchronized (softCache) {
+      synchronized (pageCaches) {
          inProgressReadPages.remove(pageId);
-         softCache.put(pageId, cache);
+         pageCaches.put(cache);
          if (numberOfMessages != null && num != -1) {
             numberOfMessages.put(pageId, Integer.valueOf(num));
          }
@@ -270,27 +279,64 @@ public class PageCursorProviderImpl implements PageCursorProvider {
    @Override
    public void addPageCache(PageCache cache) {
       logger.tracef("Add page cache %s", cache);
-      synchronized (softCache) {
-         softCache.put(cache.getPageId(), cache);
+      synchronized (pageCaches) {
+         pageCaches.put(cache);
       }
    }
 
    @Override
    public void setCacheMaxSize(final int size) {
-      softCache.setMaxElements(size);
+      synchronized (pageCaches) {
+         pageCaches.setMaxElements(size);
+      }
+   }
+
+   @Override
+   public void setCacheMaxBytes(final long bytes) {
+      synchronized (pageCaches) {
+         pageCaches.setMaxBytes(bytes);
+      }
    }
 
    @Override
    public int getCacheSize() {
-      synchronized (softCache) {
-         return softCache.size();
+      synchronized (pageCaches) {
+         return pageCaches.size();
+      }
+   }
+
+   @Override
+   public long getCacheMemoryEstimate() {
+      synchronized (pageCaches) {
+         return pageCaches.getMemoryEstimate();
+      }
+   }
+
+   @Override
+   public long getCacheHits() {
+      synchronized (pageCaches) {
+         return pageCaches.getHits();
+      }
+   }
+
+   @Override
+   public long getCacheMisses() {
+      synchronized (pageCaches) {
+         return pageCaches.getMisses();
+      }
+   }
+
+   @Override
+   public long getCacheEvictions() {
+      synchronized (pageCaches) {
+         return pageCaches.getEvictions();
       }
    }
 
    @Override
    public void clearCache() {
-      synchronized (softCache) {
-         softCache.clear();
+      synchronized (pageCaches) {
+         pageCaches.clear();
       }
    }
 
@@ -527,8 +573,8 @@ public class PageCursorProviderImpl implements PageCursorProvider {
          for (Page depagedPage : depagedPages) {
             PageCache cache;
             PagedMessage[] pgdMessages;
-            synchronized (softCache) {
-               cache = softCache.get((long) depagedPage.getPageId());
+            synchronized (pageCaches) {
+               cache = pageCaches.peek(depagedPage.getPageId());
             }
 
             if (logger.isTraceEnabled()) {
@@ -560,9 +606,9 @@ public class PageCursorProviderImpl implements PageCursorProvider {
             }
 
             depagedPage.delete(pgdMessages);
-            synchronized (softCache) {
+            synchronized (pageCaches) {
                long pageId = (long) depagedPage.getPageId();
-               softCache.remove(pageId);
+               pageCaches.remove(pageId);
                if (numberOfMessages != null) {
                   numberOfMessages.remove(pageId);
                }
@@ -641,7 +687,11 @@ public class PageCursorProviderImpl implements PageCursorProvider {
    @Override
    public void printDebug() {
       System.out.println("Debug information for PageCursorProviderImpl:");
-      for (PageCache cache : softCache.values()) {
+      final Collection<PageCache> caches;
+      synchronized (pageCaches) {
+         caches = pageCaches.values();
+      }
+      for (PageCache cache : caches) {
          System.out.println("Cache " + cache);
       }
    }
@@ -72,6 +72,12 @@ public class PageReader implements PageCache {
       return false;
    }
 
+   @Override
+   public long getMemoryEstimate() {
+      // the messages are read from the page every time
+      return 0;
+   }
+
    /**
     * @param pagePosition   page position
     * @param throwException if {@code true} exception will be thrown when message number is beyond the page
@@ -16,7 +16,11 @@
  */
 package org.apache.activemq.artemis.core.paging.impl;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -25,6 +29,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.util.internal.PlatformDependent;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.buffers.impl.ChannelBufferWrapper;
 import org.apache.activemq.artemis.core.io.SequentialFile;
@@ -86,12 +91,35 @@ public final class Page implements Comparable<Page> {
    private ChannelBufferWrapper readFileBufferWrapper;
    private int readProcessedBytes;
 
+   /**
+    * If true the messages are read from a memory mapping of {@link #file}, without holding the page monitor.
+    */
+   private final boolean readMapped;
+
+   /**
+    * A read only mapping of {@link #file}, replaced by a bigger one if the file has grown since it has been mapped.
+    * Readers use their own duplicate of it while holding a reference to it: it is unmapped once it has been replaced,
+    * or the page closed or deleted, and its last reader is done.
+    */
+   private volatile MappedPageFile mappedFile;
+
    public Page(final SimpleString storeName,
                final StorageManager storageManager,
                final SequentialFileFactory factory,
                final SequentialFile file,
                final int pageId) throws Exception {
+      this(storeName, storageManager, factory, file, pageId, false);
+   }
+
+   public Page(final SimpleString storeName,
+               final StorageManager storageManager,
+               final SequentialFileFactory factory,
+               final SequentialFile file,
+               final int pageId,
+               final boolean readMapped) throws Exception {
       this.pageId = pageId;
+      // eg a database paging file can't be mapped
+      this.readMapped = readMapped && file.getJavaFile() != null;
       this.file = file;
       fileFactory = factory;
       this.storageManager = storageManager;
@@ -116,9 +144,18 @@ public final class Page implements Comparable<Page> {
       readProcessedBytes = 0;
    }
 
-   public synchronized PagedMessage readMessage(int startOffset,
-                                                int startMessageNumber,
-                                                int targetMessageNumber) throws Exception {
+   public PagedMessage readMessage(int startOffset,
+                                   int startMessageNumber,
+                                   int targetMessageNumber) throws Exception {
+      if (readMapped) {
+         return readMappedMessage(startOffset, startMessageNumber, targetMessageNumber);
+      }
+      return readFileMessage(startOffset, startMessageNumber, targetMessageNumber);
+   }
+
+   private synchronized PagedMessage readFileMessage(int startOffset,
+                                                     int startMessageNumber,
+                                                     int targetMessageNumber) throws Exception {
       assert startMessageNumber <= targetMessageNumber;
 
       if (!file.isOpen()) {
@@ -243,33 +280,219 @@ public final class Page implements Comparable<Page> {
       }
    }
 
-   public synchronized List<PagedMessage> read() throws Exception {
+   /**
+    * It reads the message with number {@code targetMessageNumber} from the mapped file, starting to search it from
+    * the message with number {@code startMessageNumber} at {@code startOffset}: it doesn't need the page monitor and
+    * many readers can search the same page at once.
+    */
+   private PagedMessage readMappedMessage(int startOffset,
+                                          int startMessageNumber,
+                                          int targetMessageNumber) throws Exception {
+      assert startMessageNumber <= targetMessageNumber;
+
+      if (!file.isOpen()) {
+         throw ActiveMQMessageBundle.BUNDLE.invalidPageIO();
+      }
+      final int fileSize = (int) file.size();
+      if (startOffset > fileSize) {
+         return readMappedMessage(0, 0, targetMessageNumber);
+      }
+      final MappedPageFile mapped = acquireMappedFile(fileSize);
+      try {
+         final ByteBuffer fileBuffer = mapped.buffer.duplicate();
+         int processedBytes = startOffset;
+         int currentMessageNumber = startMessageNumber;
+         while (fileSize - processedBytes >= MINIMUM_MSG_PERSISTENT_SIZE) {
+            final int encodedSize = mappedRecordSize(fileBuffer, processedBytes, fileSize);
+            if (encodedSize < 0) {
+               markFileAsSuspect(file.getFileName(), processedBytes, currentMessageNumber);
+               break;
+            }
+            if (currentMessageNumber == targetMessageNumber) {
+               final ChannelBufferWrapper fileBufferWrapper = new ChannelBufferWrapper(Unpooled.wrappedBuffer(fileBuffer));
+               return decodeMappedMessage(fileBufferWrapper, processedBytes, encodedSize, storageManager);
+            }
+            processedBytes += HEADER_AND_TRAILER_SIZE + encodedSize;
+            currentMessageNumber++;
+         }
+      } finally {
+         mapped.release();
+      }
+
+      ActiveMQServerLogger.LOGGER.pageLookupError(this.pageId, targetMessageNumber, startOffset, startMessageNumber);
+
+      if (startOffset > 0) {
+         return readMappedMessage(0, 0, targetMessageNumber);
+      } else {
+         return null;
+      }
+   }
+
+   public List<PagedMessage> read() throws Exception {
       return read(storageManager);
    }
 
-   public synchronized List<PagedMessage> read(StorageManager storage) throws Exception {
+   public List<PagedMessage> read(StorageManager storage) throws Exception {
       return read(storage, false);
    }
 
-   public synchronized List<PagedMessage> read(StorageManager storage, boolean onlyLargeMessages) throws Exception {
+   public List<PagedMessage> read(StorageManager storage, boolean onlyLargeMessages) throws Exception {
       if (logger.isDebugEnabled()) {
          logger.debugf("reading page %d on address = %s onlyLargeMessages = %b", storeName, pageId,
                        storage, onlyLargeMessages);
       }
 
+      if (readMapped) {
+         return readMappedFile(storage, onlyLargeMessages);
+      }
+
+      synchronized (this) {
+         if (!file.isOpen()) {
+            throw ActiveMQMessageBundle.BUNDLE.invalidPageIO();
+         }
+
+         size.lazySet((int) file.size());
+
+         final List<PagedMessage> messages = new ArrayList<>();
+
+         final int totalMessageCount = readFromSequentialFile(storage, messages, onlyLargeMessages);
+
+         numberOfMessages.lazySet(totalMessageCount);
+
+         return messages;
+      }
+   }
+
+   private List<PagedMessage> readMappedFile(StorageManager storage, boolean onlyLargeMessages) throws Exception {
       if (!file.isOpen()) {
          throw ActiveMQMessageBundle.BUNDLE.invalidPageIO();
       }
+      final int fileSize = (int) file.size();
+      final List<PagedMessage> messages = new ArrayList<>();
+      int processedBytes = 0;
+      int totalMessageCount = 0;
+      final MappedPageFile mapped = acquireMappedFile(fileSize);
+      try {
+         final ByteBuffer fileBuffer = mapped.buffer.duplicate();
+         final ChannelBufferWrapper fileBufferWrapper = new ChannelBufferWrapper(Unpooled.wrappedBuffer(fileBuffer));
+         while (fileSize - processedBytes >= MINIMUM_MSG_PERSISTENT_SIZE) {
+            final int encodedSize = mappedRecordSize(fileBuffer, processedBytes, fileSize);
+            if (encodedSize < 0) {
+               markFileAsSuspect(file.getFileName(), processedBytes, totalMessageCount + 1);
+               break;
+            }
+            final boolean skipMessage;
+            if (onlyLargeMessages) {
+               fileBufferWrapper.setIndex(processedBytes + HEADER_SIZE, processedBytes + HEADER_SIZE + encodedSize);
+               skipMessage = !PagedMessageImpl.isLargeMessage(fileBufferWrapper);
+            } else {
+               skipMessage = false;
+            }
+            if (!skipMessage) {
+               messages.add(decodeMappedMessage(fileBufferWrapper, processedBytes, encodedSize, storage));
+            }
+            totalMessageCount++;
+            processedBytes += HEADER_AND_TRAILER_SIZE + encodedSize;
+         }
+      } finally {
+         mapped.release();
+      }
+      //ignore incomplete messages at the end of the file
+      if (logger.isTraceEnabled()) {
+         logger.tracef("%s has %d bytes of unknown data at position = %d", file.getFileName(), fileSize - processedBytes, processedBytes);
+      }
+      size.lazySet(processedBytes);
+      numberOfMessages.lazySet(totalMessageCount);
+      if (file.position() != processedBytes) {
+         // the live page is reloaded by reading it: writes have to continue after the last valid message
+         synchronized (this) {
+            file.position(processedBytes);
+         }
+      }
+      return messages;
+   }
 
-      size.lazySet((int) file.size());
+   /**
+    * It returns the mapping of {@link #file}, holding at least {@code fileSize} bytes, with a reference to it that the
+    * caller must release once done reading.
+    */
+   private MappedPageFile acquireMappedFile(int fileSize) throws IOException {
+      while (true) {
+         MappedPageFile mapped = mappedFile;
+         if (mapped == null || mapped.buffer.capacity() < fileSize) {
+            mapped = mapFile(fileSize);
+         }
+         if (mapped.retain()) {
+            return mapped;
+         }
+         // it has been replaced and its last reader is done: it's no longer mapped
+      }
+   }
 
-      final List<PagedMessage> messages = new ArrayList<>();
+   private synchronized MappedPageFile mapFile(int fileSize) throws IOException {
+      final MappedPageFile mapped = mappedFile;
+      if (mapped != null && mapped.buffer.capacity() >= fileSize) {
+         return mapped;
+      }
+      if (logger.isDebugEnabled()) {
+         logger.debugf("mapping %d bytes of pageNr=%d on address = %s", fileSize, pageId, storeName);
+      }
+      final MappedPageFile remapped;
+      // the mapping stays valid after the channel is closed
+      try (FileChannel channel = FileChannel.open(file.getJavaFile().toPath(), StandardOpenOption.READ)) {
+         remapped = new MappedPageFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize));
+      }
+      mappedFile = remapped;
+      if (mapped != null) {
+         mapped.release();
+      }
+      return remapped;
+   }
 
-      final int totalMessageCount = readFromSequentialFile(storage, messages, onlyLargeMessages);
+   private synchronized void unmapFile() {
+      final MappedPageFile mapped = mappedFile;
+      if (mapped != null) {
+         mappedFile = null;
+         mapped.release();
+      }
+   }
 
-      numberOfMessages.lazySet(totalMessageCount);
+   /**
+    * It returns the encoded size of the message record at {@code position} of the mapped file, or {@code -1} if
+    * there isn't a valid one.
+    */
+   private static int mappedRecordSize(ByteBuffer fileBuffer, int position, int fileSize) {
+      if (fileBuffer.get(position) != Page.START_BYTE) {
+         return -1;
+      }
+      final int encodedSize = fileBuffer.getInt(position + DataConstants.SIZE_BYTE);
+      //a corrupted size could overflow the next position
+      if (encodedSize < 0 || encodedSize > fileSize - position - HEADER_AND_TRAILER_SIZE) {
+         return -1;
+      }
+      if (fileBuffer.get(position + HEADER_SIZE + encodedSize) != Page.END_BYTE) {
+         return -1;
+      }
+      return encodedSize;
+   }
 
-      return messages;
+   /**
+    * The message is decoded straight from the mapped file: the only copy of its content is the one owned by the
+    * decoded message itself.
+    */
+   private PagedMessageImpl decodeMappedMessage(ChannelBufferWrapper fileBufferWrapper,
+                                                int position,
+                                                int encodedSize,
+                                                StorageManager storage) throws Exception {
+      fileBufferWrapper.setIndex(position + HEADER_SIZE, position + HEADER_SIZE + encodedSize);
+      final PagedMessageImpl msg = new PagedMessageImpl(encodedSize, storageManager);
+      msg.decode(fileBufferWrapper);
+      msg.initMessage(storage);
+      assert validateLargeMessageStorageManager(msg);
+      if (logger.isTraceEnabled()) {
+         logger.tracef("Reading message %s on pageId=%d for address=%s", msg, pageId, storeName);
+      }
+      return msg;
    }
 
    private ByteBuffer allocateAndReadIntoFileBuffer(ByteBuffer fileBuffer, int requiredBytes, boolean direct) throws Exception {
@@ -499,6 +722,7 @@ public final class Page implements Comparable<Page> {
          fileFactory.releaseDirectBuffer(readFileBuffer);
          readFileBuffer = null;
       }
+      unmapFile();
 
       if (sendEvent && storageManager != null) {
          storageManager.pageClosed(storeName, pageId);
@@ -556,6 +780,7 @@ public final class Page implements Comparable<Page> {
          } else {
             file.delete();
          }
+         unmapFile();
 
          return true;
       } catch (Exception e) {
@@ -564,6 +789,13 @@ public final class Page implements Comparable<Page> {
       }
    }
 
+   /**
+    * To be used on tests only
+    */
+   public boolean isFileMapped() {
+      return mappedFile != null;
+   }
+
    public int getNumberOfMessages() {
       return numberOfMessages.intValue();
    }
@@ -648,4 +880,40 @@ public final class Page implements Comparable<Page> {
 
       return pendingCounters;
    }
-}
\ No newline at end of file
+
+   /**
+    * A mapping of the page file, counting the page (while it's the current mapping) and its readers: the last one to
+    * release it unmaps it, without waiting for the GC.
+    */
+   private static final class MappedPageFile {
+
+      final MappedByteBuffer buffer;
+
+      private final AtomicInteger references = new AtomicInteger(1);
+
+      MappedPageFile(MappedByteBuffer buffer) {
+         this.buffer = buffer;
+      }
+
+      /**
+       * @return {@code false} if it has been unmapped already
+       */
+      boolean retain() {
+         while (true) {
+            final int count = references.get();
+            if (count == 0) {
+               return false;
+            }
+            if (references.compareAndSet(count, count + 1)) {
+               return true;
+            }
+         }
+      }
+
+      void release() {
+         if (references.decrementAndGet() == 0) {
+            PlatformDependent.freeDirectBuffer(buffer);
+         }
+      }
+   }
+}
@@ -78,6 +78,8 @@ public class PagingStoreFactoryNIO implements PagingStoreFactory {
 
    private final boolean readWholePage;
 
+   private final boolean readMappedPage;
+
    public File getDirectory() {
       return directory;
    }
@@ -124,6 +126,18 @@ public class PagingStoreFactoryNIO implements PagingStoreFactory {
                                 final boolean syncNonTransactional,
                                 final IOCriticalErrorListener critialErrorListener,
                                 final boolean readWholePage) {
+      this(storageManager, directory, syncTimeout, scheduledExecutor, executorFactory, syncNonTransactional, critialErrorListener, readWholePage, false);
+   }
+
+   public PagingStoreFactoryNIO(final StorageManager storageManager,
+                                final File directory,
+                                final long syncTimeout,
+                                final ScheduledExecutorService scheduledExecutor,
+                                final ExecutorFactory executorFactory,
+                                final boolean syncNonTransactional,
+                                final IOCriticalErrorListener critialErrorListener,
+                                final boolean readWholePage,
+                                final boolean readMappedPage) {
       this.storageManager = storageManager;
       this.directory = directory;
       this.executorFactory = executorFactory;
@@ -132,6 +146,7 @@ public class PagingStoreFactoryNIO implements PagingStoreFactory {
       this.syncTimeout = syncTimeout;
       this.critialErrorListener = critialErrorListener;
       this.readWholePage = readWholePage;
+      this.readMappedPage = readMappedPage;
    }
 
    // Public --------------------------------------------------------
@@ -146,6 +161,11 @@ public class PagingStoreFactoryNIO implements PagingStoreFactory {
       return executorFactory.getExecutor();
    }
 
+   @Override
+   public boolean isReadMappedPage() {
+      return readMappedPage;
+   }
+
    @Override
    public void stop() {
    }
@@ -160,7 +180,7 @@ public class PagingStoreFactoryNIO implements PagingStoreFactory {
                                                StorageManager storageManager,
                                                AddressSettings addressSettings,
                                                ArtemisExecutor executor) {
-      return new PageCursorProviderImpl(store, storageManager, executor, addressSettings.getPageCacheMaxSize(), readWholePage);
+      return new PageCursorProviderImpl(store, storageManager, executor, addressSettings.getPageCacheMaxSize(), addressSettings.getPageCacheMaxBytes(), readWholePage);
    }
 
    @Override
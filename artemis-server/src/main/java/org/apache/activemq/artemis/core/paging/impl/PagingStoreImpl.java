@@ -211,6 +211,7 @@ public class PagingStoreImpl implements PagingStore {
 
       if (cursorProvider != null) {
          cursorProvider.setCacheMaxSize(addressSettings.getPageCacheMaxSize());
+         cursorProvider.setCacheMaxBytes(addressSettings.getPageCacheMaxBytes());
       }
    }
 
@@ -580,7 +581,7 @@ public class PagingStoreImpl implements PagingStore {
 
       SequentialFile file = factory.createSequentialFile(fileName);
 
-      Page page = new Page(storeName, storageManager, factory, file, pageNumber);
+      Page page = new Page(storeName, storageManager, factory, file, pageNumber, storeFactory.isReadMappedPage());
 
       // To create the file
       file.open();
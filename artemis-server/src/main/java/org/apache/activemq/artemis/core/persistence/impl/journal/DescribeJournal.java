@@ -41,6 +41,7 @@ import org.apache.activemq.artemis.core.journal.TransactionFailureCallback;
 import org.apache.activemq.artemis.core.journal.impl.JournalFile;
 import org.apache.activemq.artemis.core.journal.impl.JournalImpl;
 import org.apache.activemq.artemis.core.journal.impl.JournalReaderCallback;
+import org.apache.activemq.artemis.core.journal.impl.StripedJournal;
 import org.apache.activemq.artemis.core.paging.cursor.impl.PageSubscriptionCounterImpl;
 import org.apache.activemq.artemis.core.paging.impl.PageTransactionInfoImpl;
 import org.apache.activemq.artemis.core.persistence.impl.journal.BatchingIDGenerator.IDCounterEncoding;
@@ -161,14 +162,26 @@ public final class DescribeJournal {
       return describeMessagesJournal(messagesDir, System.out, false);
    }
 
+   /**
+    * Describes the files of every lane of the messages journal, the surviving records being those of all the lanes
+    * loaded together.
+    */
    public static DescribeJournal describeMessagesJournal(final File messagesDir, PrintStream out, boolean safe) throws Exception {
       Configuration configuration = getConfiguration();
-      SequentialFileFactory messagesFF = new NIOSequentialFileFactory(messagesDir, null, 1);
+      final int lanes = JournalStorageManager.getJournalLanes(messagesDir, 1);
+      final JournalImpl[] messagesJournals = new JournalImpl[lanes];
+
+      for (int lane = 0; lane < lanes; lane++) {
+         File laneDir = JournalStorageManager.getJournalLaneLocation(messagesDir, lane);
+         SequentialFileFactory messagesFF = new NIOSequentialFileFactory(laneDir, null, 1);
 
-      // Will use only default values. The load function should adapt to anything different
-      JournalImpl messagesJournal = new JournalImpl(configuration.getJournalFileSize(), configuration.getJournalMinFiles(), configuration.getJournalPoolFiles(), 0, 0, messagesFF, "activemq-data", "amq", 1);
+         // Will use only default values. The load function should adapt to anything different
+         messagesJournals[lane] = new JournalImpl(configuration.getJournalFileSize(), configuration.getJournalMinFiles(), configuration.getJournalPoolFiles(), 0, 0, messagesFF, "activemq-data", "amq", 1);
 
-      return describeJournal(messagesFF, messagesJournal, messagesDir, out, safe);
+         describeJournalFiles(messagesFF, messagesJournals[lane], laneDir, out, safe);
+      }
+
+      return printSurvivingRecords(lanes == 1 ? messagesJournals[0] : new StripedJournal(messagesJournals), out, safe);
    }
 
    /**
@@ -181,6 +194,16 @@ public final class DescribeJournal {
                                                   final File path,
                                                   PrintStream out,
                                                   boolean safe) throws Exception {
+      describeJournalFiles(fileFactory, journal, path, out, safe);
+
+      return printSurvivingRecords(journal, out, safe);
+   }
+
+   private static void describeJournalFiles(SequentialFileFactory fileFactory,
+                                            JournalImpl journal,
+                                            final File path,
+                                            PrintStream out,
+                                            boolean safe) throws Exception {
       List<JournalFile> files = journal.orderFiles();
 
       final Map<Long, PageSubscriptionCounterImpl> counters = new HashMap<>();
@@ -213,8 +236,10 @@ public final class DescribeJournal {
             public void onReadPrepareRecord(final long transactionID,
                                             final byte[] extraData,
                                             final int numberOfRecords) throws Exception {
+               // the prepare records written by the two phase commit of a journal with lanes don't hold a xid
+               final long lanes = StripedJournal.twoPhaseParticipants(extraData);
                out.println("operation@Prepare,txID=" + transactionID + ",numberOfRecords=" + numberOfRecords +
-                              ",extraData=" + encode(extraData) + ", xid=" + toXid(extraData));
+                              ",extraData=" + encode(extraData) + (lanes == 0 ? ", xid=" + toXid(extraData) : ", lanes=" + Long.toBinaryString(lanes)));
             }
 
             @Override
@@ -292,8 +317,6 @@ public final class DescribeJournal {
          out.println("#Counters during initial load:");
          printCounters(out, counters);
       }
-
-      return printSurvivingRecords(journal, out, safe);
    }
 
    public static DescribeJournal printSurvivingRecords(Journal journal,
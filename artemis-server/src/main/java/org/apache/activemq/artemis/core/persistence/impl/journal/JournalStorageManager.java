@@ -39,6 +39,7 @@ import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.api.core.Pair;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.config.ConfigurationUtils;
 import org.apache.activemq.artemis.core.io.IOCallback;
 import org.apache.activemq.artemis.core.io.IOCriticalErrorListener;
 import org.apache.activemq.artemis.core.io.SequentialFile;
@@ -49,6 +50,7 @@ import org.apache.activemq.artemis.core.io.nio.NIOSequentialFileFactory;
 import org.apache.activemq.artemis.core.journal.Journal;
 import org.apache.activemq.artemis.core.journal.impl.JournalFile;
 import org.apache.activemq.artemis.core.journal.impl.JournalImpl;
+import org.apache.activemq.artemis.core.journal.impl.StripedJournal;
 import org.apache.activemq.artemis.core.paging.PagedMessage;
 import org.apache.activemq.artemis.core.paging.PagingManager;
 import org.apache.activemq.artemis.core.paging.PagingStore;
@@ -135,33 +137,7 @@ public class JournalStorageManager extends AbstractJournalStorageManager {
       bindingsJournal = localBindings;
       originalBindingsJournal = localBindings;
 
-      switch (config.getJournalType()) {
-
-         case NIO:
-            if (criticalErrorListener != null) {
-               ActiveMQServerLogger.LOGGER.journalUseNIO();
-            }
-            journalFF = new NIOSequentialFileFactory(config.getJournalLocation(), true, config.getJournalBufferSize_NIO(), config.getJournalBufferTimeout_NIO(), config.getJournalMaxIO_NIO(), config.isLogJournalWriteRate(), criticalErrorListener, getCriticalAnalyzer());
-            break;
-         case ASYNCIO:
-            if (criticalErrorListener != null) {
-               ActiveMQServerLogger.LOGGER.journalUseAIO();
-            }
-            journalFF = new AIOSequentialFileFactory(config.getJournalLocation(), config.getJournalBufferSize_AIO(), config.getJournalBufferTimeout_AIO(), config.getJournalMaxIO_AIO(), config.isLogJournalWriteRate(), criticalErrorListener, getCriticalAnalyzer());
-
-            if (config.getJournalDeviceBlockSize() != null) {
-               journalFF.setAlignment(config.getJournalDeviceBlockSize());
-            }
-            break;
-         case MAPPED:
-            if (criticalErrorListener != null) {
-               ActiveMQServerLogger.LOGGER.journalUseMAPPED();
-            }
-            journalFF = new MappedSequentialFileFactory(config.getJournalLocation(), config.getJournalFileSize(), true, config.getJournalBufferSize_NIO(), config.getJournalBufferTimeout_NIO(), criticalErrorListener);
-            break;
-         default:
-            throw ActiveMQMessageBundle.BUNDLE.invalidJournalType2(config.getJournalType());
-      }
+      journalFF = createJournalFileFactory(config, config.getJournalLocation(), criticalErrorListener, true);
 
       journalFF.setDatasync(config.isJournalDatasync());
 
@@ -207,10 +183,109 @@ public class JournalStorageManager extends AbstractJournalStorageManager {
       return size;
    }
 
+   private SequentialFileFactory createJournalFileFactory(Configuration config,
+                                                         File directory,
+                                                         IOCriticalErrorListener criticalErrorListener,
+                                                         boolean logType) {
+      final SequentialFileFactory factory;
+      switch (config.getJournalType()) {
+
+         case NIO:
+            if (logType && criticalErrorListener != null) {
+               ActiveMQServerLogger.LOGGER.journalUseNIO();
+            }
+            factory = new NIOSequentialFileFactory(directory, true, config.getJournalBufferSize_NIO(), config.getJournalBufferTimeout_NIO(), config.getJournalMaxIO_NIO(), config.isLogJournalWriteRate(), criticalErrorListener, getCriticalAnalyzer());
+            break;
+         case ASYNCIO:
+            if (logType && criticalErrorListener != null) {
+               ActiveMQServerLogger.LOGGER.journalUseAIO();
+            }
+            factory = new AIOSequentialFileFactory(directory, config.getJournalBufferSize_AIO(), config.getJournalBufferTimeout_AIO(), config.getJournalMaxIO_AIO(), config.isLogJournalWriteRate(), criticalErrorListener, getCriticalAnalyzer());
+
+            if (config.getJournalDeviceBlockSize() != null) {
+               factory.setAlignment(config.getJournalDeviceBlockSize());
+            }
+            break;
+         case MAPPED:
+            if (logType && criticalErrorListener != null) {
+               ActiveMQServerLogger.LOGGER.journalUseMAPPED();
+            }
+            factory = new MappedSequentialFileFactory(directory, config.getJournalFileSize(), true, config.getJournalBufferSize_NIO(), config.getJournalBufferTimeout_NIO(), criticalErrorListener);
+            break;
+         default:
+            throw ActiveMQMessageBundle.BUNDLE.invalidJournalType2(config.getJournalType());
+      }
+      if (config.isJournalBufferTimeoutAdaptive() && factory.getTimedBuffer() != null) {
+         factory.getTimedBuffer().setAdaptiveTimeout(true);
+      }
+      return factory;
+   }
+
    protected Journal createMessageJournal(Configuration config,
                                         IOCriticalErrorListener criticalErrorListener,
                                         int fileSize) {
-      return new JournalImpl(ioExecutorFactory, fileSize, config.getJournalMinFiles(), config.getJournalPoolFiles(), config.getJournalCompactMinFiles(), config.getJournalCompactPercentage(), config.getJournalFileOpenTimeout(), journalFF, "activemq-data", "amq", journalFF.getMaxIO(), 0, criticalErrorListener);
+      final JournalImpl journal = createMessageJournal(config, criticalErrorListener, fileSize, journalFF);
+      final int lanes = getJournalLanes(config);
+      if (lanes == 1) {
+         return journal;
+      }
+      final JournalImpl[] journalLanes = new JournalImpl[lanes];
+      journalLanes[0] = journal;
+      for (int i = 1; i < lanes; i++) {
+         final SequentialFileFactory laneFF = createJournalFileFactory(config, getJournalLaneLocation(config.getJournalLocation(), i), criticalErrorListener, false);
+         laneFF.setDatasync(config.isJournalDatasync());
+         journalLanes[i] = createMessageJournal(config, criticalErrorListener, fileSize, laneFF);
+      }
+      return new StripedJournal(journalLanes);
+   }
+
+   private JournalImpl createMessageJournal(Configuration config,
+                                            IOCriticalErrorListener criticalErrorListener,
+                                            int fileSize,
+                                            SequentialFileFactory fileFactory) {
+      return new JournalImpl(ioExecutorFactory, fileSize, config.getJournalMinFiles(), config.getJournalPoolFiles(), config.getJournalCompactMinFiles(), config.getJournalCompactPercentage(), config.getJournalFileOpenTimeout(), fileFactory, "activemq-data", "amq", fileFactory.getMaxIO(), 0, criticalErrorListener)
+         .setCompactMaxFiles(config.getJournalCompactMaxFiles());
+   }
+
+   /**
+    * @return the directory of a lane of the message journal kept in {@code journalLocation}, the first lane being
+    * {@code journalLocation} itself
+    */
+   public static File getJournalLaneLocation(File journalLocation, int lane) {
+      return lane == 0 ? journalLocation : new File(journalLocation, "lane-" + lane);
+   }
+
+   /**
+    * @return the number of lanes of the message journal kept in {@code journalLocation}, which is at least
+    * {@code lanes} and counts any other lane already on disk
+    */
+   public static int getJournalLanes(File journalLocation, int lanes) {
+      while (lanes < StripedJournal.MAX_LANES && getJournalLaneLocation(journalLocation, lanes).isDirectory()) {
+         lanes++;
+      }
+      return lanes;
+   }
+
+   /**
+    * The lanes that already exist on disk are always loaded, even if journal-lanes has been lowered since, given
+    * that their records would be lost otherwise. Replication only knows how to send a single journal: a replicated
+    * configuration with more than one lane is rejected when validated (see
+    * {@link ConfigurationUtils#validateConfiguration}), it always gets one lane here and the server refuses to start if
+    * there are others on disk.
+    */
+   private int getJournalLanes(Configuration config) {
+      int lanes = config.getJournalLanes();
+      if (ConfigurationUtils.isReplicated(config.getHAPolicyConfiguration())) {
+         if (lanes > 1) {
+            ActiveMQServerLogger.LOGGER.journalLanesNotSupportedWithReplication(lanes);
+         }
+         final File laneLocation = getJournalLaneLocation(config.getJournalLocation(), 1);
+         if (laneLocation.isDirectory()) {
+            throw ActiveMQMessageBundle.BUNDLE.journalLanesWithReplication(laneLocation.getAbsolutePath());
+         }
+         return 1;
+      }
+      return getJournalLanes(config.getJournalLocation(), lanes);
    }
 
    // Life Cycle Handlers
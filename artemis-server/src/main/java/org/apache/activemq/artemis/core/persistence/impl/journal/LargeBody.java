@@ -17,6 +17,7 @@
 
 package org.apache.activemq.artemis.core.persistence.impl.journal;
 
+import java.io.File;
 import java.nio.ByteBuffer;
 
 import io.netty.buffer.Unpooled;
@@ -424,6 +425,11 @@ public class LargeBody {
          }
       }
 
+      @Override
+      public File getFile() {
+         return cFile == null ? null : cFile.getJavaFile();
+      }
+
       /* (non-Javadoc)
        * @see org.apache.activemq.artemis.core.message.LargeBodyEncoder#getSize()
        */
@@ -19,7 +19,7 @@ package org.apache.activemq.artemis.core.postoffice;
 import org.apache.activemq.artemis.core.server.ActiveMQMessageBundle;
 
 public enum BindingType {
-   LOCAL_QUEUE, REMOTE_QUEUE, DIVERT;
+   LOCAL_QUEUE, REMOTE_QUEUE, DIVERT, SUBSCRIBER;
 
    public static final int LOCAL_QUEUE_INDEX = 0;
 
@@ -27,6 +27,8 @@ public enum BindingType {
 
    public static final int DIVERT_INDEX = 2;
 
+   public static final int SUBSCRIBER_INDEX = 3;
+
    public int toInt() {
       if (equals(BindingType.LOCAL_QUEUE)) {
          return BindingType.LOCAL_QUEUE_INDEX;
@@ -34,6 +36,8 @@ public enum BindingType {
          return BindingType.REMOTE_QUEUE_INDEX;
       } else if (equals(BindingType.DIVERT)) {
          return BindingType.DIVERT_INDEX;
+      } else if (equals(BindingType.SUBSCRIBER)) {
+         return BindingType.SUBSCRIBER_INDEX;
       } else {
          throw ActiveMQMessageBundle.BUNDLE.cannotConvertToInt();
       }
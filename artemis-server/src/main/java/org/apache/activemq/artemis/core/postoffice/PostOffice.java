@@ -173,6 +173,24 @@ public interface PostOffice extends ActiveMQComponent {
                        boolean rejectDuplicates,
                        Binding binding) throws Exception;
 
+   /**
+    * Routes {@code messages} in order, each one as {@link #route(Message, RoutingContext, boolean)} would do.
+    * <p>
+    * Implementations may share the work among consecutive messages sent to the same address, such as the bindings
+    * lookup and the sync of their non transactional journal records.
+    *
+    * @return the status of each message, in the same order as {@code messages}
+    */
+   default RoutingStatus[] route(List<? extends Message> messages,
+                                 RoutingContext context,
+                                 boolean direct) throws Exception {
+      final RoutingStatus[] results = new RoutingStatus[messages.size()];
+      for (int i = 0; i < results.length; i++) {
+         results[i] = route(messages.get(i), context, direct);
+      }
+      return results;
+   }
+
    /**
     * This method was renamed as reload, use the new method instead
     * @param message
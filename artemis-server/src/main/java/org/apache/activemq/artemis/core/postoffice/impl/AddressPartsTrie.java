@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.postoffice.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.config.WildcardConfiguration;
+import org.apache.activemq.artemis.core.postoffice.Address;
+
+/**
+ * A tree of {@link Address}es keyed by their {@link Address#getAddressParts() parts}, used by
+ * {@link WildcardAddressManager} to find the wildcard addresses matching an address and the addresses matched by a
+ * wildcard address walking as many levels as the parts of the address, instead of matching all of them.
+ * <p>
+ * A part is a wildcard only if it's exactly the single-word or the any-words character of the
+ * {@link WildcardConfiguration}: the single-word wildcard matches one part, the any-words wildcard matches zero or more
+ * parts. The matches found are candidates to be confirmed by {@link Address#matches(Address)}.
+ * <p>
+ * This is not thread safe: the address manager guards it with its own lock.
+ */
+final class AddressPartsTrie {
+
+   private static final class Node {
+
+      Map<SimpleString, Node> children;
+
+      Address address;
+
+      Node child(SimpleString part) {
+         return children == null ? null : children.get(part);
+      }
+
+      boolean isEmpty() {
+         return address == null && (children == null || children.isEmpty());
+      }
+   }
+
+   private final SimpleString singleWord;
+
+   private final SimpleString anyWords;
+
+   private Node root = new Node();
+
+   AddressPartsTrie(WildcardConfiguration wildcardConfiguration) {
+      singleWord = new SimpleString(String.valueOf(wildcardConfiguration.getSingleWord()));
+      anyWords = new SimpleString(String.valueOf(wildcardConfiguration.getAnyWords()));
+   }
+
+   void add(Address address) {
+      Node node = root;
+      for (SimpleString part : address.getAddressParts()) {
+         if (node.children == null) {
+            node.children = new HashMap<>(2);
+         }
+         node = node.children.computeIfAbsent(part, key -> new Node());
+      }
+      node.address = address;
+   }
+
+   void remove(Address address) {
+      remove(root, address.getAddressParts(), 0, address.getAddress());
+   }
+
+   /**
+    * @return {@code true} if {@code node} is left empty
+    */
+   private static boolean remove(Node node, SimpleString[] parts, int index, SimpleString address) {
+      if (index == parts.length) {
+         if (node.address != null && node.address.getAddress().equals(address)) {
+            node.address = null;
+         }
+      } else {
+         final Node child = node.child(parts[index]);
+         if (child != null && remove(child, parts, index + 1, address)) {
+            node.children.remove(parts[index]);
+         }
+      }
+      return node.isEmpty();
+   }
+
+   void clear() {
+      root = new Node();
+   }
+
+   /**
+    * It collects the wildcard addresses of this tree that could match the address made of {@code parts}.
+    */
+   void findMatching(SimpleString[] parts, Set<Address> result) {
+      findMatching(root, parts, 0, result);
+   }
+
+   private void findMatching(Node node, SimpleString[] parts, int index, Set<Address> result) {
+      if (node == null) {
+         return;
+      }
+      if (index == parts.length) {
+         if (node.address != null) {
+            result.add(node.address);
+         }
+      } else {
+         findMatching(node.child(parts[index]), parts, index + 1, result);
+         findMatching(node.child(singleWord), parts, index + 1, result);
+      }
+      final Node anyWordsNode = node.child(anyWords);
+      if (anyWordsNode != null) {
+         for (int next = index; next <= parts.length; next++) {
+            findMatching(anyWordsNode, parts, next, result);
+         }
+      }
+   }
+
+   /**
+    * It collects the addresses of this tree that could be matched by the wildcard address made of {@code parts}.
+    */
+   void findMatchedBy(SimpleString[] parts, Set<Address> result) {
+      findMatchedBy(root, parts, 0, result);
+   }
+
+   private void findMatchedBy(Node node, SimpleString[] parts, int index, Set<Address> result) {
+      if (index == parts.length) {
+         if (node.address != null) {
+            result.add(node.address);
+         }
+         return;
+      }
+      final SimpleString part = parts[index];
+      if (part.equals(anyWords)) {
+         // it matches no parts or it matches a part and it's still there to match more
+         findMatchedBy(node, parts, index + 1, result);
+         if (node.children != null) {
+            for (Node child : node.children.values()) {
+               findMatchedBy(child, parts, index, result);
+            }
+         }
+      } else if (part.equals(singleWord)) {
+         if (node.children != null) {
+            for (Node child : node.children.values()) {
+               findMatchedBy(child, parts, index + 1, result);
+            }
+         }
+      } else {
+         final Node child = node.child(part);
+         if (child != null) {
+            findMatchedBy(child, parts, index + 1, result);
+         }
+      }
+   }
+}
@@ -0,0 +1,572 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.postoffice.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.StampedLock;
+
+import org.apache.activemq.artemis.api.core.ActiveMQDuplicateIdException;
+import org.apache.activemq.artemis.api.core.Pair;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.persistence.StorageManager;
+import org.apache.activemq.artemis.core.postoffice.DuplicateIDCache;
+import org.apache.activemq.artemis.core.server.ActiveMQServerLogger;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.core.transaction.Transaction;
+import org.apache.activemq.artemis.core.transaction.TransactionOperationAbstract;
+import org.apache.activemq.artemis.utils.ByteUtil;
+import org.jboss.logging.Logger;
+
+/**
+ * A fixed size rotating cache of last X duplicate ids, like {@link DuplicateIDCacheImpl}, that doesn't synchronize
+ * {@link #contains(byte[])}, {@link #atomicVerify(byte[], Transaction)} and {@link #addToCache(byte[])}.
+ * <p>
+ * The ids are indexed by an open addressing hash table of their (unwrapped) bytes with linear probing: an id is
+ * inserted by a CAS on the first empty slot of its probe sequence, that's the same slot for any concurrent insert
+ * of the same id, hence a failed CAS is enough to detect a duplicate. Removed ids leave a tombstone behind: once the
+ * slots in use are too many, the table is rebuilt under the exclusive side of a {@link StampedLock} whose shared side
+ * is held by the writers, while {@link #contains(byte[])} just reads optimistically.
+ * <p>
+ * The rotation order is kept by a ring of ids and record IDs whose slots are claimed by a sequence: the ring is
+ * allocated on the first insert.
+ */
+public class LockFreeDuplicateIDCache implements DuplicateIDCache {
+
+   private static final Logger logger = Logger.getLogger(LockFreeDuplicateIDCache.class);
+
+   private static final AtomicReferenceFieldUpdater<LockFreeDuplicateIDCache, Ring> RING_UPDATER = AtomicReferenceFieldUpdater.newUpdater(LockFreeDuplicateIDCache.class, Ring.class, "ring");
+
+   private static final byte[] TOMBSTONE = new byte[0];
+
+   private static final long NO_RECORD = -1;
+
+   private static final int MIN_INDEX_CAPACITY = 16;
+
+   private final SimpleString address;
+
+   private final int cacheSize;
+
+   private final StorageManager storageManager;
+
+   private final boolean persist;
+
+   private final StampedLock indexLock = new StampedLock();
+
+   private final AtomicInteger usedIndexSlots = new AtomicInteger();
+
+   private volatile AtomicReferenceArray<byte[]> index = new AtomicReferenceArray<>(MIN_INDEX_CAPACITY);
+
+   private volatile Ring ring;
+
+   public LockFreeDuplicateIDCache(final SimpleString address,
+                                   final int size,
+                                   final StorageManager storageManager,
+                                   final boolean persist) {
+      this.address = address;
+
+      cacheSize = Math.max(1, size);
+
+      this.storageManager = storageManager;
+
+      this.persist = persist;
+   }
+
+   @Override
+   public void load(final List<Pair<byte[], Long>> theIds) throws Exception {
+      long txID = -1;
+
+      // If we have more IDs than cache size, we shrink the first ones
+      int deleteCount = theIds.size() - cacheSize;
+      if (deleteCount < 0) {
+         deleteCount = 0;
+      }
+
+      for (Pair<byte[], Long> id : theIds) {
+         if (deleteCount > 0) {
+            if (txID == -1) {
+               txID = storageManager.generateID();
+            }
+            if (logger.isTraceEnabled()) {
+               logger.trace("LockFreeDuplicateIDCache::load deleting id=" + describeID(id.getA(), id.getB()));
+            }
+
+            storageManager.deleteDuplicateIDTransactional(txID, id.getB());
+            deleteCount--;
+         } else {
+            if (logger.isTraceEnabled()) {
+               logger.trace("LockFreeDuplicateIDCache::load loading id=" + describeID(id.getA(), id.getB()));
+            }
+
+            addToCacheInMemory(id.getA(), id.getB() != null ? id.getB() : NO_RECORD);
+         }
+      }
+
+      if (txID != -1) {
+         storageManager.commit(txID);
+      }
+   }
+
+   @Override
+   public void deleteFromCache(byte[] duplicateID) throws Exception {
+      if (logger.isTraceEnabled()) {
+         logger.trace("LockFreeDuplicateIDCache(" + this.address + ")::deleteFromCache deleting id=" + describeID(duplicateID, NO_RECORD));
+      }
+
+      final long stamp = indexLock.readLock();
+      try {
+         final byte[] removed = removeFromIndex(index, duplicateID, false);
+         final Ring ring = this.ring;
+         if (removed == null || ring == null) {
+            return;
+         }
+         for (int slot = 0; slot < cacheSize; slot++) {
+            if (ring.ids.get(slot) == removed) {
+               final long recordID = ring.recordIDs.get(slot);
+               // a concurrent rotation could have already claimed the slot: whoever swaps the record deletes it
+               if (ring.ids.compareAndSet(slot, removed, null) && recordID != NO_RECORD && ring.recordIDs.compareAndSet(slot, recordID, NO_RECORD)) {
+                  storageManager.deleteDuplicateID(recordID);
+                  if (logger.isTraceEnabled()) {
+                     logger.trace("LockFreeDuplicateIDCache(" + this.address + ")::deleteFromCache deleting id=" + describeID(duplicateID, recordID));
+                  }
+               }
+               return;
+            }
+         }
+      } finally {
+         indexLock.unlockRead(stamp);
+      }
+   }
+
+   @Override
+   public boolean contains(final byte[] duplID) {
+      final long stamp = indexLock.tryOptimisticRead();
+      boolean contains = find(index, duplID);
+      if (!indexLock.validate(stamp)) {
+         final long readStamp = indexLock.readLock();
+         try {
+            contains = find(index, duplID);
+         } finally {
+            indexLock.unlockRead(readStamp);
+         }
+      }
+
+      if (contains && logger.isTraceEnabled()) {
+         logger.trace("LockFreeDuplicateIDCache(" + this.address + ")::contains found a duplicate " + describeID(duplID, NO_RECORD));
+      }
+      return contains;
+   }
+
+   @Override
+   public void addToCache(final byte[] duplID) throws Exception {
+      addToCache(duplID, null, false);
+   }
+
+   @Override
+   public void addToCache(final byte[] duplID, final Transaction tx) throws Exception {
+      addToCache(duplID, tx, false);
+   }
+
+   @Override
+   public boolean atomicVerify(final byte[] duplID, final Transaction tx) throws Exception {
+      if (tx != null) {
+         // the transactional ids are added to the cache only once committed
+         if (contains(duplID)) {
+            tx.markAsRollbackOnly(new ActiveMQDuplicateIdException());
+            return false;
+         }
+         addToCache(duplID, tx, true);
+         return true;
+      }
+
+      if (putIfAbsent(duplID) != null) {
+         if (logger.isTraceEnabled()) {
+            logger.trace("LockFreeDuplicateIDCache(" + this.address + ")::atomicVerify found a duplicate " + describeID(duplID, NO_RECORD));
+         }
+         return false;
+      }
+
+      long recordID = NO_RECORD;
+      if (persist) {
+         try {
+            recordID = storageManager.generateID();
+            storageManager.storeDuplicateID(address, duplID, recordID);
+         } catch (Exception e) {
+            removeFromIndex(duplID);
+            throw e;
+         }
+      }
+
+      addToRing(duplID, recordID);
+      return true;
+   }
+
+   @Override
+   public void addToCache(final byte[] duplID, final Transaction tx, boolean instantAdd) throws Exception {
+      long recordID = NO_RECORD;
+
+      if (tx == null) {
+         if (persist) {
+            recordID = storageManager.generateID();
+            storageManager.storeDuplicateID(address, duplID, recordID);
+         }
+
+         addToCacheInMemory(duplID, recordID);
+      } else {
+         if (persist) {
+            recordID = storageManager.generateID();
+            storageManager.storeDuplicateIDTransactional(tx.getID(), address, duplID, recordID);
+
+            tx.setContainsPersistent();
+         }
+
+         if (logger.isTraceEnabled()) {
+            logger.trace("LockFreeDuplicateIDCache(" + this.address + ")::addToCache Adding duplicateID TX operation for " + describeID(duplID, recordID) + ", tx=" + tx);
+         }
+
+         if (instantAdd) {
+            tx.addOperation(new AddDuplicateIDOperation(duplID, recordID, false));
+         } else {
+            // For a tx, it's important that the entry is not added to the cache until commit
+            // since if the client fails then resends them tx we don't want it to get rejected
+            tx.afterStore(new AddDuplicateIDOperation(duplID, recordID, true));
+         }
+      }
+   }
+
+   @Override
+   public void load(final Transaction tx, final byte[] duplID) {
+      tx.addOperation(new AddDuplicateIDOperation(duplID, tx.getID(), true));
+   }
+
+   private void addToCacheInMemory(final byte[] duplID, final long recordID) {
+      if (logger.isTraceEnabled()) {
+         logger.trace("LockFreeDuplicateIDCache(" + this.address + ")::addToCacheInMemory Adding " + describeID(duplID, recordID));
+      }
+
+      // an id already there is kept by the index, but it's still rotated as DuplicateIDCacheImpl does
+      putIfAbsent(duplID);
+      addToRing(duplID, recordID);
+   }
+
+   @Override
+   public void clear() throws Exception {
+      logger.debug("LockFreeDuplicateIDCache(" + this.address + ")::clear removing duplicate ID data");
+      final long stamp = indexLock.writeLock();
+      try {
+         final Ring ring = this.ring;
+         if (ring != null && persist) {
+            long tx = -1;
+            for (int slot = 0; slot < cacheSize; slot++) {
+               final long recordID = ring.recordIDs.get(slot);
+               if (recordID != NO_RECORD) {
+                  if (tx == -1) {
+                     tx = storageManager.generateID();
+                  }
+                  storageManager.deleteDuplicateIDTransactional(tx, recordID);
+               }
+            }
+            if (tx != -1) {
+               storageManager.commit(tx);
+            }
+         }
+
+         this.ring = null;
+         index = new AtomicReferenceArray<>(MIN_INDEX_CAPACITY);
+         usedIndexSlots.set(0);
+      } finally {
+         indexLock.unlockWrite(stamp);
+      }
+   }
+
+   @Override
+   public List<Pair<byte[], Long>> getMap() {
+      final Ring ring = this.ring;
+      if (ring == null) {
+         return new ArrayList<>();
+      }
+      final long nextSequence = ring.nextSequence.get();
+      final int size = (int) Math.min(nextSequence, cacheSize);
+      final List<Pair<byte[], Long>> list = new ArrayList<>(size);
+      // from the oldest id to the newest one
+      for (long sequence = nextSequence - size; sequence < nextSequence; sequence++) {
+         final int slot = (int) (sequence % cacheSize);
+         final byte[] id = ring.ids.get(slot);
+         if (id != null) {
+            final long recordID = ring.recordIDs.get(slot);
+            list.add(new Pair<>(id, recordID != NO_RECORD ? recordID : null));
+         }
+      }
+      return list;
+   }
+
+   /**
+    * @return the id equal to {@code duplID} already in the index or {@code null} if {@code duplID} has been added
+    */
+   private byte[] putIfAbsent(final byte[] duplID) {
+      final int hash = hash(duplID);
+      while (true) {
+         final AtomicReferenceArray<byte[]> index;
+         boolean added = false;
+         final long stamp = indexLock.readLock();
+         try {
+            index = this.index;
+            final int mask = index.length() - 1;
+            for (int i = 0, slot = hash & mask; i <= mask; i++, slot = (slot + 1) & mask) {
+               byte[] id = index.get(slot);
+               if (id == null) {
+                  if (index.compareAndSet(slot, null, duplID)) {
+                     if (usedIndexSlots.incrementAndGet() <= rebuildThreshold(index.length())) {
+                        return null;
+                     }
+                     added = true;
+                     break;
+                  }
+                  // a concurrent insert has taken the slot: it could be the same id
+                  id = index.get(slot);
+               }
+               if (id != TOMBSTONE && Arrays.equals(id, duplID)) {
+                  return id;
+               }
+            }
+         } finally {
+            indexLock.unlockRead(stamp);
+         }
+         // either duplID has filled the index beyond the threshold or the index is full and duplID has to be retried
+         rebuildIndex(index);
+         if (added) {
+            return null;
+         }
+      }
+   }
+
+   private void removeFromIndex(final byte[] duplID) {
+      final long stamp = indexLock.readLock();
+      try {
+         removeFromIndex(index, duplID, true);
+      } finally {
+         indexLock.unlockRead(stamp);
+      }
+   }
+
+   /**
+    * @param sameInstance if {@code true} it removes {@code duplID} itself, otherwise any id equal to it
+    * @return the removed id or {@code null} if there wasn't one
+    */
+   private static byte[] removeFromIndex(final AtomicReferenceArray<byte[]> index,
+                                         final byte[] duplID,
+                                         final boolean sameInstance) {
+      final int mask = index.length() - 1;
+      for (int i = 0, slot = hash(duplID) & mask; i <= mask; i++, slot = (slot + 1) & mask) {
+         final byte[] id = index.get(slot);
+         if (id == null) {
+            return null;
+         }
+         if (sameInstance ? id == duplID : id != TOMBSTONE && Arrays.equals(id, duplID)) {
+            // a failed CAS means that a concurrent remove got it first
+            return index.compareAndSet(slot, id, TOMBSTONE) ? id : null;
+         }
+      }
+      return null;
+   }
+
+   private static boolean find(final AtomicReferenceArray<byte[]> index, final byte[] duplID) {
+      final int mask = index.length() - 1;
+      for (int i = 0, slot = hash(duplID) & mask; i <= mask; i++, slot = (slot + 1) & mask) {
+         final byte[] id = index.get(slot);
+         if (id == null) {
+            return false;
+         }
+         if (id != TOMBSTONE && Arrays.equals(id, duplID)) {
+            return true;
+         }
+      }
+      return false;
+   }
+
+   /**
+    * It rehashes the ids of {@code oldIndex}, if it's still the current index, dropping the tombstones.
+    */
+   private void rebuildIndex(final AtomicReferenceArray<byte[]> oldIndex) {
+      final long stamp = indexLock.writeLock();
+      try {
+         if (index != oldIndex) {
+            return;
+         }
+         final List<byte[]> ids = new ArrayList<>(oldIndex.length());
+         for (int slot = 0; slot < oldIndex.length(); slot++) {
+            final byte[] id = oldIndex.get(slot);
+            if (id != null && id != TOMBSTONE) {
+               ids.add(id);
+            }
+         }
+         // at least half of the slots are left empty, that's at least a quarter before the next rebuild
+         final int capacity = Math.max(MIN_INDEX_CAPACITY, Integer.highestOneBit(Math.max(1, ids.size()) * 4 - 1));
+         final AtomicReferenceArray<byte[]> newIndex = new AtomicReferenceArray<>(capacity);
+         final int mask = capacity - 1;
+         for (byte[] id : ids) {
+            int slot = hash(id) & mask;
+            while (newIndex.get(slot) != null) {
+               slot = (slot + 1) & mask;
+            }
+            newIndex.lazySet(slot, id);
+         }
+         if (logger.isTraceEnabled()) {
+            logger.trace("LockFreeDuplicateIDCache(" + this.address + ")::rebuildIndex " + ids.size() + " ids from " + oldIndex.length() + " to " + capacity + " slots");
+         }
+         usedIndexSlots.set(ids.size());
+         index = newIndex;
+      } finally {
+         indexLock.unlockWrite(stamp);
+      }
+   }
+
+   private static int rebuildThreshold(int capacity) {
+      return capacity - (capacity >> 2);
+   }
+
+   private static int hash(final byte[] bytes) {
+      // same as DuplicateIDCacheImpl, but spread over the lower bits used as a slot
+      int hash = 0;
+      for (byte b : bytes) {
+         hash = 31 * hash + b;
+      }
+      hash *= 0x9E3779B9;
+      return hash ^ (hash >>> 16);
+   }
+
+   private void addToRing(final byte[] duplID, final long recordID) {
+      final long stamp = indexLock.readLock();
+      try {
+         Ring ring = this.ring;
+         if (ring == null) {
+            ring = new Ring(cacheSize);
+            if (!RING_UPDATER.compareAndSet(this, null, ring)) {
+               ring = this.ring;
+            }
+         }
+         final long sequence = ring.nextSequence.getAndIncrement();
+         final int slot = (int) (sequence % cacheSize);
+         // the previous lap on this slot could be still in progress
+         final long previousSequence = sequence - cacheSize;
+         while (ring.sequences.get(slot) != previousSequence) {
+            Thread.yield();
+         }
+         final byte[] oldID = ring.ids.getAndSet(slot, duplID);
+         final long oldRecordID = ring.recordIDs.getAndSet(slot, recordID);
+         ring.sequences.set(slot, sequence);
+
+         if (oldID != null) {
+            if (logger.isTraceEnabled()) {
+               logger.trace("LockFreeDuplicateIDCache(" + this.address + ")::addToRing removing excess duplicateDetection " + describeID(oldID, oldRecordID));
+            }
+            removeFromIndex(index, oldID, true);
+         }
+
+         // Record already exists - we delete the old one and add the new one
+         // Note we can't use update since journal update doesn't let older records get
+         // reclaimed
+         if (oldRecordID != NO_RECORD) {
+            try {
+               storageManager.deleteDuplicateID(oldRecordID);
+            } catch (Exception e) {
+               ActiveMQServerLogger.LOGGER.errorDeletingDuplicateCache(e);
+            }
+         }
+      } finally {
+         indexLock.unlockRead(stamp);
+      }
+   }
+
+   private static String describeID(byte[] duplicateID, long id) {
+      return ByteUtil.bytesToHex(duplicateID, 4) + ", simpleString=" + ByteUtil.toSimpleString(duplicateID) + ", id=" + id;
+   }
+
+   private static final class Ring {
+
+      final AtomicReferenceArray<byte[]> ids;
+
+      final AtomicLongArray recordIDs;
+
+      /**
+       * The sequence of the last lap on each slot
+       */
+      final AtomicLongArray sequences;
+
+      final AtomicLong nextSequence = new AtomicLong();
+
+      Ring(int size) {
+         ids = new AtomicReferenceArray<>(size);
+         recordIDs = new AtomicLongArray(size);
+         sequences = new AtomicLongArray(size);
+         for (int slot = 0; slot < size; slot++) {
+            recordIDs.lazySet(slot, NO_RECORD);
+            sequences.lazySet(slot, slot - size);
+         }
+      }
+   }
+
+   private final class AddDuplicateIDOperation extends TransactionOperationAbstract {
+
+      final byte[] duplID;
+
+      final long recordID;
+
+      volatile boolean done;
+
+      private final boolean afterCommit;
+
+      AddDuplicateIDOperation(final byte[] duplID, final long recordID, boolean afterCommit) {
+         this.duplID = duplID;
+         this.recordID = recordID;
+         this.afterCommit = afterCommit;
+      }
+
+      private void process() {
+         if (!done) {
+            addToCacheInMemory(duplID, recordID);
+
+            done = true;
+         }
+      }
+
+      @Override
+      public void afterCommit(final Transaction tx) {
+         if (afterCommit) {
+            process();
+         }
+      }
+
+      @Override
+      public void beforeCommit(Transaction tx) throws Exception {
+         if (!afterCommit) {
+            process();
+         }
+      }
+
+      @Override
+      public List<MessageReference> getRelatedMessageReferences() {
+         return null;
+      }
+   }
+}
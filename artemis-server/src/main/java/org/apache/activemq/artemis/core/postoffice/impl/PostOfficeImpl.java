@@ -35,6 +35,8 @@ import org.apache.activemq.artemis.core.config.WildcardConfiguration;
 import org.apache.activemq.artemis.core.filter.Filter;
 import org.apache.activemq.artemis.core.filter.impl.FilterImpl;
 import org.apache.activemq.artemis.core.io.IOCallback;
+import org.apache.activemq.artemis.core.journal.Journal;
+import org.apache.activemq.artemis.core.journal.impl.StripedJournal;
 import org.apache.activemq.artemis.core.message.impl.CoreMessage;
 import org.apache.activemq.artemis.core.paging.PagingManager;
 import org.apache.activemq.artemis.core.paging.PagingStore;
@@ -82,6 +84,7 @@ import org.apache.activemq.artemis.utils.collections.TypedProperties;
 import org.jboss.logging.Logger;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumSet;
@@ -142,6 +145,8 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
 
    private final boolean persistIDCache;
 
+   private final boolean lockFreeIDCache;
+
    private final Map<SimpleString, QueueInfo> queueInfos = new HashMap<>();
 
    private final Object notificationLock = new Object();
@@ -160,6 +165,7 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
                          final WildcardConfiguration wildcardConfiguration,
                          final int idCacheSize,
                          final boolean persistIDCache,
+                         final boolean lockFreeIDCache,
                          final HierarchicalRepository<AddressSettings> addressSettingsRepository) {
       this.storageManager = storageManager;
 
@@ -183,6 +189,8 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
 
       this.persistIDCache = persistIDCache;
 
+      this.lockFreeIDCache = lockFreeIDCache;
+
       this.addressSettingsRepository = addressSettingsRepository;
 
       this.server = server;
@@ -251,8 +259,8 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
 
                Integer bindingType = props.getIntProperty(ManagementHelper.HDR_BINDING_TYPE);
 
-               if (bindingType == BindingType.DIVERT_INDEX) {
-                  // We don't propagate diverts
+               if (bindingType == BindingType.DIVERT_INDEX || bindingType == BindingType.SUBSCRIBER_INDEX) {
+                  // We don't propagate diverts nor subscribers
                   return;
                }
 
@@ -899,7 +907,7 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
             addressInfo.setBindingRemovedTimestamp(System.currentTimeMillis());
          }
 
-         if (binding.getType() != BindingType.DIVERT) {
+         if (binding.getType() != BindingType.DIVERT && binding.getType() != BindingType.SUBSCRIBER) {
             TypedProperties props = new TypedProperties();
 
             props.putSimpleStringProperty(ManagementHelper.HDR_ADDRESS, binding.getAddress());
@@ -1033,6 +1041,86 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
       return route(message, context, direct, rejectDuplicates, bindingMove, false);
    }
 
+   /**
+    * Consecutive messages sent to the same address share the lookup of their bindings and settings, and the references
+    * they add are handed to their queues once the whole batch is stored: on non transactional routes, only the last
+    * journal record of the batch is synced.
+    * <p>
+    * Large, scheduled and duplicate detected messages are routed on their own, as
+    * {@link #route(Message, RoutingContext, boolean)} does.
+    */
+   @Override
+   public RoutingStatus[] route(final List<? extends Message> messages,
+                                final RoutingContext context,
+                                final boolean direct) throws Exception {
+      final RoutingStatus[] results = new RoutingStatus[messages.size()];
+      final Transaction tx = context.getTransaction();
+      final RouteBatch batch = new RouteBatch(tx);
+
+      SimpleString batchAddress = null;
+      Bindings bindings = null;
+      AddressInfo addressInfo = null;
+      AddressSettings addressSettings = null;
+
+      try {
+         for (int i = 0; i < results.length; i++) {
+            final Message message = messages.get(i);
+
+            if (!isBatchable(message, context)) {
+               batch.flush(context, direct);
+               results[i] = route(message, context, direct);
+               // a duplicate check may have set its own transaction
+               context.setTransaction(tx);
+               continue;
+            }
+
+            final SimpleString address = context.getAddress(message);
+
+            if (!address.equals(batchAddress)) {
+               batchAddress = address;
+               bindings = addressManager.getBindingsForRoutingAddress(address);
+               addressInfo = addressManager.getAddressInfo(address);
+               addressSettings = addressSettingsRepository.getMatch(address.toString());
+            }
+
+            results[i] = routeInBatch(message, context, direct, address, bindings, addressInfo, addressSettings, batch);
+         }
+      } finally {
+         batch.flush(context, direct);
+      }
+
+      return results;
+   }
+
+   private static boolean isBatchable(final Message message, final RoutingContext context) {
+      if (message.isLargeMessage() || message.hasScheduledDeliveryTime()) {
+         return false;
+      }
+      return !context.isDuplicateDetection() || message.getDuplicateIDBytes() == null && message.getExtraBytesProperty(Message.HDR_BRIDGE_DUPLICATE_ID) == null;
+   }
+
+   private RoutingStatus routeInBatch(final Message message,
+                                      final RoutingContext context,
+                                      final boolean direct,
+                                      final SimpleString address,
+                                      final Bindings bindings,
+                                      final AddressInfo addressInfo,
+                                      final AddressSettings addressSettings,
+                                      final RouteBatch batch) throws Exception {
+      // Sanity check
+      if (message.getRefCount() > 0) {
+         throw new IllegalStateException("Message cannot be routed more than once");
+      }
+
+      applyExpiryDelay(message, addressSettings);
+
+      message.clearInternalProperties();
+
+      bind(message, context, direct, true, address, bindings, addressInfo, null);
+
+      return routeBound(message, context, direct, true, address, addressSettings, false, null, batch);
+   }
+
 
    /**
     * The route can call itelf sending to DLA.
@@ -1044,8 +1132,6 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
                               boolean rejectDuplicates,
                               final Binding bindingMove, boolean sendToDLA) throws Exception {
 
-
-      RoutingStatus result;
       // Sanity check
       if (message.getRefCount() > 0) {
          throw new IllegalStateException("Message cannot be routed more than once");
@@ -1055,7 +1141,9 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
 
       AtomicBoolean startedTX = new AtomicBoolean(false);
 
-      applyExpiryDelay(message, address);
+      final AddressSettings addressSettings = addressSettingsRepository.getMatch(address.toString());
+
+      applyExpiryDelay(message, addressSettings);
 
       if (context.isDuplicateDetection() && !checkDuplicateID(message, context, rejectDuplicates, startedTX)) {
          return RoutingStatus.DUPLICATED_ID;
@@ -1067,6 +1155,23 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
 
       AddressInfo addressInfo = addressManager.getAddressInfo(address);
 
+      bind(message, context, direct, rejectDuplicates, address, bindings, addressInfo, bindingMove);
+
+      return routeBound(message, context, direct, rejectDuplicates, address, addressSettings, sendToDLA, startedTX, null);
+   }
+
+   /**
+    * Adds to {@code context} the queues of the bindings {@code message} is routed to, the ones of {@code bindingMove}
+    * if not {@code null}.
+    */
+   private void bind(final Message message,
+                     final RoutingContext context,
+                     final boolean direct,
+                     final boolean rejectDuplicates,
+                     final SimpleString address,
+                     final Bindings bindings,
+                     final AddressInfo addressInfo,
+                     final Binding bindingMove) throws Exception {
       if (bindingMove != null) {
          context.clear();
          context.setReusable(false);
@@ -1080,7 +1185,8 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
             addressInfo.incrementRoutedMessageCount();
          }
       } else {
-         context.setReusable(false);
+         // a reused context may still hold the queues of the previous message
+         context.clear().setReusable(false);
          if (addressInfo != null) {
             addressInfo.incrementUnRoutedMessageCount();
          }
@@ -1097,60 +1203,45 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
       if (logger.isTraceEnabled()) {
          logger.trace("Message after routed=" + message + "\n" + context.toString());
       }
+   }
 
+   /**
+    * Stores {@code message} and adds its references to the queues {@link #bind} found, or handles it as unrouted if
+    * there are none.
+    *
+    * @param startedTX the transaction started by the duplicate check, if not {@code null}
+    * @param batch     the batch whose references {@code message} is added to, if not {@code null}
+    */
+   private RoutingStatus routeBound(final Message message,
+                                    final RoutingContext context,
+                                    final boolean direct,
+                                    final boolean rejectDuplicates,
+                                    final SimpleString address,
+                                    final AddressSettings addressSettings,
+                                    final boolean sendToDLA,
+                                    final AtomicBoolean startedTX,
+                                    final RouteBatch batch) throws Exception {
+      final RoutingStatus result;
       try {
-         if (context.getQueueCount() == 0) {
-            // Send to DLA if appropriate
-
-            AddressSettings addressSettings = addressSettingsRepository.getMatch(address.toString());
-
-
-            if (sendToDLA) {
-               // it's already been through here once, giving up now
-               sendToDLA = false;
-            } else {
-               sendToDLA = addressSettings.isSendToDLAOnNoRoute();
-            }
-
-            if (sendToDLA) {
-               // Send to the DLA for the address
-
-               SimpleString dlaAddress = addressSettings.getDeadLetterAddress();
-
-               if (logger.isDebugEnabled()) {
-                  logger.debug("sending message to dla address = " + dlaAddress + ", message=" + message);
-               }
-
-               if (dlaAddress == null) {
-                  result = RoutingStatus.NO_BINDINGS;
-                  ActiveMQServerLogger.LOGGER.noDLA(address);
-               } else {
-                  message.referenceOriginalMessage(message, null);
-
-                  message.setAddress(dlaAddress);
-
-                  message.reencode();
-
-                  route(message, new RoutingContextImpl(context.getTransaction()), false, true, null, sendToDLA);
-                  result = RoutingStatus.NO_BINDINGS_DLA;
-               }
-            } else {
-               result = RoutingStatus.NO_BINDINGS;
-
-               if (logger.isDebugEnabled()) {
-                  logger.debug("Message " + message + " is not going anywhere as it didn't have a binding on address:" + address);
-               }
-
-               if (message.isLargeMessage()) {
-                  ((LargeServerMessage) message).deleteFile();
-               }
+         if (context.getQueueCount() == 0 && context.isRouted()) {
+            // delivered by a binding without a queue
+            result = RoutingStatus.OK;
+         } else if (context.getQueueCount() == 0) {
+            if (batch != null) {
+               // the dead letter address is routed on its own
+               batch.flush(context, direct);
             }
+            result = routeNoBindings(message, context, address, addressSettings, sendToDLA);
          } else {
             result = RoutingStatus.OK;
             try {
-               processRoute(message, context, direct);
+               if (batch != null) {
+                  processRoute(message, context, batch.refs, batch);
+               } else {
+                  processRoute(message, context, direct);
+               }
             } catch (ActiveMQAddressFullException e) {
-               if (startedTX.get()) {
+               if (startedTX != null && startedTX.get()) {
                   context.getTransaction().rollback();
                } else if (context.getTransaction() != null) {
                   context.getTransaction().markAsRollbackOnly(e);
@@ -1159,7 +1250,7 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
             }
          }
 
-         if (startedTX.get()) {
+         if (startedTX != null && startedTX.get()) {
             context.getTransaction().commit();
          }
       } catch (Exception e) {
@@ -1176,9 +1267,61 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
       return result;
    }
 
+   private RoutingStatus routeNoBindings(final Message message,
+                                         final RoutingContext context,
+                                         final SimpleString address,
+                                         final AddressSettings addressSettings,
+                                         boolean sendToDLA) throws Exception {
+      // Send to DLA if appropriate
+      final RoutingStatus result;
+
+      if (sendToDLA) {
+         // it's already been through here once, giving up now
+         sendToDLA = false;
+      } else {
+         sendToDLA = addressSettings.isSendToDLAOnNoRoute();
+      }
+
+      if (sendToDLA) {
+         // Send to the DLA for the address
+
+         SimpleString dlaAddress = addressSettings.getDeadLetterAddress();
+
+         if (logger.isDebugEnabled()) {
+            logger.debug("sending message to dla address = " + dlaAddress + ", message=" + message);
+         }
+
+         if (dlaAddress == null) {
+            result = RoutingStatus.NO_BINDINGS;
+            ActiveMQServerLogger.LOGGER.noDLA(address);
+         } else {
+            message.referenceOriginalMessage(message, null);
+
+            message.setAddress(dlaAddress);
+
+            message.reencode();
+
+            route(message, new RoutingContextImpl(context.getTransaction()), false, true, null, sendToDLA);
+            result = RoutingStatus.NO_BINDINGS_DLA;
+         }
+      } else {
+         result = RoutingStatus.NO_BINDINGS;
+
+         if (logger.isDebugEnabled()) {
+            logger.debug("Message " + message + " is not going anywhere as it didn't have a binding on address:" + address);
+         }
+
+         if (message.isLargeMessage()) {
+            ((LargeServerMessage) message).deleteFile();
+         }
+      }
+
+      return result;
+   }
+
    // HORNETQ-1029
-   private void applyExpiryDelay(Message message, SimpleString address) {
-      long expirationOverride = addressSettingsRepository.getMatch(address.toString()).getExpiryDelay();
+   private void applyExpiryDelay(Message message, AddressSettings addressSettings) {
+      long expirationOverride = addressSettings.getExpiryDelay();
 
       // A -1 <expiry-delay> means don't do anything
       if (expirationOverride >= 0) {
@@ -1187,8 +1330,8 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
             message.setExpiration(System.currentTimeMillis() + expirationOverride);
          }
       } else {
-         long minExpiration = addressSettingsRepository.getMatch(address.toString()).getMinExpiryDelay();
-         long maxExpiration = addressSettingsRepository.getMatch(address.toString()).getMaxExpiryDelay();
+         long minExpiration = addressSettings.getMinExpiryDelay();
+         long maxExpiration = addressSettings.getMaxExpiryDelay();
 
          if (maxExpiration != AddressSettings.DEFAULT_MAX_EXPIRY_DELAY && (message.getExpiration() == 0 || message.getExpiration() > (System.currentTimeMillis() + maxExpiration))) {
             message.setExpiration(System.currentTimeMillis() + maxExpiration);
@@ -1274,7 +1417,11 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
       DuplicateIDCache cache = duplicateIDCaches.get(address);
 
       if (cache == null) {
-         cache = new DuplicateIDCacheImpl(address, idCacheSize, storageManager, persistIDCache);
+         if (lockFreeIDCache) {
+            cache = new LockFreeDuplicateIDCache(address, idCacheSize, storageManager, persistIDCache);
+         } else {
+            cache = new DuplicateIDCacheImpl(address, idCacheSize, storageManager, persistIDCache);
+         }
 
          DuplicateIDCache oldCache = duplicateIDCaches.putIfAbsent(address, cache);
 
@@ -1448,6 +1595,18 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
                             final boolean direct) throws Exception {
       final List<MessageReference> refs = new ArrayList<>();
 
+      processRoute(message, context, refs, null);
+
+      addReferences(context.getTransaction(), refs, context, direct);
+   }
+
+   /**
+    * @param batch where the non transactional records are stored through, if routing a batch
+    */
+   private void processRoute(final Message message,
+                             final RoutingContext context,
+                             final List<MessageReference> refs,
+                             final RouteBatch batch) throws Exception {
       Transaction tx = context.getTransaction();
 
       Long deliveryTime = null;
@@ -1504,6 +1663,8 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
                if (durableRefCount == 1) {
                   if (tx != null) {
                      storageManager.storeMessageTransactional(tx.getID(), message);
+                  } else if (batch != null) {
+                     batch.storeMessage(message);
                   } else {
                      storageManager.storeMessage(message);
                   }
@@ -1517,6 +1678,8 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
                   storageManager.storeReferenceTransactional(tx.getID(), queue.getID(), message.getMessageID());
 
                   tx.setContainsPersistent();
+               } else if (batch != null) {
+                  batch.storeReference(queue.getID(), message.getMessageID());
                } else {
                   storageManager.storeReference(queue.getID(), message.getMessageID(), !iter.hasNext());
                }
@@ -1533,7 +1696,12 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
             }
          }
       }
+   }
 
+   private void addReferences(final Transaction tx,
+                              final List<MessageReference> refs,
+                              final RoutingContext context,
+                              final boolean direct) {
       if (tx != null) {
          tx.addOperation(new AddOperation(refs));
       } else {
@@ -1553,6 +1721,70 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
       }
    }
 
+   /**
+    * The references of a batch of routed messages, not added to their queues yet. The last non transactional reference
+    * stored on each lane of the message journal is held back until the next record of the lane is stored, so the ones
+    * closing the batch are the only ones synced: one per lane, as each lane is synced on its own.
+    */
+   private final class RouteBatch {
+
+      private final Transaction tx;
+
+      private List<MessageReference> refs = new ArrayList<>();
+
+      // the message journal, if striped over many lanes
+      private final StripedJournal stripedJournal;
+
+      // the last reference stored on each lane, still to be written
+      private final long[] pendingQueueIDs;
+
+      private final long[] pendingMessageIDs;
+
+      RouteBatch(final Transaction tx) {
+         this.tx = tx;
+         final Journal messageJournal = storageManager.getMessageJournal();
+         this.stripedJournal = messageJournal instanceof StripedJournal && ((StripedJournal) messageJournal).getLanes() > 1 ? (StripedJournal) messageJournal : null;
+         final int lanes = stripedJournal == null ? 1 : stripedJournal.getLanes();
+         this.pendingQueueIDs = new long[lanes];
+         this.pendingMessageIDs = new long[lanes];
+         Arrays.fill(pendingMessageIDs, -1);
+      }
+
+      private int laneOf(final long messageID) {
+         return stripedJournal == null ? 0 : stripedJournal.laneOf(messageID);
+      }
+
+      void storeMessage(final Message message) throws Exception {
+         storePendingReference(laneOf(message.getMessageID()), false);
+         storageManager.storeMessage(message);
+      }
+
+      void storeReference(final long queueID, final long messageID) throws Exception {
+         final int lane = laneOf(messageID);
+         storePendingReference(lane, false);
+         pendingQueueIDs[lane] = queueID;
+         pendingMessageIDs[lane] = messageID;
+      }
+
+      private void storePendingReference(final int lane, final boolean last) throws Exception {
+         if (pendingMessageIDs[lane] >= 0) {
+            final long messageID = pendingMessageIDs[lane];
+            pendingMessageIDs[lane] = -1;
+            storageManager.storeReference(pendingQueueIDs[lane], messageID, last);
+         }
+      }
+
+      void flush(final RoutingContext context, final boolean direct) throws Exception {
+         for (int lane = 0; lane < pendingMessageIDs.length; lane++) {
+            storePendingReference(lane, true);
+         }
+         if (!refs.isEmpty()) {
+            addReferences(tx, refs, context, direct);
+            refs = new ArrayList<>();
+         }
+      }
+   }
+
    /**
     * @param tx
     * @param message
@@ -29,8 +29,10 @@ import org.apache.activemq.artemis.core.server.metrics.MetricsManager;
 import org.apache.activemq.artemis.core.transaction.Transaction;
 
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -46,17 +48,29 @@ public class WildcardAddressManager extends SimpleAddressManager {
 
    private final Map<SimpleString, Address> wildCardAddresses = new ConcurrentHashMap<>();
 
+   /**
+    * The same addresses of {@link #addresses} and {@link #wildCardAddresses} indexed by their parts, to link them
+    * without matching all of them: they are guarded by this manager
+    */
+   private final AddressPartsTrie addressesTrie;
+
+   private final AddressPartsTrie wildCardAddressesTrie;
+
    public WildcardAddressManager(final BindingsFactory bindingsFactory,
                                  final WildcardConfiguration wildcardConfiguration,
                                  final StorageManager storageManager,
                                  final MetricsManager metricsManager) {
       super(bindingsFactory, wildcardConfiguration, storageManager, metricsManager);
+      addressesTrie = new AddressPartsTrie(this.wildcardConfiguration);
+      wildCardAddressesTrie = new AddressPartsTrie(this.wildcardConfiguration);
    }
 
    public WildcardAddressManager(final BindingsFactory bindingsFactory,
                                  final StorageManager storageManager,
                                  final MetricsManager metricsManager) {
       super(bindingsFactory, storageManager, metricsManager);
+      addressesTrie = new AddressPartsTrie(this.wildcardConfiguration);
+      wildCardAddressesTrie = new AddressPartsTrie(this.wildcardConfiguration);
    }
 
    @Override
@@ -167,8 +181,12 @@ public class WildcardAddressManager extends SimpleAddressManager {
    @Override
    public void clear() {
       super.clear();
-      addresses.clear();
-      wildCardAddresses.clear();
+      synchronized (this) {
+         addresses.clear();
+         wildCardAddresses.clear();
+         addressesTrie.clear();
+         wildCardAddressesTrie.clear();
+      }
    }
 
    private Address getAddress(final SimpleString address) {
@@ -194,15 +212,18 @@ public class WildcardAddressManager extends SimpleAddressManager {
          actualAddress = add;
          addAddress(address, actualAddress);
       }
+      final Set<Address> candidates = new HashSet<>();
       if (actualAddress.containsWildCard()) {
-         for (Address destAdd : addresses.values()) {
+         addressesTrie.findMatchedBy(actualAddress.getAddressParts(), candidates);
+         for (Address destAdd : candidates) {
             if (destAdd.matches(actualAddress)) {
                destAdd.addLinkedAddress(actualAddress);
                actualAddress.addLinkedAddress(destAdd);
             }
          }
       } else {
-         for (Address destAdd : wildCardAddresses.values()) {
+         wildCardAddressesTrie.findMatching(actualAddress.getAddressParts(), candidates);
+         for (Address destAdd : candidates) {
             if (actualAddress.matches(destAdd)) {
                destAdd.addLinkedAddress(actualAddress);
                actualAddress.addLinkedAddress(destAdd);
@@ -215,8 +236,10 @@ public class WildcardAddressManager extends SimpleAddressManager {
    private void addAddress(final SimpleString address, final Address actualAddress) {
       if (actualAddress.containsWildCard()) {
          wildCardAddresses.put(address, actualAddress);
+         wildCardAddressesTrie.add(actualAddress);
       } else {
          addresses.put(address, actualAddress);
+         addressesTrie.add(actualAddress);
       }
    }
 
@@ -239,8 +262,10 @@ public class WildcardAddressManager extends SimpleAddressManager {
    private void removeAddress(final Address add) {
       if (add.containsWildCard()) {
          wildCardAddresses.remove(add.getAddress());
+         wildCardAddressesTrie.remove(add);
       } else {
          addresses.remove(add.getAddress());
+         addressesTrie.remove(add);
       }
    }
 }
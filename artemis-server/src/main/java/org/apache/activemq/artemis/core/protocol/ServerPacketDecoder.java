@@ -54,6 +54,7 @@ import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ScaleDownA
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionAcknowledgeMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionConsumerFlowCreditMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionRequestProducerCreditsMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionSendBatchMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionSendLargeMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionSendMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionSendMessage_1X;
@@ -86,6 +87,7 @@ import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SES
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_FLOWTOKEN;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_PRODUCER_REQUEST_CREDITS;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_SEND;
+import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_SEND_BATCH;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_SEND_LARGE;
 
 public class ServerPacketDecoder extends ClientPacketDecoder {
@@ -114,6 +116,12 @@ public class ServerPacketDecoder extends ClientPacketDecoder {
       return sendMessage;
    }
 
+   private SessionSendBatchMessage decodeSessionSendBatchMessage(final ActiveMQBuffer in, CoreRemotingConnection connection) {
+      final SessionSendBatchMessage sendBatchMessage = new SessionSendBatchMessage(this.coreMessageObjectPools);
+      sendBatchMessage.decode(in);
+      return sendBatchMessage;
+   }
+
    private static SessionAcknowledgeMessage decodeSessionAcknowledgeMessage(final ActiveMQBuffer in, CoreRemotingConnection connection) {
       final SessionAcknowledgeMessage acknowledgeMessage = new SessionAcknowledgeMessage();
       acknowledgeMessage.decode(in);
@@ -139,6 +147,8 @@ public class ServerPacketDecoder extends ClientPacketDecoder {
       switch (packetType) {
          case SESS_SEND:
             return decodeSessionSendMessage(in, connection);
+         case SESS_SEND_BATCH:
+            return decodeSessionSendBatchMessage(in, connection);
          case SESS_ACKNOWLEDGE:
             return decodeSessionAcknowledgeMessage(in, connection);
          case SESS_PRODUCER_REQUEST_CREDITS:
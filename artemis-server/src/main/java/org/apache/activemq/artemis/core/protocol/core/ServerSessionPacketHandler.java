@@ -18,6 +18,7 @@ package org.apache.activemq.artemis.core.protocol.core;
 
 import javax.transaction.xa.XAResource;
 import javax.transaction.xa.Xid;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
@@ -47,6 +48,7 @@ import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.CreateShar
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.NullResponseMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.NullResponseMessage_V2;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.RollbackMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionAcknowledgeBatchMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionAcknowledgeMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionAddMetaDataMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionAddMetaDataMessageV2;
@@ -68,6 +70,7 @@ import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionQue
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionQueueQueryResponseMessage_V3;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionRequestProducerCreditsMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionSendContinuationMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionSendBatchMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionSendLargeMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionSendMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionUniqueAddMetaDataMessage;
@@ -111,9 +114,11 @@ import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.CRE
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.CREATE_SHARED_QUEUE_V2;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.DELETE_QUEUE;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_ACKNOWLEDGE;
+import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_ACKNOWLEDGE_BATCH;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_BINDINGQUERY;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_CLOSE;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_COMMIT;
+import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_COMMIT_V2;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_CONSUMER_CLOSE;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_CREATECONSUMER;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_EXPIRED;
@@ -123,7 +128,9 @@ import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SES
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_PRODUCER_REQUEST_CREDITS;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_QUEUEQUERY;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_ROLLBACK;
+import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_ROLLBACK_V2;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_SEND;
+import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_SEND_BATCH;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_SEND_CONTINUATION;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_SEND_LARGE;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_START;
@@ -186,7 +193,7 @@ public class ServerSessionPacketHandler implements ChannelHandler {
 
       Connection conn = remotingConnection.getTransportConnection();
 
-      this.callExecutor = server.getExecutorFactory().getExecutor();
+      this.callExecutor = server.getExecutorFactory(conn).getExecutor();
 
       // In an optimized way packetActor should use the threadPool as the parent executor
       // directly from server.getThreadPool();
@@ -275,10 +282,18 @@ public class ServerSessionPacketHandler implements ChannelHandler {
             onSessionSend(packet);
             break;
          }
+         case SESS_SEND_BATCH: {
+            onSessionSendBatch(packet);
+            break;
+         }
          case SESS_ACKNOWLEDGE: {
             onSessionAcknowledge(packet);
             break;
          }
+         case SESS_ACKNOWLEDGE_BATCH: {
+            onSessionAcknowledgeBatch(packet);
+            break;
+         }
          case SESS_PRODUCER_REQUEST_CREDITS: {
             onSessionRequestProducerCredits(packet);
             break;
@@ -463,13 +478,15 @@ public class ServerSessionPacketHandler implements ChannelHandler {
                   session.expire(message.getConsumerID(), message.getMessageID());
                   break;
                }
-               case SESS_COMMIT: {
+               case SESS_COMMIT:
+               case SESS_COMMIT_V2: {
                   requiresResponse = true;
                   session.commit();
                   response = createNullResponseMessage(packet);
                   break;
                }
-               case SESS_ROLLBACK: {
+               case SESS_ROLLBACK:
+               case SESS_ROLLBACK_V2: {
                   requiresResponse = true;
                   session.rollback(((RollbackMessage) packet).isConsiderLastMessageAsDelivered());
                   response = createNullResponseMessage(packet);
@@ -703,6 +720,50 @@ public class ServerSessionPacketHandler implements ChannelHandler {
       }
    }
 
+   private void onSessionAcknowledgeBatch(Packet packet) {
+      this.storageManager.setContext(session.getSessionContext());
+      try {
+         Packet response = null;
+         boolean requiresResponse = false;
+         try {
+            final SessionAcknowledgeBatchMessage message = (SessionAcknowledgeBatchMessage) packet;
+            requiresResponse = message.isRequiresResponse();
+            // each ack is independent, as if it was sent on its own packet: a failure doesn't skip the others
+            Exception failure = null;
+            for (int i = 0, count = message.getCount(); i < count; i++) {
+               try {
+                  this.session.acknowledge(message.getConsumerID(i), message.getMessageID(i));
+               } catch (Exception e) {
+                  if (failure == null) {
+                     failure = e;
+                  } else {
+                     failure.addSuppressed(e);
+                  }
+               }
+            }
+            if (failure != null) {
+               throw failure;
+            }
+            if (requiresResponse) {
+               response = createNullResponseMessage(packet);
+            }
+         } catch (ActiveMQIOErrorException e) {
+            response = onActiveMQIOErrorExceptionWhileHandlePacket(packet, e, requiresResponse, response, this.session);
+         } catch (ActiveMQXAException e) {
+            response = onActiveMQXAExceptionWhileHandlePacket(packet, e, requiresResponse, response);
+         } catch (ActiveMQQueueMaxConsumerLimitReached e) {
+            response = onActiveMQQueueMaxConsumerLimitReachedWhileHandlePacket(packet, e, requiresResponse, response);
+         } catch (ActiveMQException e) {
+            response = onActiveMQExceptionWhileHandlePacket(packet, e, requiresResponse, response);
+         } catch (Throwable t) {
+            response = onCatchThrowableWhileHandlePacket(packet, t, requiresResponse, response, this.session);
+         }
+         sendResponse(packet, response, false, false);
+      } finally {
+         this.storageManager.clearContext();
+      }
+   }
+
    private void onSessionSend(Packet packet) {
       this.storageManager.setContext(session.getSessionContext());
       try {
@@ -732,6 +793,41 @@ public class ServerSessionPacketHandler implements ChannelHandler {
       }
    }
 
+   private void onSessionSendBatch(Packet packet) {
+      this.storageManager.setContext(session.getSessionContext());
+      try {
+         Packet response = null;
+         boolean requiresResponse = false;
+         try {
+            final SessionSendBatchMessage message = (SessionSendBatchMessage) packet;
+            requiresResponse = message.isRequiresResponse();
+            final List<ICoreMessage> messages = message.getMessages();
+            final List<Message> batch = new ArrayList<>(messages.size());
+            for (ICoreMessage coreMessage : messages) {
+               batch.add(EmbedMessageUtil.extractEmbedded(coreMessage, storageManager));
+            }
+            // a single response for the whole batch, sent once all of its messages are stored
+            this.session.sendBatch(batch, this.direct);
+            if (requiresResponse) {
+               response = createNullResponseMessage(packet);
+            }
+         } catch (ActiveMQIOErrorException e) {
+            response = onActiveMQIOErrorExceptionWhileHandlePacket(packet, e, requiresResponse, response, this.session);
+         } catch (ActiveMQXAException e) {
+            response = onActiveMQXAExceptionWhileHandlePacket(packet, e, requiresResponse, response);
+         } catch (ActiveMQQueueMaxConsumerLimitReached e) {
+            response = onActiveMQQueueMaxConsumerLimitReachedWhileHandlePacket(packet, e, requiresResponse, response);
+         } catch (ActiveMQException e) {
+            response = onActiveMQExceptionWhileHandlePacket(packet, e, requiresResponse, response);
+         } catch (Throwable t) {
+            response = onCatchThrowableWhileHandlePacket(packet, t, requiresResponse, response, this.session);
+         }
+         sendResponse(packet, response, false, false);
+      } finally {
+         this.storageManager.clearContext();
+      }
+   }
+
    private void onSessionRequestProducerCredits(Packet packet) {
       this.storageManager.setContext(session.getSessionContext());
       try {
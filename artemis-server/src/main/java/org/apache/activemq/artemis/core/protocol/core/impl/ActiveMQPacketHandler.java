@@ -49,6 +49,7 @@ import org.apache.activemq.artemis.core.server.ServerSession;
 import org.apache.activemq.artemis.core.server.impl.ServerProducerImpl;
 import org.apache.activemq.artemis.core.version.Version;
 import org.apache.activemq.artemis.logs.AuditLogger;
+import org.apache.activemq.artemis.utils.compression.CompressionCodecs;
 import org.jboss.logging.Logger;
 
 /**
@@ -169,7 +170,7 @@ public class ActiveMQPacketHandler implements ChannelHandler {
 
          Map<SimpleString, RoutingType> routingTypeMap = protocolManager.getPrefixes();
 
-         CoreSessionCallback sessionCallback = new CoreSessionCallback(request.getName(), protocolManager, channel, connection);
+         CoreSessionCallback sessionCallback = new CoreSessionCallback(request.getName(), protocolManager, channel, connection, request.getCompressionCodecs());
          ServerSession session = server.createSession(request.getName(), activeMQPrincipal == null ? request.getUsername() : activeMQPrincipal.getUserName(), activeMQPrincipal == null ? request.getPassword() : activeMQPrincipal.getPassword(), request.getMinLargeMessageSize(), connection, request.isAutoCommitSends(), request.isAutoCommitAcks(), request.isPreAcknowledge(), request.isXA(), request.getDefaultAddress(), sessionCallback, true, sessionOperationContext, routingTypeMap, protocolManager.getSecurityDomain());
          ServerProducer serverProducer = new ServerProducerImpl(session.getName(), "CORE", request.getDefaultAddress());
          session.addProducer(serverProducer);
@@ -180,7 +181,7 @@ public class ActiveMQPacketHandler implements ChannelHandler {
          // TODO - where is this removed?
          protocolManager.addSessionHandler(request.getName(), handler);
 
-         response = new CreateSessionResponseMessage(server.getVersion().getIncrementingVersion());
+         response = new CreateSessionResponseMessage(server.getVersion().getIncrementingVersion(), CompressionCodecs.getAvailableNames());
       } catch (ActiveMQClusterSecurityException | ActiveMQSecurityException e) {
          response = new ActiveMQExceptionMessage(e);
       } catch (ActiveMQException e) {
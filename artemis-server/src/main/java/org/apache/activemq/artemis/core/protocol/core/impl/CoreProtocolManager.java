@@ -127,7 +127,7 @@ public class CoreProtocolManager implements ProtocolManager<Interceptor> {
                                                 final Connection connection) {
       final Configuration config = server.getConfiguration();
 
-      Executor connectionExecutor = server.getExecutorFactory().getExecutor();
+      Executor connectionExecutor = server.getExecutorFactory(connection).getExecutor();
 
       final CoreRemotingConnection rc = new RemotingConnectionImpl(new ServerPacketDecoder(server.getStorageManager()),
                                                                    connection, incomingInterceptors, outgoingInterceptors, server.getNodeID(),
@@ -16,8 +16,15 @@
  */
 package org.apache.activemq.artemis.core.protocol.core.impl;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.api.core.ICoreMessage;
 import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.message.LargeBodyReader;
 import org.apache.activemq.artemis.core.persistence.CoreMessageObjectPools;
 import org.apache.activemq.artemis.core.protocol.core.Channel;
 import org.apache.activemq.artemis.core.protocol.core.Packet;
@@ -26,16 +33,20 @@ import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.Disconnect
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionProducerCreditsFailMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionProducerCreditsMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionReceiveContinuationMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionReceiveFileContinuationMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionReceiveLargeMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionReceiveMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionReceiveMessage_1X;
 import org.apache.activemq.artemis.core.server.ActiveMQServerLogger;
 import org.apache.activemq.artemis.core.server.MessageReference;
 import org.apache.activemq.artemis.core.server.ServerConsumer;
+import org.apache.activemq.artemis.core.server.impl.MessageConversionCache;
 import org.apache.activemq.artemis.spi.core.protocol.ProtocolManager;
 import org.apache.activemq.artemis.spi.core.protocol.RemotingConnection;
 import org.apache.activemq.artemis.spi.core.protocol.SessionCallback;
 import org.apache.activemq.artemis.spi.core.remoting.ReadyListener;
+import org.apache.activemq.artemis.utils.compression.CompressionCodecs;
+import org.apache.activemq.artemis.utils.compression.DeflateCodec;
 
 public final class CoreSessionCallback implements SessionCallback {
 
@@ -51,14 +62,28 @@ public final class CoreSessionCallback implements SessionCallback {
 
    private CoreMessageObjectPools coreMessageObjectPools = new CoreMessageObjectPools();
 
+   /**
+    * The codecs other than deflate the client can decompress.
+    */
+   private final Set<String> compressionCodecs;
+
    public CoreSessionCallback(String name,
                               ProtocolManager protocolManager,
                               Channel channel,
                               RemotingConnection connection) {
+      this(name, protocolManager, channel, connection, new String[0]);
+   }
+
+   public CoreSessionCallback(String name,
+                              ProtocolManager protocolManager,
+                              Channel channel,
+                              RemotingConnection connection,
+                              String[] compressionCodecs) {
       this.name = name;
       this.protocolManager = protocolManager;
       this.channel = channel;
       this.connection = connection;
+      this.compressionCodecs = new HashSet<>(Arrays.asList(compressionCodecs));
    }
 
    public CoreSessionCallback setSessionHandler(ServerSessionPacketHandler handler) {
@@ -81,6 +106,11 @@ public final class CoreSessionCallback implements SessionCallback {
       return connection.isWritable(callback);
    }
 
+   @Override
+   public boolean supportsCompressionCodec(String codec) {
+      return DeflateCodec.NAME.equals(codec) || compressionCodecs.contains(codec);
+   }
+
    @Override
    public boolean updateDeliveryCountAfterCancel(ServerConsumer consumer, MessageReference ref, boolean failed) {
       return false;
@@ -113,14 +143,33 @@ public final class CoreSessionCallback implements SessionCallback {
       return packet.getPacketSize();
    }
 
+   @Override
+   public int sendLargeMessageContinuation(ServerConsumer consumer,
+                                           LargeBodyReader reader,
+                                           int length,
+                                           boolean continues) {
+      if (channel.getConfirmationWindowSize() != -1) {
+         // the resend cache would retain the packet, but its body can't be read again
+         return -1;
+      }
+
+      Packet packet = new SessionReceiveFileContinuationMessage(consumer.getID(), reader, length, continues);
+
+      channel.send(packet);
+
+      return packet.getPacketSize();
+   }
+
    @Override
    public int sendMessage(MessageReference ref, Message message, ServerConsumer consumer, int deliveryCount)  {
 
+      final ICoreMessage coreMessage = decompressIfUnsupported(MessageConversionCache.toCore(ref, message, coreMessageObjectPools));
+
       Packet packet;
       if (channel.getConnection().isVersionBeforeAddressChange()) {
-         packet = new SessionReceiveMessage_1X(consumer.getID(), message.toCore(coreMessageObjectPools), deliveryCount);
+         packet = new SessionReceiveMessage_1X(consumer.getID(), coreMessage, deliveryCount);
       } else {
-         packet = new SessionReceiveMessage(consumer.getID(), message.toCore(coreMessageObjectPools), deliveryCount);
+         packet = new SessionReceiveMessage(consumer.getID(), coreMessage, deliveryCount);
       }
 
       int size = 0;
@@ -132,6 +181,31 @@ public final class CoreSessionCallback implements SessionCallback {
       return size;
    }
 
+   /**
+    * Large messages compressed by a codec the client lacks are sent as a copy with the decompressed body.
+    */
+   private ICoreMessage decompressIfUnsupported(ICoreMessage message) {
+      if (!Boolean.TRUE.equals(message.getBooleanProperty(Message.HDR_LARGE_COMPRESSED))) {
+         return message;
+      }
+      final String codec = CompressionCodecs.nameOf(message);
+      if (codec == null || supportsCompressionCodec(codec)) {
+         return message;
+      }
+      if (!CompressionCodecs.isAvailable(codec)) {
+         ActiveMQServerLogger.LOGGER.compressionCodecNotAvailableForConsumer(codec, message.getMessageID());
+         return message;
+      }
+      final ActiveMQBuffer body = message.getDataBuffer();
+      final ICoreMessage copy = (ICoreMessage) message.copy();
+      copy.removeProperty(Message.HDR_LARGE_COMPRESSED);
+      copy.removeProperty(Message.HDR_LARGE_COMPRESSION_CODEC);
+      copy.removeProperty(Message.HDR_LARGE_BODY_SIZE);
+      copy.getBodyBuffer().resetWriterIndex();
+      copy.getBodyBuffer().writeBytes(body, body.readableBytes());
+      return copy;
+   }
+
    @Override
    public void sendProducerCreditsMessage(int credits, SimpleString address) {
       Packet packet = new SessionProducerCreditsMessage(credits, address);
@@ -30,6 +30,7 @@ import java.security.PrivilegedAction;
 import java.security.PrivilegedExceptionAction;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -38,6 +39,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -52,9 +54,11 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoop;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.ServerChannel;
 import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.epoll.EpollChannelOption;
 import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.epoll.EpollServerSocketChannel;
 import io.netty.channel.group.ChannelGroup;
@@ -69,6 +73,7 @@ import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.util.ResourceLeakDetector;
+import io.netty.util.concurrent.EventExecutor;
 import io.netty.util.concurrent.GenericFutureListener;
 import io.netty.util.concurrent.GlobalEventExecutor;
 import org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration;
@@ -94,7 +99,10 @@ import org.apache.activemq.artemis.spi.core.remoting.Connection;
 import org.apache.activemq.artemis.spi.core.remoting.ServerConnectionLifeCycleListener;
 import org.apache.activemq.artemis.spi.core.remoting.ssl.SSLContextFactoryProvider;
 import org.apache.activemq.artemis.utils.ActiveMQThreadFactory;
+import org.apache.activemq.artemis.utils.ActiveMQThreadPoolExecutor;
 import org.apache.activemq.artemis.utils.ConfigurationHelper;
+import org.apache.activemq.artemis.utils.ExecutorFactory;
+import org.apache.activemq.artemis.utils.actors.OrderedExecutorFactory;
 import org.apache.activemq.artemis.utils.collections.TypedProperties;
 import org.jboss.logging.Logger;
 
@@ -134,6 +142,19 @@ public class NettyAcceptor extends AbstractAcceptor {
 
    private ServerBootstrap bootstrap;
 
+   /**
+    * The bootstraps of the shards, each one binding its own socket with SO_REUSEPORT on its own event loop, or
+    * {@code null} if the acceptor isn't sharded.
+    */
+   private List<ServerBootstrap> shardBootstraps;
+
+   /**
+    * The executor factories of the shards by their event loops, if {@link #shardAffinity} is enabled.
+    */
+   private Map<EventLoop, ExecutorFactory> shardExecutorFactories;
+
+   private List<ExecutorService> shardThreadPools;
+
    private final BufferHandler handler;
 
    private final ServerConnectionLifeCycleListener listener;
@@ -146,6 +167,12 @@ public class NettyAcceptor extends AbstractAcceptor {
 
    private final boolean useKQueue;
 
+   private final int shards;
+
+   private final boolean shardAffinity;
+
+   private final int shardThreads;
+
    private final ProtocolHandler protocolHandler;
 
    private final String host;
@@ -223,6 +250,12 @@ public class NettyAcceptor extends AbstractAcceptor {
 
    private final boolean directDeliver;
 
+   private final boolean adaptiveFlush;
+
+   private final int adaptiveFlushBytes;
+
+   private final long adaptiveFlushMaxDelay;
+
    private final boolean httpUpgradeEnabled;
 
    private final long connectionsAllowed;
@@ -265,6 +298,9 @@ public class NettyAcceptor extends AbstractAcceptor {
 
       useEpoll = ConfigurationHelper.getBooleanProperty(TransportConstants.USE_EPOLL_PROP_NAME, TransportConstants.DEFAULT_USE_EPOLL, configuration);
       useKQueue = ConfigurationHelper.getBooleanProperty(TransportConstants.USE_KQUEUE_PROP_NAME, TransportConstants.DEFAULT_USE_KQUEUE, configuration);
+      shards = ConfigurationHelper.getIntProperty(TransportConstants.SHARDS_PROP_NAME, TransportConstants.DEFAULT_SHARDS, configuration);
+      shardAffinity = ConfigurationHelper.getBooleanProperty(TransportConstants.SHARD_AFFINITY_PROP_NAME, TransportConstants.DEFAULT_SHARD_AFFINITY, configuration);
+      shardThreads = ConfigurationHelper.getIntProperty(TransportConstants.SHARD_THREADS_PROP_NAME, TransportConstants.DEFAULT_SHARD_THREADS, configuration);
 
       backlog = ConfigurationHelper.getIntProperty(TransportConstants.BACKLOG_PROP_NAME, -1, configuration);
       useInvm = ConfigurationHelper.getBooleanProperty(TransportConstants.USE_INVM_PROP_NAME, TransportConstants.DEFAULT_USE_INVM, configuration);
@@ -338,6 +374,12 @@ public class NettyAcceptor extends AbstractAcceptor {
 
       directDeliver = ConfigurationHelper.getBooleanProperty(TransportConstants.DIRECT_DELIVER, TransportConstants.DEFAULT_DIRECT_DELIVER, configuration);
 
+      adaptiveFlush = ConfigurationHelper.getBooleanProperty(TransportConstants.ADAPTIVE_FLUSH, TransportConstants.DEFAULT_ADAPTIVE_FLUSH, configuration);
+
+      adaptiveFlushBytes = ConfigurationHelper.getIntProperty(TransportConstants.ADAPTIVE_FLUSH_BYTES, TransportConstants.DEFAULT_ADAPTIVE_FLUSH_BYTES, configuration);
+
+      adaptiveFlushMaxDelay = ConfigurationHelper.getLongProperty(TransportConstants.ADAPTIVE_FLUSH_MAX_DELAY, TransportConstants.DEFAULT_ADAPTIVE_FLUSH_MAX_DELAY, configuration);
+
       httpUpgradeEnabled = ConfigurationHelper.getBooleanProperty(TransportConstants.HTTP_UPGRADE_ENABLED_PROP_NAME, TransportConstants.DEFAULT_HTTP_UPGRADE_ENABLED, configuration);
 
       connectionsAllowed = ConfigurationHelper.getLongProperty(TransportConstants.CONNECTIONS_ALLOWED, TransportConstants.DEFAULT_CONNECTIONS_ALLOWED, configuration);
@@ -352,6 +394,8 @@ public class NettyAcceptor extends AbstractAcceptor {
 
       String acceptorType;
 
+      boolean sharded = false;
+
       if (useInvm) {
          acceptorType = INVM_ACCEPTOR_TYPE;
          channelClazz = LocalServerChannel.class;
@@ -365,7 +409,9 @@ public class NettyAcceptor extends AbstractAcceptor {
 
          if (useEpoll && CheckDependencies.isEpollAvailable()) {
             channelClazz = EpollServerSocketChannel.class;
-            eventLoopGroup = new EpollEventLoopGroup(remotingThreads, AccessController.doPrivileged(new PrivilegedAction<ActiveMQThreadFactory>() {
+            sharded = shards > 1;
+            // a sharded acceptor has an event loop for each shard
+            eventLoopGroup = new EpollEventLoopGroup(sharded ? shards : remotingThreads, AccessController.doPrivileged(new PrivilegedAction<ActiveMQThreadFactory>() {
                @Override
                public ActiveMQThreadFactory run() {
                   return new ActiveMQThreadFactory("activemq-netty-threads", true, ClientSessionFactoryImpl.class.getClassLoader());
@@ -399,7 +445,6 @@ public class NettyAcceptor extends AbstractAcceptor {
       }
 
       bootstrap = new ServerBootstrap();
-      bootstrap.group(eventLoopGroup);
       bootstrap.channel(channelClazz);
 
       ChannelInitializer<Channel> factory = new ChannelInitializer<Channel>() {
@@ -411,6 +456,9 @@ public class NettyAcceptor extends AbstractAcceptor {
                pipeline.addLast("ssl", getSslHandler(channel.alloc(), peerInfo.getA(), peerInfo.getB()));
                pipeline.addLast("sslHandshakeExceptionHandler", new SslHandshakeExceptionHandler());
             }
+            if (adaptiveFlush) {
+               pipeline.addLast(FlushCoalescingHandler.NAME, new FlushCoalescingHandler(adaptiveFlushBytes, adaptiveFlushMaxDelay, TimeUnit.MICROSECONDS));
+            }
             pipeline.addLast(protocolHandler.getProtocolDecoder());
          }
 
@@ -445,6 +493,13 @@ public class NettyAcceptor extends AbstractAcceptor {
       bootstrap.option(ChannelOption.SO_REUSEADDR, true);
       bootstrap.childOption(ChannelOption.SO_REUSEADDR, true);
       bootstrap.childOption(ChannelOption.SO_KEEPALIVE, true);
+
+      if (sharded) {
+         createShards();
+      } else if (shards > 1) {
+         ActiveMQServerLogger.LOGGER.acceptorShardingNotSupported(getName(), shards);
+      }
+      bootstrap.group(eventLoopGroup);
       channelGroup = new DefaultChannelGroup("activemq-accepted-channels", GlobalEventExecutor.INSTANCE);
 
       serverChannelGroup = new DefaultChannelGroup("activemq-acceptor-channels", GlobalEventExecutor.INSTANCE);
@@ -672,6 +727,37 @@ public class NettyAcceptor extends AbstractAcceptor {
       return engine;
    }
 
+   /**
+    * Each shard binds its own server socket with SO_REUSEPORT, so that the kernel balances the connections among
+    * them, and it serves the connections it accepts on the same event loop of its server socket.
+    */
+   private void createShards() {
+      shardBootstraps = new ArrayList<>(shards);
+      if (shardAffinity) {
+         shardExecutorFactories = new HashMap<>(shards);
+         shardThreadPools = new ArrayList<>(shards);
+      }
+      int shard = 0;
+      for (EventExecutor executor : eventLoopGroup) {
+         final EventLoop eventLoop = (EventLoop) executor;
+         final ServerBootstrap shardBootstrap = bootstrap.clone().group(eventLoop, eventLoop);
+         shardBootstrap.option(EpollChannelOption.SO_REUSEPORT, true);
+         shardBootstraps.add(shardBootstrap);
+         if (shardAffinity) {
+            final String threadGroupName = "activemq-acceptor-shard-" + getName() + "-" + shard;
+            final ExecutorService threadPool = new ActiveMQThreadPoolExecutor(0, shardThreads, 60L, TimeUnit.SECONDS, AccessController.doPrivileged(new PrivilegedAction<ActiveMQThreadFactory>() {
+               @Override
+               public ActiveMQThreadFactory run() {
+                  return new ActiveMQThreadFactory(threadGroupName, true, ClientSessionFactoryImpl.class.getClassLoader());
+               }
+            }));
+            shardThreadPools.add(threadPool);
+            shardExecutorFactories.put(eventLoop, new OrderedExecutorFactory(threadPool));
+         }
+         shard++;
+      }
+   }
+
    private void startServerChannels() {
       String[] hosts = TransportConfiguration.splitHosts(host);
       for (String h : hosts) {
@@ -681,16 +767,26 @@ public class NettyAcceptor extends AbstractAcceptor {
          } else {
             address = new InetSocketAddress(h, port);
          }
-         Channel serverChannel = null;
-         try {
-            serverChannel = bootstrap.bind(address).syncUninterruptibly().channel();
-         } catch (Exception e) {
-            throw ActiveMQMessageBundle.BUNDLE.failedToBind(getName(), h + ":" + port, e);
+         if (shardBootstraps != null) {
+            for (ServerBootstrap shardBootstrap : shardBootstraps) {
+               bindServerChannel(shardBootstrap, address, h);
+            }
+         } else {
+            bindServerChannel(bootstrap, address, h);
          }
-         serverChannelGroup.add(serverChannel);
       }
    }
 
+   private void bindServerChannel(ServerBootstrap bootstrap, SocketAddress address, String host) {
+      Channel serverChannel = null;
+      try {
+         serverChannel = bootstrap.bind(address).syncUninterruptibly().channel();
+      } catch (Exception e) {
+         throw ActiveMQMessageBundle.BUNDLE.failedToBind(getName(), host + ":" + port, e);
+      }
+      serverChannelGroup.add(serverChannel);
+   }
+
    @Override
    public Map<String, Object> getConfiguration() {
       return this.configuration;
@@ -769,7 +865,17 @@ public class NettyAcceptor extends AbstractAcceptor {
 
       // Shutdown the EventLoopGroup if no new task was added for 100ms or if
       // 3000ms elapsed.
-      eventLoopGroup.shutdownGracefully(quietPeriod, shutdownTimeout, TimeUnit.MILLISECONDS).addListener(f -> callback.run());
+      final List<ExecutorService> shardThreadPools = this.shardThreadPools;
+      shardBootstraps = null;
+      shardExecutorFactories = null;
+      this.shardThreadPools = null;
+
+      eventLoopGroup.shutdownGracefully(quietPeriod, shutdownTimeout, TimeUnit.MILLISECONDS).addListener(f -> {
+         if (shardThreadPools != null) {
+            shardThreadPools.forEach(ExecutorService::shutdown);
+         }
+         callback.run();
+      });
       eventLoopGroup = null;
    }
 
@@ -855,6 +961,14 @@ public class NettyAcceptor extends AbstractAcceptor {
       return this;
    }
 
+   /**
+    * @return the number of sockets the acceptor listens on once started: 1 unless it's sharded
+    */
+   public int getShards() {
+      final List<ServerBootstrap> shardBootstraps = this.shardBootstraps;
+      return shardBootstraps == null ? 1 : shardBootstraps.size();
+   }
+
    private static String getProtocols(Map<String, ProtocolManager> protocolManager) {
       StringBuilder sb = new StringBuilder();
       if (protocolManager != null) {
@@ -890,6 +1004,12 @@ public class NettyAcceptor extends AbstractAcceptor {
 
             NettyServerConnection nc = new NettyServerConnection(configuration, ctx.channel(), connectionListener, !httpEnabled && batchDelay > 0, directDeliver);
 
+            final Map<EventLoop, ExecutorFactory> shardExecutorFactories = NettyAcceptor.this.shardExecutorFactories;
+            if (shardExecutorFactories != null) {
+               // the sessions of the connection run on the threads of its shard
+               nc.setExecutorFactory(shardExecutorFactories.get(ctx.channel().eventLoop()));
+            }
+
             connectionListener.connectionCreated(NettyAcceptor.this, nc, protocolHandler.getProtocol(protocol));
 
             SslHandler sslHandler = ctx.pipeline().get(SslHandler.class);
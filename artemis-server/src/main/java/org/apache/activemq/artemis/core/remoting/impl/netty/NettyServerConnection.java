@@ -20,9 +20,12 @@ import java.util.Map;
 
 import io.netty.channel.Channel;
 import org.apache.activemq.artemis.spi.core.remoting.ServerConnectionLifeCycleListener;
+import org.apache.activemq.artemis.utils.ExecutorFactory;
 
 public class NettyServerConnection extends NettyConnection {
 
+   private volatile ExecutorFactory executorFactory;
+
    public NettyServerConnection(Map<String, Object> configuration,
                                 Channel channel,
                                 ServerConnectionLifeCycleListener listener,
@@ -31,4 +34,13 @@ public class NettyServerConnection extends NettyConnection {
       super(configuration, channel, listener, batchingEnabled, directDeliver);
    }
 
+   @Override
+   public ExecutorFactory getExecutorFactory() {
+      return executorFactory;
+   }
+
+   public void setExecutorFactory(ExecutorFactory executorFactory) {
+      this.executorFactory = executorFactory;
+   }
+
 }
@@ -495,4 +495,13 @@ public interface ActiveMQMessageBundle {
 
    @Message(id = 229232, value = "Cannot create consumer on {0}. Session is closed.", format = Message.Format.MESSAGE_FORMAT)
    ActiveMQIllegalStateException cannotCreateConsumerOnClosedSession(SimpleString queueName);
+
+   @Message(id = 229233, value = "The message journal has lanes (e.g. {0}) which replication can''t send: move their records to a single lane journal, exporting them with ''artemis data exp'' and importing them with ''artemis data imp'', or disable replication", format = Message.Format.MESSAGE_FORMAT)
+   IllegalStateException journalLanesWithReplication(String laneDirectory);
+
+   @Message(id = 229234, value = "journal-lanes={0} is not supported with replication, which can only send a single lane journal: set journal-lanes to 1 or use another ha-policy", format = Message.Format.MESSAGE_FORMAT)
+   IllegalArgumentException journalLanesNotSupportedWithReplication(int lanes);
+
+   @Message(id = 229235, value = "{0} (at least {1} and at most {2} of the {3} messages of the batch were sent, the following ones weren''t)", format = Message.Format.MESSAGE_FORMAT)
+   String sendBatchFailed(String cause, int minSent, int maxSent, int size);
 }
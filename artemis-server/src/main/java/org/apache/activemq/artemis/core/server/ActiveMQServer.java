@@ -75,6 +75,7 @@ import org.apache.activemq.artemis.core.version.Version;
 import org.apache.activemq.artemis.spi.core.protocol.ProtocolManagerFactory;
 import org.apache.activemq.artemis.spi.core.protocol.RemotingConnection;
 import org.apache.activemq.artemis.spi.core.protocol.SessionCallback;
+import org.apache.activemq.artemis.spi.core.remoting.Connection;
 import org.apache.activemq.artemis.spi.core.security.ActiveMQSecurityManager;
 import org.apache.activemq.artemis.utils.ExecutorFactory;
 import org.apache.activemq.artemis.utils.critical.CriticalAnalyzer;
@@ -661,6 +662,14 @@ public interface ActiveMQServer extends ServiceComponent {
 
    ExecutorFactory getExecutorFactory();
 
+   /**
+    * @return the executor factory of {@code connection}, see {@link Connection#getExecutorFactory()}, or {@link #getExecutorFactory()} if it hasn't one
+    */
+   default ExecutorFactory getExecutorFactory(Connection connection) {
+      final ExecutorFactory executorFactory = connection == null ? null : connection.getExecutorFactory();
+      return executorFactory == null ? getExecutorFactory() : executorFactory;
+   }
+
    ExecutorFactory getIOExecutorFactory();
 
    void setGroupingHandler(GroupingHandler groupingHandler);
@@ -1706,6 +1706,18 @@ public interface ActiveMQServerLogger extends BasicLogger {
                                  "**************************************************************************************************************************************************************************************************************************************************************", format = Message.Format.MESSAGE_FORMAT)
    void possibleSplitBrain(String nodeID, String connectionPairInformation);
 
+   @LogMessage(level = Logger.Level.WARN)
+   @Message(id = 222295, value = "journal-lanes={0} is not supported with replication, the message journal will use a single lane", format = Message.Format.MESSAGE_FORMAT)
+   void journalLanesNotSupportedWithReplication(int lanes);
+
+   @LogMessage(level = Logger.Level.WARN)
+   @Message(id = 222296, value = "Acceptor {0} can''t be sharded in {1} sockets: SO_REUSEPORT requires the epoll transport, a single socket will be used", format = Message.Format.MESSAGE_FORMAT)
+   void acceptorShardingNotSupported(String acceptor, int shards);
+
+   @LogMessage(level = Logger.Level.WARN)
+   @Message(id = 222297, value = "The compression codec {0} of message {1} is not available to decompress it for a consumer lacking it, it will be sent as it is: please add its library to the classpath", format = Message.Format.MESSAGE_FORMAT)
+   void compressionCodecNotAvailableForConsumer(String codec, long messageID);
+
 
    @LogMessage(level = Logger.Level.ERROR)
    @Message(id = 224000, value = "Failure in initialisation", format = Message.Format.MESSAGE_FORMAT)
@@ -16,6 +16,7 @@
  */
 package org.apache.activemq.artemis.core.server;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -290,6 +291,20 @@ public interface Queue extends Bindable,CriticalComponent {
 
    MessageReference removeReferenceWithID(long id) throws Exception;
 
+   /**
+    * Removes all the references with the given message IDs, the IDs not found are ignored.
+    */
+   default List<MessageReference> removeReferencesWithID(Collection<Long> ids) throws Exception {
+      List<MessageReference> removed = new ArrayList<>(ids.size());
+      for (Long id : ids) {
+         MessageReference ref = removeReferenceWithID(id);
+         if (ref != null) {
+            removed.add(ref);
+         }
+      }
+      return removed;
+   }
+
    MessageReference getReference(long id) throws ActiveMQException;
 
    int deleteAllReferences() throws Exception;
@@ -60,6 +60,14 @@ public interface RoutingContext {
 
    int getQueueCount();
 
+   /**
+    * Marks the message as delivered by a binding that doesn't add any queue to the context (e.g. one handing it
+    * straight to a subscriber), so it isn't handled as a message without bindings when no queue is added.
+    */
+   RoutingContext setRouted(boolean routed);
+
+   boolean isRouted();
+
    RoutingContext clear();
 
    void addQueueWithAck(SimpleString address, Queue queue);
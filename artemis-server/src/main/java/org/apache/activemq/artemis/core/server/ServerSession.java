@@ -330,6 +330,16 @@ public interface ServerSession extends SecurityAuth {
                       boolean direct,
                       boolean noAutoCreateQueue) throws Exception;
 
+   /**
+    * Sends a batch of messages received together: each one is sent as by {@link #send(Message, boolean)}, sharing
+    * the routing context of the session. The batch stops at the first message that fails: the ones before it are
+    * sent and the ones after it aren't.
+    *
+    * @throws Exception the first failure; an {@link org.apache.activemq.artemis.api.core.ActiveMQException} is
+    *                   replaced by one of the same type telling how many messages of the batch were sent
+    */
+   void sendBatch(List<? extends Message> messages, boolean direct) throws Exception;
+
    RoutingStatus send(Transaction tx,
                       Message message,
                       boolean direct,
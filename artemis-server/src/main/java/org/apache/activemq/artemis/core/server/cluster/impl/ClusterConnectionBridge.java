@@ -238,6 +238,9 @@ public class ClusterConnectionBridge extends BridgeImpl {
          SimpleString filter = new SimpleString(ManagementHelper.HDR_BINDING_TYPE + "<>" +
                                                    BindingType.DIVERT.toInt() +
                                                    " AND " +
+                                                   ManagementHelper.HDR_BINDING_TYPE + "<>" +
+                                                   BindingType.SUBSCRIBER.toInt() +
+                                                   " AND " +
                                                    ManagementHelper.HDR_NOTIFICATION_TYPE +
                                                    " IN ('" +
                                                    CoreNotificationType.SESSION_CREATED +
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.impl;
+
+import org.apache.activemq.artemis.api.core.ICoreMessage;
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.client.ActiveMQClient;
+import org.apache.activemq.artemis.core.paging.PagingStore;
+import org.apache.activemq.artemis.core.persistence.CoreMessageObjectPools;
+import org.apache.activemq.artemis.core.server.MessageReference;
+
+/**
+ * Shares the conversion of a message to another protocol among its deliveries to the consumers of that protocol, when
+ * the message is fanned out to several queues.
+ * <p>
+ * A cached conversion lives as long as the references to its message: it's counted in the size of the paging store
+ * of the queue it's first delivered from until the last of them is gone, while the memory estimate of the message
+ * stays the same.
+ */
+public final class MessageConversionCache {
+
+   /**
+    * Conversions bigger than this aren't cached.
+    */
+   public static final int MAX_CONVERSION_SIZE = Integer.getInteger("org.apache.activemq.artemis.conversionCache.maxSize", 1024 * 1024);
+
+   private MessageConversionCache() {
+   }
+
+   /**
+    * Converts {@code message}, delivered through {@code reference}, to core: messages of other protocols delivered to
+    * several core (or OpenWire) consumers share a single conversion.
+    */
+   public static ICoreMessage toCore(MessageReference reference, Message message, CoreMessageObjectPools coreMessageObjectPools) {
+      if (message instanceof ICoreMessage || reference == null || message != reference.getMessage()) {
+         return toCore(message, coreMessageObjectPools);
+      }
+
+      ICoreMessage coreMessage = (ICoreMessage) get(reference, ActiveMQClient.DEFAULT_CORE_PROTOCOL);
+      if (coreMessage == null) {
+         coreMessage = toCore(message, coreMessageObjectPools);
+         put(reference, ActiveMQClient.DEFAULT_CORE_PROTOCOL, coreMessage, coreMessage.getMemoryEstimate());
+      }
+      return coreMessage;
+   }
+
+   /**
+    * Converts {@code message}, routed to a binding without a queue (i.e. written straight to a subscriber), to core:
+    * such bindings share the conversion with each other and with the core consumers of the queues of the message.
+    * <p>
+    * Since these bindings don't reference the message, the conversion isn't counted in any paging store: it's dropped
+    * with the last reference to the message, or with the message itself if it has none.
+    */
+   public static ICoreMessage toCore(Message message) {
+      if (message instanceof ICoreMessage || message.isLargeMessage()) {
+         return message.toCore();
+      }
+
+      ICoreMessage coreMessage = (ICoreMessage) message.getCachedConversion(ActiveMQClient.DEFAULT_CORE_PROTOCOL);
+      if (coreMessage == null) {
+         coreMessage = message.toCore();
+         if (coreMessage.getMemoryEstimate() <= MAX_CONVERSION_SIZE) {
+            message.cacheConversion(ActiveMQClient.DEFAULT_CORE_PROTOCOL, coreMessage, null);
+         }
+      }
+      return coreMessage;
+   }
+
+   private static ICoreMessage toCore(Message message, CoreMessageObjectPools coreMessageObjectPools) {
+      return coreMessageObjectPools == null ? message.toCore() : message.toCore(coreMessageObjectPools);
+   }
+
+   /**
+    * @return the conversion of the message of {@code reference} to {@code protocol}, or {@code null} if there isn't
+    * any cached
+    */
+   public static Object get(MessageReference reference, String protocol) {
+      return reference.getMessage().getCachedConversion(protocol);
+   }
+
+   /**
+    * Caches the conversion of the message of {@code reference} to {@code protocol} if other references to the same
+    * message can use it, i.e. if the message isn't large nor paged and it's routed to more than one queue.
+    */
+   public static void put(MessageReference reference, String protocol, Object conversion, int memoryEstimate) {
+      final Message message = reference.getMessage();
+
+      if (memoryEstimate > MAX_CONVERSION_SIZE || message.isLargeMessage() || reference.isPaged() || message.getRefCount() <= 1) {
+         return;
+      }
+
+      final PagingStore pagingStore = reference.getQueue().getPagingStore();
+      if (pagingStore == null) {
+         message.cacheConversion(protocol, conversion, null);
+         return;
+      }
+
+      // counted before caching it, the last reference to the message could release it right away
+      pagingStore.addSize(memoryEstimate);
+      if (!message.cacheConversion(protocol, conversion, () -> pagingStore.addSize(-memoryEstimate))) {
+         pagingStore.addSize(-memoryEstimate);
+      }
+   }
+}
@@ -20,6 +20,8 @@ import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.math.BigDecimal;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -1631,34 +1633,104 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
 
    @Override
    public synchronized MessageReference removeReferenceWithID(final long id1) throws Exception {
-      try (LinkedListIterator<MessageReference> iterator = iterator()) {
+      MessageReference removed = removeWithMessageID(id1, null);
 
-         MessageReference removed = null;
+      if (removed == null) {
+         // Look in scheduled deliveries
+         removed = scheduledDeliveryHandler.removeReferenceWithID(id1);
+      }
 
-         while (iterator.hasNext()) {
+      return removed;
+   }
+
+   @Override
+   public synchronized List<MessageReference> removeReferencesWithID(final Collection<Long> ids) throws Exception {
+      List<MessageReference> removed = new ArrayList<>(ids.size());
+
+      if (messageReferences.isIndexed()) {
+         for (Long id : ids) {
+            MessageReference ref = removeReferenceWithID(id);
+            if (ref != null) {
+               removed.add(ref);
+            }
+         }
+         return removed;
+      }
+
+      // a single pass over the queue for all of them
+      Set<Long> pending = new HashSet<>(ids);
+
+      try (LinkedListIterator<MessageReference> iterator = iterator()) {
+         while (!pending.isEmpty() && iterator.hasNext()) {
             MessageReference ref = iterator.next();
 
-            if (ref.getMessage().getMessageID() == id1) {
+            if (pending.remove(ref.getMessage().getMessageID())) {
                iterator.remove();
                refRemoved(ref);
+               removed.add(ref);
+            }
+         }
+      }
 
-               removed = ref;
+      for (Long id : pending) {
+         // Look in scheduled deliveries
+         MessageReference ref = scheduledDeliveryHandler.removeReferenceWithID(id);
+         if (ref != null) {
+            removed.add(ref);
+         }
+      }
 
-               break;
+      return removed;
+   }
+
+   /**
+    * Removes the reference with the given message ID from {@link #messageReferences}, using the message ID index when
+    * it is enabled. The action, if any, is done on the reference before it is removed.
+    * <p>
+    * This must be called while holding the queue lock.
+    *
+    * @return the reference removed or {@code null} if there isn't one with the given message ID
+    */
+   private MessageReference removeWithMessageID(final long messageID, final ReferenceAction beforeRemove) throws Exception {
+      if (messageReferences.isIndexed()) {
+         MessageReference ref = messageReferences.getWithID(messageID);
+
+         if (ref != null) {
+            if (beforeRemove != null) {
+               beforeRemove.actOn(ref);
             }
+            messageReferences.removeWithID(messageID);
+            refRemoved(ref);
          }
 
-         if (removed == null) {
-            // Look in scheduled deliveries
-            removed = scheduledDeliveryHandler.removeReferenceWithID(id1);
+         return ref;
+      }
+
+      try (LinkedListIterator<MessageReference> iter = iterator()) {
+
+         while (iter.hasNext()) {
+            MessageReference ref = iter.next();
+
+            if (ref.getMessage().getMessageID() == messageID) {
+               if (beforeRemove != null) {
+                  beforeRemove.actOn(ref);
+               }
+               iter.remove();
+               refRemoved(ref);
+               return ref;
+            }
          }
 
-         return removed;
+         return null;
       }
    }
 
    @Override
    public synchronized MessageReference getReference(final long id1) throws ActiveMQException {
+      if (messageReferences.isIndexed()) {
+         return messageReferences.getWithID(id1);
+      }
+
       try (LinkedListIterator<MessageReference> iterator = iterator()) {
 
          while (iterator.hasNext()) {
@@ -2225,33 +2297,24 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
 
    @Override
    public synchronized boolean deleteReference(final long messageID) throws Exception {
-      boolean deleted = false;
+      // the references just added may not have been polled by the executor yet
+      doInternalPoll();
 
       Transaction tx = new TransactionImpl(storageManager);
 
-      try (LinkedListIterator<MessageReference> iter = iterator()) {
-
-         while (iter.hasNext()) {
-            MessageReference ref = iter.next();
-            if (ref.getMessage().getMessageID() == messageID) {
-               incDelivering(ref);
-               acknowledge(tx, ref);
-               iter.remove();
-               refRemoved(ref);
-               deleted = true;
-               break;
-            }
-         }
+      boolean deleted = removeWithMessageID(messageID, ref -> {
+         incDelivering(ref);
+         acknowledge(tx, ref);
+      }) != null;
 
-         if (!deleted) {
-            // Look in scheduled deliveries
-            deleted = scheduledDeliveryHandler.removeReferenceWithID(messageID) != null ? true : false;
-         }
+      if (!deleted) {
+         // Look in scheduled deliveries
+         deleted = scheduledDeliveryHandler.removeReferenceWithID(messageID) != null ? true : false;
+      }
 
-         tx.commit();
+      tx.commit();
 
-         return deleted;
-      }
+      return deleted;
    }
 
    @Override
@@ -2313,20 +2376,10 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
          return false;
       }
 
-      try (LinkedListIterator<MessageReference> iter = iterator()) {
-
-         while (iter.hasNext()) {
-            MessageReference ref = iter.next();
-            if (ref.getMessage().getMessageID() == messageID) {
-               incDelivering(ref);
-               expire(ref);
-               iter.remove();
-               refRemoved(ref);
-               return true;
-            }
-         }
-         return false;
-      }
+      return removeWithMessageID(messageID, ref -> {
+         incDelivering(ref);
+         expire(ref);
+      }) != null;
    }
 
    @Override
@@ -2464,19 +2517,10 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
 
    @Override
    public synchronized boolean sendMessageToDeadLetterAddress(final long messageID) throws Exception {
-      try (LinkedListIterator<MessageReference> iter = iterator()) {
-         while (iter.hasNext()) {
-            MessageReference ref = iter.next();
-            if (ref.getMessage().getMessageID() == messageID) {
-               incDelivering(ref);
-               sendToDeadLetterAddress(null, ref);
-               iter.remove();
-               refRemoved(ref);
-               return true;
-            }
-         }
-         return false;
-      }
+      return removeWithMessageID(messageID, ref -> {
+         incDelivering(ref);
+         sendToDeadLetterAddress(null, ref);
+      }) != null;
    }
 
    @Override
@@ -2503,24 +2547,20 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
                                              final SimpleString toAddress,
                                              final Binding binding,
                                              final boolean rejectDuplicate) throws Exception {
-      try (LinkedListIterator<MessageReference> iter = iterator()) {
-         while (iter.hasNext()) {
-            MessageReference ref = iter.next();
-            if (ref.getMessage().getMessageID() == messageID) {
-               iter.remove();
-               refRemoved(ref);
-               incDelivering(ref);
-               try {
-                  move(null, toAddress, binding, ref, rejectDuplicate, AckReason.NORMAL, null);
-               } catch (Exception e) {
-                  decDelivering(ref);
-                  throw e;
-               }
-               return true;
-            }
-         }
+      MessageReference ref = removeWithMessageID(messageID, null);
+
+      if (ref == null) {
          return false;
       }
+
+      incDelivering(ref);
+      try {
+         move(null, toAddress, binding, ref, rejectDuplicate, AckReason.NORMAL, null);
+      } catch (Exception e) {
+         decDelivering(ref);
+         throw e;
+      }
+      return true;
    }
 
    @Override
@@ -2631,21 +2671,15 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
 
    @Override
    public synchronized boolean changeReferencePriority(final long messageID, final byte newPriority) throws Exception {
-      try (LinkedListIterator<MessageReference> iter = iterator()) {
-
-         while (iter.hasNext()) {
-            MessageReference ref = iter.next();
-            if (ref.getMessage().getMessageID() == messageID) {
-               iter.remove();
-               refRemoved(ref);
-               ref.getMessage().setPriority(newPriority);
-               addTail(ref, false);
-               return true;
-            }
-         }
+      MessageReference ref = removeWithMessageID(messageID, null);
 
+      if (ref == null) {
          return false;
       }
+
+      ref.getMessage().setPriority(newPriority);
+      addTail(ref, false);
+      return true;
    }
 
    @Override
@@ -4124,6 +4158,12 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
       }
    }
 
+   @FunctionalInterface
+   private interface ReferenceAction {
+
+      void actOn(MessageReference ref) throws Exception;
+   }
+
    /**
     * This will determine the actions that could be done while iterate the queue through iterQueue
     */
@@ -4297,6 +4337,13 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
       return size;
    }
 
+   private synchronized void configureMessageIdIndex(final AddressSettings settings) {
+      boolean enabled = settings != null && settings.isEnableMessageIdIndex();
+      if (enabled != messageReferences.isIndexed()) {
+         messageReferences.setNodeStore(enabled ? ReferenceNodeStore::new : null);
+      }
+   }
+
    private void configureExpiry(final AddressSettings settings) {
       this.expiryAddress = settings == null ? null : settings.getExpiryAddress();
    }
@@ -4377,6 +4424,7 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
          configureExpiry(settings);
          checkDeadLetterAddressAndExpiryAddress(settings);
          configureSlowConsumerReaper(settings);
+         configureMessageIdIndex(settings);
       }
    }
 
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.impl;
+
+import java.util.ArrayDeque;
+
+import io.netty.util.collection.LongObjectHashMap;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.utils.collections.LinkedListImpl;
+import org.apache.activemq.artemis.utils.collections.NodeStore;
+
+/**
+ * Indexes {@link MessageReference}s by message ID, for the references of a queue level and the ones a consumer is
+ * delivering.
+ * <p>
+ * The same message can be on the list more than once (e.g. redelivered while a copy is still there): the nodes of
+ * its other references are chained after the indexed one, which is the first added, and take its place in turn.
+ * <p>
+ * This is only accessed while holding the lock guarding its list.
+ */
+public class ReferenceNodeStore implements NodeStore<MessageReference> {
+
+   private final LongObjectHashMap<LinkedListImpl.Node<MessageReference>> map = new LongObjectHashMap<>();
+
+   // created on the first duplicate, as they're rare
+   private LongObjectHashMap<ArrayDeque<LinkedListImpl.Node<MessageReference>>> duplicates;
+
+   private int size;
+
+   @Override
+   public void storeNode(MessageReference element, LinkedListImpl.Node<MessageReference> node) {
+      final long id = element.getMessageID();
+      if (map.get(id) == null) {
+         map.put(id, node);
+      } else {
+         if (duplicates == null) {
+            duplicates = new LongObjectHashMap<>();
+         }
+         ArrayDeque<LinkedListImpl.Node<MessageReference>> chain = duplicates.get(id);
+         if (chain == null) {
+            chain = new ArrayDeque<>(2);
+            duplicates.put(id, chain);
+         }
+         chain.add(node);
+      }
+      size++;
+   }
+
+   @Override
+   public LinkedListImpl.Node<MessageReference> getNode(long id) {
+      return map.get(id);
+   }
+
+   @Override
+   public void removeNode(MessageReference element, LinkedListImpl.Node<MessageReference> node) {
+      final long id = element.getMessageID();
+      final ArrayDeque<LinkedListImpl.Node<MessageReference>> chain = duplicates == null ? null : duplicates.get(id);
+      if (map.get(id) == node) {
+         if (chain == null) {
+            map.remove(id);
+         } else {
+            map.put(id, chain.poll());
+            if (chain.isEmpty()) {
+               duplicates.remove(id);
+            }
+         }
+      } else {
+         // the nodes don't override equals
+         if (chain == null || !chain.remove(node)) {
+            return;
+         }
+         if (chain.isEmpty()) {
+            duplicates.remove(id);
+         }
+      }
+      size--;
+   }
+
+   @Override
+   public void clear() {
+      map.clear();
+      duplicates = null;
+      size = 0;
+   }
+
+   /**
+    * @return the number of nodes indexed, the duplicated ones included
+    */
+   @Override
+   public int size() {
+      return size;
+   }
+}
@@ -45,6 +45,8 @@ public final class RoutingContextImpl implements RoutingContext {
 
    private int queueCount;
 
+   private boolean routed;
+
    private SimpleString address;
 
    private SimpleString previousAddress;
@@ -125,6 +127,8 @@ public final class RoutingContextImpl implements RoutingContext {
 
       queueCount = 0;
 
+      routed = false;
+
       this.version = 0;
 
       this.reusable = null;
@@ -275,6 +279,17 @@ public final class RoutingContextImpl implements RoutingContext {
       return queueCount;
    }
 
+   @Override
+   public RoutingContext setRouted(boolean routed) {
+      this.routed = routed;
+      return this;
+   }
+
+   @Override
+   public boolean isRouted() {
+      return routed;
+   }
+
    @Override
    public Map<SimpleString, RouteContextList> getContexListing() {
       return this.map;
@@ -18,10 +18,8 @@ package org.apache.activemq.artemis.core.server.impl;
 
 import java.math.BigDecimal;
 import java.nio.ByteBuffer;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -66,8 +64,11 @@ import org.apache.activemq.artemis.spi.core.protocol.SessionCallback;
 import org.apache.activemq.artemis.spi.core.remoting.ReadyListener;
 import org.apache.activemq.artemis.utils.FutureLatch;
 import org.apache.activemq.artemis.utils.ReusableLatch;
+import org.apache.activemq.artemis.utils.collections.LinkedListImpl;
 import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
 import org.apache.activemq.artemis.utils.collections.TypedProperties;
+import org.apache.activemq.artemis.utils.compression.CompressionCodecs;
+import org.apache.activemq.artemis.utils.compression.DecompressedLargeBodyReader;
 import org.jboss.logging.Logger;
 
 /**
@@ -136,7 +137,11 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
 
    private final StorageManager storageManager;
 
-   private final java.util.Deque<MessageReference> deliveringRefs = new ArrayDeque<>();
+   /**
+    * The references delivered and not acknowledged yet, in delivery order. They are indexed by message ID as
+    * individual acknowledgements and expiries can come in any order.
+    */
+   private final LinkedListImpl<MessageReference> deliveringRefs = new LinkedListImpl<>();
 
    private final SessionCallback callback;
 
@@ -241,6 +246,8 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
 
       this.strictUpdateDeliveryCount = strictUpdateDeliveryCount;
 
+      this.deliveringRefs.setNodeStore(new ReferenceNodeStore());
+
       this.creationTime = System.currentTimeMillis();
 
       if (browseOnly) {
@@ -369,7 +376,11 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
          if (refsOnConsumer != null) {
             refs.addAll(refsOnConsumer);
          }
-         refs.addAll(deliveringRefs);
+         try (LinkedListIterator<MessageReference> iterator = deliveringRefs.iterator()) {
+            while (iterator.hasNext()) {
+               refs.add(iterator.next());
+            }
+         }
          return refs;
       }
    }
@@ -441,7 +452,7 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
          }
          if (!browseOnly) {
             if (!preAcknowledge) {
-               deliveringRefs.add(ref);
+               deliveringRefs.addTail(ref);
             }
 
             ref.handled();
@@ -706,7 +717,7 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
       }
 
       synchronized (lock) {
-         if (deliveringRefs.isEmpty()) {
+         if (deliveringRefs.size() == 0) {
             return Collections.emptyList();
          }
          final List<MessageReference> refs = new ArrayList<>(deliveringRefs.size());
@@ -859,26 +870,26 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
       LinkedList<MessageReference> retReferences = new LinkedList<>();
       boolean hit = false;
       synchronized (lock) {
-         Iterator<MessageReference> referenceIterator = deliveringRefs.iterator();
-
-         while (referenceIterator.hasNext()) {
-            MessageReference reference = referenceIterator.next();
+         try (LinkedListIterator<MessageReference> referenceIterator = deliveringRefs.iterator()) {
+            while (referenceIterator.hasNext()) {
+               MessageReference reference = referenceIterator.next();
 
-            if (!hit) {
-               hit = reference.getProtocolData() != null && reference.getProtocolData().equals(protocolDataStart);
-            }
-
-            // notice: this is not an else clause, this is also valid for the first hit
-            if (hit) {
-               if (remove) {
-                  referenceIterator.remove();
+               if (!hit) {
+                  hit = reference.getProtocolData() != null && reference.getProtocolData().equals(protocolDataStart);
                }
-               retReferences.add(reference);
 
-               // Whenever this is met we interrupt the loop
-               // even on the first hit
-               if (reference.getProtocolData() != null && reference.getProtocolData().equals(protocolDataEnd)) {
-                  break;
+               // notice: this is not an else clause, this is also valid for the first hit
+               if (hit) {
+                  if (remove) {
+                     referenceIterator.remove();
+                  }
+                  retReferences.add(reference);
+
+                  // Whenever this is met we interrupt the loop
+                  // even on the first hit
+                  if (reference.getProtocolData() != null && reference.getProtocolData().equals(protocolDataEnd)) {
+                     break;
+                  }
                }
             }
          }
@@ -1052,7 +1063,7 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
    @Override
    public synchronized void backToDelivering(MessageReference reference) {
       synchronized (lock) {
-         deliveringRefs.addFirst(reference);
+         deliveringRefs.addHead(reference);
       }
    }
 
@@ -1062,42 +1073,11 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
          return null;
       }
 
-      // Expiries can come in out of sequence with respect to delivery order
+      // Expiries and individual acks can come in out of sequence with respect to delivery order
 
       synchronized (lock) {
-         // This is an optimization, if the reference is the first one, we just poll it.
-         // But first we need to make sure deliveringRefs isn't empty
-         if (deliveringRefs.isEmpty()) {
-            return null;
-         }
-
-         if (deliveringRefs.peek().getMessage().getMessageID() == messageID) {
-            return deliveringRefs.poll();
-         }
-         //slow path in a separate method
-         return removeDeliveringRefById(messageID);
-      }
-   }
-
-   private MessageReference removeDeliveringRefById(long messageID) {
-      assert deliveringRefs.peek().getMessage().getMessageID() != messageID;
-
-      Iterator<MessageReference> iter = deliveringRefs.iterator();
-
-      MessageReference ref = null;
-
-      while (iter.hasNext()) {
-         MessageReference theRef = iter.next();
-
-         if (theRef.getMessage().getMessageID() == messageID) {
-            iter.remove();
-
-            ref = theRef;
-
-            break;
-         }
+         return deliveringRefs.removeWithID(messageID);
       }
-      return ref;
    }
 
    /**
@@ -1261,6 +1241,25 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
          return "ServerConsumerImpl$LargeMessageDeliverer[ref=[" + ref + "]]";
       }
 
+      /**
+       * @return the codec that compressed {@code message} if the client can't decompress it but the broker can,
+       * {@code null} otherwise
+       */
+      private String unsupportedCompressionCodec(Message message) {
+         if (!Boolean.TRUE.equals(message.getBooleanProperty(Message.HDR_LARGE_COMPRESSED))) {
+            return null;
+         }
+         final String codec = CompressionCodecs.nameOf(message);
+         if (codec == null || callback.supportsCompressionCodec(codec)) {
+            return null;
+         }
+         if (!CompressionCodecs.isAvailable(codec)) {
+            ActiveMQServerLogger.LOGGER.compressionCodecNotAvailableForConsumer(codec, message.getMessageID());
+            return null;
+         }
+         return codec;
+      }
+
       private ByteBuffer acquireHeapBodyBuffer(int requiredCapacity) {
          if (this.chunkBytes == null || this.chunkBytes.capacity() != requiredCapacity) {
             this.chunkBytes = ByteBuffer.allocate(requiredCapacity);
@@ -1298,13 +1297,27 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
             if (!sentInitialPacket) {
                context = currentLargeMessage.getLargeBodyReader();
 
+               Message header = currentLargeMessage.toMessage();
+
+               final String codec = unsupportedCompressionCodec(header);
+
+               if (codec != null) {
+                  // the client can't decompress the body: it gets it decompressed
+                  context = new DecompressedLargeBodyReader(context, CompressionCodecs.get(codec), header.getLongProperty(Message.HDR_LARGE_BODY_SIZE));
+                  final CoreMessage decompressedHeader = new CoreMessage();
+                  decompressedHeader.moveHeadersAndProperties(header);
+                  decompressedHeader.removeProperty(Message.HDR_LARGE_COMPRESSED);
+                  decompressedHeader.removeProperty(Message.HDR_LARGE_COMPRESSION_CODEC);
+                  header = decompressedHeader;
+               }
+
                sizePendingLargeMessage = context.getSize();
 
                context.open();
 
                sentInitialPacket = true;
 
-               int packetSize = callback.sendLargeMessage(ref, currentLargeMessage.toMessage(), ServerConsumerImpl.this, context.getSize(), ref.getDeliveryCount());
+               int packetSize = callback.sendLargeMessage(ref, header, ServerConsumerImpl.this, context.getSize(), ref.getDeliveryCount());
 
                if (availableCredits != null) {
                   final int credits = availableCredits.addAndGet(-packetSize);
@@ -1340,25 +1353,32 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
 
                final int localChunkLen = (int) Math.min(sizePendingLargeMessage - positionPendingLargeMessage, minLargeMessageSize);
 
-               final ByteBuffer bodyBuffer = acquireHeapBodyBuffer(localChunkLen);
+               final boolean continues = positionPendingLargeMessage + localChunkLen < sizePendingLargeMessage;
+
+               // the protocol could send the body without copying it into the heap first
+               int packetSize = callback.sendLargeMessageContinuation(ServerConsumerImpl.this, context, localChunkLen, continues);
 
-               assert bodyBuffer.remaining() == localChunkLen;
+               if (packetSize < 0) {
+                  final ByteBuffer bodyBuffer = acquireHeapBodyBuffer(localChunkLen);
 
-               final int readBytes = context.readInto(bodyBuffer);
+                  assert bodyBuffer.remaining() == localChunkLen;
 
-               assert readBytes == localChunkLen;
+                  final int readBytes = context.readInto(bodyBuffer);
 
-               final byte[] body = bodyBuffer.array();
+                  assert readBytes == localChunkLen;
 
-               assert body.length == readBytes;
+                  final byte[] body = bodyBuffer.array();
 
-               //It is possible to recycle the same heap body buffer because it won't be cached by sendLargeMessageContinuation
-               //given that requiresResponse is false: ChannelImpl::send will use the resend cache only if
-               //resendCache != null && packet.isRequiresConfirmations()
+                  assert body.length == readBytes;
 
-               int packetSize = callback.sendLargeMessageContinuation(ServerConsumerImpl.this, body, positionPendingLargeMessage + localChunkLen < sizePendingLargeMessage, false);
+                  //It is possible to recycle the same heap body buffer because it won't be cached by sendLargeMessageContinuation
+                  //given that requiresResponse is false: ChannelImpl::send will use the resend cache only if
+                  //resendCache != null && packet.isRequiresConfirmations()
+
+                  packetSize = callback.sendLargeMessageContinuation(ServerConsumerImpl.this, body, continues, false);
+               }
 
-               int chunkLen = body.length;
+               int chunkLen = localChunkLen;
 
                if (availableCredits != null) {
                   final int credits = availableCredits.addAndGet(-packetSize);
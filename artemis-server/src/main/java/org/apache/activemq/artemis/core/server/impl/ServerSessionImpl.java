@@ -279,7 +279,7 @@ public class ServerSessionImpl implements ServerSession, FailureListener {
       remotingConnection.addFailureListener(this);
       this.context = context;
 
-      this.sessionExecutor = server.getExecutorFactory().getExecutor();
+      this.sessionExecutor = server.getExecutorFactory(remotingConnection.getTransportConnection()).getExecutor();
 
       if (!xa) {
          tx = newTransaction();
@@ -1724,6 +1724,170 @@ public class ServerSessionImpl implements ServerSession, FailureListener {
       return send(tx, msg, direct, noAutoCreateQueue, routingContext);
    }
 
+   @Override
+   public synchronized void sendBatch(final List<? extends Message> messages, final boolean direct) throws Exception {
+      final Transaction tx = getCurrentTransaction();
+      int from = 0;
+      while (from < messages.size()) {
+         // consecutive messages to the same destination are routed together
+         int to = from + 1;
+         if (isBatchable(messages.get(from))) {
+            while (to < messages.size() && isBatchable(messages.get(to)) && isSameDestination(messages.get(from), messages.get(to))) {
+               to++;
+            }
+         }
+         try {
+            if (to - from == 1) {
+               send(tx, messages.get(from), direct, false, routingContext);
+            } else {
+               doSendBatch(tx, messages.subList(from, to), direct);
+            }
+         } catch (ActiveMQException e) {
+            // the messages routed together before the failed one were sent
+            final ActiveMQException failure = e.getType().createException(ActiveMQMessageBundle.BUNDLE.sendBatchFailed(e.getMessage(), from, to - 1, messages.size()));
+            failure.initCause(e);
+            throw failure;
+         }
+         from = to;
+      }
+   }
+
+   /**
+    * Whether {@code message} can be sent along with others through {@link #doSendBatch}: sends that are audited or
+    * seen by plugins, management messages and large messages are sent one by one.
+    */
+   private boolean isBatchable(final Message message) {
+      final SimpleString address = message.getAddressSimpleString();
+      return address != null && !address.equals(managementAddress) && !message.isLargeMessage() &&
+         !server.hasBrokerMessagePlugins() && !AuditLogger.isMessageEnabled();
+   }
+
+   private static boolean isSameDestination(final Message message, final Message other) {
+      return message.getAddressSimpleString().equals(other.getAddressSimpleString()) && message.getRoutingType() == other.getRoutingType();
+   }
+
+   private void doSendBatch(final Transaction tx,
+                            final List<? extends Message> messages,
+                            final boolean direct) throws Exception {
+      checkDiskFull();
+
+      final List<Message> batch = new ArrayList<>(messages.size());
+      for (Message messageParameter : messages) {
+         final Message message = LargeServerMessageImpl.checkLargeMessage(messageParameter, storageManager);
+         generateMessageID(message);
+         batch.add(message);
+      }
+
+      final Message first = batch.get(0);
+      final Message last = batch.get(batch.size() - 1);
+      final SimpleString address = first.getAddressSimpleString();
+
+      if (defaultAddress == null) {
+         defaultAddress = address;
+      }
+
+      if (logger.isTraceEnabled()) {
+         logger.trace("sendBatch(size=" + batch.size() + ", address=" + address + ", direct=" + direct + ") being called");
+      }
+
+      AddressInfo art = checkSend(tx, address, first.getRoutingType());
+
+      for (Message message : batch) {
+         populateValidatedUser(message);
+      }
+
+      try {
+         prepareRoutingContext(tx, routingContext, art);
+
+         postOffice.route(batch, routingContext, direct);
+
+         updateTargetAddressInfo(address, last.getUserID(), batch.size());
+      } finally {
+         if (!routingContext.isReusable()) {
+            routingContext.clear();
+         }
+      }
+   }
+
+   /**
+    * If the protocol doesn't support flow control, we have no choice other than fail the communication when the disk
+    * is full.
+    */
+   private void checkDiskFull() throws ActiveMQIOErrorException {
+      if (!this.getRemotingConnection().isSupportsFlowControl() && pagingManager.isDiskFull()) {
+         long usableSpace = pagingManager.getDiskUsableSpace();
+         long totalSpace = pagingManager.getDiskTotalSpace();
+         ActiveMQIOErrorException exception = ActiveMQMessageBundle.BUNDLE.diskBeyondLimit(ByteUtil.getHumanReadableByteCount(usableSpace), ByteUtil.getHumanReadableByteCount(totalSpace), String.format("%.1f%%", FileStoreMonitor.calculateUsage(usableSpace, totalSpace) * 100));
+         this.getRemotingConnection().fail(exception);
+         throw exception;
+      }
+   }
+
+   private void generateMessageID(final Message message) {
+      //large message may come from StompSession directly, in which
+      //case the id header already generated.
+      if (!message.isLargeMessage()) {
+         long id = storageManager.generateID();
+         // This will re-encode the message
+         message.setMessageID(id);
+      }
+   }
+
+   /**
+    * Checks the user has write access to {@code address}, marking {@code tx} as rollback only if it hasn't.
+    *
+    * @return the address and routing type the messages are routed with
+    */
+   private AddressInfo checkSend(final Transaction tx,
+                                 final SimpleString address,
+                                 final RoutingType routingType) throws Exception {
+      AddressInfo art = getAddressAndRoutingType(new AddressInfo(address, routingType));
+
+      try {
+         securityStore.check(CompositeAddress.extractAddressName(address), CompositeAddress.extractQueueName(address), CheckType.SEND, this);
+      } catch (ActiveMQException e) {
+         if (!autoCommitSends && tx != null) {
+            tx.markAsRollbackOnly(e);
+         }
+         throw e;
+      }
+      return art;
+   }
+
+   private void populateValidatedUser(final Message message) throws ActiveMQException {
+      if (server.getConfiguration().isPopulateValidatedUser() && validatedUser != null) {
+         message.setValidatedUserID(validatedUser);
+      }
+
+      if (server.getConfiguration().isRejectEmptyValidatedUser() && message.getValidatedUserID() == null) {
+         throw ActiveMQMessageBundle.BUNDLE.rejectEmptyValidatedUser();
+      }
+   }
+
+   private void prepareRoutingContext(final Transaction tx,
+                                      final RoutingContext routingContext,
+                                      final AddressInfo art) {
+      if (tx == null || autoCommitSends) {
+         routingContext.setTransaction(null);
+      } else {
+         routingContext.setTransaction(tx);
+      }
+
+      routingContext.setAddress(art.getName());
+      routingContext.setRoutingType(art.getRoutingType());
+   }
+
+   private void updateTargetAddressInfo(final SimpleString address, final Object lastUserID, final int count) {
+      Pair<Object, AtomicLong> value = targetAddressInfos.get(address);
+
+      if (value == null) {
+         targetAddressInfos.put(address, new Pair<>(lastUserID, new AtomicLong(count)));
+      } else {
+         value.setA(lastUserID);
+         value.getB().addAndGet(count);
+      }
+   }
+
    @Override
    public synchronized RoutingStatus send(Transaction tx,
                                           Message messageParameter,
@@ -1742,22 +1906,9 @@ public class ServerSessionImpl implements ServerSession, FailureListener {
 
       final RoutingStatus result;
       try {
-         // If the protocol doesn't support flow control, we have no choice other than fail the communication
-         if (!this.getRemotingConnection().isSupportsFlowControl() && pagingManager.isDiskFull()) {
-            long usableSpace = pagingManager.getDiskUsableSpace();
-            long totalSpace = pagingManager.getDiskTotalSpace();
-            ActiveMQIOErrorException exception = ActiveMQMessageBundle.BUNDLE.diskBeyondLimit(ByteUtil.getHumanReadableByteCount(usableSpace), ByteUtil.getHumanReadableByteCount(totalSpace), String.format("%.1f%%", FileStoreMonitor.calculateUsage(usableSpace, totalSpace) * 100));
-            this.getRemotingConnection().fail(exception);
-            throw exception;
-         }
+         checkDiskFull();
 
-         //large message may come from StompSession directly, in which
-         //case the id header already generated.
-         if (!message.isLargeMessage()) {
-            long id = storageManager.generateID();
-            // This will re-encode the message
-            message.setMessageID(id);
-         }
+         generateMessageID(message);
 
          SimpleString address = message.getAddressSimpleString();
 
@@ -2114,47 +2265,16 @@ public class ServerSessionImpl implements ServerSession, FailureListener {
             }
          } */
 
-      AddressInfo art = getAddressAndRoutingType(new AddressInfo(msg.getAddressSimpleString(), routingType));
+      AddressInfo art = checkSend(tx, msg.getAddressSimpleString(), routingType);
 
-      // Consumer
-      // check the user has write access to this address.
-      try {
-         securityStore.check(CompositeAddress.extractAddressName(msg.getAddressSimpleString()), CompositeAddress.extractQueueName(msg.getAddressSimpleString()), CheckType.SEND, this);
-      } catch (ActiveMQException e) {
-         if (!autoCommitSends && tx != null) {
-            tx.markAsRollbackOnly(e);
-         }
-         throw e;
-      }
-
-      if (server.getConfiguration().isPopulateValidatedUser() && validatedUser != null) {
-         msg.setValidatedUserID(validatedUser);
-      }
-
-      if (server.getConfiguration().isRejectEmptyValidatedUser() && msg.getValidatedUserID() == null) {
-         throw ActiveMQMessageBundle.BUNDLE.rejectEmptyValidatedUser();
-      }
-
-      if (tx == null || autoCommitSends) {
-         routingContext.setTransaction(null);
-      } else {
-         routingContext.setTransaction(tx);
-      }
+      populateValidatedUser(msg);
 
       try {
-         routingContext.setAddress(art.getName());
-         routingContext.setRoutingType(art.getRoutingType());
+         prepareRoutingContext(tx, routingContext, art);
 
          result = postOffice.route(msg, routingContext, direct);
 
-         Pair<Object, AtomicLong> value = targetAddressInfos.get(msg.getAddressSimpleString());
-
-         if (value == null) {
-            targetAddressInfos.put(msg.getAddressSimpleString(), new Pair<>(msg.getUserID(), new AtomicLong(1)));
-         } else {
-            value.setA(msg.getUserID());
-            value.getB().incrementAndGet();
-         }
+         updateTargetAddressInfo(msg.getAddressSimpleString(), msg.getUserID(), 1);
       } finally {
          if (!routingContext.isReusable()) {
             routingContext.clear();
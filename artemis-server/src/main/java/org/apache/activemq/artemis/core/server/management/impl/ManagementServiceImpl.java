@@ -33,7 +33,9 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.ToLongFunction;
 
+import io.micrometer.core.instrument.Tags;
 import org.apache.activemq.artemis.api.core.BroadcastEndpointFactory;
 import org.apache.activemq.artemis.api.core.BroadcastGroupConfiguration;
 import org.apache.activemq.artemis.api.core.ChannelBroadcastEndpointFactory;
@@ -60,6 +62,11 @@ import org.apache.activemq.artemis.api.core.management.ResourceNames;
 import org.apache.activemq.artemis.core.config.BridgeConfiguration;
 import org.apache.activemq.artemis.core.config.ClusterConnectionConfiguration;
 import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.io.SequentialFileFactory;
+import org.apache.activemq.artemis.core.io.buffer.TimedBuffer;
+import org.apache.activemq.artemis.core.journal.Journal;
+import org.apache.activemq.artemis.core.journal.impl.JournalImpl;
+import org.apache.activemq.artemis.core.journal.impl.StripedJournal;
 import org.apache.activemq.artemis.core.management.impl.AcceptorControlImpl;
 import org.apache.activemq.artemis.core.management.impl.ActiveMQServerControlImpl;
 import org.apache.activemq.artemis.core.management.impl.AddressControlImpl;
@@ -77,6 +84,8 @@ import org.apache.activemq.artemis.core.messagecounter.MessageCounter;
 import org.apache.activemq.artemis.core.messagecounter.MessageCounterManager;
 import org.apache.activemq.artemis.core.messagecounter.impl.MessageCounterManagerImpl;
 import org.apache.activemq.artemis.core.paging.PagingManager;
+import org.apache.activemq.artemis.core.paging.PagingStore;
+import org.apache.activemq.artemis.core.paging.cursor.PageCursorProvider;
 import org.apache.activemq.artemis.core.persistence.StorageManager;
 import org.apache.activemq.artemis.core.postoffice.PostOffice;
 import org.apache.activemq.artemis.core.remoting.server.RemotingService;
@@ -233,10 +242,40 @@ public class ManagementServiceImpl implements ManagementService {
             builder.register(BrokerMetricNames.ADDRESS_MEMORY_USAGE, this, metrics -> Double.valueOf(messagingServerControl.getAddressMemoryUsage()), ActiveMQServerControl.ADDRESS_MEMORY_USAGE_DESCRIPTION);
             builder.register(BrokerMetricNames.ADDRESS_MEMORY_USAGE_PERCENTAGE, this, metrics -> Double.valueOf(messagingServerControl.getAddressMemoryUsagePercentage()), ActiveMQServerControl.ADDRESS_MEMORY_USAGE_PERCENTAGE_DESCRIPTION);
             builder.register(BrokerMetricNames.DISK_STORE_USAGE, this, metrics -> Double.valueOf(messagingServer.getDiskStoreUsage()), ActiveMQServerControl.DISK_STORE_USAGE_DESCRIPTION);
+            registerJournalMeters(builder);
          });
       }
    }
 
+   private void registerJournalMeters(MetricsManager.MetricGaugeBuilder builder) {
+      final Journal journal = storageManager == null ? null : storageManager.getMessageJournal();
+      if (journal == null) {
+         return;
+      }
+      final int lanes = journal instanceof StripedJournal ? ((StripedJournal) journal).getLanes() : 1;
+      for (int lane = 0; lane < lanes; lane++) {
+         final Journal laneJournal = journal instanceof StripedJournal ? ((StripedJournal) journal).getLane(lane) : journal;
+         final Tags laneTags = Tags.of("lane", Integer.toString(lane));
+         if (laneJournal instanceof JournalImpl) {
+            final JournalImpl journalImpl = (JournalImpl) laneJournal;
+            builder.register(BrokerMetricNames.JOURNAL_COMPACT_PAUSE, journalImpl, metrics -> Double.valueOf(journalImpl.getLastCompactPause()), "Time (in nanoseconds) the last journal compacting blocked the appends", laneTags);
+            builder.register(BrokerMetricNames.JOURNAL_COMPACT_PAUSE_TOTAL, journalImpl, metrics -> Double.valueOf(journalImpl.getTotalCompactPause()), "Total time (in nanoseconds) the journal compacting blocked the appends", laneTags);
+         }
+         final SequentialFileFactory fileFactory = laneJournal.getFileFactory();
+         final TimedBuffer timedBuffer = fileFactory == null ? null : fileFactory.getTimedBuffer();
+         if (timedBuffer == null) {
+            continue;
+         }
+         builder.register(BrokerMetricNames.JOURNAL_BUFFER_TIMEOUT, timedBuffer, metrics -> Double.valueOf(timedBuffer.getTimeout()), "Timeout (in nanoseconds) used to flush the journal buffer", laneTags);
+         for (int i = 0; i < TimedBuffer.BATCH_SIZE_BUCKETS; i++) {
+            final int bucket = i;
+            final int bound = TimedBuffer.getBatchSizeBound(bucket);
+            final Tags bucketTags = laneTags.and("le", bound == Integer.MAX_VALUE ? "+Inf" : Integer.toString(bound));
+            builder.register(BrokerMetricNames.JOURNAL_BUFFER_BATCH_SIZE, timedBuffer, metrics -> Double.valueOf(timedBuffer.getBatchCount(bucket)), "Number of journal buffer flushes writing at most the given number of records", bucketTags);
+         }
+      }
+   }
+
    @Override
    public synchronized void unregisterServer() throws Exception {
       ObjectName objectName = objectNameBuilder.getActiveMQServerObjectName();
@@ -270,11 +309,26 @@ public class ManagementServiceImpl implements ManagementService {
                builder.register(AddressMetricNames.ROUTED_MESSAGE_COUNT, this, metrics -> Double.valueOf(addressInfo.getRoutedMessageCount()), AddressControl.ROUTED_MESSAGE_COUNT_DESCRIPTION);
                builder.register(AddressMetricNames.UNROUTED_MESSAGE_COUNT, this, metrics -> Double.valueOf(addressInfo.getUnRoutedMessageCount()), AddressControl.UNROUTED_MESSAGE_COUNT_DESCRIPTION);
                builder.register(AddressMetricNames.ADDRESS_SIZE, this, metrics -> Double.valueOf(addressControl.getAddressSize()), AddressControl.ADDRESS_SIZE_DESCRIPTION);
+               builder.register(AddressMetricNames.PAGE_CACHE_SIZE, this, metrics -> Double.valueOf(getPageCacheMetric(addressInfo, PageCursorProvider::getCacheMemoryEstimate)), "estimated memory used by the page files cached for this address");
+               builder.register(AddressMetricNames.PAGE_CACHE_HITS, this, metrics -> Double.valueOf(getPageCacheMetric(addressInfo, PageCursorProvider::getCacheHits)), "number of page files of this address found in the page cache");
+               builder.register(AddressMetricNames.PAGE_CACHE_MISSES, this, metrics -> Double.valueOf(getPageCacheMetric(addressInfo, PageCursorProvider::getCacheMisses)), "number of page files of this address not found in the page cache");
+               builder.register(AddressMetricNames.PAGE_CACHE_EVICTIONS, this, metrics -> Double.valueOf(getPageCacheMetric(addressInfo, PageCursorProvider::getCacheEvictions)), "number of page files of this address evicted from the page cache");
             });
          }
       }
    }
 
+   private long getPageCacheMetric(AddressInfo addressInfo, ToLongFunction<PageCursorProvider> metric) {
+      try {
+         final PagingStore pagingStore = pagingManager == null ? null : pagingManager.getPageStore(addressInfo.getName());
+         final PageCursorProvider cursorProvider = pagingStore == null ? null : pagingStore.getCursorProvider();
+         return cursorProvider == null ? 0 : metric.applyAsLong(cursorProvider);
+      } catch (Exception e) {
+         logger.debug("Failed to get page cache metric", e);
+         return -1;
+      }
+   }
+
    @Override
    public synchronized void unregisterAddress(final SimpleString address) throws Exception {
       ObjectName objectName = objectNameBuilder.getAddressObjectName(address);
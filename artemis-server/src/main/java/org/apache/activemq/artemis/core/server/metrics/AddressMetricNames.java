@@ -22,5 +22,9 @@ public class AddressMetricNames {
    public static final String ROUTED_MESSAGE_COUNT = "routed.message.count";
    public static final String UNROUTED_MESSAGE_COUNT = "unrouted.message.count";
    public static final String ADDRESS_SIZE = "address.size";
+   public static final String PAGE_CACHE_SIZE = "page.cache.size";
+   public static final String PAGE_CACHE_HITS = "page.cache.hits";
+   public static final String PAGE_CACHE_MISSES = "page.cache.misses";
+   public static final String PAGE_CACHE_EVICTIONS = "page.cache.evictions";
 
 }
@@ -24,4 +24,8 @@ public class BrokerMetricNames {
    public static final String ADDRESS_MEMORY_USAGE = "address.memory.usage";
    public static final String ADDRESS_MEMORY_USAGE_PERCENTAGE = "address.memory.usage.percentage";
    public static final String DISK_STORE_USAGE = "disk.store.usage";
+   public static final String JOURNAL_BUFFER_TIMEOUT = "journal.buffer.timeout";
+   public static final String JOURNAL_BUFFER_BATCH_SIZE = "journal.buffer.batch.size";
+   public static final String JOURNAL_COMPACT_PAUSE = "journal.compact.pause";
+   public static final String JOURNAL_COMPACT_PAUSE_TOTAL = "journal.compact.pause.total";
 }
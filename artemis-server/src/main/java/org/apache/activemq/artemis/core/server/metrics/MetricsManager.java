@@ -28,6 +28,8 @@ import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.binder.jvm.JvmGcMetrics;
 import io.micrometer.core.instrument.binder.jvm.JvmMemoryMetrics;
 import io.micrometer.core.instrument.binder.jvm.JvmThreadMetrics;
@@ -74,7 +76,15 @@ public class MetricsManager {
    @FunctionalInterface
    public interface MetricGaugeBuilder {
 
-      void register(String metricName, Object state, ToDoubleFunction f, String description);
+      default void register(String metricName, Object state, ToDoubleFunction f, String description) {
+         register(metricName, state, f, description, Tags.empty());
+      }
+
+      /**
+       * Registers a gauge with some tags on top of the ones identifying the resource, e.g. to tell apart the
+       * buckets of an histogram sharing the same name.
+       */
+      void register(String metricName, Object state, ToDoubleFunction f, String description, Iterable<Tag> tags);
    }
 
    public void registerQueueGauge(String address, String queue, Consumer<MetricGaugeBuilder> builder) {
@@ -83,12 +93,13 @@ public class MetricsManager {
          return;
       }
       final List<Gauge.Builder> newMeters = new ArrayList<>();
-      builder.accept((metricName, state, f, description) -> {
+      builder.accept((metricName, state, f, description, tags) -> {
          Gauge.Builder meter = Gauge
             .builder("artemis." + metricName, state, f)
             .tag("broker", brokerName)
             .tag("address", address)
             .tag("queue", queue)
+            .tags(tags)
             .description(description);
          newMeters.add(meter);
       });
@@ -102,11 +113,12 @@ public class MetricsManager {
          return;
       }
       final List<Gauge.Builder> newMeters = new ArrayList<>();
-      builder.accept((metricName, state, f, description) -> {
+      builder.accept((metricName, state, f, description, tags) -> {
          Gauge.Builder meter = Gauge
             .builder("artemis." + metricName, state, f)
             .tag("broker", brokerName)
             .tag("address", address)
+            .tags(tags)
             .description(description);
          newMeters.add(meter);
       });
@@ -119,16 +131,47 @@ public class MetricsManager {
       if (meterRegistry == null) {
          return;
       }
+      final String resource = ResourceNames.BROKER + "." + brokerName;
+      registerMeter(brokerMeters(builder), resource);
+   }
+
+   /**
+    * Registers some gauges of the broker on top of the ones registered by {@link #registerBrokerGauge}, e.g. the
+    * ones of a protocol, to be removed along with them.
+    */
+   public void addBrokerGauge(Consumer<MetricGaugeBuilder> builder) {
+      final MeterRegistry meterRegistry = this.meterRegistry;
+      if (meterRegistry == null) {
+         return;
+      }
+      final List<Gauge.Builder> newMeters = brokerMeters(builder);
+      final String resource = ResourceNames.BROKER + "." + brokerName;
+      this.meters.compute(resource, (s, meters) -> {
+         if (meters == null) {
+            meters = new ArrayList<>(newMeters.size());
+         }
+         for (Gauge.Builder gaugeBuilder : newMeters) {
+            Gauge gauge = gaugeBuilder.register(meterRegistry);
+            meters.add(gauge);
+            if (log.isDebugEnabled()) {
+               log.debug("Registered meter: " + gauge.getId());
+            }
+         }
+         return meters;
+      });
+   }
+
+   private List<Gauge.Builder> brokerMeters(Consumer<MetricGaugeBuilder> builder) {
       final List<Gauge.Builder> newMeters = new ArrayList<>();
-      builder.accept((metricName, state, f, description) -> {
+      builder.accept((metricName, state, f, description, tags) -> {
          Gauge.Builder meter = Gauge
             .builder("artemis." + metricName, state, f)
             .tag("broker", brokerName)
+            .tags(tags)
             .description(description);
          newMeters.add(meter);
       });
-      final String resource = ResourceNames.BROKER + "." + brokerName;
-      registerMeter(newMeters, resource);
+      return newMeters;
    }
 
    private void registerMeter(List<Gauge.Builder> newMeters, String resource) {
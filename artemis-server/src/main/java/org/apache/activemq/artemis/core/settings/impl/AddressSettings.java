@@ -127,6 +127,10 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
 
    public static final boolean DEFAULT_ENABLE_METRICS = true;
 
+   public static final boolean DEFAULT_ENABLE_MESSAGE_ID_INDEX = false;
+
+   public static final long DEFAULT_PAGE_MAX_CACHE_BYTES = -1;
+
    private AddressFullMessagePolicy addressFullMessagePolicy = null;
 
    private Long maxSizeBytes = null;
@@ -253,6 +257,10 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
 
    private Boolean enableMetrics = null;
 
+   private Boolean enableMessageIdIndex = null;
+
+   private Long pageMaxCacheBytes = null;
+
    //from amq5
    //make it transient
    private transient Integer queuePrefetch = null;
@@ -318,6 +326,8 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
       this.defaultGroupFirstKey = other.defaultGroupFirstKey;
       this.defaultRingSize = other.defaultRingSize;
       this.enableMetrics = other.enableMetrics;
+      this.enableMessageIdIndex = other.enableMessageIdIndex;
+      this.pageMaxCacheBytes = other.pageMaxCacheBytes;
    }
 
    public AddressSettings() {
@@ -576,6 +586,15 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
       return this;
    }
 
+   public long getPageCacheMaxBytes() {
+      return pageMaxCacheBytes != null ? pageMaxCacheBytes : AddressSettings.DEFAULT_PAGE_MAX_CACHE_BYTES;
+   }
+
+   public AddressSettings setPageCacheMaxBytes(final long pageMaxCacheBytes) {
+      this.pageMaxCacheBytes = pageMaxCacheBytes;
+      return this;
+   }
+
    public long getMaxSizeBytes() {
       return maxSizeBytes != null ? maxSizeBytes : AddressSettings.DEFAULT_MAX_SIZE_BYTES;
    }
@@ -914,6 +933,15 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
       return this;
    }
 
+   public boolean isEnableMessageIdIndex() {
+      return enableMessageIdIndex != null ? enableMessageIdIndex : AddressSettings.DEFAULT_ENABLE_MESSAGE_ID_INDEX;
+   }
+
+   public AddressSettings setEnableMessageIdIndex(final boolean enableMessageIdIndex) {
+      this.enableMessageIdIndex = enableMessageIdIndex;
+      return this;
+   }
+
    /**
     * merge 2 objects in to 1
     *
@@ -1107,6 +1135,12 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
       if (enableMetrics == null) {
          enableMetrics = merged.enableMetrics;
       }
+      if (enableMessageIdIndex == null) {
+         enableMessageIdIndex = merged.enableMessageIdIndex;
+      }
+      if (pageMaxCacheBytes == null) {
+         pageMaxCacheBytes = merged.pageMaxCacheBytes;
+      }
    }
 
    @Override
@@ -1320,6 +1354,14 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
          defaultGroupRebalancePauseDispatch = BufferHelper.readNullableBoolean(buffer);
       }
 
+      if (buffer.readableBytes() > 0) {
+         enableMessageIdIndex = BufferHelper.readNullableBoolean(buffer);
+      }
+
+      if (buffer.readableBytes() > 0) {
+         pageMaxCacheBytes = BufferHelper.readNullableLong(buffer);
+      }
+
    }
 
    @Override
@@ -1383,7 +1425,9 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
          SimpleString.sizeofNullableString(expiryQueuePrefix) +
          SimpleString.sizeofNullableString(expiryQueueSuffix) +
          BufferHelper.sizeOfNullableBoolean(enableMetrics) +
-         BufferHelper.sizeOfNullableBoolean(defaultGroupRebalancePauseDispatch);
+         BufferHelper.sizeOfNullableBoolean(defaultGroupRebalancePauseDispatch) +
+         BufferHelper.sizeOfNullableBoolean(enableMessageIdIndex) +
+         BufferHelper.sizeOfNullableLong(pageMaxCacheBytes);
    }
 
    @Override
@@ -1510,6 +1554,10 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
 
       BufferHelper.writeNullableBoolean(buffer, defaultGroupRebalancePauseDispatch);
 
+      BufferHelper.writeNullableBoolean(buffer, enableMessageIdIndex);
+
+      BufferHelper.writeNullableLong(buffer, pageMaxCacheBytes);
+
    }
 
    /* (non-Javadoc)
@@ -1581,6 +1629,8 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
       result = prime * result + ((expiryQueuePrefix == null) ? 0 : expiryQueuePrefix.hashCode());
       result = prime * result + ((expiryQueueSuffix == null) ? 0 : expiryQueueSuffix.hashCode());
       result = prime * result + ((enableMetrics == null) ? 0 : enableMetrics.hashCode());
+      result = prime * result + ((enableMessageIdIndex == null) ? 0 : enableMessageIdIndex.hashCode());
+      result = prime * result + ((pageMaxCacheBytes == null) ? 0 : pageMaxCacheBytes.hashCode());
       return result;
    }
 
@@ -1928,6 +1978,18 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
       } else if (!enableMetrics.equals(other.enableMetrics))
          return false;
 
+      if (enableMessageIdIndex == null) {
+         if (other.enableMessageIdIndex != null)
+            return false;
+      } else if (!enableMessageIdIndex.equals(other.enableMessageIdIndex))
+         return false;
+
+      if (pageMaxCacheBytes == null) {
+         if (other.pageMaxCacheBytes != null)
+            return false;
+      } else if (!pageMaxCacheBytes.equals(other.pageMaxCacheBytes))
+         return false;
+
       return true;
    }
 
@@ -2057,6 +2119,10 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
          expiryQueueSuffix +
          ", enableMetrics=" +
          enableMetrics +
+         ", enableMessageIdIndex=" +
+         enableMessageIdIndex +
+         ", pageMaxCacheBytes=" +
+         pageMaxCacheBytes +
          "]";
    }
 }
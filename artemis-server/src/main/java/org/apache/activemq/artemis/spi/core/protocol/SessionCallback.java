@@ -18,6 +18,7 @@ package org.apache.activemq.artemis.spi.core.protocol;
 
 import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.message.LargeBodyReader;
 import org.apache.activemq.artemis.core.server.MessageReference;
 import org.apache.activemq.artemis.core.server.ServerConsumer;
 import org.apache.activemq.artemis.core.transaction.Transaction;
@@ -80,6 +81,20 @@ public interface SessionCallback {
                                     boolean continues,
                                     boolean requiresResponse);
 
+   /**
+    * It sends the next {@code length} bytes of the large message body read by {@code reader}, without copying them
+    * into the heap (eg transferring them from the file of the message).
+    *
+    * @return the size of the sent packet or {@code -1} if not supported, in which case
+    * {@link #sendLargeMessageContinuation(ServerConsumer, byte[], boolean, boolean)} must be used instead
+    */
+   default int sendLargeMessageContinuation(ServerConsumer consumer,
+                                            LargeBodyReader reader,
+                                            int length,
+                                            boolean continues) {
+      return -1;
+   }
+
    void closed();
 
    void disconnect(ServerConsumer consumerId, SimpleString queueName);
@@ -98,4 +113,12 @@ public interface SessionCallback {
    default Transaction getCurrentTransaction() {
       return null;
    }
+
+   /**
+    * @return whether the client can decompress the bodies of the large messages compressed with {@code codec}: the
+    * ones it can't are decompressed before being sent to it
+    */
+   default boolean supportsCompressionCodec(String codec) {
+      return true;
+   }
 }
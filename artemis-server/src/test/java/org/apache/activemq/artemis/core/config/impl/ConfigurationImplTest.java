@@ -85,12 +85,14 @@ public class ConfigurationImplTest extends ActiveMQTestBase {
       Assert.assertEquals(ActiveMQDefaultConfiguration.getDefaultMessageCounterSamplePeriod(), conf.getMessageCounterSamplePeriod());
       Assert.assertEquals(ActiveMQDefaultConfiguration.getDefaultIdCacheSize(), conf.getIDCacheSize());
       Assert.assertEquals(ActiveMQDefaultConfiguration.isDefaultPersistIdCache(), conf.isPersistIDCache());
+      Assert.assertEquals(ActiveMQDefaultConfiguration.isDefaultLockFreeIdCache(), conf.isLockFreeIDCache());
       Assert.assertEquals(ActiveMQDefaultConfiguration.getDefaultServerDumpInterval(), conf.getServerDumpInterval());
       Assert.assertEquals(ActiveMQDefaultConfiguration.getDefaultMemoryWarningThreshold(), conf.getMemoryWarningThreshold());
       Assert.assertEquals(ActiveMQDefaultConfiguration.getDefaultMemoryMeasureInterval(), conf.getMemoryMeasureInterval());
       Assert.assertEquals(conf.getJournalLocation(), conf.getNodeManagerLockLocation());
       Assert.assertNull(conf.getJournalDeviceBlockSize());
       Assert.assertEquals(ActiveMQDefaultConfiguration.isDefaultReadWholePage(), conf.isReadWholePage());
+      Assert.assertEquals(ActiveMQDefaultConfiguration.isDefaultReadMappedPage(), conf.isReadMappedPage());
       Assert.assertEquals(ActiveMQDefaultConfiguration.getDefaultJournalBufferTimeoutNio(), conf.getPageSyncTimeout());
    }
 
@@ -213,6 +215,10 @@ public class ConfigurationImplTest extends ActiveMQTestBase {
          conf.setPersistIDCache(b);
          Assert.assertEquals(b, conf.isPersistIDCache());
 
+         b = RandomUtil.randomBoolean();
+         conf.setLockFreeIDCache(b);
+         Assert.assertEquals(b, conf.isLockFreeIDCache());
+
          i = RandomUtil.randomInt();
          conf.setJournalCompactMinFiles(i);
          Assert.assertEquals(i, conf.getJournalCompactMinFiles());
@@ -411,6 +417,10 @@ public class ConfigurationImplTest extends ActiveMQTestBase {
       conf.setPersistIDCache(b);
       Assert.assertEquals(b, conf.isPersistIDCache());
 
+      b = RandomUtil.randomBoolean();
+      conf.setLockFreeIDCache(b);
+      Assert.assertEquals(b, conf.isLockFreeIDCache());
+
       i = RandomUtil.randomInt();
       conf.setJournalCompactMinFiles(i);
       Assert.assertEquals(i, conf.getJournalCompactMinFiles());
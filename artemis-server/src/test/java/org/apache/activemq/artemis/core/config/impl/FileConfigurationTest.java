@@ -47,6 +47,7 @@ import org.apache.activemq.artemis.core.config.HAPolicyConfiguration;
 import org.apache.activemq.artemis.core.config.MetricsConfiguration;
 import org.apache.activemq.artemis.core.config.ha.LiveOnlyPolicyConfiguration;
 import org.apache.activemq.artemis.core.journal.impl.JournalImpl;
+import org.apache.activemq.artemis.core.journal.impl.StripedJournal;
 import org.apache.activemq.artemis.core.remoting.impl.netty.TransportConstants;
 import org.apache.activemq.artemis.core.security.Role;
 import org.apache.activemq.artemis.core.server.ComponentConfigurationRoutingType;
@@ -119,6 +120,7 @@ public class FileConfigurationTest extends ConfigurationImplTest {
       Assert.assertEquals(25000, conf.getAddressQueueScanPeriod());
       Assert.assertEquals(127, conf.getIDCacheSize());
       Assert.assertEquals(true, conf.isPersistIDCache());
+      Assert.assertEquals(true, conf.isLockFreeIDCache());
       Assert.assertEquals(Integer.valueOf(777), conf.getJournalDeviceBlockSize());
       Assert.assertEquals(true, conf.isPersistDeliveryCountBeforeDelivery());
       Assert.assertEquals("pagingdir", conf.getPagingDirectory());
@@ -128,13 +130,16 @@ public class FileConfigurationTest extends ConfigurationImplTest {
 
       Assert.assertEquals("max concurrent io", 17, conf.getPageMaxConcurrentIO());
       Assert.assertEquals(true, conf.isReadWholePage());
+      Assert.assertEquals(true, conf.isReadMappedPage());
       Assert.assertEquals("somedir2", conf.getJournalDirectory());
       Assert.assertEquals(false, conf.isCreateJournalDir());
       Assert.assertEquals(JournalType.NIO, conf.getJournalType());
       Assert.assertEquals(10000, conf.getJournalBufferSize_NIO());
       Assert.assertEquals(1000, conf.getJournalBufferTimeout_NIO());
+      Assert.assertTrue(conf.isJournalBufferTimeoutAdaptive());
       Assert.assertEquals(56546, conf.getJournalMaxIO_NIO());
       Assert.assertEquals(9876, conf.getJournalFileOpenTimeout());
+      Assert.assertEquals(4, conf.getJournalLanes());
 
       Assert.assertEquals(false, conf.isJournalSyncTransactional());
       Assert.assertEquals(true, conf.isJournalSyncNonTransactional());
@@ -142,6 +147,7 @@ public class FileConfigurationTest extends ConfigurationImplTest {
       Assert.assertEquals(100, conf.getJournalMinFiles());
       Assert.assertEquals(123, conf.getJournalCompactMinFiles());
       Assert.assertEquals(33, conf.getJournalCompactPercentage());
+      Assert.assertEquals(5, conf.getJournalCompactMaxFiles());
       Assert.assertEquals(true, conf.isGracefulShutdownEnabled());
       Assert.assertEquals(12345, conf.getGracefulShutdownTimeout());
       Assert.assertEquals(true, conf.isPopulateValidatedUser());
@@ -358,6 +364,7 @@ public class FileConfigurationTest extends ConfigurationImplTest {
       assertEquals(856686592L, conf.getAddressesSettings().get("a1").getMaxSizeBytes());
       assertEquals(817381738L, conf.getAddressesSettings().get("a1").getPageSizeBytes());
       assertEquals(10, conf.getAddressesSettings().get("a1").getPageCacheMaxSize());
+      assertEquals(10 * 1024 * 1024, conf.getAddressesSettings().get("a1").getPageCacheMaxBytes());
       assertEquals(4, conf.getAddressesSettings().get("a1").getMessageCounterHistoryDayLimit());
       assertEquals(10, conf.getAddressesSettings().get("a1").getSlowConsumerThreshold());
       assertEquals(5, conf.getAddressesSettings().get("a1").getSlowConsumerCheckPeriod());
@@ -375,6 +382,7 @@ public class FileConfigurationTest extends ConfigurationImplTest {
       assertEquals(3, conf.getAddressesSettings().get("a1").getDefaultRingSize());
       assertEquals(0, conf.getAddressesSettings().get("a1").getRetroactiveMessageCount());
       assertTrue(conf.getAddressesSettings().get("a1").isEnableMetrics());
+      assertFalse(conf.getAddressesSettings().get("a1").isEnableMessageIdIndex());
 
       assertEquals("a2.1", conf.getAddressesSettings().get("a2").getDeadLetterAddress().toString());
       assertEquals(true, conf.getAddressesSettings().get("a2").isAutoCreateDeadLetterResources());
@@ -410,6 +418,7 @@ public class FileConfigurationTest extends ConfigurationImplTest {
       assertEquals(-1, conf.getAddressesSettings().get("a2").getDefaultRingSize());
       assertEquals(10, conf.getAddressesSettings().get("a2").getRetroactiveMessageCount());
       assertFalse(conf.getAddressesSettings().get("a2").isEnableMetrics());
+      assertTrue(conf.getAddressesSettings().get("a2").isEnableMessageIdIndex());
 
       assertTrue(conf.getResourceLimitSettings().containsKey("myUser"));
       assertEquals(104, conf.getResourceLimitSettings().get("myUser").getMaxConnections());
@@ -759,6 +768,25 @@ public class FileConfigurationTest extends ConfigurationImplTest {
       }
    }
 
+   @Test
+   public void testJournalLanes() throws Exception {
+      ActiveMQServerImpl server = new ActiveMQServerImpl();
+      server.getConfiguration()
+            .setJournalLanes(3)
+            .setJournalDirectory(getJournalDir())
+            .setPagingDirectory(getPageDir())
+            .setLargeMessagesDirectory(getLargeMessagesDir())
+            .setBindingsDirectory(getBindingsDir());
+      try {
+         server.start();
+         StripedJournal journal = (StripedJournal) server.getStorageManager().getMessageJournal();
+         Assert.assertEquals(3, journal.getLanes());
+         Assert.assertTrue(new File(getJournalDir(), "lane-2").isDirectory());
+      } finally {
+         server.stop();
+      }
+   }
+
    @Test
    public void testMetricsPlugin() throws Exception {
       FileConfiguration fc = new FileConfiguration();
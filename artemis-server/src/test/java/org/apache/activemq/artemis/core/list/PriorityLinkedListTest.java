@@ -16,7 +16,12 @@
  */
 package org.apache.activemq.artemis.core.list;
 
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.activemq.artemis.utils.collections.LinkedListImpl;
 import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
+import org.apache.activemq.artemis.utils.collections.NodeStore;
 import org.apache.activemq.artemis.utils.collections.PriorityLinkedListImpl;
 import org.junit.Assert;
 import org.junit.Before;
@@ -870,6 +875,105 @@ public final class PriorityLinkedListTest extends Assert {
       iter.remove();
    }
 
+   @Test
+   public void testWithID() {
+      list.addTail(a, 0);
+      list.addTail(b, 3);
+
+      try {
+         list.getWithID(id(a));
+         fail("the index isn't enabled yet");
+      } catch (IllegalStateException expected) {
+      }
+
+      // the elements already there are indexed when it is enabled
+      list.setNodeStore(WibbleNodeStore::new);
+      assertTrue(list.isIndexed());
+
+      list.addTail(c, 3);
+      list.addHead(d, 9);
+      list.addTail(e, 0);
+
+      assertEquals(a, list.getWithID(id(a)));
+      assertEquals(d, list.getWithID(id(d)));
+      assertNull(list.getWithID(id(z)));
+
+      assertEquals(d, list.removeWithID(id(d)));
+      assertNull(list.removeWithID(id(d)));
+      assertEquals(4, list.size());
+
+      assertEquals(c, list.removeWithID(id(c)));
+      assertEquals(3, list.size());
+
+      // the highest priority must be lowered past the empty levels
+      assertEquals(b, list.poll());
+      assertEquals(a, list.poll());
+
+      LinkedListIterator<Wibble> iter = list.iterator();
+      assertTrue(iter.hasNext());
+      assertEquals(e, iter.next());
+      iter.remove();
+      // removed through the iterator, so it must be gone from the index as well
+      assertNull(list.getWithID(id(e)));
+      assertTrue(list.isEmpty());
+
+      list.setNodeStore(null);
+      assertFalse(list.isIndexed());
+   }
+
+   @Test
+   public void testRemoveWithIDWhileIterating() {
+      list.setNodeStore(WibbleNodeStore::new);
+
+      list.addTail(a, 4);
+      list.addTail(b, 4);
+      list.addTail(c, 4);
+
+      LinkedListIterator<Wibble> iter = list.iterator();
+      assertTrue(iter.hasNext());
+      assertEquals(a, iter.next());
+
+      assertEquals(b, list.removeWithID(id(b)));
+
+      assertTrue(iter.hasNext());
+      assertEquals(c, iter.next());
+      assertFalse(iter.hasNext());
+   }
+
+   private static long id(Wibble wibble) {
+      return wibble.s1.charAt(0);
+   }
+
+   static class WibbleNodeStore implements NodeStore<Wibble> {
+
+      private final Map<Long, LinkedListImpl.Node<Wibble>> nodes = new HashMap<>();
+
+      @Override
+      public void storeNode(Wibble element, LinkedListImpl.Node<Wibble> node) {
+         nodes.put(id(element), node);
+      }
+
+      @Override
+      public LinkedListImpl.Node<Wibble> getNode(long id) {
+         return nodes.get(id);
+      }
+
+      @Override
+      public void removeNode(Wibble element, LinkedListImpl.Node<Wibble> node) {
+         nodes.remove(id(element));
+      }
+
+      @Override
+      public void clear() {
+         nodes.clear();
+      }
+
+      @Override
+      public int size() {
+         return nodes.size();
+      }
+   }
+
    static class Wibble {
 
       String s1;
@@ -15,16 +15,20 @@
  */
 package org.apache.activemq.artemis.core.paging.cursor.impl;
 
+import java.util.Collections;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
+import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.io.SequentialFile;
 import org.apache.activemq.artemis.core.io.SequentialFileFactory;
+import org.apache.activemq.artemis.core.paging.PagedMessage;
 import org.apache.activemq.artemis.core.paging.PagingStore;
 import org.apache.activemq.artemis.core.paging.cursor.PageCache;
 import org.apache.activemq.artemis.core.paging.impl.Page;
 import org.apache.activemq.artemis.core.persistence.StorageManager;
+import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
 import org.apache.activemq.artemis.utils.actors.ArtemisExecutor;
 import org.junit.Assert;
 import org.junit.Test;
@@ -99,6 +103,86 @@ public class PageCursorProviderImplTest {
       returnCacheIfEvicted(false);
    }
 
+   @Test(timeout = 30_000)
+   public void evictLeastRecentlyUsedBeyondMaxBytes() throws Exception {
+      final PagingStore pagingStore = mock(PagingStore.class);
+      final StorageManager storageManager = mock(StorageManager.class);
+      when(storageManager.beforePageRead(anyLong(), any(TimeUnit.class))).thenReturn(true);
+      final int pages = 3;
+      final ArtemisExecutor artemisExecutor = mock(ArtemisExecutor.class);
+      final PageCursorProviderImpl pageCursorProvider = new PageCursorProviderImpl(pagingStore, storageManager, artemisExecutor, AddressSettings.DEFAULT_PAGE_MAX_CACHE, 2048, true);
+      when(pagingStore.getCurrentWritingPage()).thenReturn(pages);
+      when(pagingStore.checkPageFileExists(anyInt())).thenReturn(true);
+      for (int i = 1; i <= pages; i++) {
+         final Message message = mock(Message.class);
+         when(message.getMemoryEstimate()).thenReturn(1000);
+         final PagedMessage pagedMessage = mock(PagedMessage.class);
+         when(pagedMessage.getMessage()).thenReturn(message);
+         final Page page = mock(Page.class);
+         when(page.getPageId()).thenReturn(i);
+         when(page.read(storageManager)).thenReturn(Collections.singletonList(pagedMessage));
+         when(pagingStore.createPage(i)).thenReturn(page);
+      }
+
+      final PageCache firstCache = pageCursorProvider.getPageCache(1);
+      Assert.assertNotNull(pageCursorProvider.getPageCache(2));
+      Assert.assertEquals(2, pageCursorProvider.getCacheSize());
+      Assert.assertEquals(2000, pageCursorProvider.getCacheMemoryEstimate());
+      Assert.assertEquals(2, pageCursorProvider.getCacheMisses());
+
+      // the 2nd page is now the least recently used one
+      Assert.assertSame(firstCache, pageCursorProvider.getPageCache(1));
+      Assert.assertEquals(1, pageCursorProvider.getCacheHits());
+      Assert.assertNotNull(pageCursorProvider.getPageCache(3));
+      Assert.assertEquals(2, pageCursorProvider.getCacheSize());
+      Assert.assertEquals(2000, pageCursorProvider.getCacheMemoryEstimate());
+      Assert.assertEquals(1, pageCursorProvider.getCacheEvictions());
+      Assert.assertSame(firstCache, pageCursorProvider.getPageCache(1));
+      Assert.assertEquals(2, pageCursorProvider.getCacheHits());
+
+      // a page bigger than the whole cache isn't cached at all
+      pageCursorProvider.setCacheMaxBytes(500);
+      Assert.assertEquals(0, pageCursorProvider.getCacheSize());
+      Assert.assertEquals(3, pageCursorProvider.getCacheEvictions());
+      Assert.assertNotNull(pageCursorProvider.getPageCache(1));
+      Assert.assertEquals(0, pageCursorProvider.getCacheSize());
+      Assert.assertEquals(0, pageCursorProvider.getCacheMemoryEstimate());
+      pageCursorProvider.stop();
+   }
+
+   @Test(timeout = 30_000)
+   public void keepCachesWhenSwitchingMaxBytes() throws Exception {
+      final PagingStore pagingStore = mock(PagingStore.class);
+      final StorageManager storageManager = mock(StorageManager.class);
+      when(storageManager.beforePageRead(anyLong(), any(TimeUnit.class))).thenReturn(true);
+      final ArtemisExecutor artemisExecutor = mock(ArtemisExecutor.class);
+      // without a max bytes the caches are softly referenced
+      final PageCursorProviderImpl pageCursorProvider = new PageCursorProviderImpl(pagingStore, storageManager, artemisExecutor, AddressSettings.DEFAULT_PAGE_MAX_CACHE, -1, true);
+      when(pagingStore.getCurrentWritingPage()).thenReturn(1);
+      when(pagingStore.checkPageFileExists(anyInt())).thenReturn(true);
+      final Message message = mock(Message.class);
+      when(message.getMemoryEstimate()).thenReturn(1000);
+      final PagedMessage pagedMessage = mock(PagedMessage.class);
+      when(pagedMessage.getMessage()).thenReturn(message);
+      final Page page = mock(Page.class);
+      when(page.getPageId()).thenReturn(1);
+      when(page.read(storageManager)).thenReturn(Collections.singletonList(pagedMessage));
+      when(pagingStore.createPage(1)).thenReturn(page);
+
+      final PageCache cache = pageCursorProvider.getPageCache(1);
+      Assert.assertSame(cache, pageCursorProvider.getPageCache(1));
+      Assert.assertEquals(1000, pageCursorProvider.getCacheMemoryEstimate());
+
+      pageCursorProvider.setCacheMaxBytes(2048);
+      Assert.assertSame(cache, pageCursorProvider.getPageCache(1));
+      pageCursorProvider.setCacheMaxBytes(-1);
+      Assert.assertSame(cache, pageCursorProvider.getPageCache(1));
+      Assert.assertEquals(1, pageCursorProvider.getCacheSize());
+      Assert.assertEquals(1000, pageCursorProvider.getCacheMemoryEstimate());
+      Assert.assertEquals(3, pageCursorProvider.getCacheHits());
+      pageCursorProvider.stop();
+   }
+
    private void returnCacheIfEvicted(boolean readWholePage) throws Exception {
       final PagingStore pagingStore = mock(PagingStore.class);
       final StorageManager storageManager = mock(StorageManager.class);
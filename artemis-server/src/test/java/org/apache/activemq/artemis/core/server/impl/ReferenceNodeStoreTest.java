@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.impl;
+
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.utils.collections.LinkedListImpl;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ReferenceNodeStoreTest {
+
+   private LinkedListImpl<MessageReference> deliveringRefs;
+
+   private ReferenceNodeStore nodeStore;
+
+   @Before
+   public void setUp() {
+      deliveringRefs = new LinkedListImpl<>();
+      nodeStore = new ReferenceNodeStore();
+      deliveringRefs.setNodeStore(nodeStore);
+   }
+
+   @Test
+   public void testAckDuplicatedIDTwice() {
+      MessageReference first = reference(1);
+      MessageReference other = reference(2);
+      MessageReference duplicate = reference(1);
+      deliveringRefs.addTail(first);
+      deliveringRefs.addTail(other);
+      deliveringRefs.addTail(duplicate);
+      assertEquals(3, nodeStore.size());
+
+      assertSame(first, deliveringRefs.removeWithID(1));
+      assertSame(duplicate, deliveringRefs.removeWithID(1));
+      assertNull(deliveringRefs.removeWithID(1));
+
+      assertEquals(1, deliveringRefs.size());
+      assertEquals(1, nodeStore.size());
+      assertSame(other, deliveringRefs.removeWithID(2));
+      assertEquals(0, nodeStore.size());
+   }
+
+   @Test
+   public void testDuplicatedIDRemovedOutOfOrder() {
+      MessageReference first = reference(1);
+      MessageReference second = reference(1);
+      MessageReference third = reference(1);
+      deliveringRefs.addTail(first);
+      deliveringRefs.addTail(second);
+      deliveringRefs.addHead(third);
+
+      // polling removes the head, the last one indexed
+      assertSame(third, deliveringRefs.poll());
+      assertSame(first, deliveringRefs.getWithID(1));
+      assertSame(first, deliveringRefs.removeWithID(1));
+      assertSame(second, deliveringRefs.removeWithID(1));
+      assertNull(deliveringRefs.getWithID(1));
+      assertEquals(0, nodeStore.size());
+   }
+
+   private static MessageReference reference(long messageID) {
+      MessageReference reference = Mockito.mock(MessageReference.class);
+      Mockito.when(reference.getMessageID()).thenReturn(messageID);
+      return reference;
+   }
+}
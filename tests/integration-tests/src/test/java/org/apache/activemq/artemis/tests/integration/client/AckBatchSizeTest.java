@@ -16,6 +16,9 @@
  */
 package org.apache.activemq.artemis.tests.integration.client;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.activemq.artemis.api.core.Interceptor;
 import org.apache.activemq.artemis.api.core.QueueConfiguration;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.api.core.client.ClientConsumer;
@@ -24,6 +27,8 @@ import org.apache.activemq.artemis.api.core.client.ClientProducer;
 import org.apache.activemq.artemis.api.core.client.ClientSession;
 import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
 import org.apache.activemq.artemis.api.core.client.ServerLocator;
+import org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionAcknowledgeBatchMessage;
 import org.apache.activemq.artemis.core.server.ActiveMQServer;
 import org.apache.activemq.artemis.core.server.Queue;
 import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
@@ -133,4 +138,58 @@ public class AckBatchSizeTest extends ActiveMQTestBase {
       sendSession.close();
       session.close();
    }
+
+   /*
+   * tests that the pending acks of many consumers are sent in a single packet on commit
+   * */
+   @Test
+   public void testAcksOfManyConsumersFlushedTogether() throws Exception {
+      ActiveMQServer server = createServer(false);
+      server.start();
+      final int numConsumers = 10;
+      final AtomicInteger acks = new AtomicInteger();
+      final AtomicInteger batches = new AtomicInteger();
+      server.getRemotingService().addIncomingInterceptor((Interceptor) (packet, connection) -> {
+         if (packet.getType() == PacketImpl.SESS_ACKNOWLEDGE) {
+            acks.incrementAndGet();
+         } else if (packet.getType() == PacketImpl.SESS_ACKNOWLEDGE_BATCH) {
+            Assert.assertEquals(numConsumers, ((SessionAcknowledgeBatchMessage) packet).getCount());
+            batches.incrementAndGet();
+         }
+         return true;
+      });
+      ServerLocator locator = createInVMNonHALocator().setAckBatchSize(1024 * 1024).setBlockOnAcknowledge(true);
+      ClientSessionFactory cf = createSessionFactory(locator);
+      ClientSession sendSession = cf.createSession(false, true, true);
+      ClientSession session = cf.createSession(false, true, false);
+      ClientProducer cp = sendSession.createProducer(addressA);
+      ClientConsumer[] consumers = new ClientConsumer[numConsumers];
+      Queue[] queues = new Queue[numConsumers];
+      for (int i = 0; i < numConsumers; i++) {
+         SimpleString queue = addressA.concat("." + i);
+         session.createQueue(new QueueConfiguration(queue).setAddress(addressA).setDurable(false));
+         consumers[i] = session.createConsumer(queue);
+         queues[i] = (Queue) server.getPostOffice().getBinding(queue).getBindable();
+      }
+      cp.send(sendSession.createMessage(false));
+      session.start();
+      for (ClientConsumer consumer : consumers) {
+         ClientMessage m = consumer.receive(5000);
+         Assert.assertNotNull(m);
+         m.acknowledge();
+      }
+      Assert.assertEquals(0, acks.get());
+      Assert.assertEquals(0, batches.get());
+
+      session.commit();
+
+      Assert.assertEquals(0, acks.get());
+      Assert.assertEquals(1, batches.get());
+      for (Queue queue : queues) {
+         Assert.assertEquals(0, queue.getDeliveringCount());
+         Assert.assertEquals(0, getMessageCount(queue));
+      }
+      sendSession.close();
+      session.close();
+   }
 }
@@ -87,6 +87,52 @@ public class AcknowledgeTest extends ActiveMQTestBase {
       sendSession.close();
    }
 
+   @Test
+   public void testIndividualAckOutOfOrder() throws Exception {
+      ActiveMQServer server = createServer(false);
+      server.start();
+      ServerLocator locator = createInVMNonHALocator().setAckBatchSize(0).setBlockOnAcknowledge(true);
+      ClientSessionFactory cf = createSessionFactory(locator);
+      ClientSession sendSession = cf.createSession(false, true, true);
+      ClientSession session = cf.createSession(false, true, true);
+      sendSession.createQueue(new QueueConfiguration(queueA).setAddress(addressA).setDurable(false));
+      ClientProducer cp = sendSession.createProducer(addressA);
+      ClientConsumer cc = session.createConsumer(queueA);
+      int numMessages = 100;
+      for (int i = 0; i < numMessages; i++) {
+         ClientMessage message = sendSession.createMessage(false);
+         message.putIntProperty("i", i);
+         cp.send(message);
+      }
+      session.start();
+      ClientMessage[] messages = new ClientMessage[numMessages];
+      for (int i = 0; i < numMessages; i++) {
+         messages[i] = cc.receive(5000);
+         Assert.assertNotNull(messages[i]);
+      }
+      // ack the even messages, from the last one
+      for (int i = numMessages - 2; i >= 0; i -= 2) {
+         messages[i].individualAcknowledge();
+      }
+      Queue q = (Queue) server.getPostOffice().getBinding(queueA).getBindable();
+      Assert.assertEquals(numMessages / 2, q.getDeliveringCount());
+      session.close();
+
+      // the odd messages are cancelled back in their delivery order
+      session = cf.createSession(false, true, true);
+      cc = session.createConsumer(queueA);
+      session.start();
+      for (int i = 1; i < numMessages; i += 2) {
+         ClientMessage cm = cc.receive(5000);
+         Assert.assertNotNull(cm);
+         Assert.assertEquals(i, cm.getIntProperty("i").intValue());
+         cm.acknowledge();
+      }
+      Assert.assertNull(cc.receiveImmediate());
+      session.close();
+      sendSession.close();
+   }
+
    @Test
    public void testAsyncConsumerNoAck() throws Exception {
       ActiveMQServer server = createServer(false);
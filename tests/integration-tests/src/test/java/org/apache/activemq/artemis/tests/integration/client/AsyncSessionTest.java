@@ -0,0 +1,238 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.integration.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.activemq.artemis.api.core.ActiveMQAddressFullException;
+import org.apache.activemq.artemis.api.core.ActiveMQIllegalStateException;
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.api.core.client.ClientConsumer;
+import org.apache.activemq.artemis.api.core.client.ClientMessage;
+import org.apache.activemq.artemis.api.core.client.ClientProducer;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
+import org.apache.activemq.artemis.api.core.client.ServerLocator;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.Queue;
+import org.apache.activemq.artemis.core.settings.impl.AddressFullMessagePolicy;
+import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
+import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.apache.activemq.artemis.tests.util.Wait;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AsyncSessionTest extends ActiveMQTestBase {
+
+   private static final int MESSAGES = 1000;
+
+   private final SimpleString address = new SimpleString("address");
+
+   private final SimpleString queueName = new SimpleString("queue");
+
+   private ActiveMQServer server;
+
+   private ClientSessionFactory sf;
+
+   @Override
+   @Before
+   public void setUp() throws Exception {
+      super.setUp();
+
+      server = createServer(true);
+      server.start();
+
+      ServerLocator locator = createInVMNonHALocator();
+      sf = createSessionFactory(locator);
+   }
+
+   @Test
+   public void testSendCommitAndReceiveAsync() throws Exception {
+      ClientSession session = addClientSession(sf.createSession(false, false, false));
+
+      session.createQueueAsync(new QueueConfiguration(queueName).setAddress(address).setRoutingType(RoutingType.ANYCAST)).toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+      ClientProducer producer = session.createProducer(address);
+
+      List<CompletableFuture<Void>> sends = new ArrayList<>();
+      for (int i = 0; i < MESSAGES; i++) {
+         ClientMessage message = session.createMessage(true);
+         message.putIntProperty("i", i);
+         sends.add(producer.sendAsync(message).toCompletableFuture());
+      }
+      CompletableFuture<Void> commit = session.commitAsync().toCompletableFuture();
+      for (CompletableFuture<Void> send : sends) {
+         send.get(10, TimeUnit.SECONDS);
+      }
+      commit.get(10, TimeUnit.SECONDS);
+
+      Assert.assertTrue(session.queueQueryAsync(queueName).toCompletableFuture().get(10, TimeUnit.SECONDS).isExists());
+      Queue queue = server.locateQueue(queueName);
+      Wait.assertEquals((long) MESSAGES, () -> getMessageCount(queue));
+
+      ClientConsumer consumer = session.createConsumer(queueName);
+      session.start();
+
+      List<CompletableFuture<ClientMessage>> receives = new ArrayList<>();
+      for (int i = 0; i < MESSAGES; i++) {
+         receives.add(consumer.receiveAsync().toCompletableFuture());
+      }
+      for (int i = 0; i < MESSAGES; i++) {
+         ClientMessage message = receives.get(i).get(10, TimeUnit.SECONDS);
+         Assert.assertEquals(i, message.getIntProperty("i").intValue());
+         message.acknowledge();
+      }
+      session.commitAsync().toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+      // once the pending receives are done the consumer is back to the blocking ones
+      Assert.assertNull(consumer.getMessageHandler());
+      Assert.assertNull(consumer.receiveImmediate());
+      Wait.assertEquals(0L, () -> getMessageCount(queue));
+   }
+
+   @Test
+   public void testRollbackAsync() throws Exception {
+      ClientSession session = addClientSession(sf.createSession(false, false, false));
+      session.createQueue(new QueueConfiguration(queueName).setAddress(address).setRoutingType(RoutingType.ANYCAST));
+
+      ClientProducer producer = session.createProducer(address);
+      CompletionStage<Void> send = producer.sendAsync(session.createMessage(true));
+      session.rollbackAsync().toCompletableFuture().get(10, TimeUnit.SECONDS);
+      send.toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+      Assert.assertEquals(0, session.queueQueryAsync(queueName).toCompletableFuture().get(10, TimeUnit.SECONDS).getMessageCount());
+   }
+
+   @Test
+   public void testSendAsyncAfterCommitAsync() throws Exception {
+      ClientSession session = addClientSession(sf.createSession(false, false, false));
+      session.createQueue(new QueueConfiguration(queueName).setAddress(address).setRoutingType(RoutingType.ANYCAST));
+
+      ClientProducer producer = session.createProducer(address);
+      ClientMessage message = session.createMessage(true);
+      message.putIntProperty("i", 0);
+      CompletionStage<Void> committedSend = producer.sendAsync(message);
+      CompletionStage<Void> commit = session.commitAsync();
+      message = session.createMessage(true);
+      message.putIntProperty("i", 1);
+      CompletionStage<Void> uncommittedSend = producer.sendAsync(message);
+
+      committedSend.toCompletableFuture().get(10, TimeUnit.SECONDS);
+      commit.toCompletableFuture().get(10, TimeUnit.SECONDS);
+      uncommittedSend.toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+      Queue queue = server.locateQueue(queueName);
+      Wait.assertEquals(1L, () -> getMessageCount(queue));
+
+      session.rollbackAsync().toCompletableFuture().get(10, TimeUnit.SECONDS);
+      Assert.assertEquals(1L, getMessageCount(queue));
+
+      ClientConsumer consumer = session.createConsumer(queueName);
+      session.start();
+      ClientMessage received = consumer.receive(5000);
+      Assert.assertNotNull(received);
+      Assert.assertEquals(0, received.getIntProperty("i").intValue());
+      received.acknowledge();
+      session.commit();
+      Assert.assertNull(consumer.receiveImmediate());
+   }
+
+   @Test
+   public void testSendAsyncFailure() throws Exception {
+      server.getAddressSettingsRepository().addMatch(address.toString(), new AddressSettings().setMaxSizeBytes(10 * 1024).setAddressFullMessagePolicy(AddressFullMessagePolicy.FAIL));
+
+      ClientSession session = addClientSession(sf.createSession());
+      session.createQueue(new QueueConfiguration(queueName).setAddress(address).setRoutingType(RoutingType.ANYCAST));
+      ClientProducer producer = session.createProducer(address);
+
+      ClientMessage message = session.createMessage(true);
+      message.getBodyBuffer().writeBytes(new byte[20 * 1024]);
+      producer.sendAsync(message).toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+      message = session.createMessage(true);
+      message.getBodyBuffer().writeBytes(new byte[20 * 1024]);
+      try {
+         producer.sendAsync(message).toCompletableFuture().get(10, TimeUnit.SECONDS);
+         Assert.fail("the address is full");
+      } catch (ExecutionException e) {
+         Assert.assertTrue(e.getCause().toString(), e.getCause() instanceof ActiveMQAddressFullException);
+      }
+
+      // the session is still usable
+      Assert.assertTrue(session.queueQueryAsync(queueName).toCompletableFuture().get(10, TimeUnit.SECONDS).isExists());
+      Wait.assertEquals(1L, () -> getMessageCount(server.locateQueue(queueName)));
+   }
+
+   @Test
+   public void testReceiveAsyncLargeMessage() throws Exception {
+      ClientSession session = addClientSession(sf.createSession());
+      session.createQueue(new QueueConfiguration(queueName).setAddress(address).setRoutingType(RoutingType.ANYCAST));
+
+      ClientConsumer consumer = session.createConsumer(queueName);
+      session.start();
+      CompletableFuture<ClientMessage> receive = consumer.receiveAsync().toCompletableFuture();
+
+      ClientMessage message = session.createMessage(true);
+      byte[] body = new byte[sf.getServerLocator().getMinLargeMessageSize() * 3];
+      for (int i = 0; i < body.length; i++) {
+         body[i] = getSamplebyte(i);
+      }
+      message.getBodyBuffer().writeBytes(body);
+      session.createProducer(address).send(message);
+
+      ClientMessage received = receive.get(10, TimeUnit.SECONDS);
+      Assert.assertTrue(received.isLargeMessage());
+      byte[] receivedBody = new byte[body.length];
+      received.getBodyBuffer().readBytes(receivedBody);
+      Assert.assertArrayEquals(body, receivedBody);
+      received.acknowledge();
+   }
+
+   @Test
+   public void testReceiveAsyncCompletedOnClose() throws Exception {
+      ClientSession session = addClientSession(sf.createSession());
+      session.createQueue(new QueueConfiguration(queueName).setAddress(address).setRoutingType(RoutingType.ANYCAST));
+
+      ClientConsumer consumer = session.createConsumer(queueName);
+      session.start();
+      CompletableFuture<ClientMessage> receive = consumer.receiveAsync().toCompletableFuture();
+
+      try {
+         consumer.setMessageHandler(message -> {
+         });
+         Assert.fail("there is a pending receiveAsync()");
+      } catch (ActiveMQIllegalStateException expected) {
+      }
+      try {
+         consumer.receive(10);
+         Assert.fail("there is a pending receiveAsync()");
+      } catch (ActiveMQIllegalStateException expected) {
+      }
+
+      consumer.close();
+      Assert.assertNull(receive.get(10, TimeUnit.SECONDS));
+      Assert.assertTrue(consumer.receiveAsync().toCompletableFuture().isCompletedExceptionally());
+   }
+}
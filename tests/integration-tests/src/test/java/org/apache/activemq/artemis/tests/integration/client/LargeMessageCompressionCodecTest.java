@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.integration.client;
+
+import java.io.IOException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.client.ClientConsumer;
+import org.apache.activemq.artemis.api.core.client.ClientMessage;
+import org.apache.activemq.artemis.api.core.client.ClientProducer;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
+import org.apache.activemq.artemis.api.core.client.ServerLocator;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.apache.activemq.artemis.utils.RandomUtil;
+import org.apache.activemq.artemis.utils.compression.BlockCompressionCodec;
+import org.apache.activemq.artemis.utils.compression.CompressionCodecs;
+import org.apache.activemq.artemis.utils.compression.Lz4Codec;
+import org.apache.activemq.artemis.utils.compression.ZstdCodec;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * The consumers whose session didn't declare the codec of a compressed large message get it decompressed.
+ */
+public class LargeMessageCompressionCodecTest extends ActiveMQTestBase {
+
+   private static final String ADDRESS = "LargeMessageCompressionCodecTest";
+
+   /**
+    * A block codec backed by {@link Deflater} whose availability can be toggled, to tell apart the sessions that
+    * can decompress it from the ones that can't.
+    */
+   private static final class ToggledCodec extends BlockCompressionCodec {
+
+      static final String NAME = "test-toggled";
+
+      volatile boolean available;
+
+      @Override
+      public String getName() {
+         return NAME;
+      }
+
+      @Override
+      public boolean isAvailable() {
+         return available;
+      }
+
+      @Override
+      protected int maxCompressedLength(int length) {
+         return length + length / 1000 + 64;
+      }
+
+      @Override
+      protected int compress(byte[] src, int srcLength, byte[] dst, int dstOffset, int level) {
+         final Deflater deflater = new Deflater();
+         try {
+            deflater.setInput(src, 0, srcLength);
+            deflater.finish();
+            return deflater.deflate(dst, dstOffset, dst.length - dstOffset);
+         } finally {
+            deflater.end();
+         }
+      }
+
+      @Override
+      protected void decompress(byte[] src, int srcLength, byte[] dst, int dstLength) throws IOException {
+         final Inflater inflater = new Inflater();
+         try {
+            inflater.setInput(src, 0, srcLength);
+            if (inflater.inflate(dst, 0, dstLength) != dstLength) {
+               throw new IOException("Truncated block");
+            }
+         } catch (DataFormatException e) {
+            throw new IOException(e);
+         } finally {
+            inflater.end();
+         }
+      }
+   }
+
+   private static final ToggledCodec CODEC = new ToggledCodec();
+
+   static {
+      CompressionCodecs.register(CODEC);
+   }
+
+   private ActiveMQServer server;
+
+   @Override
+   @Before
+   public void setUp() throws Exception {
+      super.setUp();
+      CODEC.available = true;
+      server = createServer(true, false);
+      server.start();
+   }
+
+   @Override
+   @After
+   public void tearDown() throws Exception {
+      CODEC.available = true;
+      super.tearDown();
+   }
+
+   @Test
+   public void testConsumerLackingCodec() throws Exception {
+      CODEC.available = false;
+      final ClientSession consumerSession = createSession(createInVMNonHALocator());
+      CODEC.available = true;
+
+      final ClientMessage[] received = sendAndReceive(consumerSession);
+      for (ClientMessage message : received) {
+         assertFalse(message.getBooleanProperty(Message.HDR_LARGE_COMPRESSED));
+         assertFalse(message.containsProperty(Message.HDR_LARGE_COMPRESSION_CODEC));
+      }
+   }
+
+   @Test
+   public void testConsumerWithCodec() throws Exception {
+      final ClientSession consumerSession = createSession(createInVMNonHALocator());
+
+      final ClientMessage[] received = sendAndReceive(consumerSession);
+      for (ClientMessage message : received) {
+         assertEquals(ToggledCodec.NAME, message.getStringProperty(Message.HDR_LARGE_COMPRESSION_CODEC));
+      }
+   }
+
+   @Test
+   public void testProducerFallsBackToDeflate() throws Exception {
+      // neither the broker nor the consumer can decompress it when the producer session is created
+      CODEC.available = false;
+      final ClientSession consumerSession = createSession(createInVMNonHALocator());
+      final ClientSession producerSession = createSession(createInVMNonHALocator().setCompressLargeMessage(true).setCompressionCodec(ToggledCodec.NAME));
+      CODEC.available = true;
+
+      final ClientMessage[] received = sendAndReceive(producerSession, consumerSession);
+      for (ClientMessage message : received) {
+         assertFalse(message.containsProperty(Message.HDR_LARGE_COMPRESSION_CODEC));
+      }
+   }
+
+   @Test
+   public void testLz4() throws Exception {
+      testBuiltInCodec(Lz4Codec.NAME);
+   }
+
+   @Test
+   public void testZstd() throws Exception {
+      testBuiltInCodec(ZstdCodec.NAME);
+   }
+
+   private void testBuiltInCodec(String codec) throws Exception {
+      assertTrue(CompressionCodecs.isAvailable(codec));
+      final ClientSession consumerSession = createSession(createInVMNonHALocator());
+      final ClientSession producerSession = createSession(createInVMNonHALocator().setCompressLargeMessage(true).setCompressionCodec(codec));
+
+      final ClientMessage[] received = sendAndReceive(producerSession, consumerSession);
+      for (ClientMessage message : received) {
+         assertEquals(codec, message.getStringProperty(Message.HDR_LARGE_COMPRESSION_CODEC));
+      }
+   }
+
+   private ClientSession createSession(ServerLocator locator) throws Exception {
+      final ClientSessionFactory sf = createSessionFactory(addServerLocator(locator));
+      return addClientSession(sf.createSession(false, true, true));
+   }
+
+   private ClientMessage[] sendAndReceive(ClientSession consumerSession) throws Exception {
+      return sendAndReceive(createSession(createInVMNonHALocator().setCompressLargeMessage(true).setCompressionCodec(ToggledCodec.NAME)), consumerSession);
+   }
+
+   /**
+    * Sends a message streamed as a large one and a compressible one converted to a regular message.
+    */
+   private ClientMessage[] sendAndReceive(ClientSession producerSession, ClientSession consumerSession) throws Exception {
+      consumerSession.createQueue(new QueueConfiguration(ADDRESS).setRoutingType(RoutingType.ANYCAST).setDurable(false));
+      final ClientConsumer consumer = consumerSession.createConsumer(ADDRESS);
+      consumerSession.start();
+
+      final ClientProducer producer = producerSession.createProducer(ADDRESS);
+      final byte[][] bodies = {RandomUtil.randomBytes(1024 * 1024), new byte[1024 * 1024]};
+      for (byte[] body : bodies) {
+         final ClientMessage message = producerSession.createMessage(true);
+         message.getBodyBuffer().writeBytes(body);
+         producer.send(message);
+      }
+
+      final ClientMessage[] received = new ClientMessage[bodies.length];
+      for (int i = 0; i < bodies.length; i++) {
+         received[i] = consumer.receive(5000);
+         assertNotNull(received[i]);
+         final byte[] body = new byte[received[i].getBodySize()];
+         received[i].getBodyBuffer().readBytes(body);
+         assertArrayEquals(bodies[i], body);
+         received[i].acknowledge();
+      }
+      return received;
+   }
+}
@@ -16,9 +16,13 @@
  */
 package org.apache.activemq.artemis.tests.integration.client;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.apache.activemq.artemis.api.core.ActiveMQAddressFullException;
 import org.apache.activemq.artemis.api.core.ActiveMQException;
 import org.apache.activemq.artemis.api.core.Interceptor;
 import org.apache.activemq.artemis.api.core.QueueConfiguration;
@@ -29,6 +33,8 @@ import org.apache.activemq.artemis.api.core.client.ClientProducer;
 import org.apache.activemq.artemis.api.core.client.ClientSession;
 import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
 import org.apache.activemq.artemis.api.core.client.ServerLocator;
+import org.apache.activemq.artemis.core.io.buffer.TimedBuffer;
+import org.apache.activemq.artemis.core.journal.impl.StripedJournal;
 import org.apache.activemq.artemis.core.protocol.core.Packet;
 import org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl;
 import org.apache.activemq.artemis.core.server.ActiveMQServer;
@@ -36,6 +42,7 @@ import org.apache.activemq.artemis.core.settings.impl.AddressFullMessagePolicy;
 import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
 import org.apache.activemq.artemis.spi.core.protocol.RemotingConnection;
 import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.apache.activemq.artemis.tests.util.Wait;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -147,4 +154,199 @@ public class ProducerTest extends ActiveMQTestBase {
       }
    }
 
+   @Test
+   public void testSendBatch() throws Exception {
+      final AtomicInteger sends = new AtomicInteger();
+      final AtomicInteger batches = new AtomicInteger();
+      server.getRemotingService().addIncomingInterceptor((Interceptor) (packet, connection) -> {
+         if (packet.getType() == PacketImpl.SESS_SEND) {
+            sends.incrementAndGet();
+         } else if (packet.getType() == PacketImpl.SESS_SEND_BATCH) {
+            batches.incrementAndGet();
+         }
+         return true;
+      });
+      server.createQueue(new QueueConfiguration(QUEUE));
+
+      final int numMessages = 100;
+      ServerLocator locator = createInVMNonHALocator().setBlockOnDurableSend(true).setMinLargeMessageSize(10 * 1024);
+      ClientSessionFactory cf = locator.createSessionFactory();
+      ClientSession session = cf.createSession(false, true, true);
+      ClientProducer producer = session.createProducer(QUEUE);
+      List<ClientMessage> messages = new ArrayList<>();
+      for (int i = 0; i < numMessages; i++) {
+         ClientMessage message = session.createMessage(true);
+         message.putIntProperty("i", i);
+         // a large message in the middle splits the batch
+         message.getBodyBuffer().writeBytes(new byte[i == numMessages / 2 ? 20 * 1024 : 100]);
+         messages.add(message);
+      }
+      producer.sendBatch(messages);
+
+      Assert.assertEquals(0, sends.get());
+      Assert.assertEquals(2, batches.get());
+      Wait.assertEquals(numMessages, () -> getMessageCount(server.locateQueue(QUEUE)));
+
+      ClientConsumer consumer = session.createConsumer(QUEUE);
+      session.start();
+      for (int i = 0; i < numMessages; i++) {
+         ClientMessage message = consumer.receive(5000);
+         Assert.assertNotNull(message);
+         Assert.assertEquals(i, message.getIntProperty("i").intValue());
+         message.acknowledge();
+      }
+      Assert.assertNull(consumer.receiveImmediate());
+      session.close();
+      locator.close();
+   }
+
+   @Test
+   public void testSendBatchStopsAtFirstFailure() throws Exception {
+      server.getAddressSettingsRepository().addMatch(QUEUE.toString(), new AddressSettings().setAddressFullMessagePolicy(AddressFullMessagePolicy.FAIL).setMaxSizeBytes(10 * 1024));
+      server.createQueue(new QueueConfiguration(QUEUE));
+
+      ServerLocator locator = createInVMNonHALocator().setBlockOnDurableSend(true).setBlockOnNonDurableSend(true).setMinLargeMessageSize(10 * 1024);
+      ClientSessionFactory cf = locator.createSessionFactory();
+      ClientSession session = cf.createSession(false, true, true);
+      ClientProducer producer = session.createProducer(QUEUE);
+      List<ClientMessage> messages = new ArrayList<>();
+      for (int i = 0; i < 20; i++) {
+         ClientMessage message = session.createMessage(false);
+         message.putIntProperty("i", i);
+         // the large message splits the batch after the address is full
+         message.getBodyBuffer().writeBytes(new byte[i == 15 ? 20 * 1024 : 1024]);
+         messages.add(message);
+      }
+
+      try {
+         producer.sendBatch(messages);
+         Assert.fail("the address should be full");
+      } catch (ActiveMQAddressFullException e) {
+         // the server only received the messages before the large one
+         Assert.assertTrue(e.getMessage(), e.getMessage().contains("at least 0 and at most 14 of the 15 messages"));
+      }
+
+      // the messages after the one that failed weren't sent, the large one neither
+      ClientConsumer consumer = session.createConsumer(QUEUE);
+      session.start();
+      int received = 0;
+      for (ClientMessage message = consumer.receive(1000); message != null; message = consumer.receiveImmediate()) {
+         Assert.assertEquals(received++, message.getIntProperty("i").intValue());
+         message.acknowledge();
+      }
+      Assert.assertTrue(received > 0 && received < 15);
+      session.close();
+      locator.close();
+   }
+
+   @Test
+   public void testSendBatchToFilteredDurableQueues() throws Exception {
+      server.stop();
+      server = createServer(true);
+      server.start();
+
+      final SimpleString address = new SimpleString("BatchAddress");
+      final SimpleString evenQueue = new SimpleString("EvenQueue");
+      final SimpleString oddQueue = new SimpleString("OddQueue");
+      server.createQueue(new QueueConfiguration(evenQueue).setAddress(address).setFilterString("even = true"));
+      server.createQueue(new QueueConfiguration(oddQueue).setAddress(address).setFilterString("even = false"));
+
+      final int numMessages = 50;
+      ServerLocator locator = createInVMNonHALocator().setBlockOnDurableSend(true);
+      ClientSessionFactory cf = locator.createSessionFactory();
+      ClientSession session = cf.createSession(false, true, true);
+      ClientProducer producer = session.createProducer(address);
+      List<ClientMessage> messages = new ArrayList<>();
+      for (int i = 0; i < numMessages; i++) {
+         ClientMessage message = session.createMessage(true);
+         message.putIntProperty("i", i);
+         message.putBooleanProperty("even", i % 2 == 0);
+         messages.add(message);
+      }
+      producer.sendBatch(messages);
+      session.close();
+      locator.close();
+
+      server.stop();
+      server.start();
+
+      Wait.assertEquals(numMessages / 2, () -> getMessageCount(server.locateQueue(evenQueue)));
+      Wait.assertEquals(numMessages / 2, () -> getMessageCount(server.locateQueue(oddQueue)));
+
+      locator = createInVMNonHALocator();
+      cf = locator.createSessionFactory();
+      session = cf.createSession(false, true, true);
+      session.start();
+      for (SimpleString queue : new SimpleString[] {evenQueue, oddQueue}) {
+         ClientConsumer consumer = session.createConsumer(queue);
+         for (int i = queue == evenQueue ? 0 : 1; i < numMessages; i += 2) {
+            ClientMessage message = consumer.receive(5000);
+            Assert.assertNotNull(message);
+            Assert.assertEquals(i, message.getIntProperty("i").intValue());
+            message.acknowledge();
+         }
+         Assert.assertNull(consumer.receiveImmediate());
+         consumer.close();
+      }
+      session.close();
+      locator.close();
+   }
+
+   @Test
+   public void testSendBatchSyncsEveryJournalLane() throws Exception {
+      server.stop();
+      server = createServer(true, createDefaultInVMConfig().setJournalLanes(3));
+      server.start();
+      server.createQueue(new QueueConfiguration(QUEUE));
+
+      final StripedJournal journal = (StripedJournal) server.getStorageManager().getMessageJournal();
+      final long[] flushes = new long[journal.getLanes()];
+      for (int lane = 0; lane < flushes.length; lane++) {
+         flushes[lane] = getFlushCount(journal, lane);
+      }
+
+      ServerLocator locator = createInVMNonHALocator().setBlockOnDurableSend(true);
+      ClientSessionFactory cf = locator.createSessionFactory();
+      ClientSession session = cf.createSession(false, true, true);
+      ClientProducer producer = session.createProducer(QUEUE);
+      List<ClientMessage> messages = new ArrayList<>();
+      for (int i = 0; i < 10 * flushes.length; i++) {
+         messages.add(session.createMessage(true));
+      }
+      producer.sendBatch(messages);
+
+      // the records of an unsynced lane would still be waiting in its buffer
+      for (int lane = 0; lane < flushes.length; lane++) {
+         Assert.assertTrue("lane " + lane + " wasn't synced", getFlushCount(journal, lane) > flushes[lane]);
+      }
+      session.close();
+      locator.close();
+   }
+
+   private static long getFlushCount(StripedJournal journal, int lane) {
+      return journal.getLane(lane).getFileFactory().getTimedBuffer().getBatchCount(TimedBuffer.BATCH_SIZE_BUCKETS - 1);
+   }
+
+   @Test
+   public void testSendBatchAcknowledgementHandler() throws Exception {
+      server.createQueue(new QueueConfiguration(QUEUE));
+
+      final int numMessages = 10;
+      ServerLocator locator = createInVMNonHALocator().setConfirmationWindowSize(1024 * 1024);
+      ClientSessionFactory cf = locator.createSessionFactory();
+      ClientSession session = cf.createSession(false, true, true);
+      final CountDownLatch latch = new CountDownLatch(numMessages);
+      session.setSendAcknowledgementHandler(message -> latch.countDown());
+      ClientProducer producer = session.createProducer(QUEUE);
+      List<ClientMessage> messages = new ArrayList<>();
+      for (int i = 0; i < numMessages; i++) {
+         messages.add(session.createMessage(true));
+      }
+      producer.sendBatch(messages);
+
+      Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+      Wait.assertEquals(numMessages, () -> getMessageCount(server.locateQueue(QUEUE)));
+      session.close();
+      locator.close();
+   }
 }
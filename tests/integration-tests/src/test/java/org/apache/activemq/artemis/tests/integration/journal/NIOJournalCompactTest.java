@@ -1221,6 +1221,169 @@ public class NIOJournalCompactTest extends JournalImplTestBase {
 
    }
 
+   @Test
+   public void testIncrementalCompacting() throws Exception {
+      setup(2, 60 * 1024, false);
+      compactPercentage = 50;
+      compactMaxFiles = 2;
+
+      createJournal();
+      startJournal();
+      load();
+
+      for (int i = 0; i < 20; i++) {
+         add(i);
+      }
+      addTx(100, 20, 21);
+      commit(100);
+      journal.forceMoveNextFile();
+
+      for (int i = 30; i < 50; i++) {
+         add(i);
+      }
+      journal.forceMoveNextFile();
+
+      for (int i = 50; i < 70; i++) {
+         add(i);
+      }
+      journal.forceMoveNextFile();
+
+      update(0, 30);
+      for (int i = 1; i < 19; i++) {
+         delete(i);
+      }
+      for (int i = 31; i < 49; i++) {
+         delete(i);
+      }
+      delete(21);
+      journal.forceMoveNextFile();
+
+      JournalFile[] before = journal.getDataFiles();
+
+      journal.testCompact();
+
+      // the two oldest files were rewritten into one, the others were left untouched
+      JournalFile[] after = journal.getDataFiles();
+      Assert.assertEquals(before.length - 1, after.length);
+      for (int i = 2; i < before.length; i++) {
+         Assert.assertSame(before[i], after[i - 1]);
+      }
+      Assert.assertTrue(((JournalImpl) journal).getLastCompactPause() > 0);
+
+      update(0, 19);
+      delete(30, 49);
+
+      stopJournal();
+      createJournal();
+      startJournal();
+      loadAndCheck();
+   }
+
+   @Test
+   public void testIncrementalCompactingTransactionOnNewerFile() throws Exception {
+      setup(2, 60 * 1024, false);
+      compactPercentage = 50;
+      compactMaxFiles = 2;
+
+      createJournal();
+      startJournal();
+      load();
+
+      for (int i = 0; i < 20; i++) {
+         add(i);
+      }
+      journal.forceMoveNextFile();
+
+      for (int i = 30; i < 50; i++) {
+         add(i);
+      }
+      addTx(100, 50);
+      journal.forceMoveNextFile();
+
+      // the second file can't be compacted without the commit
+      commit(100);
+      for (int i = 0; i < 19; i++) {
+         delete(i);
+      }
+      for (int i = 30; i < 49; i++) {
+         delete(i);
+      }
+      journal.forceMoveNextFile();
+
+      JournalFile[] before = journal.getDataFiles();
+
+      journal.testCompact();
+
+      JournalFile[] after = journal.getDataFiles();
+      Assert.assertEquals(before.length, after.length);
+      Assert.assertNotSame(before[0], after[0]);
+      for (int i = 1; i < before.length; i++) {
+         Assert.assertSame(before[i], after[i]);
+      }
+
+      stopJournal();
+      createJournal();
+      startJournal();
+      loadAndCheck();
+   }
+
+   @Test
+   public void testIncrementalCompactingWithConcurrentOperations() throws Exception {
+      setup(2, 60 * 1024, false);
+      compactPercentage = 50;
+      compactMaxFiles = 2;
+
+      createJournal();
+      startJournal();
+      load();
+
+      for (int i = 0; i < 20; i++) {
+         add(i);
+      }
+      journal.forceMoveNextFile();
+
+      for (int i = 30; i < 50; i++) {
+         add(i);
+      }
+      journal.forceMoveNextFile();
+
+      update(0, 30);
+      for (int i = 1; i < 18; i++) {
+         delete(i);
+      }
+      for (int i = 32; i < 48; i++) {
+         delete(i);
+      }
+      journal.forceMoveNextFile();
+
+      JournalFile[] before = journal.getDataFiles();
+
+      startCompact();
+
+      update(0, 18);
+      delete(19, 30);
+      updateTx(101, 31);
+      deleteTx(101, 48);
+      commit(101);
+      add(100);
+      addTx(102, 101);
+
+      finishCompact();
+
+      JournalFile[] after = journal.getDataFiles();
+      Assert.assertEquals(2, after.length);
+      Assert.assertSame(before[2], after[1]);
+
+      update(0, 100);
+      delete(31);
+      commit(102);
+
+      stopJournal();
+      createJournal();
+      startJournal();
+      loadAndCheck();
+   }
+
    @Test
    public void testLiveSize() throws Exception {
       setup(2, 60 * 1024, true);
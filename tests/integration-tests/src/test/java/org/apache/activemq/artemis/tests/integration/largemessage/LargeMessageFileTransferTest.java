@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.integration.largemessage;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.TransportConfiguration;
+import org.apache.activemq.artemis.api.core.client.ActiveMQClient;
+import org.apache.activemq.artemis.api.core.client.ClientConsumer;
+import org.apache.activemq.artemis.api.core.client.ClientMessage;
+import org.apache.activemq.artemis.api.core.client.ClientProducer;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
+import org.apache.activemq.artemis.api.core.client.ServerLocator;
+import org.apache.activemq.artemis.core.remoting.impl.netty.TransportConstants;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.spi.core.protocol.RemotingConnection;
+import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+@RunWith(Parameterized.class)
+public class LargeMessageFileTransferTest extends ActiveMQTestBase {
+
+   private static final int MIN_LARGE_MESSAGE_SIZE = 100 * 1024;
+
+   // not a multiple of the chunk size, to send a partial last chunk
+   private static final int MESSAGE_SIZE = 10 * MIN_LARGE_MESSAGE_SIZE + 1234;
+
+   private static final String PASSWORD = "secureexample";
+
+   @Parameterized.Parameters(name = "ssl={0}")
+   public static Collection<Object[]> getParameters() {
+      return Arrays.asList(new Object[][]{{false}, {true}});
+   }
+
+   private final boolean ssl;
+
+   private ActiveMQServer server;
+
+   private ServerLocator locator;
+
+   public LargeMessageFileTransferTest(boolean ssl) {
+      this.ssl = ssl;
+   }
+
+   @Override
+   @Before
+   public void setUp() throws Exception {
+      super.setUp();
+
+      Map<String, Object> params = new HashMap<>();
+      if (ssl) {
+         params.put(TransportConstants.SSL_ENABLED_PROP_NAME, true);
+         params.put(TransportConstants.KEYSTORE_PATH_PROP_NAME, "server-side-keystore.jks");
+         params.put(TransportConstants.KEYSTORE_PASSWORD_PROP_NAME, PASSWORD);
+      }
+      server = createServer(true, createBasicConfig().addAcceptorConfiguration(new TransportConfiguration(NETTY_ACCEPTOR_FACTORY, params)));
+      server.start();
+
+      TransportConfiguration tc = new TransportConfiguration(NETTY_CONNECTOR_FACTORY);
+      if (ssl) {
+         tc.getParams().put(TransportConstants.SSL_ENABLED_PROP_NAME, true);
+         tc.getParams().put(TransportConstants.TRUSTSTORE_PATH_PROP_NAME, "client-side-truststore.jks");
+         tc.getParams().put(TransportConstants.TRUSTSTORE_PASSWORD_PROP_NAME, PASSWORD);
+      }
+      locator = addServerLocator(ActiveMQClient.createServerLocatorWithoutHA(tc)).setMinLargeMessageSize(MIN_LARGE_MESSAGE_SIZE);
+   }
+
+   @Test
+   public void testSendReceiveLargeMessages() throws Exception {
+      final String queue = getName();
+      final int messages = 5;
+
+      ClientSessionFactory sf = addSessionFactory(createSessionFactory(locator));
+      ClientSession session = addClientSession(sf.createSession(false, true, true));
+      session.createQueue(new QueueConfiguration(queue).setRoutingType(RoutingType.ANYCAST));
+
+      ClientProducer producer = session.createProducer(queue);
+      for (int i = 0; i < messages; i++) {
+         ClientMessage message = session.createMessage(true);
+         message.setBodyInputStream(createFakeLargeStream(MESSAGE_SIZE));
+         producer.send(message);
+      }
+
+      for (RemotingConnection connection : server.getRemotingService().getConnections()) {
+         // TLS needs to encrypt the body bytes: they are read into direct buffers instead
+         Assert.assertEquals(!ssl, connection.getTransportConnection().isFileTransferSupported());
+      }
+
+      ClientConsumer consumer = session.createConsumer(queue);
+      session.start();
+      for (int i = 0; i < messages; i++) {
+         ClientMessage message = consumer.receive(5000);
+         Assert.assertNotNull(message);
+         Assert.assertEquals(MESSAGE_SIZE, message.getBodySize());
+         ActiveMQBuffer body = message.getBodyBuffer();
+         for (int position = 0; position < MESSAGE_SIZE; position++) {
+            Assert.assertEquals(getSamplebyte(position), body.readByte());
+         }
+         message.acknowledge();
+      }
+      Assert.assertNull(consumer.receiveImmediate());
+   }
+}
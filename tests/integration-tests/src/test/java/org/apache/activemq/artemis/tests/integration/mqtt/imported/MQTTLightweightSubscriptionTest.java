@@ -0,0 +1,100 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.activemq.artemis.tests.integration.mqtt.imported;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.postoffice.Binding;
+import org.apache.activemq.artemis.core.postoffice.BindingType;
+import org.apache.activemq.artemis.core.protocol.mqtt.MQTTUtil;
+import org.apache.activemq.artemis.tests.util.Wait;
+import org.junit.Test;
+
+public class MQTTLightweightSubscriptionTest extends MQTTTestSupport {
+
+   @Override
+   protected void addMQTTConnector() throws Exception {
+      server.getConfiguration().addAcceptorConfiguration("MQTT", "tcp://localhost:" + port + "?protocols=MQTT;mqttLightweightSubscriptions=true");
+   }
+
+   @Test(timeout = 60 * 1000)
+   public void testAtMostOnceSubscriptionWithoutQueue() throws Exception {
+      final MQTTClientProvider subscriber = getMQTTClientProvider();
+      subscriber.setClientId("subscriber");
+      initializeConnection(subscriber);
+      subscriber.subscribe("foo/bar", AT_MOST_ONCE);
+
+      Binding binding = server.getPostOffice().getBinding(SimpleString.toSimpleString(MQTTUtil.MQTT_SUBSCRIBER_PREFIX + "subscriber.foo.bar"));
+      assertNotNull(binding);
+      assertEquals(BindingType.SUBSCRIBER, binding.getType());
+      assertNull(server.locateQueue(SimpleString.toSimpleString("subscriber.foo.bar")));
+
+      final MQTTClientProvider publisher = getMQTTClientProvider();
+      initializeConnection(publisher);
+      for (int i = 0; i < 10; i++) {
+         publisher.publish("foo/bar", ("message " + i).getBytes(), AT_LEAST_ONCE);
+      }
+      for (int i = 0; i < 10; i++) {
+         assertEquals("message " + i, new String(subscriber.receive(5000)));
+      }
+
+      subscriber.disconnect();
+      publisher.disconnect();
+
+      assertTrue(Wait.waitFor(() -> server.getPostOffice().getBinding(binding.getUniqueName()) == null, 5000, 10));
+   }
+
+   @Test(timeout = 60 * 1000)
+   public void testAtMostOnceSubscriptionReceivesRetainedMessages() throws Exception {
+      final MQTTClientProvider publisher = getMQTTClientProvider();
+      initializeConnection(publisher);
+      publisher.publish("foo/bar", "retained".getBytes(), AT_LEAST_ONCE, true);
+
+      final MQTTClientProvider subscriber = getMQTTClientProvider();
+      subscriber.setClientId("subscriber");
+      initializeConnection(subscriber);
+      assertTrue(Wait.waitFor(() -> {
+         subscriber.subscribe("foo/+", AT_MOST_ONCE);
+         byte[] payload = subscriber.receive(500);
+         subscriber.unsubscribe("foo/+");
+         return payload != null && "retained".equals(new String(payload));
+      }, 5000, 10));
+
+      subscriber.disconnect();
+      publisher.disconnect();
+   }
+
+   @Test(timeout = 60 * 1000)
+   public void testAtLeastOnceSubscriptionUsesQueue() throws Exception {
+      final MQTTClientProvider subscriber = getMQTTClientProvider();
+      subscriber.setClientId("subscriber");
+      initializeConnection(subscriber);
+      subscriber.subscribe("foo/bar", AT_MOST_ONCE);
+      subscriber.subscribe("foo/bar", AT_LEAST_ONCE);
+
+      assertNull(server.getPostOffice().getBinding(SimpleString.toSimpleString(MQTTUtil.MQTT_SUBSCRIBER_PREFIX + "subscriber.foo.bar")));
+      assertNotNull(server.locateQueue(SimpleString.toSimpleString("subscriber.foo.bar")));
+
+      final MQTTClientProvider publisher = getMQTTClientProvider();
+      initializeConnection(publisher);
+      publisher.publish("foo/bar", "message".getBytes(), AT_LEAST_ONCE);
+      assertEquals("message", new String(subscriber.receive(5000)));
+
+      subscriber.disconnect();
+      publisher.disconnect();
+   }
+}
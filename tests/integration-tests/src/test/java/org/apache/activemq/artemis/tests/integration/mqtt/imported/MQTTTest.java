@@ -28,9 +28,12 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -1896,6 +1899,56 @@ public class MQTTTest extends MQTTTestSupport {
       assertEquals(payload, new String(message.getPayload()));
    }
 
+   @Test(timeout = 60 * 1000)
+   public void testWildcardSubscriptionsReceiveRetainedMessagesAfterRestart() throws Exception {
+      String[] topics = {"a/b/c", "a/x/c", "a/b", "b/c"};
+
+      MQTT mqtt = createMQTTConnection();
+      mqtt.setClientId("publisher");
+      BlockingConnection publisher = mqtt.blockingConnection();
+      publisher.connect();
+      for (String topic : topics) {
+         publisher.publish(topic, topic.getBytes(), QoS.AT_LEAST_ONCE, true);
+      }
+      // replaces the first retained message of a/b
+      publisher.publish("a/b", "a/b".getBytes(), QoS.AT_LEAST_ONCE, true);
+      publisher.disconnect();
+
+      // all of them are kept in the same queue
+      assertNull(getServer().locateQueue(MQTTUtil.convertMQTTAddressFilterToCoreRetain("a/b", getServer().getConfiguration().getWildcardConfiguration())));
+      Wait.assertEquals(4L, () -> getServer().locateQueue(MQTTUtil.MQTT_RETAIN_QUEUE).getMessageCount());
+
+      getServer().fail(false);
+      getServer().start();
+      waitForServerToStart(getServer());
+
+      Map<String, Set<String>> expected = new HashMap<>();
+      expected.put("a/+/c", new HashSet<>(Arrays.asList("a/b/c", "a/x/c")));
+      expected.put("a/#", new HashSet<>(Arrays.asList("a/b/c", "a/x/c", "a/b")));
+      expected.put("+/c", new HashSet<>(Arrays.asList("b/c")));
+      expected.put("#", new HashSet<>(Arrays.asList(topics)));
+
+      for (Map.Entry<String, Set<String>> entry : expected.entrySet()) {
+         mqtt = createMQTTConnection();
+         mqtt.setClientId("subscriber");
+         BlockingConnection subscriber = mqtt.blockingConnection();
+         subscriber.connect();
+         subscriber.subscribe(new Topic[]{new Topic(entry.getKey(), QoS.AT_LEAST_ONCE)});
+
+         Set<String> received = new HashSet<>();
+         Message message;
+         while ((message = subscriber.receive(1000, TimeUnit.MILLISECONDS)) != null) {
+            assertEquals(message.getTopic(), new String(message.getPayload()));
+            assertTrue("Duplicate retained message for " + message.getTopic(), received.add(message.getTopic()));
+            message.ack();
+         }
+         assertEquals("Retained messages for " + entry.getKey(), entry.getValue(), received);
+
+         subscriber.unsubscribe(new String[]{entry.getKey()});
+         subscriber.disconnect();
+      }
+   }
+
    @Test(timeout = 60 * 1000)
    public void testBrokerRestartAfterSubHashWithConfigurationQueues() throws Exception {
 
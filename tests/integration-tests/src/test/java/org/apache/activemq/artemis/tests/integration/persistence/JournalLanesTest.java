@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.integration.persistence;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.activemq.artemis.core.config.ConfigurationUtils;
+import org.apache.activemq.artemis.core.config.ha.ColocatedPolicyConfiguration;
+import org.apache.activemq.artemis.core.config.ha.ReplicatedPolicyConfiguration;
+import org.apache.activemq.artemis.core.config.ha.SharedStoreMasterPolicyConfiguration;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.journal.Journal;
+import org.apache.activemq.artemis.core.journal.RecordInfo;
+import org.apache.activemq.artemis.core.journal.impl.JournalImpl;
+import org.apache.activemq.artemis.core.journal.impl.StripedJournal;
+import org.apache.activemq.artemis.core.persistence.impl.journal.DescribeJournal;
+import org.apache.activemq.artemis.core.persistence.impl.journal.JournalStorageManager;
+import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.apache.activemq.artemis.utils.critical.EmptyCriticalAnalyzer;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class JournalLanesTest extends ActiveMQTestBase {
+
+   private JournalStorageManager createStorageManager(ConfigurationImpl config) {
+      return new JournalStorageManager(config, EmptyCriticalAnalyzer.getInstance(), getOrderedExecutor(), getOrderedExecutor());
+   }
+
+   @Test
+   public void testLanes() throws Exception {
+      ConfigurationImpl config = createBasicConfig();
+      config.setJournalLanes(3);
+      JournalStorageManager manager = createStorageManager(config);
+      Assert.assertTrue(manager.getMessageJournal() instanceof StripedJournal);
+      Assert.assertEquals(3, ((StripedJournal) manager.getMessageJournal()).getLanes());
+   }
+
+   @Test
+   public void testDescribeLanes() throws Exception {
+      ConfigurationImpl config = createBasicConfig();
+      config.setJournalLanes(3);
+      JournalStorageManager manager = createStorageManager(config);
+      manager.start();
+      try {
+         Journal journal = manager.getMessageJournal();
+         journal.load(new ArrayList<>(), new ArrayList<>(), null);
+         for (long id = 1; id <= 6; id++) {
+            journal.appendAddRecord(id, (byte) 100, new byte[]{1}, true);
+         }
+         journal.appendAddRecordTransactional(10, 7, (byte) 100, new byte[]{1});
+         journal.appendAddRecordTransactional(10, 8, (byte) 100, new byte[]{1});
+         journal.appendCommitRecord(10, true);
+      } finally {
+         manager.stop();
+      }
+
+      DescribeJournal describe = DescribeJournal.describeMessagesJournal(config.getJournalLocation(), new PrintStream(new ByteArrayOutputStream()), false);
+
+      Set<Long> ids = new TreeSet<>();
+      for (RecordInfo record : describe.getRecords()) {
+         ids.add(record.id);
+      }
+      Assert.assertEquals(new TreeSet<>(Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L)), ids);
+      Assert.assertTrue(describe.getPreparedTransactions().isEmpty());
+   }
+
+   @Test
+   public void testReplicationUsesSingleLane() throws Exception {
+      ConfigurationImpl config = createBasicConfig();
+      config.setJournalLanes(3);
+      config.setHAPolicyConfiguration(new ReplicatedPolicyConfiguration());
+      JournalStorageManager manager = createStorageManager(config);
+      Assert.assertTrue(manager.getMessageJournal() instanceof JournalImpl);
+   }
+
+   @Test
+   public void testReplicationWithLanesRejected() throws Exception {
+      ConfigurationImpl config = createBasicConfig();
+      config.setJournalLanes(3);
+      config.setHAPolicyConfiguration(new ReplicatedPolicyConfiguration());
+      try {
+         ConfigurationUtils.validateConfiguration(config);
+         Assert.fail("journal-lanes can't be used with replication");
+      } catch (IllegalArgumentException expected) {
+      }
+
+      config.setHAPolicyConfiguration(new ColocatedPolicyConfiguration());
+      try {
+         ConfigurationUtils.validateConfiguration(config);
+         Assert.fail("journal-lanes can't be used with replication");
+      } catch (IllegalArgumentException expected) {
+      }
+
+      config.setHAPolicyConfiguration(new ColocatedPolicyConfiguration().setLiveConfig(new SharedStoreMasterPolicyConfiguration()));
+      ConfigurationUtils.validateConfiguration(config);
+   }
+
+   @Test
+   public void testReplicationWithLanesOnDisk() throws Exception {
+      ConfigurationImpl config = createBasicConfig();
+      config.setHAPolicyConfiguration(new ReplicatedPolicyConfiguration());
+      Assert.assertTrue(new File(config.getJournalLocation(), "lane-1").mkdirs());
+      try {
+         createStorageManager(config);
+         Assert.fail("a journal with lanes can't be replicated");
+      } catch (IllegalStateException expected) {
+      }
+   }
+}
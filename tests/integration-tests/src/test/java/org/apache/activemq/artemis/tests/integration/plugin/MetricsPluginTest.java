@@ -167,7 +167,15 @@ public class MetricsPluginTest extends ActiveMQTestBase {
               new Metric("artemis.unrouted.message.count", "number of messages not routed to any bindings", 0.0),
               new Metric("artemis.unrouted.message.count", "number of messages not routed to any bindings", 2.0),
               new Metric("artemis.address.size", "the number of estimated bytes being used by all the queue(s) bound to this address; used to control paging and blocking", 0.0),
-              new Metric("artemis.address.size", "the number of estimated bytes being used by all the queue(s) bound to this address; used to control paging and blocking", 0.0)
+              new Metric("artemis.address.size", "the number of estimated bytes being used by all the queue(s) bound to this address; used to control paging and blocking", 0.0),
+              new Metric("artemis.page.cache.size", "estimated memory used by the page files cached for this address", 0.0),
+              new Metric("artemis.page.cache.size", "estimated memory used by the page files cached for this address", 0.0),
+              new Metric("artemis.page.cache.hits", "number of page files of this address found in the page cache", 0.0),
+              new Metric("artemis.page.cache.hits", "number of page files of this address found in the page cache", 0.0),
+              new Metric("artemis.page.cache.misses", "number of page files of this address not found in the page cache", 0.0),
+              new Metric("artemis.page.cache.misses", "number of page files of this address not found in the page cache", 0.0),
+              new Metric("artemis.page.cache.evictions", "number of page files of this address evicted from the page cache", 0.0),
+              new Metric("artemis.page.cache.evictions", "number of page files of this address evicted from the page cache", 0.0)
       ));
    }
 
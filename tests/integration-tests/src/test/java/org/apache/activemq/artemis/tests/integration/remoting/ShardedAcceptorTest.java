@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.integration.remoting;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.channel.EventLoop;
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.TransportConfiguration;
+import org.apache.activemq.artemis.api.core.client.ClientConsumer;
+import org.apache.activemq.artemis.api.core.client.ClientMessage;
+import org.apache.activemq.artemis.api.core.client.ClientProducer;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
+import org.apache.activemq.artemis.api.core.client.ServerLocator;
+import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.remoting.impl.netty.CheckDependencies;
+import org.apache.activemq.artemis.core.remoting.impl.netty.NettyAcceptorFactory;
+import org.apache.activemq.artemis.core.remoting.impl.netty.NettyServerConnection;
+import org.apache.activemq.artemis.core.remoting.impl.netty.TransportConstants;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.spi.core.protocol.RemotingConnection;
+import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.apache.activemq.artemis.utils.ExecutorFactory;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ShardedAcceptorTest extends ActiveMQTestBase {
+
+   private static final int SHARDS = 4;
+
+   private static final int CONNECTIONS = 16;
+
+   private ActiveMQServer server;
+
+   private ServerLocator locator;
+
+   @Override
+   @Before
+   public void setUp() throws Exception {
+      Assume.assumeTrue("SO_REUSEPORT requires epoll", CheckDependencies.isEpollAvailable());
+      super.setUp();
+
+      Map<String, Object> params = new HashMap<>();
+      params.put(TransportConstants.SHARDS_PROP_NAME, SHARDS);
+      params.put(TransportConstants.SHARD_AFFINITY_PROP_NAME, true);
+
+      Configuration config = createBasicConfig().addAcceptorConfiguration(new TransportConfiguration(NettyAcceptorFactory.class.getName(), params));
+      server = createServer(false, config);
+      server.start();
+
+      locator = addServerLocator(createNettyNonHALocator());
+   }
+
+   @Test
+   public void testConnectionsAreServedByTheirShard() throws Exception {
+      for (int i = 0; i < CONNECTIONS; i++) {
+         final String queue = "queue" + i;
+         ClientSessionFactory sf = createSessionFactory(locator);
+         ClientSession session = addClientSession(sf.createSession());
+         session.createQueue(new QueueConfiguration(queue).setRoutingType(RoutingType.ANYCAST));
+         ClientProducer producer = session.createProducer(queue);
+         ClientConsumer consumer = session.createConsumer(queue);
+         session.start();
+         producer.send(session.createMessage(true));
+         ClientMessage message = consumer.receive(5000);
+         Assert.assertNotNull(message);
+         message.acknowledge();
+      }
+
+      Map<EventLoop, ExecutorFactory> executorFactories = new HashMap<>();
+      Assert.assertEquals(CONNECTIONS, server.getRemotingService().getConnections().size());
+      for (RemotingConnection connection : server.getRemotingService().getConnections()) {
+         NettyServerConnection nettyConnection = (NettyServerConnection) connection.getTransportConnection();
+         ExecutorFactory executorFactory = nettyConnection.getExecutorFactory();
+         Assert.assertNotNull(executorFactory);
+         // the connections accepted by a shard share its executors
+         ExecutorFactory shardExecutorFactory = executorFactories.putIfAbsent(nettyConnection.getNettyChannel().eventLoop(), executorFactory);
+         if (shardExecutorFactory != null) {
+            Assert.assertSame(shardExecutorFactory, executorFactory);
+         }
+
+         CompletableFuture<String> threadName = new CompletableFuture<>();
+         executorFactory.getExecutor().execute(() -> threadName.complete(Thread.currentThread().getName()));
+         Assert.assertTrue(threadName.get(10, TimeUnit.SECONDS), threadName.get().contains("activemq-acceptor-shard-"));
+      }
+      Assert.assertTrue(executorFactories.size() <= SHARDS);
+   }
+}
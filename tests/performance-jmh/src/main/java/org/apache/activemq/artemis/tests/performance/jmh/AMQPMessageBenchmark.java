@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.protocol.amqp.broker.AMQPStandardMessage;
+import org.apache.activemq.artemis.protocol.amqp.util.NettyWritable;
+import org.apache.qpid.proton.Proton;
+import org.apache.qpid.proton.amqp.Binary;
+import org.apache.qpid.proton.amqp.Symbol;
+import org.apache.qpid.proton.amqp.UnsignedByte;
+import org.apache.qpid.proton.amqp.messaging.ApplicationProperties;
+import org.apache.qpid.proton.amqp.messaging.Data;
+import org.apache.qpid.proton.amqp.messaging.Header;
+import org.apache.qpid.proton.amqp.messaging.MessageAnnotations;
+import org.apache.qpid.proton.amqp.messaging.Properties;
+import org.apache.qpid.proton.message.impl.MessageImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the lazy decoding of {@link AMQPStandardMessage}: what the broker pays to route a message (scan + header
+ * and address), to evaluate a selector on it (application properties) and to send it back after a modification.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AMQPMessageBenchmark {
+
+   private static final SimpleString PROPERTY_KEY = SimpleString.toSimpleString("region");
+
+   @Param({"100", "10240"})
+   public int bodySize;
+
+   private byte[] encoded;
+
+   private ByteBuf sendBuffer;
+
+   @Setup
+   public void init() {
+      final MessageImpl protonMessage = (MessageImpl) Proton.message();
+      final Header header = new Header();
+      header.setDurable(true);
+      header.setPriority(UnsignedByte.valueOf((byte) 4));
+      final Properties properties = new Properties();
+      properties.setCreationTime(new Date(System.currentTimeMillis()));
+      properties.setTo("benchmark.address");
+      properties.setMessageId(UUID.randomUUID());
+      final MessageAnnotations annotations = new MessageAnnotations(new LinkedHashMap<>());
+      annotations.getValue().put(Symbol.valueOf("x-opt-benchmark"), "annotation");
+      final ApplicationProperties applicationProperties = new ApplicationProperties(new LinkedHashMap<>());
+      applicationProperties.getValue().put("sequence", 1);
+      applicationProperties.getValue().put(PROPERTY_KEY.toString(), "region-0");
+      protonMessage.setHeader(header);
+      protonMessage.setMessageAnnotations(annotations);
+      protonMessage.setProperties(properties);
+      protonMessage.setApplicationProperties(applicationProperties);
+      protonMessage.setBody(new Data(new Binary(new byte[bodySize])));
+
+      final ByteBuf nettyBuffer = Unpooled.buffer(bodySize + 512);
+      protonMessage.encode(new NettyWritable(nettyBuffer));
+      encoded = new byte[nettyBuffer.writerIndex()];
+      nettyBuffer.readBytes(encoded);
+      sendBuffer = Unpooled.buffer(encoded.length + 512);
+   }
+
+   @Benchmark
+   public SimpleString scanAndGetAddress() {
+      final AMQPStandardMessage message = new AMQPStandardMessage(0, encoded, null);
+      message.isDurable();
+      return message.getAddressSimpleString();
+   }
+
+   @Benchmark
+   public Object getApplicationProperty() {
+      final AMQPStandardMessage message = new AMQPStandardMessage(0, encoded, null);
+      return message.getObjectPropertyForFilter(PROPERTY_KEY);
+   }
+
+   @Benchmark
+   public ByteBuf modifyAndSend() {
+      final AMQPStandardMessage message = new AMQPStandardMessage(0, encoded, null);
+      message.setAddress("benchmark.other");
+      message.reencode();
+      sendBuffer.clear();
+      message.sendBuffer(sendBuffer, 1);
+      return sendBuffer;
+   }
+}
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.filter.Filter;
+import org.apache.activemq.artemis.core.filter.impl.FilterImpl;
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.persistence.impl.nullpm.NullStorageManager;
+import org.apache.activemq.artemis.core.postoffice.impl.BindingsImpl;
+import org.apache.activemq.artemis.core.postoffice.impl.LocalQueueBinding;
+import org.apache.activemq.artemis.core.server.RoutingContext;
+import org.apache.activemq.artemis.core.server.impl.QueueImpl;
+import org.apache.activemq.artemis.core.server.impl.RoutingContextImpl;
+import org.apache.activemq.artemis.utils.ActiveMQThreadFactory;
+import org.apache.activemq.artemis.utils.actors.OrderedExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link BindingsImpl#route(Message, RoutingContext)} for a multicast address with many local queue
+ * bindings, with and without selectors on the queues.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BindingsImplRouteBenchmark {
+
+   private static final SimpleString ADDRESS = SimpleString.toSimpleString("benchmark.address");
+
+   private static final SimpleString NODE_ID = SimpleString.toSimpleString("benchmark-node");
+
+   @Param({"1", "10", "100"})
+   public int queues;
+
+   @Param({"false", "true"})
+   public boolean filtered;
+
+   private ScheduledExecutorService scheduledExecutor;
+
+   private ExecutorService executor;
+
+   private BindingsImpl bindings;
+
+   private Message message;
+
+   private RoutingContext context;
+
+   @Setup
+   public void init() throws Exception {
+      scheduledExecutor = Executors.newSingleThreadScheduledExecutor(ActiveMQThreadFactory.defaultThreadFactory());
+      executor = Executors.newSingleThreadExecutor(ActiveMQThreadFactory.defaultThreadFactory());
+      bindings = new BindingsImpl(ADDRESS, null);
+      final NullStorageManager storageManager = new NullStorageManager();
+      for (int i = 0; i < queues; i++) {
+         final SimpleString name = SimpleString.toSimpleString("queue-" + i);
+         final Filter filter = filtered ? FilterImpl.createFilter("region = 'region-" + (i % 4) + "'") : null;
+         final QueueImpl queue = new QueueImpl(i, ADDRESS, name, filter, null, false, false, false, scheduledExecutor,
+                                               null, storageManager, null, new OrderedExecutor(executor), null, null);
+         bindings.addBinding(new LocalQueueBinding(ADDRESS, queue, NODE_ID));
+      }
+      message = new CoreMessage(1, 256).setAddress(ADDRESS).setRoutingType(RoutingType.MULTICAST);
+      message.putStringProperty("region", "region-0");
+      context = new RoutingContextImpl(null);
+   }
+
+   @TearDown
+   public void shutdown() {
+      executor.shutdownNow();
+      scheduledExecutor.shutdownNow();
+   }
+
+   @Benchmark
+   public RoutingContext route() throws Exception {
+      context.clear();
+      bindings.route(message, context);
+      return context;
+   }
+}
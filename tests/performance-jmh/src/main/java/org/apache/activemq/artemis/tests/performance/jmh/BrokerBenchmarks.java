@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks jar.
+ * <p>
+ * It accepts the same arguments as {@code org.openjdk.jmh.Main}, but it always attaches the {@link GCProfiler}
+ * so each result carries its allocation rate ({@code gc.alloc.rate.norm}) next to the throughput, and it writes
+ * JSON results to {@code jmh-result.json} unless a different result file is requested. Two JSON results produced by
+ * different commits can be compared with any JMH visualizer.
+ */
+public final class BrokerBenchmarks {
+
+   public static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+   private BrokerBenchmarks() {
+   }
+
+   public static void main(String[] args) throws Exception {
+      final CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+      final ChainedOptionsBuilder builder = new OptionsBuilder().parent(commandLineOptions).addProfiler(GCProfiler.class);
+      if (commandLineOptions.getIncludes().isEmpty()) {
+         builder.include(BrokerBenchmarks.class.getPackage().getName() + ".*");
+      }
+      if (!commandLineOptions.getResult().hasValue()) {
+         builder.result(DEFAULT_RESULT_FILE);
+      }
+      if (!commandLineOptions.getResultFormat().hasValue()) {
+         builder.resultFormat(ResultFormatType.JSON);
+      }
+      new Runner(builder.build()).run();
+   }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link CoreMessage} copies (done on every divert, DLA and expiry) and the encode / decode round trip done
+ * on every send and every delivery.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CoreMessageBenchmark {
+
+   private static final SimpleString ADDRESS = SimpleString.toSimpleString("benchmark.address");
+
+   @Param({"100", "10240"})
+   public int bodySize;
+
+   private CoreMessage message;
+
+   private byte[] encoded;
+
+   private ByteBuf sendBuffer;
+
+   private long nextId;
+
+   @Setup
+   public void init() {
+      message = new CoreMessage(1, bodySize + 256);
+      message.setAddress(ADDRESS);
+      message.setDurable(true);
+      message.putStringProperty("JMSType", "benchmark");
+      message.putLongProperty("timestamp", System.currentTimeMillis());
+      message.putIntProperty("sequence", 1);
+      message.getBodyBuffer().writeBytes(new byte[bodySize]);
+      sendBuffer = Unpooled.buffer(message.getEncodeSize());
+      message.sendBuffer(sendBuffer, 0);
+      encoded = new byte[sendBuffer.writerIndex()];
+      sendBuffer.getBytes(0, encoded);
+   }
+
+   @Benchmark
+   public Message copy() {
+      return message.copy(nextId++);
+   }
+
+   /**
+    * What happens when the broker changes a property of a message already encoded, e.g. on redelivery or on a divert.
+    */
+   @Benchmark
+   public int changeAndEncode() {
+      message.putLongProperty("timestamp", nextId++);
+      message.encode();
+      return message.getEncodeSize();
+   }
+
+   @Benchmark
+   public ByteBuf sendBuffer() {
+      sendBuffer.clear();
+      message.sendBuffer(sendBuffer, 0);
+      return sendBuffer;
+   }
+
+   @Benchmark
+   public Object receiveAndReadProperty() {
+      final CoreMessage received = new CoreMessage();
+      received.receiveBuffer(Unpooled.wrappedBuffer(encoded));
+      return received.getObjectProperty("sequence");
+   }
+}
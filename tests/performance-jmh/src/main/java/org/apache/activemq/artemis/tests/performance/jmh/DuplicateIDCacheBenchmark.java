@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.persistence.impl.nullpm.NullStorageManager;
+import org.apache.activemq.artemis.core.postoffice.DuplicateIDCache;
+import org.apache.activemq.artemis.core.postoffice.impl.DuplicateIDCacheImpl;
+import org.apache.activemq.artemis.core.postoffice.impl.LockFreeDuplicateIDCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link DuplicateIDCacheImpl} against {@link LockFreeDuplicateIDCache} verifying new ids, as the post office
+ * does for each message carrying a duplicate ID, and ids already in the cache, with one and with several producers
+ * on the same address. The ids aren't persisted, to keep the journal out of the picture.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DuplicateIDCacheBenchmark {
+
+   private static final int ID_SIZE = 16;
+
+   @Param({"synchronized", "lock-free"})
+   public String cache;
+
+   @Param({"20000"})
+   public int cacheSize;
+
+   private DuplicateIDCache duplicateIDCache;
+
+   private final AtomicInteger nextProducer = new AtomicInteger();
+
+   @State(Scope.Thread)
+   public static class Producer {
+
+      private long producerId;
+
+      private long nextId;
+
+      @Setup
+      public void init(DuplicateIDCacheBenchmark benchmark) {
+         producerId = benchmark.nextProducer.getAndIncrement();
+      }
+
+      byte[] nextId() {
+         return id(producerId, nextId++);
+      }
+
+      byte[] lastId() {
+         return id(producerId, nextId - 1);
+      }
+   }
+
+   private static byte[] id(long producerId, long id) {
+      final byte[] bytes = new byte[ID_SIZE];
+      for (int i = 0; i < Long.BYTES; i++) {
+         bytes[i] = (byte) (producerId >>> (i * 8));
+         bytes[Long.BYTES + i] = (byte) (id >>> (i * 8));
+      }
+      return bytes;
+   }
+
+   @Setup
+   public void init() throws Exception {
+      final NullStorageManager storageManager = new NullStorageManager();
+      final SimpleString address = SimpleString.toSimpleString("benchmark");
+      if ("lock-free".equals(cache)) {
+         duplicateIDCache = new LockFreeDuplicateIDCache(address, cacheSize, storageManager, false);
+      } else {
+         duplicateIDCache = new DuplicateIDCacheImpl(address, cacheSize, storageManager, false);
+      }
+      // start from a full cache, so that each new id evicts an old one
+      for (int i = 0; i < cacheSize; i++) {
+         duplicateIDCache.addToCache(id(-1, i));
+      }
+   }
+
+   @Benchmark
+   public boolean verifyNew(Producer producer) throws Exception {
+      return duplicateIDCache.atomicVerify(producer.nextId(), null);
+   }
+
+   @Benchmark
+   @Threads(4)
+   public boolean verifyNewContended(Producer producer) throws Exception {
+      return duplicateIDCache.atomicVerify(producer.nextId(), null);
+   }
+
+   @Benchmark
+   public boolean verifyNewAndDuplicate(Producer producer) throws Exception {
+      // the resend of a message already received
+      return duplicateIDCache.atomicVerify(producer.nextId(), null) & duplicateIDCache.atomicVerify(producer.lastId(), null);
+   }
+
+   @Benchmark
+   @Threads(4)
+   public boolean verifyNewAndDuplicateContended(Producer producer) throws Exception {
+      return duplicateIDCache.atomicVerify(producer.nextId(), null) & duplicateIDCache.atomicVerify(producer.lastId(), null);
+   }
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.activemq.artemis.ArtemisConstants;
+import org.apache.activemq.artemis.core.io.SequentialFileFactory;
+import org.apache.activemq.artemis.core.io.nio.NIOSequentialFileFactory;
+import org.apache.activemq.artemis.core.journal.Journal;
+import org.apache.activemq.artemis.core.journal.impl.JournalImpl;
+import org.apache.activemq.artemis.utils.FileUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link JournalImpl} appends through the NIO buffered (ie {@code TimedBuffer}) path, with disk sync disabled
+ * so the result reflects the journal code and not the device: each invocation appends a batch of add records, the
+ * last one waiting for the buffer to be flushed as a durable send would do, and then deletes them to keep the number
+ * of live records (and the compactor) out of the picture.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JournalImplAppendBenchmark {
+
+   private static final int BATCH = 100;
+
+   private static final byte RECORD_TYPE = 1;
+
+   @Param({"128", "1024"})
+   public int recordSize;
+
+   private File directory;
+
+   private Journal journal;
+
+   private byte[] record;
+
+   private long nextId;
+
+   @Setup
+   public void init() throws Exception {
+      directory = Files.createTempDirectory("artemis-jmh-journal").toFile();
+      final SequentialFileFactory fileFactory = new NIOSequentialFileFactory(directory, true, ArtemisConstants.DEFAULT_JOURNAL_BUFFER_SIZE_NIO,
+                                                                             ArtemisConstants.DEFAULT_JOURNAL_BUFFER_TIMEOUT_NIO, 1, false)
+         .setDatasync(false);
+      journal = new JournalImpl(10 * 1024 * 1024, 2, 10, 0, 0, fileFactory, "activemq-data", "amq", 1);
+      journal.start();
+      journal.load(new ArrayList<>(), null, null);
+      record = new byte[recordSize];
+   }
+
+   @TearDown
+   public void shutdown() throws Exception {
+      journal.stop();
+      FileUtil.deleteDirectory(directory);
+   }
+
+   @Benchmark
+   @OperationsPerInvocation(BATCH)
+   public long appendAddRecord() throws Exception {
+      final long firstId = nextId;
+      for (int i = 0; i < BATCH; i++) {
+         journal.appendAddRecord(nextId++, RECORD_TYPE, record, i == BATCH - 1);
+      }
+      for (long id = firstId; id < nextId; id++) {
+         journal.appendDeleteRecord(id, false);
+      }
+      return nextId;
+   }
+}
@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.filter.Filter;
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.persistence.impl.nullpm.NullStorageManager;
+import org.apache.activemq.artemis.core.server.Consumer;
+import org.apache.activemq.artemis.core.server.HandleStatus;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.core.server.impl.QueueImpl;
+import org.apache.activemq.artemis.utils.ActiveMQThreadFactory;
+import org.apache.activemq.artemis.utils.actors.OrderedExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the add / deliver / ack cycle of a non durable {@link QueueImpl}, i.e. what a broker does for each message
+ * routed to a queue with a consumer attached.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class QueueImplBenchmark {
+
+   private static final int BATCH = 1000;
+
+   private static final SimpleString ADDRESS = SimpleString.toSimpleString("benchmark.address");
+
+   @Param({"false", "true"})
+   public boolean consumer;
+
+   private ScheduledExecutorService scheduledExecutor;
+
+   private ExecutorService executor;
+
+   private QueueImpl queue;
+
+   private Message[] messages;
+
+   @Setup
+   public void init() throws Exception {
+      scheduledExecutor = Executors.newSingleThreadScheduledExecutor(ActiveMQThreadFactory.defaultThreadFactory());
+      executor = Executors.newSingleThreadExecutor(ActiveMQThreadFactory.defaultThreadFactory());
+      queue = new QueueImpl(1, ADDRESS, ADDRESS, null, null, false, false, false, scheduledExecutor, null,
+                            new NullStorageManager(), null, new OrderedExecutor(executor), null, null);
+      if (consumer) {
+         queue.addConsumer(new AckingConsumer(queue));
+      }
+      messages = new Message[BATCH];
+      for (int i = 0; i < BATCH; i++) {
+         final CoreMessage message = new CoreMessage(i, 256);
+         message.setAddress(ADDRESS);
+         message.getBodyBuffer().writeBytes(new byte[100]);
+         messages[i] = message;
+      }
+   }
+
+   @TearDown
+   public void shutdown() throws Exception {
+      queue.close();
+      executor.shutdownNow();
+      scheduledExecutor.shutdownNow();
+   }
+
+   /**
+    * Without consumer the queue just accumulates references: the queue is drained after every batch in order to
+    * keep the depth (and the heap) stable across iterations.
+    */
+   @Benchmark
+   @OperationsPerInvocation(BATCH)
+   public long addDeliverAck() throws Exception {
+      for (int i = 0; i < BATCH; i++) {
+         final Message message = messages[i];
+         final MessageReference reference = MessageReference.Factory.createReference(message, queue);
+         queue.refUp(message);
+         queue.addTail(reference, true);
+      }
+      queue.deliverNow();
+      if (!consumer) {
+         queue.deleteAllReferences();
+      }
+      return queue.getMessagesAcknowledged();
+   }
+
+   private static final class AckingConsumer implements Consumer {
+
+      private final QueueImpl queue;
+
+      AckingConsumer(QueueImpl queue) {
+         this.queue = queue;
+      }
+
+      @Override
+      public HandleStatus handle(MessageReference reference) {
+         reference.getQueue().referenceHandled(reference);
+         return HandleStatus.HANDLED;
+      }
+
+      @Override
+      public void proceedDeliver(MessageReference reference) throws Exception {
+         queue.acknowledge(reference);
+      }
+
+      @Override
+      public Filter getFilter() {
+         return null;
+      }
+
+      @Override
+      public List<MessageReference> getDeliveringMessages() {
+         return Collections.emptyList();
+      }
+
+      @Override
+      public String debug() {
+         return toString();
+      }
+
+      @Override
+      public String toManagementString() {
+         return toString();
+      }
+
+      @Override
+      public void disconnect() {
+      }
+
+      @Override
+      public long sequentialID() {
+         return 0;
+      }
+   }
+}
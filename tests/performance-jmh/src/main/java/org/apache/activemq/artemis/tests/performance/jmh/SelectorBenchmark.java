@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.selector.filter.BooleanExpression;
+import org.apache.activemq.artemis.selector.filter.ExpressionCompiler;
+import org.apache.activemq.artemis.selector.filter.Filterable;
+import org.apache.activemq.artemis.selector.impl.SelectorParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the selectors as parsed against the same selectors compiled by {@link ExpressionCompiler}, matching the
+ * properties of a {@link CoreMessage} as the server filters do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SelectorBenchmark {
+
+   @Param({"region = 'region-0' AND weight > 2500", "NOT (priority BETWEEN 1 AND 1 + 2) OR size < 1024 * 4"})
+   public String selector;
+
+   @Param({"false", "true"})
+   public boolean compiled;
+
+   private BooleanExpression expression;
+
+   private Filterable filterable;
+
+   private static final class FilterableMessage implements Filterable {
+
+      private final Message message;
+
+      private FilterableMessage(Message message) {
+         this.message = message;
+      }
+
+      @Override
+      public Object getProperty(SimpleString name) {
+         final Object value = getRawProperty(name);
+         return value instanceof SimpleString ? value.toString() : value;
+      }
+
+      @Override
+      public Object getRawProperty(SimpleString name) {
+         return message.getObjectPropertyForFilter(name);
+      }
+
+      @Override
+      public <T> T getBodyAs(Class<T> type) {
+         return null;
+      }
+
+      @Override
+      public Object getLocalConnectionId() {
+         return null;
+      }
+   }
+
+   @Setup
+   public void init() throws Exception {
+      final BooleanExpression parsed = SelectorParser.parse(selector);
+      expression = compiled ? ExpressionCompiler.compile(parsed) : parsed;
+      final Message message = new CoreMessage(1, 256);
+      message.putStringProperty("region", "region-0");
+      message.putLongProperty("weight", 3000L);
+      message.putIntProperty("priority", 5);
+      message.putIntProperty("size", 512);
+      filterable = new FilterableMessage(message);
+   }
+
+   @Benchmark
+   public boolean matches() throws Exception {
+      return expression.matches(filterable);
+   }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.utils.collections.TypedProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link TypedProperties} encoding and decoding with a mix of property types similar to what JMS and AMQP
+ * clients usually send.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TypedPropertiesBenchmark {
+
+   @Param({"4", "16"})
+   public int size;
+
+   private TypedProperties properties;
+
+   private SimpleString lookupKey;
+
+   private ByteBuf encodeBuffer;
+
+   private ByteBuf encoded;
+
+   @Setup
+   public void init() {
+      properties = new TypedProperties();
+      for (int i = 0; i < size; i++) {
+         final SimpleString key = SimpleString.toSimpleString("property-" + i);
+         switch (i % 4) {
+            case 0:
+               properties.putSimpleStringProperty(key, SimpleString.toSimpleString("value-" + i));
+               break;
+            case 1:
+               properties.putIntProperty(key, i);
+               break;
+            case 2:
+               properties.putLongProperty(key, System.currentTimeMillis());
+               break;
+            default:
+               properties.putBooleanProperty(key, true);
+         }
+      }
+      lookupKey = SimpleString.toSimpleString("property-" + (size - 1));
+      encodeBuffer = Unpooled.buffer(properties.getEncodeSize());
+      encoded = Unpooled.buffer(properties.getEncodeSize());
+      properties.encode(encoded);
+   }
+
+   @Benchmark
+   public ByteBuf encode() {
+      encodeBuffer.clear();
+      properties.encode(encodeBuffer);
+      return encodeBuffer;
+   }
+
+   @Benchmark
+   public Object decodeAndGet() {
+      final TypedProperties decoded = new TypedProperties();
+      encoded.readerIndex(0);
+      decoded.decode(encoded);
+      return decoded.getProperty(lookupKey);
+   }
+
+   @Benchmark
+   public TypedProperties copy() {
+      return new TypedProperties(properties);
+   }
+}
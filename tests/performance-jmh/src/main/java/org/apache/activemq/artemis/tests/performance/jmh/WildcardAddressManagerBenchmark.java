@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.postoffice.Binding;
+import org.apache.activemq.artemis.core.postoffice.Bindings;
+import org.apache.activemq.artemis.core.postoffice.impl.BindingsImpl;
+import org.apache.activemq.artemis.core.postoffice.impl.LocalQueueBinding;
+import org.apache.activemq.artemis.core.postoffice.impl.WildcardAddressManager;
+import org.apache.activemq.artemis.core.server.impl.QueueImpl;
+import org.apache.activemq.artemis.utils.ActiveMQThreadFactory;
+import org.apache.activemq.artemis.utils.actors.OrderedExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link WildcardAddressManager} lookups of already known addresses and the bind / unbind cycle of a new
+ * address while many wildcard subscriptions and topics are in place (i.e. an MQTT like topic tree).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class WildcardAddressManagerBenchmark {
+
+   private static final SimpleString NODE_ID = SimpleString.toSimpleString("benchmark-node");
+
+   @Param({"100", "10000"})
+   public int topics;
+
+   @Param({"10", "1000"})
+   public int wildcards;
+
+   private ScheduledExecutorService scheduledExecutor;
+
+   private ExecutorService executor;
+
+   private WildcardAddressManager addressManager;
+
+   private SimpleString[] knownAddresses;
+
+   private Binding newBinding;
+
+   private int nextAddress;
+
+   @Setup
+   public void init() throws Exception {
+      scheduledExecutor = Executors.newSingleThreadScheduledExecutor(ActiveMQThreadFactory.defaultThreadFactory());
+      executor = Executors.newSingleThreadExecutor(ActiveMQThreadFactory.defaultThreadFactory());
+      addressManager = new WildcardAddressManager(address -> new BindingsImpl(address, null), null, null);
+      long id = 0;
+      for (int i = 0; i < wildcards; i++) {
+         addressManager.addBinding(createBinding(id++, SimpleString.toSimpleString("devices." + (i % topics) + ".#"), "wildcard-" + i));
+      }
+      knownAddresses = new SimpleString[topics];
+      for (int i = 0; i < topics; i++) {
+         knownAddresses[i] = SimpleString.toSimpleString("devices." + i + ".telemetry");
+         addressManager.addBinding(createBinding(id++, knownAddresses[i], "topic-" + i));
+      }
+      newBinding = createBinding(id, SimpleString.toSimpleString("devices." + (topics / 2) + ".status"), "new-topic");
+   }
+
+   @TearDown
+   public void shutdown() {
+      executor.shutdownNow();
+      scheduledExecutor.shutdownNow();
+   }
+
+   @Benchmark
+   public Bindings lookup() throws Exception {
+      final int index = nextAddress++;
+      if (nextAddress == topics) {
+         nextAddress = 0;
+      }
+      return addressManager.getBindingsForRoutingAddress(knownAddresses[index]);
+   }
+
+   @Benchmark
+   public Binding bindUnbind() throws Exception {
+      addressManager.addBinding(newBinding);
+      return addressManager.removeBinding(newBinding.getUniqueName(), null);
+   }
+
+   private Binding createBinding(long id, SimpleString address, String name) {
+      final QueueImpl queue = new QueueImpl(id, address, SimpleString.toSimpleString(name), null, null, false, false,
+                                            false, scheduledExecutor, null, null, null,
+                                            new OrderedExecutor(executor), null, null);
+      return new LocalQueueBinding(address, queue, NODE_ID);
+   }
+}
@@ -723,6 +723,11 @@ public class LargeMessageBufferTest extends ActiveMQTestBase {
       public void flushAcks() throws ActiveMQException {
       }
 
+      @Override
+      public ClientMessageInternal takePendingAck() {
+         return null;
+      }
+
       @Override
       public int getBufferSize() {
 
@@ -68,6 +68,10 @@ public abstract class JournalImplTestBase extends ActiveMQTestBase {
 
    protected boolean sync;
 
+   protected int compactPercentage = 0;
+
+   protected int compactMaxFiles = 0;
+
    protected String filePrefix = "amq";
 
    protected String fileExtension = "amq";
@@ -160,7 +164,7 @@ public abstract class JournalImplTestBase extends ActiveMQTestBase {
    }
 
    public void createJournal() throws Exception {
-      journal = new JournalImpl(fileSize, minFiles, poolSize, 0, 0, fileFactory, filePrefix, fileExtension, maxAIO) {
+      journal = new JournalImpl(fileSize, minFiles, poolSize, 0, compactPercentage, fileFactory, filePrefix, fileExtension, maxAIO) {
          @Override
          public void onCompactDone() {
             latchDone.countDown();
@@ -170,7 +174,7 @@ public abstract class JournalImplTestBase extends ActiveMQTestBase {
                e.printStackTrace();
             }
          }
-      };
+      }.setCompactMaxFiles(compactMaxFiles);
 
       journal.setAutoReclaim(false);
       addActiveMQComponent(journal);
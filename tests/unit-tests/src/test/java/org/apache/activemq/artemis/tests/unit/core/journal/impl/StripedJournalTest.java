@@ -0,0 +1,292 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.unit.core.journal.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.activemq.artemis.core.io.SequentialFile;
+import org.apache.activemq.artemis.core.io.nio.NIOSequentialFile;
+import org.apache.activemq.artemis.core.io.nio.NIOSequentialFileFactory;
+import org.apache.activemq.artemis.core.journal.PreparedTransactionInfo;
+import org.apache.activemq.artemis.core.journal.RecordInfo;
+import org.apache.activemq.artemis.core.journal.impl.JournalImpl;
+import org.apache.activemq.artemis.core.journal.impl.SimpleWaitIOCallback;
+import org.apache.activemq.artemis.core.journal.impl.StripedJournal;
+import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StripedJournalTest extends ActiveMQTestBase {
+
+   private static final byte RECORD_TYPE = 1;
+
+   private StripedJournal journal;
+
+   private final List<RecordInfo> records = new ArrayList<>();
+
+   private final List<PreparedTransactionInfo> preparedTransactions = new ArrayList<>();
+
+   private final AtomicInteger syncs = new AtomicInteger();
+
+   @Override
+   @After
+   public void tearDown() throws Exception {
+      if (journal != null && journal.isStarted()) {
+         journal.stop();
+      }
+      super.tearDown();
+   }
+
+   private StripedJournal createJournal(int lanes) {
+      final JournalImpl[] journals = new JournalImpl[lanes];
+      for (int i = 0; i < lanes; i++) {
+         final File directory = i == 0 ? getTestDirfile() : new File(getTestDirfile(), "lane-" + i);
+         journals[i] = new JournalImpl(10 * 1024, 2, 2, 0, 0, new SyncCountingFileFactory(directory), "amq", "amq", 1);
+      }
+      return new StripedJournal(journals);
+   }
+
+   private void startAndLoad(int lanes) throws Exception {
+      if (journal != null && journal.isStarted()) {
+         journal.stop();
+      }
+      records.clear();
+      preparedTransactions.clear();
+      journal = createJournal(lanes);
+      journal.start();
+      journal.load(records, preparedTransactions, null);
+   }
+
+   private Set<Long> loadedIds() {
+      final Set<Long> ids = new TreeSet<>();
+      for (RecordInfo record : records) {
+         ids.add(record.id);
+      }
+      return ids;
+   }
+
+   private static Set<Long> ids(long... ids) {
+      final Set<Long> set = new TreeSet<>();
+      for (long id : ids) {
+         set.add(id);
+      }
+      return set;
+   }
+
+   private static byte[] data(long id) {
+      return ByteBuffer.allocate(Long.BYTES).putLong(id).array();
+   }
+
+   @Test
+   public void testRecordsAcrossLanes() throws Exception {
+      startAndLoad(3);
+
+      for (long id = 1; id <= 9; id++) {
+         journal.appendAddRecord(id, RECORD_TYPE, data(id), false);
+      }
+      journal.appendUpdateRecord(4, RECORD_TYPE, data(40), false);
+      journal.appendDeleteRecord(5, false);
+      journal.appendDeleteRecord(6, true);
+
+      Assert.assertEquals(7, journal.getNumberOfRecords());
+      for (int i = 0; i < 3; i++) {
+         Assert.assertTrue(journal.getLane(i).getNumberOfRecords() > 0);
+      }
+
+      startAndLoad(3);
+
+      Assert.assertEquals(ids(1, 2, 3, 4, 7, 8, 9), loadedIds());
+      RecordInfo update = null;
+      for (RecordInfo record : records) {
+         if (record.id == 4 && record.isUpdate) {
+            update = record;
+         }
+      }
+      Assert.assertNotNull(update);
+      Assert.assertEquals(40, ByteBuffer.wrap(update.data).getLong());
+   }
+
+   @Test
+   public void testTransactionAcrossLanes() throws Exception {
+      startAndLoad(2);
+
+      journal.appendAddRecordTransactional(100, 1, RECORD_TYPE, data(1));
+      journal.appendAddRecordTransactional(100, 2, RECORD_TYPE, data(2));
+      journal.appendCommitRecord(100, true);
+
+      journal.appendAddRecordTransactional(101, 3, RECORD_TYPE, data(3));
+      journal.appendAddRecordTransactional(101, 4, RECORD_TYPE, data(4));
+      journal.appendRollbackRecord(101, true);
+
+      journal.appendAddRecordTransactional(102, 5, RECORD_TYPE, data(5));
+      journal.appendDeleteRecordTransactional(102, 1);
+      journal.appendCommitRecord(102, true);
+
+      // never completed
+      journal.appendAddRecordTransactional(103, 6, RECORD_TYPE, data(6));
+      journal.appendAddRecordTransactional(103, 7, RECORD_TYPE, data(7));
+      journal.flush();
+
+      startAndLoad(2);
+
+      Assert.assertEquals(ids(2, 5), loadedIds());
+      Assert.assertTrue(preparedTransactions.isEmpty());
+   }
+
+   @Test
+   public void testTransactionAcrossLanesCompletedByCallback() throws Exception {
+      startAndLoad(2);
+
+      for (boolean sync : new boolean[]{false, true}) {
+         final long txID = sync ? 101 : 100;
+         journal.appendAddRecordTransactional(txID, 2 * txID, RECORD_TYPE, data(2 * txID));
+         journal.appendAddRecordTransactional(txID, 2 * txID + 1, RECORD_TYPE, data(2 * txID + 1));
+         final SimpleWaitIOCallback callback = new SimpleWaitIOCallback();
+         journal.appendCommitRecord(txID, sync, callback);
+         Assert.assertTrue(callback.waitCompletion(5000));
+      }
+
+      startAndLoad(2);
+
+      Assert.assertEquals(ids(200, 201, 202, 203), loadedIds());
+      Assert.assertTrue(preparedTransactions.isEmpty());
+   }
+
+   @Test
+   public void testTwoPhaseCommitSyncsPrepareRecords() throws Exception {
+      startAndLoad(2);
+
+      journal.appendAddRecordTransactional(100, 2, RECORD_TYPE, data(2));
+      journal.appendAddRecordTransactional(100, 3, RECORD_TYPE, data(3));
+      final int syncsBefore = syncs.get();
+      final SimpleWaitIOCallback callback = new SimpleWaitIOCallback();
+      journal.appendCommitRecord(100, false, callback);
+      Assert.assertTrue(callback.waitCompletion(5000));
+
+      // the commit isn't synced, but the prepare records on both lanes have to be
+      Assert.assertEquals(syncsBefore + 2, syncs.get());
+   }
+
+   @Test
+   public void testPreparedTransactionAcrossLanes() throws Exception {
+      startAndLoad(2);
+
+      journal.appendAddRecordTransactional(100, 1, RECORD_TYPE, data(1));
+      journal.appendAddRecordTransactional(100, 2, RECORD_TYPE, data(2));
+      journal.appendPrepareRecord(100, data(100), true);
+
+      startAndLoad(2);
+
+      Assert.assertTrue(records.isEmpty());
+      Assert.assertEquals(1, preparedTransactions.size());
+      Assert.assertEquals(100, preparedTransactions.get(0).getId());
+      Assert.assertEquals(2, preparedTransactions.get(0).getRecords().size());
+
+      journal.appendCommitRecord(100, true);
+
+      startAndLoad(2);
+
+      Assert.assertEquals(ids(1, 2), loadedIds());
+      Assert.assertTrue(preparedTransactions.isEmpty());
+   }
+
+   @Test
+   public void testTwoPhaseCommitInterrupted() throws Exception {
+      startAndLoad(2);
+
+      // what a two phase commit leaves behind if it stops after the prepare: it has to be rolled back
+      writeTwoPhasePrepare(100, 2, 3, true);
+      // and if it stops after the commit on the first lane: it has to be completed
+      writeTwoPhasePrepare(101, 4, 5, true);
+      journal.getLane(0).appendCommitRecord(101, true);
+      // and if it stops before the prepare reaches the second lane: it has to be rolled back
+      writeTwoPhasePrepare(102, 6, 7, false);
+      // and if it stops while rolling back the prepare: the rollback has to be completed
+      writeTwoPhasePrepare(103, 8, 9, true);
+      journal.getLane(1).appendRollbackRecord(103, true);
+
+      startAndLoad(2);
+
+      Assert.assertEquals(ids(4, 5), loadedIds());
+      Assert.assertTrue(preparedTransactions.isEmpty());
+
+      startAndLoad(2);
+
+      Assert.assertEquals(ids(4, 5), loadedIds());
+      Assert.assertTrue(preparedTransactions.isEmpty());
+   }
+
+   private void writeTwoPhasePrepare(long txID, long evenID, long oddID, boolean prepareOddLane) throws Exception {
+      final byte[] prepareData = ByteBuffer.allocate(2 * Long.BYTES).putLong(0x5354524950454400L).putLong(0b11).array();
+      journal.getLane(0).appendAddRecordTransactional(txID, evenID, RECORD_TYPE, data(evenID));
+      journal.getLane(1).appendAddRecordTransactional(txID, oddID, RECORD_TYPE, data(oddID));
+      journal.getLane(0).appendPrepareRecord(txID, prepareData, true);
+      if (prepareOddLane) {
+         journal.getLane(1).appendPrepareRecord(txID, prepareData, true);
+      } else {
+         journal.getLane(1).flush();
+      }
+   }
+
+   @Test
+   public void testMoreLanesOnReload() throws Exception {
+      startAndLoad(2);
+
+      for (long id = 1; id <= 6; id++) {
+         journal.appendAddRecord(id, RECORD_TYPE, data(id), true);
+      }
+
+      startAndLoad(3);
+
+      Assert.assertEquals(ids(1, 2, 3, 4, 5, 6), loadedIds());
+
+      // the records keep living on the lane they were loaded from
+      for (long id = 1; id <= 6; id++) {
+         journal.appendDeleteRecord(id, true);
+      }
+
+      startAndLoad(3);
+
+      Assert.assertTrue(records.isEmpty());
+   }
+
+   private class SyncCountingFileFactory extends NIOSequentialFileFactory {
+
+      SyncCountingFileFactory(File directory) {
+         super(directory, 1);
+      }
+
+      @Override
+      public SequentialFile createSequentialFile(String fileName) {
+         return new NIOSequentialFile(this, getDirectory(), fileName, 1, writeExecutor) {
+            @Override
+            public void sync() throws IOException {
+               syncs.incrementAndGet();
+               super.sync();
+            }
+         };
+      }
+   }
+}
@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 import io.netty.buffer.ByteBuf;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
@@ -126,6 +127,102 @@ public class TimedBufferTest extends ActiveMQTestBase {
       }
 
    }
+   @Test
+   public void testBatchSizeHistogram() {
+      class TestObserver implements TimedBufferObserver {
+
+         @Override
+         public void flushBuffer(final ByteBuf byteBuf, final boolean sync, final List<IOCallback> callbacks) {
+            IOCallback.done(callbacks);
+         }
+
+         @Override
+         public int getRemainingBytes() {
+            return 1024 * 1024;
+         }
+      }
+
+      TimedBuffer timedBuffer = new TimedBuffer(null, 100, TimedBufferTest.ONE_SECOND_IN_NANOS, false);
+
+      timedBuffer.start();
+
+      try {
+         timedBuffer.setObserver(new TestObserver());
+
+         for (int i = 0; i < 3; i++) {
+            timedBuffer.checkSize(10);
+            timedBuffer.addBytes(ActiveMQBuffers.wrappedBuffer(new byte[10]), false, dummyCallback);
+         }
+         timedBuffer.flush();
+
+         timedBuffer.checkSize(10);
+         timedBuffer.addBytes(ActiveMQBuffers.wrappedBuffer(new byte[10]), false, dummyCallback);
+         timedBuffer.flush();
+
+         Assert.assertEquals(1, timedBuffer.getBatchCount(0));
+         Assert.assertEquals(1, timedBuffer.getBatchCount(1));
+         Assert.assertEquals(2, timedBuffer.getBatchCount(2));
+         Assert.assertEquals(2, timedBuffer.getBatchCount(TimedBuffer.BATCH_SIZE_BUCKETS - 1));
+         Assert.assertEquals(4, TimedBuffer.getBatchSizeBound(2));
+         Assert.assertEquals(Integer.MAX_VALUE, TimedBuffer.getBatchSizeBound(TimedBuffer.BATCH_SIZE_BUCKETS - 1));
+      } finally {
+         timedBuffer.stop();
+      }
+   }
+
+   @Test
+   public void testAdaptiveTimeout() throws Exception {
+      final long syncLatencyMillis = 1;
+      class TestObserver implements TimedBufferObserver {
+
+         @Override
+         public void flushBuffer(final ByteBuf byteBuf, final boolean sync, final List<IOCallback> callbacks) {
+            if (sync) {
+               LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(syncLatencyMillis));
+            }
+            IOCallback.done(callbacks);
+         }
+
+         @Override
+         public int getRemainingBytes() {
+            return 1024 * 1024;
+         }
+      }
+
+      final int timeout = TimedBufferTest.ONE_SECOND_IN_NANOS / 10;
+      TimedBuffer timedBuffer = new TimedBuffer(null, 100, timeout, false);
+      timedBuffer.setAdaptiveTimeout(true);
+
+      timedBuffer.start();
+
+      try {
+         timedBuffer.setObserver(new TestObserver());
+
+         Assert.assertEquals(timeout, timedBuffer.getTimeout());
+
+         // a single producer waiting for each sync: there is nothing to batch and the timeout should shrink
+         for (int i = 0; i < 100; i++) {
+            final ReusableLatch synced = new ReusableLatch(1);
+            timedBuffer.checkSize(10);
+            timedBuffer.addBytes(ActiveMQBuffers.wrappedBuffer(new byte[10]), true, new DummyCallback() {
+               @Override
+               public void done() {
+                  synced.countDown();
+               }
+            });
+            Assert.assertTrue(synced.await(10, TimeUnit.SECONDS));
+         }
+
+         Assert.assertTrue("timeout = " + timedBuffer.getTimeout(), timedBuffer.getTimeout() < timeout / 10);
+
+         timedBuffer.setAdaptiveTimeout(false);
+
+         Assert.assertEquals(timeout, timedBuffer.getTimeout());
+      } finally {
+         timedBuffer.stop();
+      }
+   }
+
    @Test
    public void testTimeOnTimedBuffer() throws Exception {
       final ReusableLatch latchFlushed = new ReusableLatch(0);
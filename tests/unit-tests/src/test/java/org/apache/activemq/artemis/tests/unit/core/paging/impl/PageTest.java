@@ -18,9 +18,11 @@ package org.apache.activemq.artemis.tests.unit.core.paging.impl;
 
 import java.nio.ByteBuffer;
 import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.activemq.artemis.api.core.ICoreMessage;
 import org.apache.activemq.artemis.api.core.SimpleString;
@@ -52,6 +54,8 @@ public class PageTest extends ActiveMQTestBase {
 
    // Attributes ----------------------------------------------------
 
+   private boolean readMapped = false;
+
    // Static --------------------------------------------------------
 
    // Constructors --------------------------------------------------
@@ -97,6 +101,96 @@ public class PageTest extends ActiveMQTestBase {
       testDamagedPage(new NIOSequentialFileFactory(getTestDirfile(), 1), 1000);
    }
 
+   @Test
+   public void testPageWithMappedRead() throws Exception {
+      recreateDirectory(getTestDir());
+      readMapped = true;
+      testAdd(new NIOSequentialFileFactory(getTestDirfile(), 1), 1000);
+   }
+
+   @Test
+   public void testDamagedDataWithMappedRead() throws Exception {
+      recreateDirectory(getTestDir());
+      readMapped = true;
+      testDamagedPage(new NIOSequentialFileFactory(getTestDirfile(), 1), 1000);
+   }
+
+   @Test
+   public void testConcurrentReadMessageWithMappedRead() throws Exception {
+      recreateDirectory(getTestDir());
+      final int numberOfElements = 100;
+      final SequentialFileFactory factory = new NIOSequentialFileFactory(getTestDirfile(), 1);
+      final SimpleString simpleDestination = new SimpleString("Test");
+
+      Page page = new Page(new SimpleString("something"), new NullStorageManager(), factory, factory.createSequentialFile("00010.page"), 10);
+      page.open();
+      addPageElements(simpleDestination, page, numberOfElements, 1);
+      page.sync();
+      page.close(false, false);
+
+      final SequentialFile file = factory.createSequentialFile("00010.page");
+      file.open();
+      final Page mappedPage = new Page(new SimpleString("something"), new NullStorageManager(), factory, file, 10, true);
+      final ExecutorService executor = Executors.newFixedThreadPool(4, ActiveMQThreadFactory.defaultThreadFactory());
+      try {
+         final List<Future<?>> readers = new ArrayList<>();
+         for (int r = 0; r < 4; r++) {
+            // half of the readers always search from the beginning of the page
+            final boolean useOffset = r % 2 == 0;
+            readers.add(executor.submit(() -> {
+               int offset = 0;
+               for (int i = 0; i < numberOfElements; i++) {
+                  final PagedMessage msg = useOffset ? mappedPage.readMessage(offset, i, i) : mappedPage.readMessage(0, 0, i);
+                  Assert.assertNotNull(msg);
+                  Assert.assertEquals(i + 1, msg.getMessage().getMessageID());
+                  Assert.assertEquals(simpleDestination, msg.getMessage().getAddressSimpleString());
+                  offset += msg.getStoredSize() + Page.SIZE_RECORD;
+               }
+               return null;
+            }));
+         }
+         for (Future<?> reader : readers) {
+            reader.get();
+         }
+         // a wrong offset falls back to a search from the beginning of the page
+         Assert.assertEquals(numberOfElements, mappedPage.readMessage(Integer.MAX_VALUE, 0, numberOfElements - 1).getMessage().getMessageID());
+         Assert.assertNull(mappedPage.readMessage(0, 0, numberOfElements));
+      } finally {
+         executor.shutdownNow();
+         mappedPage.close(false, false);
+      }
+   }
+
+   @Test
+   public void testRemapAndUnmapWithMappedRead() throws Exception {
+      recreateDirectory(getTestDir());
+      final SequentialFileFactory factory = new NIOSequentialFileFactory(getTestDirfile(), 1);
+      final SimpleString simpleDestination = new SimpleString("Test");
+
+      final Page page = new Page(new SimpleString("something"), new NullStorageManager(), factory, factory.createSequentialFile("00010.page"), 10, true);
+      page.open();
+      addPageElements(simpleDestination, page, 10, 1);
+      page.sync();
+      Assert.assertFalse(page.isFileMapped());
+      Assert.assertEquals(10, page.read(new NullStorageManager()).size());
+      Assert.assertTrue(page.isFileMapped());
+
+      // the file has grown: the mapping is replaced by a bigger one
+      addPageElements(simpleDestination, page, 10, 11);
+      page.sync();
+      Assert.assertEquals(20, page.readMessage(0, 0, 19).getMessage().getMessageID());
+      Assert.assertEquals(20, page.read(new NullStorageManager()).size());
+
+      page.close(false, false);
+      Assert.assertFalse(page.isFileMapped());
+
+      page.open();
+      Assert.assertEquals(1, page.readMessage(0, 0, 0).getMessage().getMessageID());
+      Assert.assertTrue(page.isFileMapped());
+      Assert.assertTrue(page.delete(null));
+      Assert.assertFalse(page.isFileMapped());
+   }
+
    @Test
    public void testPageFakeWithoutCallbacks() throws Exception {
       testAdd(new FakeSequentialFileFactory(1, false), 10);
@@ -148,7 +242,7 @@ public class PageTest extends ActiveMQTestBase {
 
       file = factory.createSequentialFile("00010.page");
       file.open();
-      page = new Page(new SimpleString("something"), storageManager, factory, file, 10);
+      page = new Page(new SimpleString("something"), storageManager, factory, file, 10, readMapped);
 
       List<PagedMessage> msgs = page.read(storageManager, largeMessages);
 
@@ -165,7 +259,7 @@ public class PageTest extends ActiveMQTestBase {
       }
 
       if (!largeMessages) {
-         Page tmpPage = new Page(new SimpleString("something"), storageManager, factory, file, 10);
+         Page tmpPage = new Page(new SimpleString("something"), storageManager, factory, file, 10, readMapped);
          Assert.assertEquals(0, tmpPage.read(storageManager, true).size());
          Assert.assertEquals(numberOfElements, tmpPage.getNumberOfMessages());
       }
@@ -225,7 +319,7 @@ public class PageTest extends ActiveMQTestBase {
 
       file = factory.createSequentialFile("00010.page");
       file.open();
-      page = new Page(new SimpleString("something"), new NullStorageManager(), factory, file, 10);
+      page = new Page(new SimpleString("something"), new NullStorageManager(), factory, file, 10, readMapped);
 
       List<PagedMessage> msgs = page.read(new NullStorageManager());
 
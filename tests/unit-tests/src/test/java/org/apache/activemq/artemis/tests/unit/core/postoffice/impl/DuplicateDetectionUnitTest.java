@@ -30,9 +30,12 @@ import org.apache.activemq.artemis.core.config.Configuration;
 import org.apache.activemq.artemis.core.persistence.AddressBindingInfo;
 import org.apache.activemq.artemis.core.persistence.GroupingInfo;
 import org.apache.activemq.artemis.core.persistence.QueueBindingInfo;
+import org.apache.activemq.artemis.core.persistence.StorageManager;
 import org.apache.activemq.artemis.core.persistence.impl.journal.JournalStorageManager;
+import org.apache.activemq.artemis.core.postoffice.DuplicateIDCache;
 import org.apache.activemq.artemis.core.postoffice.PostOffice;
 import org.apache.activemq.artemis.core.postoffice.impl.DuplicateIDCacheImpl;
+import org.apache.activemq.artemis.core.postoffice.impl.LockFreeDuplicateIDCache;
 import org.apache.activemq.artemis.core.server.impl.PostOfficeJournalLoader;
 import org.apache.activemq.artemis.core.transaction.impl.ResourceManagerImpl;
 import org.apache.activemq.artemis.tests.unit.core.server.impl.fakes.FakePostOffice;
@@ -80,6 +83,22 @@ public class DuplicateDetectionUnitTest extends ActiveMQTestBase {
 
    @Test
    public void testReloadDuplication() throws Exception {
+      testReloadDuplication(false);
+   }
+
+   @Test
+   public void testReloadDuplicationLockFree() throws Exception {
+      testReloadDuplication(true);
+   }
+
+   private DuplicateIDCache createCache(SimpleString address, StorageManager storageManager, boolean lockFree) {
+      if (lockFree) {
+         return new LockFreeDuplicateIDCache(address, 10, storageManager, true);
+      }
+      return new DuplicateIDCacheImpl(address, 10, storageManager, true);
+   }
+
+   private void testReloadDuplication(boolean lockFree) throws Exception {
 
       JournalStorageManager journal = null;
 
@@ -106,7 +125,7 @@ public class DuplicateDetectionUnitTest extends ActiveMQTestBase {
 
          Assert.assertEquals(0, mapDups.size());
 
-         DuplicateIDCacheImpl cacheID = new DuplicateIDCacheImpl(ADDRESS, 10, journal, true);
+         DuplicateIDCache cacheID = createCache(ADDRESS, journal, lockFree);
 
          for (int i = 0; i < 100; i++) {
             cacheID.addToCache(RandomUtil.randomBytes());
@@ -126,7 +145,7 @@ public class DuplicateDetectionUnitTest extends ActiveMQTestBase {
 
          Assert.assertEquals(10, values.size());
 
-         cacheID = new DuplicateIDCacheImpl(ADDRESS, 10, journal, true);
+         cacheID = createCache(ADDRESS, journal, lockFree);
          cacheID.load(values);
 
          for (int i = 0; i < 100; i++) {
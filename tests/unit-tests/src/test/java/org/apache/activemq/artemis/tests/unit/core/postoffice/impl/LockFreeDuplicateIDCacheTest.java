@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.unit.core.postoffice.impl;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.activemq.artemis.api.core.Pair;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.persistence.impl.nullpm.NullStorageManager;
+import org.apache.activemq.artemis.core.postoffice.DuplicateIDCache;
+import org.apache.activemq.artemis.core.postoffice.impl.LockFreeDuplicateIDCache;
+import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.apache.activemq.artemis.utils.ActiveMQThreadFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LockFreeDuplicateIDCacheTest extends ActiveMQTestBase {
+
+   private static final SimpleString ADDRESS = new SimpleString("address");
+
+   /**
+    * It keeps the record IDs that are stored and not deleted yet
+    */
+   private static final class RecordingStorageManager extends NullStorageManager {
+
+      final Set<Long> records = ConcurrentHashMap.newKeySet();
+
+      @Override
+      public void storeDuplicateID(SimpleString address, byte[] duplID, long recordID) throws Exception {
+         Assert.assertTrue(records.add(recordID));
+      }
+
+      @Override
+      public void deleteDuplicateID(long recordID) throws Exception {
+         Assert.assertTrue(records.remove(recordID));
+      }
+
+      @Override
+      public void deleteDuplicateIDTransactional(long txID, long recordID) throws Exception {
+         Assert.assertTrue(records.remove(recordID));
+      }
+   }
+
+   private static byte[] id(long id) {
+      return ByteBuffer.allocate(Long.BYTES).putLong(id).array();
+   }
+
+   @Test
+   public void testRotation() throws Exception {
+      final RecordingStorageManager storageManager = new RecordingStorageManager();
+      final DuplicateIDCache cache = new LockFreeDuplicateIDCache(ADDRESS, 10, storageManager, true);
+
+      for (long i = 0; i < 25; i++) {
+         Assert.assertTrue(cache.atomicVerify(id(i), null));
+         Assert.assertFalse(cache.atomicVerify(id(i), null));
+      }
+
+      for (long i = 0; i < 25; i++) {
+         Assert.assertEquals(i >= 15, cache.contains(id(i)));
+      }
+
+      final List<Pair<byte[], Long>> map = cache.getMap();
+      Assert.assertEquals(10, map.size());
+      for (int i = 0; i < 10; i++) {
+         Assert.assertArrayEquals(id(15 + i), map.get(i).getA());
+         Assert.assertTrue(storageManager.records.contains(map.get(i).getB()));
+      }
+      Assert.assertEquals(10, storageManager.records.size());
+
+      cache.deleteFromCache(id(20));
+      Assert.assertFalse(cache.contains(id(20)));
+      Assert.assertEquals(9, cache.getMap().size());
+      Assert.assertEquals(9, storageManager.records.size());
+
+      // the index is rebuilt many times over
+      for (long i = 25; i < 10_000; i++) {
+         cache.addToCache(id(i));
+      }
+      Assert.assertTrue(cache.contains(id(9_999)));
+      Assert.assertFalse(cache.contains(id(9_989)));
+      Assert.assertEquals(10, storageManager.records.size());
+
+      cache.clear();
+      Assert.assertFalse(cache.contains(id(9_999)));
+      Assert.assertTrue(cache.getMap().isEmpty());
+      Assert.assertTrue(storageManager.records.isEmpty());
+   }
+
+   @Test
+   public void testLoad() throws Exception {
+      final RecordingStorageManager storageManager = new RecordingStorageManager();
+      final List<Pair<byte[], Long>> ids = new ArrayList<>();
+      for (long i = 0; i < 15; i++) {
+         storageManager.records.add(i);
+         ids.add(new Pair<>(id(i), i));
+      }
+
+      final DuplicateIDCache cache = new LockFreeDuplicateIDCache(ADDRESS, 10, storageManager, true);
+      cache.load(ids);
+
+      for (long i = 0; i < 15; i++) {
+         Assert.assertEquals(i >= 5, cache.contains(id(i)));
+         Assert.assertEquals(i >= 5, storageManager.records.contains(i));
+      }
+
+      cache.addToCache(id(15));
+      Assert.assertFalse(cache.contains(id(5)));
+      Assert.assertFalse(storageManager.records.contains(5L));
+   }
+
+   @Test
+   public void testConcurrentAtomicVerify() throws Exception {
+      final int threads = 8;
+      final int ids = 20_000;
+      final int cacheSize = 1_000;
+      final RecordingStorageManager storageManager = new RecordingStorageManager();
+      final DuplicateIDCache cache = new LockFreeDuplicateIDCache(ADDRESS, cacheSize, storageManager, true);
+      final CyclicBarrier barrier = new CyclicBarrier(threads);
+      final ExecutorService executor = Executors.newFixedThreadPool(threads, ActiveMQThreadFactory.defaultThreadFactory());
+      try {
+         final List<Future<long[]>> results = new ArrayList<>();
+         for (int t = 0; t < threads; t++) {
+            results.add(executor.submit(() -> {
+               final long[] verified = new long[ids];
+               barrier.await();
+               // every thread verifies the same ids: a thread lagging behind can find them already evicted
+               for (int i = 0; i < ids; i++) {
+                  if (cache.atomicVerify(id(i), null)) {
+                     verified[i]++;
+                  }
+               }
+               return verified;
+            }));
+         }
+         final long[] verified = new long[ids];
+         for (Future<long[]> result : results) {
+            final long[] threadVerified = result.get(1, TimeUnit.MINUTES);
+            for (int i = 0; i < ids; i++) {
+               verified[i] += threadVerified[i];
+            }
+         }
+         for (int i = 0; i < ids; i++) {
+            Assert.assertTrue("id " + i + " verified " + verified[i] + " times", verified[i] >= 1);
+         }
+      } finally {
+         executor.shutdownNow();
+      }
+
+      Assert.assertEquals(cacheSize, cache.getMap().size());
+      Assert.assertEquals(cacheSize, storageManager.records.size());
+   }
+
+   @Test
+   public void testConcurrentAtomicVerifyOfSameId() throws Exception {
+      final int threads = 8;
+      final RecordingStorageManager storageManager = new RecordingStorageManager();
+      final DuplicateIDCache cache = new LockFreeDuplicateIDCache(ADDRESS, 100_000, storageManager, true);
+      final CyclicBarrier barrier = new CyclicBarrier(threads);
+      final ExecutorService executor = Executors.newFixedThreadPool(threads, ActiveMQThreadFactory.defaultThreadFactory());
+      try {
+         for (int i = 0; i < 1_000; i++) {
+            final List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+               // equal but distinct arrays, as sent by different producers
+               final byte[] duplID = id(i);
+               results.add(executor.submit(() -> {
+                  barrier.await();
+                  return cache.atomicVerify(duplID, null);
+               }));
+            }
+            int verified = 0;
+            for (Future<Boolean> result : results) {
+               if (result.get(1, TimeUnit.MINUTES)) {
+                  verified++;
+               }
+            }
+            Assert.assertEquals(1, verified);
+         }
+      } finally {
+         executor.shutdownNow();
+      }
+      Assert.assertEquals(1_000, storageManager.records.size());
+   }
+}
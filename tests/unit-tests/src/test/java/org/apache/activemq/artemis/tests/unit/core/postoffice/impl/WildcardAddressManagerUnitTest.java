@@ -19,7 +19,9 @@ package org.apache.activemq.artemis.tests.unit.core.postoffice.impl;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.api.core.RoutingType;
@@ -32,6 +34,7 @@ import org.apache.activemq.artemis.core.postoffice.BindingType;
 import org.apache.activemq.artemis.core.postoffice.Bindings;
 import org.apache.activemq.artemis.core.postoffice.BindingsFactory;
 import org.apache.activemq.artemis.core.postoffice.QueueBinding;
+import org.apache.activemq.artemis.core.postoffice.impl.AddressImpl;
 import org.apache.activemq.artemis.core.postoffice.impl.WildcardAddressManager;
 import org.apache.activemq.artemis.core.server.Bindable;
 import org.apache.activemq.artemis.core.server.Queue;
@@ -198,6 +201,71 @@ public class WildcardAddressManagerUnitTest extends ActiveMQTestBase {
 
    }
 
+   @Test
+   public void testWildCardAddressesMatchedByTheirParts() throws Exception {
+      final WildcardConfiguration configuration = new WildcardConfiguration();
+      configuration.setDelimiter('/');
+      configuration.setSingleWord('+');
+      configuration.setAnyWords('>');
+      final WildcardAddressManager ad = new WildcardAddressManager(new BindingFactoryFake(), configuration, null, null);
+      final Random random = new Random(1);
+      final String[] words = {"a", "b", "c", "+", ">"};
+
+      final List<String> wildcards = new ArrayList<>();
+      final List<String> addresses = new ArrayList<>();
+      while (wildcards.size() < 100) {
+         final String address = randomAddress(random, words, words.length);
+         if (address.contains("+") || address.contains(">")) {
+            if (!wildcards.contains(address)) {
+               wildcards.add(address);
+               ad.addBinding(new BindingFake(address, "wildcard-" + wildcards.size()));
+            }
+         }
+      }
+      while (addresses.size() < 100) {
+         final String address = randomAddress(random, words, 3);
+         if (!addresses.contains(address)) {
+            addresses.add(address);
+            ad.addBinding(new BindingFake(address, "address-" + addresses.size()));
+         }
+      }
+
+      for (String address : addresses) {
+         assertEquals(address, 1 + countMatching(configuration, address, wildcards), ad.getBindingsForRoutingAddress(SimpleString.toSimpleString(address)).getBindings().size());
+      }
+
+      for (int i = 0; i < 50; i++) {
+         ad.removeBinding(SimpleString.toSimpleString("wildcard-" + (i + 1)), null);
+      }
+      final List<String> remaining = wildcards.subList(50, wildcards.size());
+      for (int i = 0; i < 20; i++) {
+         // these ones aren't bound, as when routing a message to a new address
+         final String address = randomAddress(random, words, 3) + "/d";
+         final Bindings bindings = ad.getBindingsForRoutingAddress(SimpleString.toSimpleString(address));
+         assertEquals(address, countMatching(configuration, address, remaining), bindings == null ? 0 : bindings.getBindings().size());
+      }
+   }
+
+   private static String randomAddress(Random random, String[] words, int wordsBound) {
+      final StringBuilder address = new StringBuilder(words[random.nextInt(wordsBound)]);
+      final int depth = random.nextInt(4);
+      for (int i = 0; i < depth; i++) {
+         address.append('/').append(words[random.nextInt(wordsBound)]);
+      }
+      return address.toString();
+   }
+
+   private static int countMatching(WildcardConfiguration configuration, String address, List<String> wildcards) {
+      final AddressImpl addressImpl = new AddressImpl(SimpleString.toSimpleString(address), configuration);
+      int matching = 0;
+      for (String wildcard : wildcards) {
+         if (addressImpl.matches(new AddressImpl(SimpleString.toSimpleString(wildcard), configuration))) {
+            matching++;
+         }
+      }
+      return matching;
+   }
+
    class BindingFactoryFake implements BindingsFactory {
 
       @Override
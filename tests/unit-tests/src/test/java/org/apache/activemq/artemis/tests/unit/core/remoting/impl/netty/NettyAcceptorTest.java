@@ -32,6 +32,7 @@ import org.apache.activemq.artemis.spi.core.protocol.ProtocolManager;
 import org.apache.activemq.artemis.spi.core.remoting.BufferHandler;
 import org.apache.activemq.artemis.spi.core.remoting.Connection;
 import org.apache.activemq.artemis.spi.core.remoting.ServerConnectionLifeCycleListener;
+import org.apache.activemq.artemis.logs.AssertionLoggerHandler;
 import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
 import org.apache.activemq.artemis.utils.ActiveMQThreadFactory;
 import org.apache.activemq.artemis.utils.PortCheckRule;
@@ -63,8 +64,7 @@ public class NettyAcceptorTest extends ActiveMQTestBase {
       super.tearDown();
    }
 
-   @Test
-   public void testStartStop() throws Exception {
+   private NettyAcceptor createAcceptor(Map<String, Object> params) {
       BufferHandler handler = new BufferHandler() {
 
          @Override
@@ -72,7 +72,6 @@ public class NettyAcceptorTest extends ActiveMQTestBase {
          }
       };
 
-      Map<String, Object> params = new HashMap<>();
       ServerConnectionLifeCycleListener listener = new ServerConnectionLifeCycleListener() {
 
          @Override
@@ -98,6 +97,12 @@ public class NettyAcceptorTest extends ActiveMQTestBase {
       NettyAcceptor acceptor = new NettyAcceptor("netty", null, params, handler, listener, pool2, pool3, new HashMap<String, ProtocolManager>());
 
       addActiveMQComponent(acceptor);
+      return acceptor;
+   }
+
+   @Test
+   public void testStartStop() throws Exception {
+      NettyAcceptor acceptor = createAcceptor(new HashMap<>());
       acceptor.start();
       Assert.assertTrue(acceptor.isStarted());
       acceptor.stop();
@@ -111,4 +116,23 @@ public class NettyAcceptorTest extends ActiveMQTestBase {
       Assert.assertTrue(PortCheckRule.checkAvailable(TransportConstants.DEFAULT_PORT));
    }
 
+   @Test
+   public void testShardingNeedsEpoll() throws Exception {
+      Map<String, Object> params = new HashMap<>();
+      params.put(TransportConstants.USE_EPOLL_PROP_NAME, false);
+      params.put(TransportConstants.SHARDS_PROP_NAME, 4);
+      NettyAcceptor acceptor = createAcceptor(params);
+
+      AssertionLoggerHandler.startCapture();
+      try {
+         acceptor.start();
+         Assert.assertTrue(acceptor.isStarted());
+         Assert.assertEquals(1, acceptor.getShards());
+         Assert.assertTrue(AssertionLoggerHandler.findText("AMQ222296"));
+      } finally {
+         AssertionLoggerHandler.stopCapture();
+         acceptor.stop();
+      }
+   }
+
 }
@@ -17,6 +17,7 @@
 package org.apache.activemq.artemis.tests.unit.core.server.impl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -45,7 +46,9 @@ import org.apache.activemq.artemis.core.server.HandleStatus;
 import org.apache.activemq.artemis.core.server.MessageReference;
 import org.apache.activemq.artemis.core.server.Queue;
 import org.apache.activemq.artemis.core.server.impl.QueueImpl;
+import org.apache.activemq.artemis.core.settings.HierarchicalRepository;
 import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
+import org.apache.activemq.artemis.core.settings.impl.HierarchicalObjectRepository;
 import org.apache.activemq.artemis.selector.filter.Filterable;
 import org.apache.activemq.artemis.tests.unit.core.server.impl.fakes.FakeConsumer;
 import org.apache.activemq.artemis.tests.unit.core.server.impl.fakes.FakeFilter;
@@ -1111,6 +1114,81 @@ public class QueueImplTest extends ActiveMQTestBase {
 
    }
 
+   @Test
+   public void testReferencesWithIDIndexed() throws Exception {
+      QueueImpl queue = getIndexedQueue();
+      MessageReference messageReference = generateReference(queue, 1);
+      MessageReference messageReference2 = generateReference(queue, 2);
+      MessageReference messageReference3 = generateReference(queue, 3);
+      queue.addHead(messageReference, false);
+      queue.addHead(messageReference2, false);
+      queue.addTail(messageReference3, false);
+      Assert.assertEquals(messageReference2, queue.getReference(2));
+      Assert.assertNull(queue.getReference(5));
+
+      Assert.assertTrue(queue.changeReferencePriority(1, (byte) 9));
+      queue.deliverNow();
+      Assert.assertEquals(messageReference, queue.getReference(1));
+
+      Assert.assertEquals(messageReference3, queue.removeReferenceWithID(3));
+      Assert.assertNull(queue.removeReferenceWithID(3));
+      Assert.assertNull(queue.getReference(3));
+      Assert.assertEquals(2, getMessageCount(queue));
+
+      try (LinkedListIterator<MessageReference> iterator = queue.iterator()) {
+         Assert.assertTrue(iterator.hasNext());
+         Assert.assertEquals(messageReference, iterator.next());
+         Assert.assertTrue(iterator.hasNext());
+         Assert.assertEquals(messageReference2, iterator.next());
+         Assert.assertFalse(iterator.hasNext());
+      }
+   }
+
+   @Test
+   public void testRemoveDuplicatedReferenceWithIDIndexed() throws Exception {
+      QueueImpl queue = getIndexedQueue();
+      MessageReference messageReference = generateReference(queue, 1);
+      MessageReference duplicate = generateReference(queue, 1);
+      MessageReference messageReference2 = generateReference(queue, 2);
+      queue.addTail(messageReference, false);
+      queue.addTail(messageReference2, false);
+      queue.addTail(duplicate, false);
+      queue.deliverNow();
+
+      Assert.assertSame(messageReference, queue.removeReferenceWithID(1));
+      Assert.assertSame(duplicate, queue.getReference(1));
+      Assert.assertSame(duplicate, queue.removeReferenceWithID(1));
+      Assert.assertNull(queue.removeReferenceWithID(1));
+      Assert.assertEquals(1, getMessageCount(queue));
+      Assert.assertEquals(messageReference2, queue.getReference(2));
+   }
+
+   @Test
+   public void testRemoveReferencesWithID() throws Exception {
+      internalRemoveReferencesWithID(getTemporaryQueue());
+   }
+
+   @Test
+   public void testRemoveReferencesWithIDIndexed() throws Exception {
+      internalRemoveReferencesWithID(getIndexedQueue());
+   }
+
+   private void internalRemoveReferencesWithID(QueueImpl queue) throws Exception {
+      List<MessageReference> refs = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+         MessageReference ref = generateReference(queue, i);
+         refs.add(ref);
+         queue.addTail(ref, false);
+      }
+      queue.deliverNow();
+
+      List<MessageReference> removed = queue.removeReferencesWithID(Arrays.asList(1L, 5L, 7L, 42L));
+      Assert.assertEquals(Arrays.asList(refs.get(1), refs.get(5), refs.get(7)), removed);
+      Assert.assertEquals(7, getMessageCount(queue));
+      Assert.assertNull(queue.getReference(5));
+      Assert.assertEquals(refs.get(6), queue.getReference(6));
+   }
+
    /**
     * Test the paused and resumed states with async deliveries.
     *
@@ -1386,6 +1464,13 @@ public class QueueImplTest extends ActiveMQTestBase {
       return getQueue(QueueImplTest.queue1, false, true, null);
    }
 
+   private QueueImpl getIndexedQueue() {
+      HierarchicalRepository<AddressSettings> addressSettings = new HierarchicalObjectRepository<>();
+      addressSettings.setDefault(new AddressSettings().setEnableMessageIdIndex(true));
+      return new QueueImpl(1, QueueImplTest.address1, QueueImplTest.queue1, null, null, false, true, false, scheduledExecutor,
+                           new FakePostOffice(), null, addressSettings, ArtemisExecutor.delegate(executor), null, null);
+   }
+
    private QueueImpl getQueue(SimpleString name, boolean durable, boolean temporary, Filter filter) {
       return new QueueImpl(1, QueueImplTest.address1, name, filter, null, durable, temporary, false, scheduledExecutor,
                            new FakePostOffice(), null, null, ArtemisExecutor.delegate(executor), null, null);